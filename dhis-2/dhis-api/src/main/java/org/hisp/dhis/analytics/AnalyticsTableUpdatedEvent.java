@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004-2022, University of Oslo
+ * Copyright (c) 2004-2024, University of Oslo
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -25,44 +25,43 @@
  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.hisp.dhis.tracker.export.trackedentity.aggregates;
+package org.hisp.dhis.analytics;
 
-import static java.util.concurrent.CompletableFuture.supplyAsync;
-
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.Multimap;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
-import java.util.function.Supplier;
+import javax.annotation.CheckForNull;
+import org.springframework.context.ApplicationEvent;
 
 /**
- * @author Luciano Fiandesio
+ * Published when an analytics table or one of its partitions was replaced, so that results cached
+ * from the previous table, also on other servers, can be discarded.
  */
-interface Aggregate {
+public class AnalyticsTableUpdatedEvent extends ApplicationEvent {
+  private final String tableName;
+
+  private final String partitionName;
+
   /**
-   * Executes the Supplier asynchronously using the thread pool from the provided {@see Executor}
-   *
-   * @param condition A condition that, if true, executes the Supplier, if false, returns an empty
-   *     Multimap
-   * @param supplier The Supplier to execute
-   * @param executor an Executor instance
-   * @return A CompletableFuture with the result of the Supplier
+   * @param source the source of the event.
+   * @param tableName the name of the analytics table.
+   * @param partitionName the name of the replaced partition, or null if the full table was
+   *     replaced.
    */
-  default <T> CompletableFuture<Multimap<String, T>> conditionalAsyncFetch(
-      boolean condition, Supplier<Multimap<String, T>> supplier, Executor executor) {
-    return (condition
-        ? supplyAsync(supplier, executor)
-        : supplyAsync(ArrayListMultimap::create, executor));
+  public AnalyticsTableUpdatedEvent(
+      Object source, String tableName, @CheckForNull String partitionName) {
+    super(source);
+    this.tableName = tableName;
+    this.partitionName = partitionName;
   }
 
-  /**
-   * Executes the Supplier asynchronously using the thread pool from the provided {@see Executor}
-   *
-   * @param supplier The Supplier to execute
-   * @return A CompletableFuture with the result of the Supplier
-   */
-  default <T> CompletableFuture<Multimap<String, T>> asyncFetch(
-      Supplier<Multimap<String, T>> supplier, Executor executor) {
-    return supplyAsync(supplier, executor);
+  public String getTableName() {
+    return tableName;
+  }
+
+  @CheckForNull
+  public String getPartitionName() {
+    return partitionName;
+  }
+
+  public boolean isPartition() {
+    return partitionName != null;
   }
 }
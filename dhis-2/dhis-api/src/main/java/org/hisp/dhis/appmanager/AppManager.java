@@ -207,6 +207,31 @@ public interface AppManager {
    */
   Resource getAppResource(App app, String pageName) throws IOException;
 
+  /**
+   * Returns the content of the file associated with the app and pageName if it is held in memory.
+   *
+   * @param app the app to look up files for
+   * @param pageName the page requested
+   * @return the content of the file, or null if it is not held in memory, in which case {@link
+   *     #getAppResource(App, String)} and {@link #getAppResourceContent(App, String, Resource)}
+   *     should be used
+   */
+  AppResourceContent getCachedAppResourceContent(App app, String pageName);
+
+  /**
+   * Reads the content of the given file of the app and holds it in memory for subsequent calls of
+   * {@link #getCachedAppResourceContent(App, String)}. The content is held for at most an hour,
+   * until the app is installed or deleted again or until it is evicted in favour of other files.
+   *
+   * @param app the app the file belongs to
+   * @param pageName the page requested
+   * @param resource the file as returned by {@link #getAppResource(App, String)}
+   * @return the content of the file, or null if the file is too large to be held in memory, in
+   *     which case the resource should be streamed
+   */
+  AppResourceContent getAppResourceContent(App app, String pageName, Resource resource)
+      throws IOException;
+
   /**
    * Sets the app status to DELETION_IN_PROGRESS.
    *
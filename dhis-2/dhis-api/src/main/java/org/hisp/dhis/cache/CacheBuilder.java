@@ -28,6 +28,7 @@
 package org.hisp.dhis.cache;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 
 /**
  * A Builder class that helps in building Cache instances. Sensible defaults are in place which can
@@ -47,6 +48,18 @@ public interface CacheBuilder<V> {
    */
   CacheBuilder<V> withMaximumSize(long maximumSize);
 
+  /**
+   * Set the maximum total weight of the values for the cache instance to be built. The weight of a
+   * value is computed by the given weigher. When set, the weight rather than the maximum size
+   * bounds a local cache instance.
+   *
+   * @param maximumWeight The maximum total weight
+   * @param weigher The function computing the weight of a value
+   * @return The builder instance
+   * @throws IllegalArgumentException if specified maximumWeight is not positive or weigher is null.
+   */
+  CacheBuilder<V> withMaximumWeight(long maximumWeight, ToIntFunction<V> weigher);
+
   /**
    * Sets the minimum total size for the internal data structures.
    *
@@ -127,6 +140,20 @@ public interface CacheBuilder<V> {
    */
   long getMaximumSize();
 
+  /**
+   * Getter for maximumWeight
+   *
+   * @return the maximumWeight value set in the builder, or 0 if not set
+   */
+  long getMaximumWeight();
+
+  /**
+   * Getter for weigher
+   *
+   * @return the weigher set in the builder, or null if not set
+   */
+  ToIntFunction<V> getWeigher();
+
   /**
    * Getter for initialCapacity
    *
@@ -47,6 +47,8 @@ public interface CacheProvider {
 
   <V> Cache<V> createOutliersCache();
 
+  <V> Cache<V> createAnalyticsSubQueryCache();
+
   <V> Cache<V> createDefaultObjectCache();
 
   <V> Cache<V> createIsDataApprovedCache();
@@ -117,6 +119,8 @@ public interface CacheProvider {
 
   <V> Cache<V> createApiKeyCache();
 
+  <V> Cache<V> createVerifiedCredentialCache(Duration expiry);
+
   <V> Cache<V> createProgramCache();
 
   <V> Cache<V> createTeiAttributesCache();
@@ -133,4 +137,8 @@ public interface CacheProvider {
   <V> Cache<V> createDataIntegritySummaryCache();
 
   <V> Cache<V> createDataIntegrityDetailsCache();
+
+  <V> Cache<V> createDataSetMetadataCache();
+
+  <V> Cache<V> createDecryptedRouteCache();
 }
@@ -28,6 +28,7 @@
 package org.hisp.dhis.cache;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -41,6 +42,10 @@ import lombok.extern.slf4j.Slf4j;
 public class SimpleCacheBuilder<V> implements CacheBuilder<V> {
   private long maximumSize;
 
+  private long maximumWeight;
+
+  private ToIntFunction<V> weigher;
+
   private int initialCapacity;
 
   private String region;
@@ -58,6 +63,7 @@ public class SimpleCacheBuilder<V> implements CacheBuilder<V> {
   public SimpleCacheBuilder() {
     // Applying sensible defaults explicitly
     this.maximumSize = -1;
+    this.maximumWeight = 0;
     this.region = "default";
     this.refreshExpiryOnAccess = false;
     this.expiryInSeconds = 0;
@@ -75,6 +81,18 @@ public class SimpleCacheBuilder<V> implements CacheBuilder<V> {
     return this;
   }
 
+  public CacheBuilder<V> withMaximumWeight(long maximumWeight, ToIntFunction<V> weigher) {
+    if (maximumWeight <= 0) {
+      throw new IllegalArgumentException("MaximumWeight must be positive");
+    }
+    if (weigher == null) {
+      throw new IllegalArgumentException("Weigher cannot be null");
+    }
+    this.maximumWeight = maximumWeight;
+    this.weigher = weigher;
+    return this;
+  }
+
   public CacheBuilder<V> withInitialCapacity(int initialCapacity) {
     if (initialCapacity < 0) {
       throw new IllegalArgumentException("InitialCapacity cannot be negative");
@@ -142,6 +160,14 @@ public class SimpleCacheBuilder<V> implements CacheBuilder<V> {
     return maximumSize;
   }
 
+  public long getMaximumWeight() {
+    return maximumWeight;
+  }
+
+  public ToIntFunction<V> getWeigher() {
+    return weigher;
+  }
+
   public int getInitialCapacity() {
     return initialCapacity;
   }
@@ -187,18 +187,37 @@ public class DataApproval implements Serializable {
     return da;
   }
 
+  /**
+   * Returns a key identifying the approval row, composed of workflow, level, period ISO date,
+   * organisation unit UID and attribute option combo. The period is keyed by ISO date as transient
+   * and persisted periods may differ in UID. Entries for an organisation unit can be found with
+   * {@link #cacheKeyMatchesOrgUnit(String, OrganisationUnit)}.
+   *
+   * @return the cache key.
+   */
   public String getCacheKey() {
-    return dataApprovalLevel.getUid()
+    return workflow.getUid()
         + "-"
-        + workflow.getUid()
+        + dataApprovalLevel.getUid()
         + "-"
-        + period.getUid()
+        + period.getIsoDate()
         + "-"
         + organisationUnit.getUid()
         + "-"
         + attributeOptionCombo.getUid();
   }
 
+  /**
+   * Indicates whether the given cache key refers to the given organisation unit.
+   *
+   * @param cacheKey the cache key, see {@link #getCacheKey()}.
+   * @param organisationUnit the organisation unit.
+   * @return true if the key refers to the organisation unit.
+   */
+  public static boolean cacheKeyMatchesOrgUnit(String cacheKey, OrganisationUnit organisationUnit) {
+    return cacheKey != null && cacheKey.contains("-" + organisationUnit.getUid() + "-");
+  }
+
   // -------------------------------------------------------------------------
   // Getters and setters
   // -------------------------------------------------------------------------
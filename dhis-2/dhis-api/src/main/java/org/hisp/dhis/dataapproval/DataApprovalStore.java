@@ -110,6 +110,20 @@ public interface DataApprovalStore {
    */
   boolean dataApprovalExists(DataApproval dataApproval);
 
+  /**
+   * Invalidates the cached result of {@link #dataApprovalExists(DataApproval)} for the given cache
+   * key. Used to propagate changes made by other server instances.
+   *
+   * @param cacheKey the cache key, see {@link DataApproval#getCacheKey()}.
+   */
+  void invalidateCachedApproval(String cacheKey);
+
+  /**
+   * Invalidates all cached results of {@link #dataApprovalExists(DataApproval)}. Used to propagate
+   * changes made by other server instances when the affected cache key is not known.
+   */
+  void invalidateCachedApprovals();
+
   /**
    * Returns DataApproval objects (if any) for given collections of approval level, workflow,
    * period, organisation unit, and attribute option combo.
@@ -162,4 +176,27 @@ public interface DataApprovalStore {
       Set<CategoryOptionCombo> attributeOptionCombos,
       List<DataApprovalLevel> userApprovalLevels,
       Map<Integer, DataApprovalLevel> levelMap);
+
+  // -------------------------------------------------------------------------
+  // Status projection
+  // -------------------------------------------------------------------------
+
+  /**
+   * Updates the approval status projection for the ancestors of the organisation units of the given
+   * approvals, whose readiness for approval may have changed. Builds the projection for a workflow
+   * and period when it does not exist yet. Does nothing if the projection is not enabled.
+   *
+   * @param dataApprovals the data approvals which have been added, updated or deleted.
+   */
+  void updateStatusProjection(Collection<DataApproval> dataApprovals);
+
+  /**
+   * Deletes the approval status projection for the given workflow.
+   *
+   * @param workflow the workflow.
+   */
+  void deleteStatusProjection(DataApprovalWorkflow workflow);
+
+  /** Deletes the approval status projection for all workflows. */
+  void deleteStatusProjections();
 }
@@ -27,6 +27,10 @@
  */
 package org.hisp.dhis.dataintegrity;
 
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+
 /**
  * Database support for running data integrity checks.
  *
@@ -52,4 +56,32 @@ public interface DataIntegrityStore {
    * @return the mapped details
    */
   DataIntegrityDetails queryDetails(DataIntegrityCheck check, String sql);
+
+  /**
+   * @return the average execution time in milliseconds by check name of all checks that were
+   *     executed before
+   */
+  Map<String, Long> getAverageExecutionTimes();
+
+  /**
+   * Adds an execution of a check to the persisted execution statistics.
+   *
+   * @param name the name of the check
+   * @param time the execution time in milliseconds
+   */
+  void addExecution(String name, long time);
+
+  /**
+   * Returns a value which changes whenever rows of any of the given tables are inserted, updated or
+   * deleted.
+   *
+   * <p>The value is based on the cumulative table statistics of the database. These are not
+   * transactional and are collected with a delay, so a change committed shortly before the call
+   * might not be reflected yet. A reset of the statistics changes the value.
+   *
+   * @param tables names of the tables
+   * @return the fingerprint or null if any of the tables is unknown
+   */
+  @CheckForNull
+  String getTableChangeFingerprint(Set<String> tables);
 }
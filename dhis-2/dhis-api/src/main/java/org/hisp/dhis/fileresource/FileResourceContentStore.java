@@ -121,6 +121,18 @@ public interface FileResourceContentStore {
    */
   void copyContent(String key, OutputStream output) throws IOException, NoSuchElementException;
 
+  /**
+   * Copies a range of the content of the resource stored under key to the output stream. Only the
+   * requested range is read from the store.
+   *
+   * @param key the key used to store a resource
+   * @param output the output stream to copy the range into
+   * @param offset index of the first byte to copy
+   * @param length number of bytes to copy
+   */
+  void copyContent(String key, OutputStream output, long offset, long length)
+      throws IOException, NoSuchElementException;
+
   /**
    * Copies the content of the resource stored under key to the byte array.
    *
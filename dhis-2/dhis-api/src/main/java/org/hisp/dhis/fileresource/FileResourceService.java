@@ -127,6 +127,16 @@ public interface FileResourceService {
   void copyFileResourceContent(FileResource fileResource, OutputStream outputStream)
       throws IOException, NoSuchElementException;
 
+  /**
+   * Copy a range of the fileResource content to outputStream.
+   *
+   * @param offset index of the first byte to copy
+   * @param length number of bytes to copy
+   */
+  void copyFileResourceContent(
+      FileResource fileResource, OutputStream outputStream, long offset, long length)
+      throws IOException, NoSuchElementException;
+
   /** Copy fileResource content to a byte array */
   byte[] copyFileResourceContent(FileResource fileResource)
       throws IOException, NoSuchElementException;
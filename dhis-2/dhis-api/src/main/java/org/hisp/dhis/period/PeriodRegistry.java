@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.period;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.CheckForNull;
+
+/**
+ * Process-wide registry of immutable, interned period descriptions by ISO string. The calendar
+ * arithmetic to resolve an ISO string is done once per calendar and ISO string, later lookups are a
+ * map access. The registry is extended on demand and can be populated on startup with the persisted
+ * periods.
+ *
+ * <p>{@link Period} is a mutable entity, so entries are turned into new {@link Period} instances by
+ * {@link Entry#toPeriod()} which does not require any calendar arithmetic.
+ */
+public final class PeriodRegistry {
+  /** Upper bound of registered entries, ISO strings beyond are resolved but not interned. */
+  public static final int MAX_SIZE = 200_000;
+
+  private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+  /**
+   * Immutable description of a period.
+   *
+   * @param isoDate the ISO string of the period
+   * @param periodType the period type, the shared instance of {@link
+   *     PeriodType#getPeriodTypeByName(String)}
+   * @param startTime the start date in milliseconds since the epoch
+   * @param endTime the end date in milliseconds since the epoch
+   */
+  public record Entry(String isoDate, PeriodType periodType, long startTime, long endTime) {
+    /**
+     * @return a new, non persisted {@link Period} for this entry
+     */
+    public Period toPeriod() {
+      return new Period(periodType, new Date(startTime), new Date(endTime), isoDate);
+    }
+  }
+
+  private PeriodRegistry() {
+    throw new UnsupportedOperationException("util");
+  }
+
+  /**
+   * Returns the registered entry for the given ISO string in the system calendar, resolving and
+   * registering it if not yet known.
+   *
+   * @param isoDate the ISO string of a period
+   * @return the entry or null if the ISO string is not a valid period
+   */
+  @CheckForNull
+  public static Entry getByIsoDate(@CheckForNull String isoDate) {
+    if (isoDate == null) {
+      return null;
+    }
+
+    String key = getKey(isoDate);
+    Entry entry = ENTRIES.get(key);
+
+    if (entry != null) {
+      return entry;
+    }
+
+    entry = resolve(isoDate);
+
+    if (entry != null && ENTRIES.size() < MAX_SIZE) {
+      Entry existing = ENTRIES.putIfAbsent(key, entry);
+      return existing != null ? existing : entry;
+    }
+
+    return entry;
+  }
+
+  /**
+   * Registers the given ISO string so that later lookups do not need any calendar arithmetic.
+   *
+   * @param isoDate the ISO string of a period
+   * @return true if the ISO string is a valid period
+   */
+  public static boolean register(String isoDate) {
+    return getByIsoDate(isoDate) != null;
+  }
+
+  /**
+   * @return the number of registered entries
+   */
+  public static int size() {
+    return ENTRIES.size();
+  }
+
+  /** Removes all entries, e.g. when the system calendar was changed. */
+  public static void clear() {
+    ENTRIES.clear();
+  }
+
+  private static String getKey(String isoDate) {
+    return PeriodType.getCalendar().name() + ":" + isoDate;
+  }
+
+  @CheckForNull
+  private static Entry resolve(String isoDate) {
+    PeriodType periodType = PeriodType.getPeriodTypeFromIsoString(isoDate);
+
+    if (periodType == null) {
+      return null;
+    }
+
+    Period period;
+
+    try {
+      period = periodType.createPeriod(isoDate);
+    } catch (Exception ex) {
+      return null;
+    }
+
+    if (period == null) {
+      return null;
+    }
+
+    return new Entry(
+        period.getIsoDate(),
+        periodType,
+        period.getStartDate().getTime(),
+        period.getEndDate().getTime());
+  }
+}
@@ -100,6 +100,7 @@ public abstract class PeriodType implements Serializable {
    */
   public static void invalidatePeriodCache() {
     PERIOD_CACHE.invalidateAll();
+    PeriodRegistry.clear();
   }
 
   private static CalendarService calendarService;
@@ -525,23 +526,16 @@ public abstract class PeriodType implements Serializable {
 
   /**
    * Returns a period based on the given date string in ISO format. Returns null if the date string
-   * cannot be parsed to a period.
+   * cannot be parsed to a period. The calendar arithmetic is done once per ISO string, see {@link
+   * PeriodRegistry}.
    *
    * @param isoPeriod the date string in ISO format.
    * @return a period.
    */
   public static Period getPeriodFromIsoString(String isoPeriod) {
-    if (isoPeriod != null) {
-      PeriodType periodType = getPeriodTypeFromIsoString(isoPeriod);
+    PeriodRegistry.Entry entry = PeriodRegistry.getByIsoDate(isoPeriod);
 
-      try {
-        return periodType != null ? periodType.createPeriod(isoPeriod) : null;
-      } catch (Exception ex) {
-        // Do nothing and return null
-      }
-    }
-
-    return null;
+    return entry != null ? entry.toPeriod() : null;
   }
 
   /**
@@ -27,6 +27,8 @@
  */
 package org.hisp.dhis.program.notification;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import org.hisp.dhis.common.IdentifiableObjectStore;
 
@@ -39,4 +41,25 @@ public interface ProgramNotificationInstanceStore
       ProgramNotificationInstanceParam programNotificationInstanceParam);
 
   Long countProgramNotificationInstances(ProgramNotificationInstanceParam params);
+
+  /**
+   * Returns the identifiers of a page of program notification instances which are scheduled within
+   * the given time window and not yet sent, in ascending order. Pages are fetched by passing the
+   * last identifier of the previous page.
+   *
+   * @param from the start of the time window, inclusive.
+   * @param to the end of the time window, exclusive.
+   * @param afterId only identifiers greater than this are returned.
+   * @param limit the maximum number of identifiers to return.
+   * @return a list of identifiers.
+   */
+  List<Long> getScheduledNotSentIds(Date from, Date to, long afterId, int limit);
+
+  /**
+   * Marks the program notification instances with the given identifiers as sent.
+   *
+   * @param ids the identifiers of the program notification instances.
+   * @param sentAt the time the notifications were sent.
+   */
+  void markSent(Collection<Long> ids, Date sentAt);
 }
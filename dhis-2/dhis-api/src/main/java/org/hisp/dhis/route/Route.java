@@ -50,6 +50,8 @@ import org.hisp.dhis.common.auth.Auth;
 public class Route extends BaseIdentifiableObject implements MetadataObject {
   public static final String PATH_WILDCARD_SUFFIX = "/**";
 
+  public static final int DEFAULT_RESPONSE_TIMEOUT_SECONDS = 10;
+
   @JsonProperty private String description;
 
   @JsonProperty(required = true)
@@ -65,6 +67,9 @@ public class Route extends BaseIdentifiableObject implements MetadataObject {
 
   @JsonProperty private List<String> authorities = new ArrayList<>();
 
+  /** Maximum time in seconds to wait for data from the target of the route. */
+  @JsonProperty private int responseTimeoutSeconds = DEFAULT_RESPONSE_TIMEOUT_SECONDS;
+
   /**
    * If the route url ends with /** return true. Otherwise return false.
    *
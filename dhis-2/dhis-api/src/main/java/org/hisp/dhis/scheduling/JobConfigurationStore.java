@@ -176,6 +176,17 @@ public interface JobConfigurationStore extends GenericDimensionalObjectStore<Job
    */
   boolean tryStart(@Nonnull String jobId);
 
+  /**
+   * Same as {@link #tryStart(String)} but safe for multiple nodes trying to start jobs
+   * concurrently. The job row is claimed with {@code FOR UPDATE SKIP LOCKED} so that nodes do not
+   * wait for each other, and starting is serialized per job type so that two nodes cannot start two
+   * jobs of the same type at the same time.
+   *
+   * @param jobId of the job to switch to {@link JobStatus#RUNNING} state
+   * @return true, if update was successful, otherwise false
+   */
+  boolean tryClaim(@Nonnull String jobId);
+
   /**
    * If the job is already in {@link JobStatus#RUNNING} it is marked as cancelled. The effect takes
    * place asynchronously as it is cooperative.
@@ -544,12 +544,13 @@ public interface JobProgress {
       boolean allSuccessful = pool.submit(task).get();
       if (allSuccessful) {
         completedStage(null);
-      } else {
-        autoSkipStage(
-            (s, f) ->
-                format("parallel processing aborted after {} successful and {} failed items", s, f),
-            success.get(),
-            failed.get());
+      } else if (!autoSkipStage(
+          (s, f) ->
+              format("parallel processing aborted after {} successful and {} failed items", s, f),
+          success.get(),
+          failed.get())) {
+        // failed items were skipped, the stage itself is complete
+        completedStage(format("{} successful and {} failed items", success.get(), failed.get()));
       }
     } catch (InterruptedException ex) {
       failedStage(ex);
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.period;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests the {@link PeriodRegistry}. */
+class PeriodRegistryTest {
+
+  @Test
+  void testGetByIsoDate() {
+    PeriodRegistry.Entry entry = PeriodRegistry.getByIsoDate("2011Q3");
+
+    assertEquals("2011Q3", entry.isoDate());
+    assertSame(PeriodType.getPeriodTypeByName("Quarterly"), entry.periodType());
+    assertSame(entry, PeriodRegistry.getByIsoDate("2011Q3"));
+  }
+
+  @Test
+  void testGetByIsoDateInvalid() {
+    assertNull(PeriodRegistry.getByIsoDate(null));
+    assertNull(PeriodRegistry.getByIsoDate("201er2345566"));
+    assertNull(PeriodRegistry.getByIsoDate("2011W234"));
+  }
+
+  @Test
+  void testToPeriod() {
+    PeriodRegistry.Entry entry = PeriodRegistry.getByIsoDate("201102");
+    Period period = new MonthlyPeriodType().createPeriod("201102");
+
+    Period a = entry.toPeriod();
+    Period b = entry.toPeriod();
+
+    assertNotSame(a, b);
+    assertEquals(period, a);
+    assertEquals(period.getStartDate(), a.getStartDate());
+    assertEquals(period.getEndDate(), a.getEndDate());
+    assertEquals("201102", a.getIsoDate());
+  }
+}
@@ -32,6 +32,7 @@ import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.unmodifiableCollection;
 import static java.util.function.Predicate.not;
 import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.partitioningBy;
 import static java.util.stream.Collectors.toUnmodifiableSet;
 import static java.util.stream.StreamSupport.stream;
 import static org.hisp.dhis.commons.collection.ListUtils.getDuplicates;
@@ -63,6 +64,8 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -83,6 +86,8 @@ import org.hisp.dhis.dataset.DataSetService;
 import org.hisp.dhis.expression.Expression;
 import org.hisp.dhis.expression.ExpressionService;
 import org.hisp.dhis.expression.ExpressionValidationOutcome;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.external.location.LocationManager;
 import org.hisp.dhis.external.location.LocationManagerException;
 import org.hisp.dhis.i18n.I18n;
@@ -119,6 +124,13 @@ import org.springframework.transaction.annotation.Transactional;
 public class DefaultDataIntegrityService implements DataIntegrityService {
   private static final String FORMULA_SEPARATOR = "#";
 
+  /** Checks with an average execution time at or above are run one at a time. */
+  private static final long ISOLATED_EXECUTION_TIME_MILLIS = 30_000;
+
+  private static final Pattern TABLE_PATTERN =
+      Pattern.compile(
+          "\\b(?:from|join)\\s+([a-z_][a-z0-9_]*)\\b(?!\\s*\\()", Pattern.CASE_INSENSITIVE);
+
   private final I18nManager i18nManager;
 
   private final LocationManager locationManager;
@@ -151,6 +163,8 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
 
   private final SchemaService schemaService;
 
+  private final DhisConfigurationProvider config;
+
   private Cache<DataIntegritySummary> summaryCache;
 
   private Cache<DataIntegrityDetails> detailsCache;
@@ -159,6 +173,15 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
 
   private final Set<String> runningDetailsChecks = ConcurrentHashMap.newKeySet();
 
+  /** Table change fingerprint by check name at the time the cached summary was computed. */
+  private final Map<String, String> summaryFingerprints = new ConcurrentHashMap<>();
+
+  /** Table change fingerprint by check name at the time the cached details were computed. */
+  private final Map<String, String> detailsFingerprints = new ConcurrentHashMap<>();
+
+  /** False once persisting execution statistics failed, e.g. when the table does not exist. */
+  private final AtomicBoolean executionStatisticsAvailable = new AtomicBoolean(true);
+
   @PostConstruct
   public void init() {
     summaryCache = cacheProvider.createDataIntegritySummaryCache();
@@ -742,13 +765,13 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
     try {
       running.addAll(checks);
       progress.startingProcess("Data integrity check");
-      progress.startingStage(stageDesc, checks.size(), SKIP_ITEM);
-      progress.runStage(
+      List<DataIntegrityCheck> sorted =
           checks.stream()
               .map(checksByName::get)
               .filter(Objects::nonNull)
-              .sorted(DataIntegrityCheck.FAST_TO_SLOW),
-          DataIntegrityCheck::getDescription,
+              .sorted(DataIntegrityCheck.FAST_TO_SLOW)
+              .toList();
+      Consumer<DataIntegrityCheck> work =
           check -> {
             Date startTime = new Date();
             T res;
@@ -761,16 +784,113 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
               running.remove(check.getName());
             }
             if (res != null) {
-              check.addExecution(currentTimeMillis() - startTime.getTime());
+              boolean reused = cache.get(check.getName()).map(prev -> prev == res).orElse(false);
+              if (!reused) {
+                addExecution(check, currentTimeMillis() - startTime.getTime());
+              }
               cache.put(check.getName(), res);
             }
-          });
+          };
+      int parallelism =
+          Integer.parseInt(config.getProperty(ConfigurationKey.DATA_INTEGRITY_PARALLELISM));
+      if (parallelism <= 1) {
+        progress.startingStage(stageDesc, sorted.size(), SKIP_ITEM);
+        progress.runStage(sorted.stream(), DataIntegrityCheck::getDescription, work);
+      } else {
+        Map<Boolean, List<DataIntegrityCheck>> byIsolation =
+            sorted.stream().collect(partitioningBy(DefaultDataIntegrityService::isRunInIsolation));
+        List<DataIntegrityCheck> parallel = byIsolation.get(false);
+        List<DataIntegrityCheck> isolated = byIsolation.get(true);
+        if (!parallel.isEmpty()) {
+          progress.startingStage(stageDesc, parallel.size(), SKIP_ITEM);
+          progress.runStageInParallel(
+              parallelism, parallel, DataIntegrityCheck::getDescription, work);
+        }
+        if (!isolated.isEmpty()) {
+          progress.startingStage(stageDesc + " (one at a time)", isolated.size(), SKIP_ITEM);
+          progress.runStage(isolated.stream(), DataIntegrityCheck::getDescription, work);
+        }
+      }
       progress.completedProcess(null);
     } finally {
       running.removeAll(checks);
     }
   }
 
+  /**
+   * Slow checks run one at a time so that they do not compete with the cheap checks. Programmatic
+   * checks run on the calling thread since they work with objects loaded in its session.
+   */
+  private static boolean isRunInIsolation(DataIntegrityCheck check) {
+    Long time = check.getAverageExecutionTime();
+    return check.isProgrammatic()
+        || (time == null ? check.isSlow() : time >= ISOLATED_EXECUTION_TIME_MILLIS);
+  }
+
+  private void addExecution(DataIntegrityCheck check, long time) {
+    check.addExecution(time);
+    if (executionStatisticsAvailable.get()) {
+      try {
+        dataIntegrityStore.addExecution(check.getName(), time);
+      } catch (RuntimeException ex) {
+        executionStatisticsAvailable.set(false);
+        log.warn("Data integrity execution statistics cannot be saved: " + ex.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Runs a SQL based check unless incremental checks are enabled and none of the tables the check
+   * reads have changed since the cached result was computed, in which case the cached result is
+   * returned.
+   *
+   * <p>The table statistics used to detect changes lag behind the committed data by a few seconds.
+   * The fingerprint is taken before the check runs, so a missed change shows up as a different
+   * fingerprint on a later run. A result is reused at most until it expires from the cache.
+   */
+  private <T> T queryIncremental(
+      DataIntegrityCheck check,
+      Set<String> tables,
+      Cache<T> cache,
+      Map<String, String> fingerprints,
+      Predicate<T> isError,
+      Supplier<T> query) {
+    if (!config.isEnabled(ConfigurationKey.DATA_INTEGRITY_INCREMENTAL)) {
+      return query.get();
+    }
+    String name = check.getName();
+    String fingerprint = dataIntegrityStore.getTableChangeFingerprint(tables);
+    if (fingerprint != null && fingerprint.equals(fingerprints.get(name))) {
+      T previous = cache.get(name).orElse(null);
+      if (previous != null && !isError.test(previous)) {
+        return previous;
+      }
+    }
+    T res = query.get();
+    if (fingerprint == null) {
+      fingerprints.remove(name);
+    } else {
+      fingerprints.put(name, fingerprint);
+    }
+    return res;
+  }
+
+  /**
+   * @return names of the relations a check SQL reads from, this includes names of CTEs which are
+   *     not tables which makes the fingerprint unknown so that such checks always run
+   */
+  static Set<String> getTables(String sql) {
+    Set<String> tables = new HashSet<>();
+    if (sql == null) {
+      return tables;
+    }
+    Matcher matcher = TABLE_PATTERN.matcher(sql);
+    while (matcher.find()) {
+      tables.add(matcher.group(1).toLowerCase());
+    }
+    return tables;
+  }
+
   private Set<String> expandChecks(Set<String> names, boolean restricted) {
     ensureConfigurationsAreLoaded();
 
@@ -840,6 +960,22 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
         log.warn(
             "Could not get DHIS2_HOME external directory. No custom data integrity checks loaded.");
       }
+
+      // execution statistics of previous runs
+      try {
+        dataIntegrityStore
+            .getAverageExecutionTimes()
+            .forEach(
+                (name, time) -> {
+                  DataIntegrityCheck check = checksByName.get(name);
+                  if (check != null && check.getExecutionCount() == 0) {
+                    check.addExecution(time);
+                  }
+                });
+      } catch (RuntimeException ex) {
+        executionStatisticsAvailable.set(false);
+        log.warn("Data integrity execution statistics cannot be loaded: " + ex.getMessage());
+      }
     }
   }
 
@@ -856,8 +992,28 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
             addToChecks,
             (property, defaultValue) ->
                 i18n.getString(format("data_integrity.%s", property), defaultValue),
-            sql -> check -> dataIntegrityStore.querySummary(check, sql),
-            sql -> check -> dataIntegrityStore.queryDetails(check, sql)));
+            sql -> {
+              Set<String> tables = getTables(sql);
+              return check ->
+                  queryIncremental(
+                      check,
+                      tables,
+                      summaryCache,
+                      summaryFingerprints,
+                      summary -> summary.getError() != null,
+                      () -> dataIntegrityStore.querySummary(check, sql));
+            },
+            sql -> {
+              Set<String> tables = getTables(sql);
+              return check ->
+                  queryIncremental(
+                      check,
+                      tables,
+                      detailsCache,
+                      detailsFingerprints,
+                      details -> details.getError() != null,
+                      () -> dataIntegrityStore.queryDetails(check, sql));
+            }));
   }
 
   /**
@@ -27,19 +27,27 @@
  */
 package org.hisp.dhis.dataintegrity.hibernate;
 
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toUnmodifiableList;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.dataintegrity.DataIntegrityCheck;
 import org.hisp.dhis.dataintegrity.DataIntegrityDetails;
 import org.hisp.dhis.dataintegrity.DataIntegrityDetails.DataIntegrityIssue;
 import org.hisp.dhis.dataintegrity.DataIntegrityStore;
 import org.hisp.dhis.dataintegrity.DataIntegritySummary;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -53,11 +61,13 @@ import org.springframework.transaction.annotation.Transactional;
 public class HibernateDataIntegrityStore implements DataIntegrityStore {
   @PersistenceContext private final EntityManager entityManager;
 
+  private final DhisConfigurationProvider config;
+
   @Override
   @Transactional(readOnly = true)
   public DataIntegritySummary querySummary(DataIntegrityCheck check, String sql) {
     Date startTime = new Date();
-    Object summary = entityManager.createNativeQuery(sql).getSingleResult();
+    Object summary = createCheckQuery(sql).getSingleResult();
     return new DataIntegritySummary(
         check, startTime, new Date(), null, parseCount(summary), parsePercentage(summary));
   }
@@ -67,7 +77,7 @@ public class HibernateDataIntegrityStore implements DataIntegrityStore {
   public DataIntegrityDetails queryDetails(DataIntegrityCheck check, String sql) {
     Date startTime = new Date();
     @SuppressWarnings("unchecked")
-    List<Object[]> rows = entityManager.createNativeQuery(sql).getResultList();
+    List<Object[]> rows = createCheckQuery(sql).getResultList();
     return new DataIntegrityDetails(
         check,
         startTime,
@@ -81,6 +91,84 @@ public class HibernateDataIntegrityStore implements DataIntegrityStore {
             .collect(toUnmodifiableList()));
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public Map<String, Long> getAverageExecutionTimes() {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows =
+        entityManager
+            .createNativeQuery(
+                "select name, executiontime / executioncount from dataintegrityexecution "
+                    + "where executioncount > 0")
+            .getResultList();
+    return rows.stream()
+        .collect(toMap(row -> (String) row[0], row -> ((Number) row[1]).longValue()));
+  }
+
+  /**
+   * Statistics are written in their own transaction so that they neither depend on nor affect the
+   * transaction of the check run.
+   */
+  @Override
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void addExecution(String name, long time) {
+    int updated =
+        entityManager
+            .createNativeQuery(
+                "update dataintegrityexecution set executioncount = executioncount + 1, "
+                    + "executiontime = executiontime + :time, lastexecuted = now() "
+                    + "where name = :name")
+            .setParameter("time", time)
+            .setParameter("name", name)
+            .executeUpdate();
+    if (updated == 0) {
+      entityManager
+          .createNativeQuery(
+              "insert into dataintegrityexecution (name, executioncount, executiontime, lastexecuted) "
+                  + "values (:name, 1, :time, now())")
+          .setParameter("name", name)
+          .setParameter("time", time)
+          .executeUpdate();
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public String getTableChangeFingerprint(Set<String> tables) {
+    if (tables.isEmpty()) {
+      return null;
+    }
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows =
+        entityManager
+            .createNativeQuery(
+                "select relname, n_tup_ins + n_tup_upd + n_tup_del, "
+                    + "(select stats_reset from pg_stat_database where datname = current_database()) "
+                    + "from pg_stat_user_tables "
+                    + "where schemaname = current_schema() and relname in (:tables) "
+                    + "order by relname")
+            .setParameter("tables", tables)
+            .getResultList();
+    if (rows.size() < tables.size()) {
+      return null;
+    }
+    // counters start over after a reset and could reach the previous
+    // values again, the reset time tells such fingerprints apart
+    return rows.get(0)[2]
+        + "|"
+        + rows.stream().map(row -> row[0] + ":" + row[1]).collect(joining(","));
+  }
+
+  private Query createCheckQuery(String sql) {
+    Query query = entityManager.createNativeQuery(sql);
+    int timeout =
+        Integer.parseInt(config.getProperty(ConfigurationKey.DATA_INTEGRITY_STATEMENT_TIMEOUT));
+    if (timeout > 0) {
+      query.setHint("javax.persistence.query.timeout", timeout * 1000);
+    }
+    return query;
+  }
+
   private static String getIndex(Object[] row, int index) {
     return row.length <= index ? null : (String) row[index];
   }
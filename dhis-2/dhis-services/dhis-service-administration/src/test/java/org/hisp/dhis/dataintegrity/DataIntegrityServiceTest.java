@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.dataintegrity;
 
+import static java.util.function.Predicate.not;
 import static org.hisp.dhis.DhisConvenienceTest.createDataElement;
 import static org.hisp.dhis.DhisConvenienceTest.createDataElementGroup;
 import static org.hisp.dhis.DhisConvenienceTest.createDataSet;
@@ -44,10 +45,12 @@ import static org.hisp.dhis.utils.Assertions.assertContainsOnly;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.times;
@@ -56,14 +59,17 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.antlr.ParserException;
 import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
 import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataelement.DataElementGroup;
@@ -73,6 +79,8 @@ import org.hisp.dhis.dataintegrity.DataIntegrityDetails.DataIntegrityIssue;
 import org.hisp.dhis.dataset.DataSet;
 import org.hisp.dhis.dataset.DataSetService;
 import org.hisp.dhis.expression.ExpressionService;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.external.location.DefaultLocationManager;
 import org.hisp.dhis.i18n.I18n;
 import org.hisp.dhis.i18n.I18nManager;
@@ -97,6 +105,7 @@ import org.hisp.dhis.programrule.ProgramRuleService;
 import org.hisp.dhis.programrule.ProgramRuleVariable;
 import org.hisp.dhis.programrule.ProgramRuleVariableService;
 import org.hisp.dhis.random.BeanRandomizer;
+import org.hisp.dhis.scheduling.NoopJobProgress;
 import org.hisp.dhis.schema.SchemaService;
 import org.hisp.dhis.validation.ValidationRuleService;
 import org.junit.jupiter.api.BeforeEach;
@@ -125,6 +134,8 @@ class DataIntegrityServiceTest {
 
   @Mock private DataIntegrityStore dataIntegrityStore;
 
+  @Mock private DhisConfigurationProvider config;
+
   @Mock private DataElementService dataElementService;
 
   @Mock private IndicatorService indicatorService;
@@ -526,6 +537,91 @@ class DataIntegrityServiceTest {
     assertFalse(dataIntegrityChecks.isEmpty());
   }
 
+  @Test
+  void testGetTables() {
+    assertEquals(
+        Set.of("dataelement", "datasetelement"),
+        DefaultDataIntegrityService.getTables(
+            "select count(*) from dataelement de "
+                + "left join datasetelement dse on de.dataelementid = dse.dataelementid "
+                + "where exists (select 1 from unnest(array[1]))"));
+    assertEquals(
+        Set.of("dataelementgroupsetmembers"),
+        DefaultDataIntegrityService.getTables(
+            "SELECT x FROM (SELECT 1) a JOIN DataElementGroupSetMembers b ON true"));
+    assertTrue(DefaultDataIntegrityService.getTables(null).isEmpty());
+  }
+
+  @Test
+  void testRunSummaryChecksInParallel() {
+    when(i18nManager.getI18n(DataIntegrityService.class)).thenReturn(i18n);
+    when(i18n.getString(anyString(), anyString())).thenReturn("default");
+    when(i18n.getString(contains("severity"), eq("WARNING"))).thenReturn("WARNING");
+    when(config.getProperty(ConfigurationKey.DATA_INTEGRITY_PARALLELISM)).thenReturn("4");
+    when(dataIntegrityStore.querySummary(any(), anyString()))
+        .thenAnswer(
+            call ->
+                new DataIntegritySummary(
+                    call.getArgument(0), new Date(), new Date(), null, 1, 50d));
+    setUpCaches();
+
+    Set<String> names =
+        subject.getDataIntegrityChecks().stream()
+            .filter(not(DataIntegrityCheck::isProgrammatic))
+            .map(DataIntegrityCheck::getName)
+            .collect(Collectors.toSet());
+    subject.runSummaryChecks(names, NoopJobProgress.INSTANCE);
+
+    verify(dataIntegrityStore, times(names.size())).querySummary(any(), anyString());
+    verify(dataIntegrityStore, times(names.size())).addExecution(anyString(), anyLong());
+    assertEquals(names, subject.getSummaries(names, 0).keySet());
+    assertTrue(subject.getRunningSummaryChecks().isEmpty());
+  }
+
+  @Test
+  void testRunSummaryChecksIncremental() {
+    when(i18nManager.getI18n(DataIntegrityService.class)).thenReturn(i18n);
+    when(i18n.getString(anyString(), anyString())).thenReturn("default");
+    when(i18n.getString(contains("severity"), eq("WARNING"))).thenReturn("WARNING");
+    when(config.getProperty(ConfigurationKey.DATA_INTEGRITY_PARALLELISM)).thenReturn("1");
+    when(config.isEnabled(ConfigurationKey.DATA_INTEGRITY_INCREMENTAL)).thenReturn(true);
+    when(dataIntegrityStore.querySummary(any(), anyString()))
+        .thenAnswer(
+            call ->
+                new DataIntegritySummary(
+                    call.getArgument(0), new Date(), new Date(), null, 1, 50d));
+    when(dataIntegrityStore.getTableChangeFingerprint(Set.of("dataelement", "datavalue")))
+        .thenReturn(
+            "dataelement:1,datavalue:1",
+            "dataelement:1,datavalue:1",
+            null,
+            "dataelement:1,datavalue:2");
+    setUpCaches();
+
+    Set<String> names = Set.of("data_elements_aggregate_abandoned");
+    subject.runSummaryChecks(names, NoopJobProgress.INSTANCE);
+    DataIntegritySummary first = subject.getSummaries(names, 0).values().iterator().next();
+
+    // unchanged tables reuse the previous result
+    subject.runSummaryChecks(names, NoopJobProgress.INSTANCE);
+    assertSame(first, subject.getSummaries(names, 0).values().iterator().next());
+    verify(dataIntegrityStore, times(1)).querySummary(any(), anyString());
+
+    // unknown and changed tables run the check
+    subject.runSummaryChecks(names, NoopJobProgress.INSTANCE);
+    subject.runSummaryChecks(names, NoopJobProgress.INSTANCE);
+    verify(dataIntegrityStore, times(3)).querySummary(any(), anyString());
+    verify(dataIntegrityStore, times(3)).addExecution(anyString(), anyLong());
+  }
+
+  private void setUpCaches() {
+    when(cacheProvider.createDataIntegritySummaryCache())
+        .thenReturn(new SimpleCacheBuilder<>().build());
+    when(cacheProvider.createDataIntegrityDetailsCache())
+        .thenReturn(new SimpleCacheBuilder<>().build());
+    subject.init();
+  }
+
   private Map<String, DataElement> createRandomDataElements(int quantity, String uidSeed) {
 
     return IntStream.range(1, quantity + 1)
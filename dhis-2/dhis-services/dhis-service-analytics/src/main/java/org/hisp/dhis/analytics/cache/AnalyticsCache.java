@@ -50,6 +50,8 @@ public class AnalyticsCache {
 
   private Cache<Grid> queryCache;
 
+  private final QueryCoalescer<Grid> queryCoalescer = new QueryCoalescer<>();
+
   /**
    * Default constructor. Note that a default expiration time is set, as as the TTL will always be
    * overwritten during cache put operations.
@@ -72,6 +74,9 @@ public class AnalyticsCache {
    * If the Grid is not found in the cache, the Grid will be fetched by the function provided. In
    * this case, the fetched Grid will be cached, so the next consumers can hit the cache only.
    *
+   * <p>Concurrent requests for the same DataQueryParams key which miss the cache are coalesced, so
+   * that only the first request fetches the Grid while the others wait for and share its result.
+   *
    * <p>f The TTL of the cached object will be set accordingly to the cache settings available at
    * {@link org.hisp.dhis.analytics.cache.AnalyticsCacheSettings}.
    *
@@ -85,14 +90,34 @@ public class AnalyticsCache {
     if (cachedGrid.isPresent()) {
       return getGridClone(cachedGrid.get());
     } else {
-      Grid grid = function.apply(params);
-
-      put(params, grid);
+      Grid grid = queryCoalescer.execute(params.getKey(), () -> fetchAndPut(params, function));
 
       return getGridClone(grid);
     }
   }
 
+  /**
+   * Fetches and caches the Grid for the given DataQueryParams. The cache is checked again, as the
+   * Grid might have been cached by a concurrent request since the initial cache lookup.
+   *
+   * @param params the current DataQueryParams.
+   * @param function that fetches a grid based on the given DataQueryParams.
+   * @return the cached or fetched Grid.
+   */
+  private Grid fetchAndPut(DataQueryParams params, Function<DataQueryParams, Grid> function) {
+    Optional<Grid> cachedGrid = queryCache.get(params.getKey());
+
+    if (cachedGrid.isPresent()) {
+      return cachedGrid.get();
+    }
+
+    Grid grid = function.apply(params);
+
+    put(params, grid);
+
+    return grid;
+  }
+
   /**
    * This method will cache the given Grid associated with the given DataQueryParams.
    *
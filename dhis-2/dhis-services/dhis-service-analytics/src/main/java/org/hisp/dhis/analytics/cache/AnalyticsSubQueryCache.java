@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.analytics.AnalyticsTableUpdatedEvent;
+import org.hisp.dhis.analytics.QueryKey;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache for the results of planned analytics sub-queries, which allows overlapping analytics
+ * requests to reuse sub-query results already fetched from the analytics tables.
+ *
+ * <p>Cache keys include a generation number for each analytics table and partition read by the
+ * sub-query. Invalidation of a table or partition increments its generation, which makes cached
+ * results of sub-queries reading from it unreachable, while results of sub-queries reading from
+ * other partitions remain valid.
+ *
+ * <p>Invalidations are published as {@link AnalyticsTableUpdatedEvent}, which are forwarded to the
+ * other servers of a cluster when cache invalidation is enabled, so that servers which did not
+ * update the analytics tables do not keep serving results of the replaced tables.
+ */
+@Slf4j
+@Component
+public class AnalyticsSubQueryCache {
+  private final AnalyticsCacheSettings analyticsCacheSettings;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final Cache<Map<String, Object>> queryCache;
+
+  /** Generation numbers of analytics tables, incremented when the full table is replaced. */
+  private final Map<String, Long> tableGenerations = new ConcurrentHashMap<>();
+
+  /**
+   * Generation numbers of analytics table partitions, incremented when the partition is replaced.
+   * Also holds the generation numbers of analytics tables queried without partitions, incremented
+   * when any partition of the table is replaced.
+   */
+  private final Map<String, Long> partitionGenerations = new ConcurrentHashMap<>();
+
+  public AnalyticsSubQueryCache(
+      CacheProvider cacheProvider,
+      AnalyticsCacheSettings analyticsCacheSettings,
+      ApplicationEventPublisher eventPublisher) {
+    checkNotNull(cacheProvider);
+    checkNotNull(analyticsCacheSettings);
+    checkNotNull(eventPublisher);
+
+    this.analyticsCacheSettings = analyticsCacheSettings;
+    this.eventPublisher = eventPublisher;
+    this.queryCache = cacheProvider.createAnalyticsSubQueryCache();
+  }
+
+  /**
+   * Returns a cache key for the given sub-query key, which reflects the current generation of the
+   * analytics table and partitions read by the sub-query.
+   *
+   * @param queryKey the key of the sub-query.
+   * @param tableName the name of the analytics table.
+   * @param partitionNames the names of the analytics table partitions read by the sub-query, empty
+   *     if the sub-query reads from the analytics table directly.
+   * @return a cache key.
+   */
+  public String getKey(String queryKey, String tableName, Collection<String> partitionNames) {
+    QueryKey key =
+        new QueryKey()
+            .add("query", queryKey)
+            .add("table", tableName + ":" + tableGenerations.getOrDefault(tableName, 0L));
+
+    if (partitionNames.isEmpty()) {
+      key.add("partition", tableName + ":" + partitionGenerations.getOrDefault(tableName, 0L));
+    } else {
+      partitionNames.stream()
+          .sorted()
+          .forEach(
+              name ->
+                  key.add("partition", name + ":" + partitionGenerations.getOrDefault(name, 0L)));
+    }
+
+    return key.build();
+  }
+
+  /**
+   * Returns a copy of the cached sub-query result for the given cache key.
+   *
+   * @param key the cache key.
+   * @return the cached sub-query result.
+   */
+  public Optional<Map<String, Object>> get(String key) {
+    return queryCache.get(key).map(HashMap::new);
+  }
+
+  /**
+   * Caches a copy of the given sub-query result. The TTL is set according to the fixed expiration
+   * time of the {@link AnalyticsCacheSettings}.
+   *
+   * @param key the cache key.
+   * @param values the sub-query result.
+   */
+  public void put(String key, Map<String, Object> values) {
+    queryCache.put(
+        key, new HashMap<>(values), analyticsCacheSettings.fixedExpirationTimeOrDefault());
+  }
+
+  /**
+   * Invalidates cached results of sub-queries reading from the given analytics table, including any
+   * of its partitions.
+   *
+   * @param tableName the name of the analytics table.
+   */
+  public void invalidateTable(String tableName) {
+    incrementTableGeneration(tableName);
+
+    eventPublisher.publishEvent(new AnalyticsTableUpdatedEvent(this, tableName, null));
+  }
+
+  /**
+   * Invalidates cached results of sub-queries reading from the given analytics table partition,
+   * including sub-queries reading from the analytics table directly.
+   *
+   * @param tableName the name of the analytics table.
+   * @param partitionName the name of the analytics table partition.
+   */
+  public void invalidatePartition(String tableName, String partitionName) {
+    incrementPartitionGeneration(tableName, partitionName);
+
+    eventPublisher.publishEvent(new AnalyticsTableUpdatedEvent(this, tableName, partitionName));
+  }
+
+  /**
+   * Applies invalidations of analytics tables and partitions which were replaced by another server.
+   * Events published by this cache are ignored, as they are applied already.
+   *
+   * @param event the {@link AnalyticsTableUpdatedEvent}.
+   */
+  @EventListener
+  public void handleAnalyticsTableUpdated(AnalyticsTableUpdatedEvent event) {
+    if (event.getSource() == this) {
+      return;
+    }
+
+    if (event.isPartition()) {
+      incrementPartitionGeneration(event.getTableName(), event.getPartitionName());
+    } else {
+      incrementTableGeneration(event.getTableName());
+    }
+  }
+
+  private void incrementTableGeneration(String tableName) {
+    tableGenerations.merge(tableName, 1L, Long::sum);
+
+    log.debug("Analytics sub-query cache invalidated for table: '{}'", tableName);
+  }
+
+  private void incrementPartitionGeneration(String tableName, String partitionName) {
+    partitionGenerations.merge(partitionName, 1L, Long::sum);
+    partitionGenerations.merge(tableName, 1L, Long::sum);
+
+    log.debug("Analytics sub-query cache invalidated for partition: '{}'", partitionName);
+  }
+
+  /** Clears the current cache by removing all existing entries. */
+  public void invalidateAll() {
+    queryCache.invalidateAll();
+
+    log.info("Analytics sub-query cache cleared");
+  }
+
+  public boolean isEnabled() {
+    return analyticsCacheSettings.isCachingEnabled();
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces concurrent executions of identical queries. The first caller for a given key executes
+ * the query, while callers arriving with the same key before the execution completes wait for and
+ * share the result of the in-flight execution instead of executing the query again.
+ *
+ * <p>Results are not retained after the execution completes, caching of results is the
+ * responsibility of the caller. As the result instance is shared between all callers, callers which
+ * modify the result must work on a copy.
+ *
+ * @param <T> the type of the query result.
+ */
+@Slf4j
+public class QueryCoalescer<T> {
+  private final Map<String, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the result of the given supplier for the given key. If an execution with the same key
+   * is already in progress, waits for that execution and returns its result. Exceptions thrown by
+   * the in-flight execution are rethrown to all waiting callers.
+   *
+   * @param key the query key.
+   * @param supplier the supplier executing the query.
+   * @return the query result.
+   */
+  public T execute(String key, Supplier<T> supplier) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    CompletableFuture<T> existing = inFlight.putIfAbsent(key, future);
+
+    if (existing != null) {
+      log.debug("Waiting for in-flight query with key: '{}'", key);
+
+      return await(existing);
+    }
+
+    try {
+      T result = supplier.get();
+      future.complete(result);
+      return result;
+    } catch (RuntimeException | Error ex) {
+      future.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  /** Returns the number of queries currently in progress. */
+  public int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  private T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      } else if (ex.getCause() instanceof Error error) {
+        throw error;
+      }
+
+      throw ex;
+    }
+  }
+}
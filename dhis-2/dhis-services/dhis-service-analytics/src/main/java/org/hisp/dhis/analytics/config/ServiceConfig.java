@@ -29,6 +29,7 @@ package org.hisp.dhis.analytics.config;
 
 import org.hisp.dhis.analytics.AnalyticsTableManager;
 import org.hisp.dhis.analytics.AnalyticsTableService;
+import org.hisp.dhis.analytics.cache.AnalyticsSubQueryCache;
 import org.hisp.dhis.analytics.table.DefaultAnalyticsTableService;
 import org.hisp.dhis.dataelement.DataElementService;
 import org.hisp.dhis.db.sql.SqlBuilder;
@@ -58,13 +59,15 @@ public class ServiceConfig {
       OrganisationUnitService organisationUnitService,
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
-      SystemSettingManager systemSettingManager) {
+      SystemSettingManager systemSettingManager,
+      AnalyticsSubQueryCache subQueryCache) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
-        systemSettingManager);
+        systemSettingManager,
+        subQueryCache);
   }
 
   @Bean("org.hisp.dhis.analytics.TeiEventsAnalyticsTableService")
@@ -74,13 +77,15 @@ public class ServiceConfig {
       OrganisationUnitService organisationUnitService,
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
-      SystemSettingManager systemSettingManager) {
+      SystemSettingManager systemSettingManager,
+      AnalyticsSubQueryCache subQueryCache) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
-        systemSettingManager);
+        systemSettingManager,
+        subQueryCache);
   }
 
   @Bean("org.hisp.dhis.analytics.TeiEnrollmentsAnalyticsTableService")
@@ -90,13 +95,15 @@ public class ServiceConfig {
       OrganisationUnitService organisationUnitService,
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
-      SystemSettingManager systemSettingManager) {
+      SystemSettingManager systemSettingManager,
+      AnalyticsSubQueryCache subQueryCache) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
-        systemSettingManager);
+        systemSettingManager,
+        subQueryCache);
   }
 
   @Bean("org.hisp.dhis.analytics.AnalyticsTableService")
@@ -106,13 +113,15 @@ public class ServiceConfig {
       OrganisationUnitService organisationUnitService,
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
-      SystemSettingManager systemSettingManager) {
+      SystemSettingManager systemSettingManager,
+      AnalyticsSubQueryCache subQueryCache) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
-        systemSettingManager);
+        systemSettingManager,
+        subQueryCache);
   }
 
   @Bean("org.hisp.dhis.analytics.CompletenessTableService")
@@ -122,13 +131,15 @@ public class ServiceConfig {
       OrganisationUnitService organisationUnitService,
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
-      SystemSettingManager systemSettingManager) {
+      SystemSettingManager systemSettingManager,
+      AnalyticsSubQueryCache subQueryCache) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
-        systemSettingManager);
+        systemSettingManager,
+        subQueryCache);
   }
 
   @Bean("org.hisp.dhis.analytics.CompletenessTargetTableService")
@@ -138,13 +149,15 @@ public class ServiceConfig {
       OrganisationUnitService organisationUnitService,
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
-      SystemSettingManager systemSettingManager) {
+      SystemSettingManager systemSettingManager,
+      AnalyticsSubQueryCache subQueryCache) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
-        systemSettingManager);
+        systemSettingManager,
+        subQueryCache);
   }
 
   @Bean("org.hisp.dhis.analytics.OrgUnitTargetTableService")
@@ -154,13 +167,15 @@ public class ServiceConfig {
       OrganisationUnitService organisationUnitService,
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
-      SystemSettingManager systemSettingManager) {
+      SystemSettingManager systemSettingManager,
+      AnalyticsSubQueryCache subQueryCache) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
-        systemSettingManager);
+        systemSettingManager,
+        subQueryCache);
   }
 
   @Bean("org.hisp.dhis.analytics.OwnershipAnalyticsTableService")
@@ -170,13 +185,15 @@ public class ServiceConfig {
       OrganisationUnitService organisationUnitService,
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
-      SystemSettingManager systemSettingManager) {
+      SystemSettingManager systemSettingManager,
+      AnalyticsSubQueryCache subQueryCache) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
-        systemSettingManager);
+        systemSettingManager,
+        subQueryCache);
   }
 
   @Bean("org.hisp.dhis.analytics.EventAnalyticsTableService")
@@ -186,13 +203,15 @@ public class ServiceConfig {
       OrganisationUnitService organisationUnitService,
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
-      SystemSettingManager systemSettingManager) {
+      SystemSettingManager systemSettingManager,
+      AnalyticsSubQueryCache subQueryCache) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
-        systemSettingManager);
+        systemSettingManager,
+        subQueryCache);
   }
 
   @Bean("org.hisp.dhis.analytics.ValidationResultTableService")
@@ -202,13 +221,15 @@ public class ServiceConfig {
       OrganisationUnitService organisationUnitService,
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
-      SystemSettingManager systemSettingManager) {
+      SystemSettingManager systemSettingManager,
+      AnalyticsSubQueryCache subQueryCache) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
-        systemSettingManager);
+        systemSettingManager,
+        subQueryCache);
   }
 
   @Bean("org.hisp.dhis.analytics.EnrollmentAnalyticsTableService")
@@ -218,12 +239,14 @@ public class ServiceConfig {
       OrganisationUnitService organisationUnitService,
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
-      SystemSettingManager systemSettingManager) {
+      SystemSettingManager systemSettingManager,
+      AnalyticsSubQueryCache subQueryCache) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
-        systemSettingManager);
+        systemSettingManager,
+        subQueryCache);
   }
 }
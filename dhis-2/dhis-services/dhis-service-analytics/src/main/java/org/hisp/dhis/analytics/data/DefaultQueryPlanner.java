@@ -39,6 +39,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -122,7 +123,7 @@ public class DefaultQueryPlanner implements QueryPlanner {
     DataQueryGroups queryGroups = DataQueryGroups.newBuilder().withQueries(queries).build();
 
     if (queryGroups.isOptimal(plannerParams.getOptimalQueries())) {
-      return queryGroups;
+      return withSubPartitions(queryGroups, plannerParams);
     }
 
     List<String> splitDimensions = Lists.newArrayList(DATA_X_DIM_ID, ORGUNIT_DIM_ID);
@@ -135,7 +136,7 @@ public class DefaultQueryPlanner implements QueryPlanner {
       }
     }
 
-    return queryGroups;
+    return withSubPartitions(queryGroups, plannerParams);
   }
 
   @Override
@@ -165,6 +166,60 @@ public class DefaultQueryPlanner implements QueryPlanner {
     return DataQueryParams.newBuilder(params).withPartitions(partitions).build();
   }
 
+  // -------------------------------------------------------------------------
+  // Supportive partition methods
+  // -------------------------------------------------------------------------
+
+  /**
+   * Assigns sub-partitions to the queries of the given query groups, so that queries for
+   * organisation units below the sub-partition level of the aggregate analytics table read only the
+   * sub-partitions containing data for these organisation units.
+   *
+   * @param queryGroups the {@link DataQueryGroups}.
+   * @param plannerParams the {@link QueryPlannerParams}.
+   * @return a {@link DataQueryGroups}.
+   */
+  private DataQueryGroups withSubPartitions(
+      DataQueryGroups queryGroups, QueryPlannerParams plannerParams) {
+    if (AnalyticsTableType.DATA_VALUE != plannerParams.getTableType()) {
+      return queryGroups;
+    }
+
+    List<DataQueryParams> queries =
+        queryGroups.getAllQueries().stream()
+            .map(query -> withSubPartitions(query, plannerParams.getTableName()))
+            .toList();
+
+    return DataQueryGroups.newBuilder().withQueries(queries).build();
+  }
+
+  /**
+   * Assigns sub-partitions to the given query if sub-partitions exist which contain all data of the
+   * organisation units of the query.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param tableName the table name.
+   * @return a {@link DataQueryParams}.
+   */
+  private DataQueryParams withSubPartitions(DataQueryParams params, String tableName) {
+    if (params.isSkipPartitioning() || !params.hasPartitions()) {
+      return params;
+    }
+
+    Set<String> subPartitions =
+        partitionManager.getSubPartitions(
+            params.getPartitions(), tableName, params.getDimensionOrFilterItems(ORGUNIT_DIM_ID));
+
+    if (subPartitions.isEmpty()) {
+      return params;
+    }
+
+    Partitions partitions = new Partitions(params.getPartitions());
+    partitions.setSubPartitions(subPartitions);
+
+    return DataQueryParams.newBuilder(params).withPartitions(partitions).build();
+  }
+
   // -------------------------------------------------------------------------
   // Supportive split methods
   // -------------------------------------------------------------------------
@@ -58,9 +58,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.analytics.AggregationType;
@@ -70,8 +72,11 @@ import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.MeasureFilter;
+import org.hisp.dhis.analytics.QueryKey;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.cache.AnalyticsSubQueryCache;
+import org.hisp.dhis.analytics.cache.QueryCoalescer;
 import org.hisp.dhis.analytics.table.model.Partitions;
 import org.hisp.dhis.analytics.table.util.PartitionUtils;
 import org.hisp.dhis.analytics.util.AnalyticsUtils;
@@ -157,6 +162,10 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
 
   private final SqlBuilder sqlBuilder;
 
+  private final AnalyticsSubQueryCache subQueryCache;
+
+  private final QueryCoalescer<Map<String, Object>> subQueryCoalescer = new QueryCoalescer<>();
+
   // -------------------------------------------------------------------------
   // AnalyticsManager implementation
   // -------------------------------------------------------------------------
@@ -184,21 +193,25 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
         params = getParamsWithOffsetPartitions(params, tableType);
       }
 
-      String sql = getSql(params, tableType);
-
       final DataQueryParams immutableParams = DataQueryParams.newBuilder(params).build();
 
       if (params.analyzeOnly()) {
+        String sql = getSql(params, tableType, null);
         withExceptionHandling(
             () -> executionPlanStore.addExecutionPlan(immutableParams.getExplainOrderId(), sql));
         return new AsyncResult<>(Maps.newHashMap());
       }
 
+      SqlParameters parameters = new SqlParameters();
+
+      String sql = getSql(params, tableType, parameters);
+
       Map<String, Object> map;
 
       try {
         map =
-            withExceptionHandling(() -> getKeyValueMap(immutableParams, sql, maxLimit))
+            withExceptionHandling(
+                    () -> getCoalescedKeyValueMap(immutableParams, sql, parameters, maxLimit))
                 .orElse(Map.of());
       } catch (BadSqlGrammarException ex) {
         if (relationDoesNotExist(ex.getSQLException())) {
@@ -299,13 +312,18 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
   }
 
   /**
-   * Generates the query SQL.
+   * Generates the query SQL. Values are bound to the given parameters, or written as literals if no
+   * parameters are given. Subexpression queries are always written with literals.
    *
    * @param params the {@link DataQueryParams}.
    * @param tableType the type of analytics table.
+   * @param parameters the {@link SqlParameters}, may be null.
    * @return the query SQL.
    */
-  private String getSql(DataQueryParams params, AnalyticsTableType tableType) {
+  private String getSql(
+      DataQueryParams params,
+      AnalyticsTableType tableType,
+      @CheckForNull SqlParameters parameters) {
     if (params.hasSubexpressions()) {
       return new JdbcSubexpressionQueryGenerator(this, params, tableType).getSql();
     }
@@ -314,17 +332,17 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
 
     builder.append(getSelectClause(params));
 
-    builder.append(getFromClause(params, tableType));
+    builder.append(getFromClause(params, tableType, parameters));
 
     // Skip the where clause here if already in sub query
     if (!params.getAggregationType().isMinOrMaxInPeriodAggregationType()) {
-      builder.append(getWhereClause(params, tableType));
+      builder.append(getWhereClause(params, tableType, parameters));
     }
 
     builder.append(getGroupByClause(params));
 
     if (params.hasMeasureCriteria() && params.isDataType(DataType.NUMERIC)) {
-      builder.append(getMeasureCriteriaSql(params));
+      builder.append(getMeasureCriteriaSql(params, parameters));
     }
 
     return builder.toString();
@@ -398,9 +416,13 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
    *
    * @param params the {@link DataQueryParams}.
    * @param tableType the type of analytics table.
+   * @param parameters the {@link SqlParameters}, may be null.
    * @return a SQL from clause.
    */
-  private String getFromClause(DataQueryParams params, AnalyticsTableType tableType) {
+  private String getFromClause(
+      DataQueryParams params,
+      AnalyticsTableType tableType,
+      @CheckForNull SqlParameters parameters) {
     String sql = "from ";
 
     if (params.getAggregationType().isFirstOrLastPeriodAggregationType()) {
@@ -409,9 +431,9 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
     } else if (params.getAggregationType().isLastInPeriodAggregationType()) {
       sql += getFirstOrLastValueSubquerySql(params, params.getEarliestStartDate());
     } else if (params.getAggregationType().isMinOrMaxInPeriodAggregationType()) {
-      sql += getMinOrMaxValueSubquerySql(params, tableType);
+      sql += getMinOrMaxValueSubquerySql(params, tableType, parameters);
     } else if (params.hasPreAggregateMeasureCriteria() && params.isDataType(DataType.NUMERIC)) {
-      sql += getPreMeasureCriteriaSubquerySql(params);
+      sql += getPreMeasureCriteriaSubquerySql(params, parameters);
     } else {
       sql += getFromSourceClause(params);
     }
@@ -420,49 +442,65 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
   }
 
   /**
-   * Returns the query from source clause. Can be any of table name, partition name or inner select
-   * union all query.
+   * Returns the query from source clause. Can be any of table name, partition name, sub-partition
+   * name or inner select union all query.
    *
    * @param params the {@link DataQueryParams}.
    * @return a SQL from source clause.
    */
   protected String getFromSourceClause(DataQueryParams params) {
-    if (!params.isSkipPartitioning() && params.hasPartitions() && params.getPartitions().hasOne()) {
-      Integer partition = params.getPartitions().getAny();
+    if (params.isSkipPartitioning() || !params.hasPartitions()) {
+      return params.getTableName();
+    }
 
-      return PartitionUtils.getPartitionName(params.getTableName(), partition);
-    } else if (!params.isSkipPartitioning()
-        && params.hasPartitions()
-        && params.getPartitions().hasMultiple()) {
-      String sql = "(";
+    List<String> partitionNames =
+        PartitionUtils.getPartitionNames(params.getTableName(), params.getPartitions());
 
-      for (Integer partition : params.getPartitions().getPartitions()) {
-        String partitionName = PartitionUtils.getPartitionName(params.getTableName(), partition);
+    if (partitionNames.size() == 1) {
+      return partitionNames.get(0);
+    }
 
-        sql += "select ap.* from " + partitionName + " as ap union all ";
-      }
+    String sql = "(";
 
-      return TextUtils.removeLast(sql, "union all") + ")";
-    } else {
-      return params.getTableName();
+    for (String partitionName : partitionNames) {
+      sql += "select ap.* from " + partitionName + " as ap union all ";
     }
+
+    return TextUtils.removeLast(sql, "union all") + ")";
   }
 
   /**
-   * Generates the where clause of the query SQL.
+   * Generates the where clause of the query SQL with all values written as literals.
    *
    * @param params the {@link DataQueryParams}.
    * @param tableType the type of analytics table.
    * @return a SQL where clause.
    */
   protected String getWhereClause(DataQueryParams params, AnalyticsTableType tableType) {
+    return getWhereClause(params, tableType, null);
+  }
+
+  /**
+   * Generates the where clause of the query SQL. Values are bound to the given parameters, or
+   * written as literals if no parameters are given. The partition restriction is always written
+   * with literals to allow constraint exclusion.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param tableType the type of analytics table.
+   * @param parameters the {@link SqlParameters}, may be null.
+   * @return a SQL where clause.
+   */
+  private String getWhereClause(
+      DataQueryParams params,
+      AnalyticsTableType tableType,
+      @CheckForNull SqlParameters parameters) {
     SqlHelper sqlHelper = new SqlHelper();
 
     StringBuilder sql = new StringBuilder();
 
-    getWhereClauseDimensions(params, sqlHelper, sql);
-    getWhereClauseFilters(params, sqlHelper, sql);
-    getWhereClauseDataApproval(params, sqlHelper, sql);
+    getWhereClauseDimensions(params, sqlHelper, sql, parameters);
+    getWhereClauseFilters(params, sqlHelper, sql, parameters);
+    getWhereClauseDataApproval(params, sqlHelper, sql, parameters);
     getWhereClauseRestrictions(params, sqlHelper, sql, tableType);
 
     return sql.toString();
@@ -470,20 +508,26 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
 
   /** Add where clause dimensions. */
   private void getWhereClauseDimensions(
-      DataQueryParams params, SqlHelper sqlHelper, StringBuilder sql) {
+      DataQueryParams params,
+      SqlHelper sqlHelper,
+      StringBuilder sql,
+      @CheckForNull SqlParameters parameters) {
     for (DimensionalObject dim : params.getDimensions()) {
       if (dim.hasItems() && !dim.isFixed()) {
         String col = quoteAlias(dim.getDimensionName());
-        String items = sqlBuilder.singleQuotedCommaDelimited(getUids(dim.getItems()));
 
-        sql.append(sqlHelper.whereAnd() + " " + col + " in (" + items + ") ");
+        sql.append(
+            sqlHelper.whereAnd() + " " + getInCondition(col, getUids(dim.getItems()), parameters));
       }
     }
   }
 
   /** Add where clause filters. */
   private void getWhereClauseFilters(
-      DataQueryParams params, SqlHelper sqlHelper, StringBuilder sql) {
+      DataQueryParams params,
+      SqlHelper sqlHelper,
+      StringBuilder sql,
+      @CheckForNull SqlParameters parameters) {
     ListMap<String, DimensionalObject> filterMap = params.getDimensionFilterMap();
 
     for (String dimension : filterMap.keySet()) {
@@ -498,10 +542,8 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
                 .map(
                     filter -> {
                       String col = quoteAlias(filter.getDimensionName());
-                      String items =
-                          sqlBuilder.singleQuotedCommaDelimited(getUids(filter.getItems()));
 
-                      return col + " in (" + items + ") ";
+                      return getInCondition(col, getUids(filter.getItems()), parameters);
                     })
                 .collect(Collectors.joining("or ")));
 
@@ -512,7 +554,10 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
 
   /** Add where clause data approval constraints. */
   private void getWhereClauseDataApproval(
-      DataQueryParams params, SqlHelper sqlHelper, StringBuilder sql) {
+      DataQueryParams params,
+      SqlHelper sqlHelper,
+      StringBuilder sql,
+      @CheckForNull SqlParameters parameters) {
     if (params.isDataApproval()) {
       sql.append(sqlHelper.whereAnd() + " ( ");
 
@@ -525,12 +570,12 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
 
                     return "("
                         + ouCol
-                        + " = '"
-                        + unit.getUid()
-                        + "' and "
+                        + " = "
+                        + getTextValue(unit.getUid(), parameters)
+                        + " and "
                         + quoteAlias(APPROVALLEVEL)
                         + " <= "
-                        + level
+                        + getNumberValue(level, parameters)
                         + ")";
                   })
               .collect(Collectors.joining(" or ")));
@@ -632,6 +677,48 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
     }
   }
 
+  /**
+   * Returns a condition restricting the given column to the given values. The values are bound as
+   * an array if parameters are given, otherwise they are written as a list of literals.
+   *
+   * @param col the quoted column.
+   * @param items the values.
+   * @param parameters the {@link SqlParameters}, may be null.
+   * @return a SQL condition.
+   */
+  private String getInCondition(
+      String col, Collection<String> items, @CheckForNull SqlParameters parameters) {
+    if (parameters == null) {
+      return col + " in (" + sqlBuilder.singleQuotedCommaDelimited(items) + ") ";
+    }
+
+    return col + " = any(" + parameters.bindArray(items) + ") ";
+  }
+
+  /**
+   * Returns the given text value as a bound parameter if parameters are given, otherwise as a
+   * quoted literal.
+   *
+   * @param value the value.
+   * @param parameters the {@link SqlParameters}, may be null.
+   * @return a SQL value.
+   */
+  private String getTextValue(String value, @CheckForNull SqlParameters parameters) {
+    return parameters == null ? sqlBuilder.singleQuote(value) : parameters.bindText(value);
+  }
+
+  /**
+   * Returns the given numeric value as a bound parameter if parameters are given, otherwise as a
+   * literal.
+   *
+   * @param value the value.
+   * @param parameters the {@link SqlParameters}, may be null.
+   * @return a SQL value.
+   */
+  private String getNumberValue(Number value, @CheckForNull SqlParameters parameters) {
+    return parameters == null ? String.valueOf(value) : parameters.bindNumber(value);
+  }
+
   /**
    * Generates the group by clause of the query SQL.
    *
@@ -655,13 +742,17 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
    *
    * @param params the {@link DataQueryParams}.
    * @param tableType the type of analytics table.
+   * @param parameters the {@link SqlParameters}, may be null.
    * @return a SQL minimum or maximum value sub query.
    */
-  private String getMinOrMaxValueSubquerySql(DataQueryParams params, AnalyticsTableType tableType) {
+  private String getMinOrMaxValueSubquerySql(
+      DataQueryParams params,
+      AnalyticsTableType tableType,
+      @CheckForNull SqlParameters parameters) {
     String dimensionColumns = getMinOrMaxValueSubqueryDimensionColumns(params);
     String valueColumns = getMinOrMaxValueSubqueryValueColumns(params);
     String fromSourceClause = getFromSourceClause(params) + " as " + ANALYTICS_TBL_ALIAS;
-    String whereClause = getWhereClause(params, tableType);
+    String whereClause = getWhereClause(params, tableType, parameters);
 
     return "(select "
         + dimensionColumns
@@ -874,9 +965,11 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
    * not, returns the full view of the partition.
    *
    * @param params the {@link DataQueryParams}.
+   * @param parameters the {@link SqlParameters}, may be null.
    * @return a SQL measure sub query.
    */
-  private String getPreMeasureCriteriaSubquerySql(DataQueryParams params) {
+  private String getPreMeasureCriteriaSubquerySql(
+      DataQueryParams params, @CheckForNull SqlParameters parameters) {
     SqlHelper sqlHelper = new SqlHelper();
 
     String fromSourceClause = getFromSourceClause(params) + " as " + ANALYTICS_TBL_ALIAS;
@@ -887,7 +980,12 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
       Double criterion = params.getPreAggregateMeasureCriteria().get(filter);
 
       sql +=
-          sqlHelper.whereAnd() + " value " + OPERATOR_SQL_MAP.get(filter) + " " + criterion + " ";
+          sqlHelper.whereAnd()
+              + " value "
+              + OPERATOR_SQL_MAP.get(filter)
+              + " "
+              + getNumberValue(criterion, parameters)
+              + " ";
     }
 
     sql += ")";
@@ -899,9 +997,11 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
    * Returns a having clause restricting the result based on the measure criteria.
    *
    * @param params the {@link DataQueryParams}.
+   * @param parameters the {@link SqlParameters}, may be null.
    * @return a SQL measure having clause.
    */
-  private String getMeasureCriteriaSql(DataQueryParams params) {
+  private String getMeasureCriteriaSql(
+      DataQueryParams params, @CheckForNull SqlParameters parameters) {
     SqlHelper sqlHelper = new SqlHelper();
 
     String sql = " ";
@@ -916,27 +1016,115 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
               + " "
               + OPERATOR_SQL_MAP.get(filter)
               + " "
-              + criterion
+              + getNumberValue(criterion, parameters)
               + " ";
     }
 
     return sql;
   }
 
+  /**
+   * Retrieves data from the database based on the given query and SQL and puts into a value key and
+   * value mapping. Results are cached per sub-query if caching is enabled. Concurrent executions of
+   * identical sub-queries are coalesced into a single database query. The shared result is copied,
+   * as the mapping is modified by the caller.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param sql the SQL query.
+   * @param parameters the {@link SqlParameters} of the SQL query.
+   * @param maxLimit the max limit of records to return, 0 indicates unlimited.
+   */
+  private Map<String, Object> getCoalescedKeyValueMap(
+      DataQueryParams params, String sql, SqlParameters parameters, int maxLimit) {
+    String key = getSubQueryKey(params, sql, parameters, maxLimit);
+
+    if (!subQueryCache.isEnabled()) {
+      return new HashMap<>(
+          subQueryCoalescer.execute(key, () -> getKeyValueMap(params, sql, parameters, maxLimit)));
+    }
+
+    String cacheKey = subQueryCache.getKey(key, params.getTableName(), getPartitionNames(params));
+
+    Optional<Map<String, Object>> cachedMap = subQueryCache.get(cacheKey);
+
+    if (cachedMap.isPresent()) {
+      return cachedMap.get();
+    }
+
+    return new HashMap<>(
+        subQueryCoalescer.execute(
+            cacheKey,
+            () -> {
+              Map<String, Object> map = getKeyValueMap(params, sql, parameters, maxLimit);
+              subQueryCache.put(cacheKey, map);
+              return map;
+            }));
+  }
+
+  /**
+   * Returns a key for the given sub-query. The key is based on the SQL statement, the bound values
+   * and the properties of the query which are used to build the keys of the resulting map.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param sql the SQL statement.
+   * @param parameters the {@link SqlParameters} of the SQL statement.
+   * @param maxLimit the max number of records to retrieve.
+   * @return a key for the sub-query.
+   */
+  private String getSubQueryKey(
+      DataQueryParams params, String sql, SqlParameters parameters, int maxLimit) {
+    QueryKey key =
+        new QueryKey()
+            .add("sql", sql)
+            .add("parameters", parameters)
+            .add("maxLimit", maxLimit)
+            .add("dataType", params.getDataType());
+
+    for (DimensionalObject dim : params.getDimensions()) {
+      key.add("dimension", dim.getDimensionName())
+          .add("fixed", dim.isFixed())
+          .add("queryModsId", params.getQueryModsId(dim));
+    }
+
+    return key.build();
+  }
+
+  /**
+   * Returns the names of the analytics table partitions read by the given query, or an empty list
+   * if the query reads from the analytics table directly.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return a list of partition names.
+   */
+  private List<String> getPartitionNames(DataQueryParams params) {
+    if (params.isSkipPartitioning() || !params.hasPartitions()) {
+      return List.of();
+    }
+
+    return params.getPartitions().getPartitions().stream()
+        .map(partition -> PartitionUtils.getPartitionName(params.getTableName(), partition))
+        .collect(Collectors.toList());
+  }
+
   /**
    * Retrieves data from the database based on the given query and SQL and puts into a value key and
    * value mapping.
    *
    * @param params the {@link DataQueryParams}.
    * @param sql the SQL query.
+   * @param parameters the {@link SqlParameters} of the SQL query.
    * @param maxLimit the max limit of records to return, 0 indicates unlimited.
    */
-  private Map<String, Object> getKeyValueMap(DataQueryParams params, String sql, int maxLimit) {
+  private Map<String, Object> getKeyValueMap(
+      DataQueryParams params, String sql, SqlParameters parameters, int maxLimit) {
     Map<String, Object> map = new HashMap<>();
 
-    log.debug("Analytics query SQL: '{}'", sql);
+    log.debug("Analytics query SQL: '{}', parameters: '{}'", sql, parameters);
 
-    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
+    SqlRowSet rowSet =
+        parameters.isEmpty()
+            ? jdbcTemplate.queryForRowSet(sql)
+            : parameters.queryForRowSet(jdbcTemplate, sql);
 
     int counter = 0;
 
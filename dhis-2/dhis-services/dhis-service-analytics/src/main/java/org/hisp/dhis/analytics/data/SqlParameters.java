@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.data;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+
+/**
+ * Collects the values of an analytics query which are bound as parameters instead of being written
+ * into the SQL as literals. Queries of the same shape hence produce identical SQL, which allows the
+ * database to reuse prepared statements and query plans.
+ *
+ * <p>Lists of values are bound as a single array parameter, so that the SQL does not depend on the
+ * number of items. Arrays and text values are bound without a type, which lets the database infer
+ * the type of the column they are compared with.
+ *
+ * <p>Used by {@link JdbcAnalyticsManager} for aggregate analytics queries.
+ */
+class SqlParameters {
+  private static final String PREFIX = "p";
+
+  private final MapSqlParameterSource parameterSource = new MapSqlParameterSource();
+
+  private final Map<String, Object> values = new LinkedHashMap<>();
+
+  /**
+   * Binds the given values as an array.
+   *
+   * @param items the values.
+   * @return the named parameter placeholder, such as {@code :p1}.
+   */
+  String bindArray(Collection<String> items) {
+    String array =
+        items.stream()
+            .map(item -> "\"" + item.replace("\\", "\\\\").replace("\"", "\\\"") + "\"")
+            .collect(Collectors.joining(",", "{", "}"));
+
+    return bind(items, array, Types.OTHER);
+  }
+
+  /**
+   * Binds the given text value.
+   *
+   * @param value the value.
+   * @return the named parameter placeholder, such as {@code :p1}.
+   */
+  String bindText(String value) {
+    return bind(value, value, Types.OTHER);
+  }
+
+  /**
+   * Binds the given numeric value.
+   *
+   * @param value the value.
+   * @return the named parameter placeholder, such as {@code :p1}.
+   */
+  String bindNumber(Number value) {
+    return bind(value, value, SqlParameterSource.TYPE_UNKNOWN);
+  }
+
+  /** Indicates whether no values are bound. */
+  boolean isEmpty() {
+    return values.isEmpty();
+  }
+
+  /**
+   * Executes the given SQL with the bound values. Named parameter placeholders in the SQL are
+   * substituted with positional placeholders.
+   *
+   * @param jdbcTemplate the {@link JdbcTemplate}.
+   * @param sql the SQL with named parameter placeholders.
+   * @return a {@link SqlRowSet}.
+   */
+  SqlRowSet queryForRowSet(JdbcTemplate jdbcTemplate, String sql) {
+    ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+
+    return jdbcTemplate.queryForRowSet(
+        NamedParameterUtils.substituteNamedParameters(parsedSql, parameterSource),
+        NamedParameterUtils.buildValueArray(parsedSql, parameterSource, null));
+  }
+
+  private String bind(Object value, Object parameter, int sqlType) {
+    String name = PREFIX + (values.size() + 1);
+
+    values.put(name, value);
+    parameterSource.addValue(name, parameter, sqlType);
+
+    return ":" + name;
+  }
+
+  /** Returns the bound values, for use in cache keys together with the SQL. */
+  @Override
+  public String toString() {
+    return values.toString();
+  }
+}
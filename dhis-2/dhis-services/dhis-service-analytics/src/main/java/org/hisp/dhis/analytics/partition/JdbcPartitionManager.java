@@ -27,17 +27,23 @@
  */
 package org.hisp.dhis.analytics.partition;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
 import org.hisp.dhis.analytics.table.model.Partitions;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableExportSettings;
 import org.hisp.dhis.analytics.table.util.PartitionUtils;
+import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.event.EventListener;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -52,9 +58,14 @@ import org.springframework.stereotype.Service;
 public class JdbcPartitionManager implements PartitionManager {
   private Map<AnalyticsTableType, Set<String>> analyticsPartitions = new HashMap<>();
 
+  /** Names of the existing tables starting with a table name, used to look up sub-partitions. */
+  private Map<String, Set<String>> subPartitionTables = new ConcurrentHashMap<>();
+
   @Qualifier("analyticsJdbcTemplate")
   private final JdbcTemplate jdbcTemplate;
 
+  private final AnalyticsTableExportSettings analyticsExportSettings;
+
   @Override
   public Set<String> getAnalyticsPartitions(AnalyticsTableType tableType) {
     if (analyticsPartitions.containsKey(tableType)) {
@@ -107,10 +118,98 @@ public class JdbcPartitionManager implements PartitionManager {
     return tableExists(PartitionUtils.getPartitionName(tableName, partition));
   }
 
+  @Override
+  public Set<String> getSubPartitions(
+      Partitions partitions, String tableName, Collection<DimensionalItemObject> orgUnits) {
+    int level = analyticsExportSettings.getPartitionOrgUnitLevel();
+
+    if (level == 0 || orgUnits.isEmpty()) {
+      return Set.of();
+    }
+
+    Set<String> subPartitions = new HashSet<>();
+
+    for (DimensionalItemObject item : orgUnits) {
+      String ancestor =
+          item instanceof OrganisationUnit orgUnit ? getAncestorUid(orgUnit, level) : null;
+
+      if (ancestor == null) {
+        return Set.of();
+      }
+
+      subPartitions.add(ancestor);
+    }
+
+    Set<String> tables =
+        partitions.getPartitions().stream()
+            .filter(partition -> !AnalyticsTablePartition.LATEST_PARTITION.equals(partition))
+            .flatMap(
+                partition ->
+                    subPartitions.stream()
+                        .map(
+                            subPartition ->
+                                PartitionUtils.getPartitionName(
+                                    tableName, partition, subPartition)))
+            .collect(Collectors.toSet());
+
+    return tablesExist(tableName, tables) ? subPartitions : Set.of();
+  }
+
+  /**
+   * Returns the identifier of the ancestor at the given level of the given organisation unit,
+   * including the organisation unit itself, or null if the organisation unit is above the level.
+   */
+  private String getAncestorUid(OrganisationUnit orgUnit, int level) {
+    String path = orgUnit.getPath();
+
+    if (path == null || path.isEmpty()) {
+      return null;
+    }
+
+    String[] uids = path.substring(1).split("/");
+
+    return uids.length >= level ? uids[level - 1] : null;
+  }
+
+  /**
+   * Indicates whether all of the given tables exist. The names of the existing tables starting with
+   * the given table name are cached.
+   */
+  private boolean tablesExist(String tableName, Set<String> tables) {
+    if (tables.isEmpty()) {
+      return false;
+    }
+
+    return subPartitionTables.computeIfAbsent(tableName, this::getTables).containsAll(tables);
+  }
+
+  /**
+   * Returns the names of the existing tables starting with the given table name. Underscores are
+   * escaped as they match any single character in a like pattern.
+   */
+  private Set<String> getTables(String tableName) {
+    String sql =
+        "select table_name from information_schema.tables "
+            + "where table_name like '"
+            + tableName.replace("_", "\\_")
+            + "%' "
+            + "and table_type = 'BASE TABLE'";
+
+    log.debug("Sub-partition tables SQL: " + sql);
+
+    return new HashSet<>(jdbcTemplate.queryForList(sql, String.class));
+  }
+
+  @Override
+  public void invalidateSubPartitionTables() {
+    subPartitionTables = new ConcurrentHashMap<>();
+  }
+
   @Override
   @EventListener
   public void handleApplicationCachesCleared(ApplicationCacheClearedEvent event) {
     analyticsPartitions = new HashMap<>();
+    subPartitionTables = new ConcurrentHashMap<>();
     log.info("Analytics partition cache cleared");
   }
 }
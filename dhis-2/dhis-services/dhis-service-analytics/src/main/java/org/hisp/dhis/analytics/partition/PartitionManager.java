@@ -27,9 +27,11 @@
  */
 package org.hisp.dhis.analytics.partition;
 
+import java.util.Collection;
 import java.util.Set;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.table.model.Partitions;
+import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
 
 /**
@@ -60,6 +62,27 @@ public interface PartitionManager {
    */
   void filterNonExistingPartitions(Partitions partitions, String tableName);
 
+  /**
+   * Returns the sub-partitions which contain all data of the given organisation units, for each of
+   * the given partitions. The sub-partitions are the ancestors of the organisation units at the
+   * configured sub-partition level. Returns an empty set if sub-partitioning is disabled, if any of
+   * the organisation units is above the sub-partition level, or if any of the sub-partition tables
+   * does not exist.
+   *
+   * @param partitions the partitions.
+   * @param tableName the table name.
+   * @param orgUnits the organisation units.
+   * @return a set of sub-partitions, or an empty set.
+   */
+  Set<String> getSubPartitions(
+      Partitions partitions, String tableName, Collection<DimensionalItemObject> orgUnits);
+
+  /**
+   * Invalidates the cached names of existing sub-partition tables. Must be called when analytics
+   * tables have been updated, as sub-partition tables may have been created or dropped.
+   */
+  void invalidateSubPartitionTables();
+
   /**
    * Event handler for {@link ApplicationCacheClearedEvent}.
    *
@@ -187,18 +187,27 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
   }
 
   /**
-   * Creates the table partitions for the given analytics table.
+   * Creates the table partitions and sub-partitions for the given analytics table.
    *
    * @param table the {@link AnalyticsTable}.
    */
   private void createAnalyticsTablePartitions(AnalyticsTable table) {
     for (AnalyticsTablePartition partition : table.getTablePartitions()) {
       createAnalyticsTable(partition);
+      partition.getSubPartitions().forEach(this::createAnalyticsTable);
     }
   }
 
   @Override
   public void createIndex(Index index) {
+    if (!sqlBuilder.supportsIndexType(index.getIndexType())) {
+      log.debug(
+          "Skipping index: '{}', index type not supported: '{}'",
+          index.getName(),
+          index.getIndexType());
+      return;
+    }
+
     log.debug("Creating index: '{}'", index.getName());
 
     String sql = sqlBuilder.createIndex(index);
@@ -220,6 +229,9 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
         skipMasterTable);
 
     table.getTablePartitions().stream().forEach(p -> swapTable(p, p.getMainName()));
+    table.getTablePartitions().stream()
+        .flatMap(p -> p.getSubPartitions().stream())
+        .forEach(p -> swapTable(p, p.getMainName()));
 
     if (!skipMasterTable) {
       swapTable(table, table.getMainName());
@@ -394,6 +406,9 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
     Assert.notNull(
         lastFullTableUpdate,
         "A full analytics table update must be run prior to a latest partition update");
+    Assert.state(
+        sqlBuilder.supportsUpdate(),
+        "A latest partition update requires deleting rows of analytics tables, which is not supported by the analytics database");
 
     Logged logged = analyticsExportSettings.getTableLogged();
     Date endDate = params.getStartTime();
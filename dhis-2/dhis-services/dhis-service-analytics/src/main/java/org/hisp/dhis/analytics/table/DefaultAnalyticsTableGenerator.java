@@ -45,6 +45,7 @@ import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
 import org.hisp.dhis.analytics.cache.AnalyticsCache;
 import org.hisp.dhis.analytics.cache.OutliersCache;
+import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.resourcetable.ResourceTableService;
 import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.setting.SettingKey;
@@ -69,6 +70,8 @@ public class DefaultAnalyticsTableGenerator implements AnalyticsTableGenerator {
 
   private final OutliersCache outliersCache;
 
+  private final PartitionManager partitionManager;
+
   // TODO introduce last successful timestamps per table type
 
   @Override
@@ -115,6 +118,7 @@ public class DefaultAnalyticsTableGenerator implements AnalyticsTableGenerator {
     progress.startingStage("Invalidate analytics caches", SKIP_STAGE);
     progress.runStage(analyticsCache::invalidateAll);
     progress.runStage(outliersCache::invalidateAll);
+    progress.runStage(partitionManager::invalidateSubPartitionTables);
     progress.completedProcess("Analytics tables updated: {}", clock.time());
   }
 
@@ -41,6 +41,7 @@ import org.hisp.dhis.analytics.AnalyticsTableManager;
 import org.hisp.dhis.analytics.AnalyticsTableService;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.cache.AnalyticsSubQueryCache;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
 import org.hisp.dhis.analytics.table.util.PartitionUtils;
@@ -71,6 +72,8 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
 
   private final SystemSettingManager systemSettingManager;
 
+  private final AnalyticsSubQueryCache subQueryCache;
+
   @Override
   public AnalyticsTableType getAnalyticsTableType() {
     return tableManager.getAnalyticsTableType();
@@ -166,6 +169,8 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
 
     swapTables(params, tables, progress);
 
+    invalidateSubQueryCache(params, tables);
+
     clock.logTime("Table update done: '{}'", tableType.getTableName());
   }
 
@@ -291,6 +296,29 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
     resourceTableService.createAllSqlViews(progress);
   }
 
+  /**
+   * Invalidates cached analytics sub-query results for the given analytics tables. For partial
+   * updates, only results for the updated partitions are invalidated.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param tables the list of {@link AnalyticsTable}.
+   */
+  private void invalidateSubQueryCache(
+      AnalyticsTableUpdateParams params, List<AnalyticsTable> tables) {
+    for (AnalyticsTable table : tables) {
+      if (params.isPartialUpdate()) {
+        table
+            .getTablePartitions()
+            .forEach(
+                partition ->
+                    subQueryCache.invalidatePartition(
+                        table.getMainName(), partition.getMainName()));
+      } else {
+        subQueryCache.invalidateTable(table.getMainName());
+      }
+    }
+  }
+
   /**
    * Returns the number of parallel jobs to use for processing analytics tables. The order of
    * determination is:
@@ -68,6 +68,7 @@ import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.dataapproval.DataApprovalLevelService;
 import org.hisp.dhis.dataelement.DataElementGroupSet;
 import org.hisp.dhis.db.sql.SqlBuilder;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.organisationunit.OrganisationUnitLevel;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.PeriodDataProvider;
@@ -161,9 +162,53 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
             ? getLatestAnalyticsTable(params, getColumns(params))
             : getRegularAnalyticsTable(params, getDataYears(params), getColumns(params));
 
+    if (!params.isLatestUpdate()) {
+      addSubPartitions(table);
+    }
+
     return table.hasTablePartitions() ? List.of(table) : List.of();
   }
 
+  /**
+   * Adds sub-partitions to the yearly partitions of the given table, one for each organisation unit
+   * at the configured sub-partition level. Data of organisation units above that level remains in
+   * the yearly partition.
+   *
+   * @param table the {@link AnalyticsTable}.
+   */
+  private void addSubPartitions(AnalyticsTable table) {
+    int level = analyticsExportSettings.getPartitionOrgUnitLevel();
+
+    if (level == 0) {
+      return;
+    }
+
+    List<String> orgUnits =
+        organisationUnitService.getOrganisationUnitsAtLevel(level).stream()
+            .map(OrganisationUnit::getUid)
+            .toList();
+
+    if (orgUnits.stream().map(String::toLowerCase).distinct().count() < orgUnits.size()) {
+      log.warn(
+          "Organisation unit identifiers at level {} are not unique in lower case, not adding sub-partitions",
+          level);
+      return;
+    }
+
+    String column = quote(PREFIX_ORGUNITLEVEL + level);
+
+    for (AnalyticsTablePartition partition : table.getTablePartitions()) {
+      for (String orgUnit : orgUnits) {
+        partition.addSubPartition(List.of(column + " = '" + orgUnit + "'"), orgUnit);
+      }
+    }
+
+    log.info(
+        "Added {} sub-partitions for organisation unit level {} to each partition",
+        orgUnits.size(),
+        level);
+  }
+
   @Override
   public String validState() {
     boolean hasData =
@@ -315,6 +360,7 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
         partition.isLatestPartition()
             ? "and dv.lastupdated >= '" + getLongDateString(partition.getStartDate()) + "' "
             : "and ps.year = " + partition.getYear() + " ";
+    String subPartitionClause = getSubPartitionClause(partition);
 
     String sql = "insert into " + tableName + " (";
 
@@ -328,7 +374,7 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
     sql = TextUtils.removeLastComma(sql) + ") select ";
 
     for (AnalyticsTableColumn col : dimensions) {
-      sql += col.getSelectExpression() + ",";
+      sql += getSelectExpression(col) + ",";
     }
 
     sql +=
@@ -370,6 +416,7 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
             + ") "
             + "and de.domaintype = 'AGGREGATE' "
             + partitionClause
+            + subPartitionClause
             + "and dv.lastupdated < '"
             + getLongDateString(params.getStartTime())
             + "' "
@@ -395,6 +442,67 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
     invokeTimeAndLog(sql, String.format("Populate %s %s", tableName, valueTypes));
   }
 
+  /**
+   * Returns the select expression of the given column. If the database does not support updates,
+   * aggregation levels cannot be applied to the populated table, and are instead applied to the
+   * organisation unit level columns while populating the table. A level column is null if the data
+   * element has an aggregation level at or below the level of the column, and the organisation unit
+   * is below that aggregation level.
+   *
+   * @param column the {@link AnalyticsTableColumn}.
+   * @return the select expression.
+   */
+  private String getSelectExpression(AnalyticsTableColumn column) {
+    String name = column.getName();
+
+    if (sqlBuilder.supportsUpdate() || !name.startsWith(PREFIX_ORGUNITLEVEL)) {
+      return column.getSelectExpression();
+    }
+
+    String level = name.substring(PREFIX_ORGUNITLEVEL.length());
+
+    return "case when exists (select 1 from dataelementaggregationlevels dal "
+        + "where dal.dataelementid = dv.dataelementid "
+        + "and dal.aggregationlevel >= "
+        + level
+        + " and ous.level > dal.aggregationlevel) "
+        + "then null else "
+        + column.getSelectExpression()
+        + " end";
+  }
+
+  /**
+   * Returns a clause restricting data to the organisation unit of the given sub-partition. For a
+   * partition with sub-partitions, returns a clause restricting data to organisation units not
+   * covered by any of its sub-partitions.
+   *
+   * @param partition the {@link AnalyticsTablePartition}.
+   * @return the sub-partition clause, or an empty string if not applicable.
+   */
+  private String getSubPartitionClause(AnalyticsTablePartition partition) {
+    String column =
+        "ous." + quote(PREFIX_ORGUNITLEVEL + analyticsExportSettings.getPartitionOrgUnitLevel());
+
+    if (partition.isSubPartition()) {
+      return "and " + column + " = '" + partition.getSubPartition() + "' ";
+    } else if (partition.hasSubPartitions()) {
+      List<String> orgUnits =
+          partition.getSubPartitions().stream()
+              .map(AnalyticsTablePartition::getSubPartition)
+              .toList();
+
+      return "and ("
+          + column
+          + " is null or "
+          + column
+          + " not in ("
+          + quotedCommaDelimitedString(orgUnits)
+          + ")) ";
+    }
+
+    return StringUtils.EMPTY;
+  }
+
   /**
    * Returns the approval select expression based on the given year.
    *
@@ -581,7 +689,13 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
   @Override
   public void applyAggregationLevels(
       AnalyticsTablePartition partition, Collection<String> dataElements, int aggregationLevel) {
-    StringBuilder sql = new StringBuilder("update " + partition.getName() + " set ");
+    if (!sqlBuilder.supportsUpdate()) {
+      // Applied while populating the table, see getSelectExpression
+      return;
+    }
+
+    String only = partition.hasSubPartitions() ? "only " : "";
+    StringBuilder sql = new StringBuilder("update " + only + partition.getName() + " set ");
 
     for (int i = 0; i < aggregationLevel; i++) {
       int level = i + 1;
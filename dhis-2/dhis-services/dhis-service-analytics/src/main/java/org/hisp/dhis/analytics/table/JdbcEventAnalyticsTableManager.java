@@ -317,6 +317,9 @@ public class JdbcEventAnalyticsTableManager extends AbstractEventJdbcTableManage
     Assert.notNull(
         lastFullTableUpdate,
         "A full analytics table update process must be run prior to a latest partition update process");
+    Assert.state(
+        sqlBuilder.supportsUpdate(),
+        "A latest partition update process requires deleting rows of analytics tables, which is not supported by the analytics database");
 
     Date startDate = lastFullTableUpdate;
     Date endDate = params.getStartTime();
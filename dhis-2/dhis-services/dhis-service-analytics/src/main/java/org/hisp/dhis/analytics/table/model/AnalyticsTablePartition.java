@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.analytics.table.model;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
@@ -58,6 +59,15 @@ public class AnalyticsTablePartition extends Table {
   /** The end date for which this partition may contain data, exclusive. */
   private final Date endDate;
 
+  /**
+   * The identifier of the organisation unit for which this sub-partition contains data, or null if
+   * this partition is not a sub-partition.
+   */
+  private final String subPartition;
+
+  /** The sub-partitions of this partition, which inherit from this partition. */
+  private final List<AnalyticsTablePartition> subPartitions = new ArrayList<>();
+
   /**
    * Constructor. Sets the name to represent a staging table partition.
    *
@@ -80,6 +90,31 @@ public class AnalyticsTablePartition extends Table {
     this.year = year;
     this.startDate = startDate;
     this.endDate = endDate;
+    this.subPartition = null;
+  }
+
+  /**
+   * Constructor. Sets the name to represent a staging table sub-partition of the given partition.
+   *
+   * @param partition the {@link AnalyticsTablePartition} which is the parent of this sub-partition.
+   * @param checks the sub-partition checks.
+   * @param subPartition the identifier of the organisation unit which represents this
+   *     sub-partition.
+   */
+  public AnalyticsTablePartition(
+      AnalyticsTablePartition partition, List<String> checks, String subPartition) {
+    super(
+        toStaging(getTableName(partition.getMainName(), subPartition)),
+        List.of(),
+        List.of(),
+        checks,
+        partition.getLogged(),
+        partition);
+    this.masterTable = partition.getMasterTable();
+    this.year = partition.getYear();
+    this.startDate = partition.getStartDate();
+    this.endDate = partition.getEndDate();
+    this.subPartition = subPartition;
   }
 
   // -------------------------------------------------------------------------
@@ -103,6 +138,17 @@ public class AnalyticsTablePartition extends Table {
     return name;
   }
 
+  /**
+   * Returns a table sub-partition name.
+   *
+   * @param partitionName the partition name.
+   * @param subPartition the sub-partition.
+   * @return a table sub-partition name.
+   */
+  private static String getTableName(String partitionName, String subPartition) {
+    return partitionName + "_" + subPartition.toLowerCase();
+  }
+
   // -------------------------------------------------------------------------
   // Logic methods
   // -------------------------------------------------------------------------
@@ -116,6 +162,36 @@ public class AnalyticsTablePartition extends Table {
     return fromStaging(getName());
   }
 
+  /**
+   * Adds a sub-partition to this partition.
+   *
+   * @param checks the sub-partition checks.
+   * @param subPartition the identifier of the organisation unit which represents the sub-partition.
+   * @return this {@link AnalyticsTablePartition}.
+   */
+  public AnalyticsTablePartition addSubPartition(List<String> checks, String subPartition) {
+    subPartitions.add(new AnalyticsTablePartition(this, checks, subPartition));
+    return this;
+  }
+
+  /**
+   * Indicates whether this partition has any sub-partitions.
+   *
+   * @return true if this partition has any sub-partitions.
+   */
+  public boolean hasSubPartitions() {
+    return !subPartitions.isEmpty();
+  }
+
+  /**
+   * Indicates whether this partition is a sub-partition of another partition.
+   *
+   * @return true if this partition is a sub-partition.
+   */
+  public boolean isSubPartition() {
+    return subPartition != null;
+  }
+
   /**
    * Indicates whether this partition represents the latest data partition.
    *
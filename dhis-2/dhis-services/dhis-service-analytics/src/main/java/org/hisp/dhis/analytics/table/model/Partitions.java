@@ -28,6 +28,7 @@
 package org.hisp.dhis.analytics.table.model;
 
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.Getter;
@@ -46,6 +47,12 @@ public class Partitions {
   /** Yearly partitions containing four-digit years. */
   private Set<Integer> partitions = new HashSet<>();
 
+  /**
+   * Sub-partitions of the yearly partitions, containing organisation unit identifiers. The "latest"
+   * partition has no sub-partitions.
+   */
+  private Set<String> subPartitions = new HashSet<>();
+
   public Partitions(Set<Integer> partitions) {
     this.partitions = partitions;
   }
@@ -53,6 +60,8 @@ public class Partitions {
   public Partitions(Partitions partitions) {
     this.partitions =
         partitions != null ? new HashSet<>(partitions.getPartitions()) : new HashSet<>();
+    this.subPartitions =
+        partitions != null ? new HashSet<>(partitions.getSubPartitions()) : new HashSet<>();
   }
 
   // -------------------------------------------------------------------------
@@ -85,6 +94,11 @@ public class Partitions {
     return partitions != null && partitions.size() > 1;
   }
 
+  /** Indicates whether this instance has any sub-partitions. */
+  public boolean hasSubPartitions() {
+    return subPartitions != null && !subPartitions.isEmpty();
+  }
+
   /** Returns a partition. */
   public Integer getAny() {
     return hasAny() ? partitions.iterator().next() : null;
@@ -101,12 +115,12 @@ public class Partitions {
 
   @Override
   public String toString() {
-    return partitions.toString();
+    return hasSubPartitions() ? partitions + " " + subPartitions : partitions.toString();
   }
 
   @Override
   public int hashCode() {
-    return partitions.hashCode();
+    return Objects.hash(partitions, subPartitions);
   }
 
   @Override
@@ -125,6 +139,6 @@ public class Partitions {
 
     Partitions other = (Partitions) object;
 
-    return partitions.equals(other.partitions);
+    return partitions.equals(other.partitions) && subPartitions.equals(other.subPartitions);
   }
 }
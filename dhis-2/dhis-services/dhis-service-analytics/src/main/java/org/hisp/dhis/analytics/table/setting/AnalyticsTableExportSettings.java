@@ -28,10 +28,13 @@
 package org.hisp.dhis.analytics.table.setting;
 
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_ORDERING;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_PARTITION_ORG_UNIT_LEVEL;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_UNLOGGED;
 import static org.hisp.dhis.setting.SettingKey.ANALYTICS_MAX_PERIOD_YEARS_OFFSET;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.db.model.Logged;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.setting.SystemSettingManager;
@@ -43,6 +46,7 @@ import org.springframework.stereotype.Component;
  *
  * @author maikel arabori
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class AnalyticsTableExportSettings {
@@ -50,6 +54,9 @@ public class AnalyticsTableExportSettings {
 
   private final SystemSettingManager systemSettingManager;
 
+  /** The parsed partition organisation unit level, which cannot change without a restart. */
+  private volatile Integer partitionOrgUnitLevel;
+
   /**
    * Returns the setting indicating whether resource and analytics tables should be logged or
    * unlogged.
@@ -68,6 +75,40 @@ public class AnalyticsTableExportSettings {
     return dhisConfigurationProvider.isEnabled(ANALYTICS_TABLE_ORDERING);
   }
 
+  /**
+   * Returns the organisation unit level by which yearly analytics table partitions are partitioned
+   * further, or 0 if sub-partitioning is disabled.
+   *
+   * @return the organisation unit level.
+   */
+  public int getPartitionOrgUnitLevel() {
+    if (partitionOrgUnitLevel == null) {
+      partitionOrgUnitLevel = parsePartitionOrgUnitLevel();
+    }
+
+    return partitionOrgUnitLevel;
+  }
+
+  /**
+   * Parses the organisation unit level by which analytics table partitions are partitioned further.
+   * Falls back to 0, which disables sub-partitioning, if the level is not a valid number.
+   *
+   * @return the organisation unit level.
+   */
+  private int parsePartitionOrgUnitLevel() {
+    String level = dhisConfigurationProvider.getProperty(ANALYTICS_TABLE_PARTITION_ORG_UNIT_LEVEL);
+
+    try {
+      return Math.max(0, Integer.parseInt(StringUtils.trimToEmpty(level)));
+    } catch (NumberFormatException ex) {
+      log.warn(
+          "Invalid value '{}' of {}, sub-partitioning is disabled",
+          level,
+          ANALYTICS_TABLE_PARTITION_ORG_UNIT_LEVEL.getKey());
+      return 0;
+    }
+  }
+
   /**
    * Returns the years' offset defined for the period generation. See {@link
    * ANALYTICS_MAX_PERIOD_YEARS_OFFSET}.
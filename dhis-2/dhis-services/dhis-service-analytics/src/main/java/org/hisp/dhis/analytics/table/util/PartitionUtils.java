@@ -33,6 +33,7 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.hisp.dhis.analytics.AnalyticsTableType;
@@ -201,8 +202,9 @@ public class PartitionUtils {
   }
 
   /**
-   * Returns a list of table partitions based on the given analytics tables. For master tables with
-   * no partitions, a fake partition representing the master table is used.
+   * Returns a list of table partitions based on the given analytics tables, including any
+   * sub-partitions following their parent partition. For master tables with no partitions, a fake
+   * partition representing the master table is used.
    *
    * @param tables the list of {@link AnalyticsTable}.
    * @return a list of {@link AnalyticsTablePartition}.
@@ -212,7 +214,10 @@ public class PartitionUtils {
 
     for (AnalyticsTable table : tables) {
       if (table.hasTablePartitions()) {
-        partitions.addAll(table.getTablePartitions());
+        for (AnalyticsTablePartition partition : table.getTablePartitions()) {
+          partitions.add(partition);
+          partitions.addAll(partition.getSubPartitions());
+        }
       } else {
         // Fake partition representing the master table
         partitions.add(new AnalyticsTablePartition(table, List.of(), null, null, null));
@@ -246,4 +251,43 @@ public class PartitionUtils {
   public static String getPartitionName(String tableName, Integer partition) {
     return tableName + SEP + partition;
   }
+
+  /**
+   * Returns the name of the given sub-partition of the given partition. The sub-partition name is
+   * the partition name suffixed by the identifier of the organisation unit in lowercase.
+   *
+   * @param tableName the table name.
+   * @param partition the partition.
+   * @param subPartition the identifier of the organisation unit of the sub-partition.
+   * @return the sub-partition name.
+   */
+  public static String getPartitionName(String tableName, Integer partition, String subPartition) {
+    return getPartitionName(tableName, partition) + SEP + subPartition.toLowerCase();
+  }
+
+  /**
+   * Returns the names of the tables to read for the given partitions. If sub-partitions are
+   * specified, the sub-partition names are returned for each partition except the "latest"
+   * partition, which has no sub-partitions.
+   *
+   * @param tableName the table name.
+   * @param partitions the {@link Partitions}.
+   * @return a list of partition and sub-partition names.
+   */
+  public static List<String> getPartitionNames(String tableName, Partitions partitions) {
+    List<String> names = new ArrayList<>();
+
+    for (Integer partition : new TreeSet<>(partitions.getPartitions())) {
+      if (partitions.hasSubPartitions()
+          && !AnalyticsTablePartition.LATEST_PARTITION.equals(partition)) {
+        new TreeSet<>(partitions.getSubPartitions())
+            .forEach(
+                subPartition -> names.add(getPartitionName(tableName, partition, subPartition)));
+      } else {
+        names.add(getPartitionName(tableName, partition));
+      }
+    }
+
+    return names;
+  }
 }
@@ -33,5 +33,8 @@ package org.hisp.dhis.db.model;
  * @author Lars Helge Overland
  */
 public enum Database {
-  POSTGRESQL;
+  POSTGRESQL,
+
+  /** PostgreSQL with analytics tables stored through the columnar table access method. */
+  POSTGRESQL_COLUMNAR;
 }
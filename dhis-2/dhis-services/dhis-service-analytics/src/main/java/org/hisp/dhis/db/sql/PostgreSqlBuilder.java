@@ -35,6 +35,7 @@ import java.util.stream.Collectors;
 import org.hisp.dhis.db.model.Collation;
 import org.hisp.dhis.db.model.Column;
 import org.hisp.dhis.db.model.Index;
+import org.hisp.dhis.db.model.IndexType;
 import org.hisp.dhis.db.model.Logged;
 import org.hisp.dhis.db.model.Table;
 import org.hisp.dhis.db.model.constraint.Nullable;
@@ -179,6 +180,21 @@ public class PostgreSqlBuilder extends AbstractSqlBuilder {
     return true;
   }
 
+  @Override
+  public boolean supportsUpdate() {
+    return true;
+  }
+
+  @Override
+  public boolean supportsUnlogged() {
+    return true;
+  }
+
+  @Override
+  public boolean supportsIndexType(IndexType indexType) {
+    return true;
+  }
+
   // Utilities
 
   @Override
@@ -220,7 +236,7 @@ public class PostgreSqlBuilder extends AbstractSqlBuilder {
 
   @Override
   public String createTable(Table table) {
-    String unlogged = table.getLogged() == Logged.UNLOGGED ? " unlogged" : "";
+    String unlogged = table.getLogged() == Logged.UNLOGGED && supportsUnlogged() ? " unlogged" : "";
 
     StringBuilder sql =
         new StringBuilder("create")
@@ -269,9 +285,23 @@ public class PostgreSqlBuilder extends AbstractSqlBuilder {
       sql.append(" inherits (").append(quote(table.getParent().getName())).append(")");
     }
 
+    if (tableAccessMethod() != null) {
+      sql.append(" using ").append(tableAccessMethod());
+    }
+
     return sql.append(";").toString();
   }
 
+  /**
+   * Returns the table access method to use for created tables, or null to use the default access
+   * method of the database.
+   *
+   * @return the table access method, or null.
+   */
+  protected String tableAccessMethod() {
+    return null;
+  }
+
   @Override
   public String analyzeTable(Table table) {
     return analyzeTable(table.getName());
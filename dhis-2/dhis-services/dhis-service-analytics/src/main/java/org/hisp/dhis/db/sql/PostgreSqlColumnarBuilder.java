@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.db.sql;
+
+import org.hisp.dhis.db.model.IndexType;
+
+/**
+ * Implementation of {@link SqlBuilder} for PostgreSQL where tables are stored through the columnar
+ * table access method, as provided by e.g. the Citus extension. Columnar storage compresses data
+ * and reads only the columns referenced by a query, which benefits aggregate queries over large
+ * analytics tables. The columnar access method must be installed in the analytics database.
+ *
+ * <p>Columnar tables are always logged, and only B-Tree indexes are created. Rows of columnar
+ * tables cannot be updated or deleted.
+ */
+public class PostgreSqlColumnarBuilder extends PostgreSqlBuilder {
+  // Capabilities
+
+  @Override
+  public boolean supportsUpdate() {
+    return false;
+  }
+
+  @Override
+  public boolean supportsUnlogged() {
+    return false;
+  }
+
+  @Override
+  public boolean supportsIndexType(IndexType indexType) {
+    return indexType == IndexType.BTREE;
+  }
+
+  // Statements
+
+  @Override
+  protected String tableAccessMethod() {
+    return "columnar";
+  }
+}
@@ -193,6 +193,22 @@ public interface SqlBuilder {
    */
   boolean supportsVacuum();
 
+  /**
+   * @return true if the DBMS supports updating and deleting rows of tables.
+   */
+  boolean supportsUpdate();
+
+  /**
+   * @return true if the DBMS supports unlogged tables.
+   */
+  boolean supportsUnlogged();
+
+  /**
+   * @param indexType the {@link IndexType}.
+   * @return true if the DBMS supports the given index type.
+   */
+  boolean supportsIndexType(IndexType indexType);
+
   // Utilities
 
   /**
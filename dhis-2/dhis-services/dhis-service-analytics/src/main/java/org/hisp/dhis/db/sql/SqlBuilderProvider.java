@@ -27,8 +27,13 @@
  */
 package org.hisp.dhis.db.sql;
 
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.EnumUtils;
+import org.hisp.dhis.db.model.Database;
+import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 
 @RequiredArgsConstructor
@@ -42,6 +47,37 @@ public class SqlBuilderProvider {
    */
   public SqlBuilder getSqlBuilder() {
     Objects.requireNonNull(config);
-    return new PostgreSqlBuilder();
+
+    switch (getDatabase()) {
+      case POSTGRESQL_COLUMNAR:
+        return new PostgreSqlColumnarBuilder();
+      case POSTGRESQL:
+      default:
+        return new PostgreSqlBuilder();
+    }
+  }
+
+  /**
+   * Returns the analytics {@link Database} based on the system configuration. Defaults to {@link
+   * Database#POSTGRESQL} if not specified.
+   *
+   * @return the analytics {@link Database}.
+   * @throws IllegalArgumentException if the configured database is not supported.
+   */
+  Database getDatabase() {
+    String value = config.getProperty(ConfigurationKey.ANALYTICS_CONNECTION_DATABASE);
+
+    if (isBlank(value)) {
+      return Database.POSTGRESQL;
+    }
+
+    Database database = EnumUtils.getEnumIgnoreCase(Database.class, value.trim());
+
+    if (database == null) {
+      throw new IllegalArgumentException(
+          String.format("Analytics database is not supported: '%s'", value));
+    }
+
+    return database;
   }
 }
@@ -136,14 +136,17 @@ public class JdbcResourceTableStore implements ResourceTableStore {
   }
 
   /**
-   * Creates indexes for the given table.
+   * Creates indexes for the given table. Indexes of types not supported by the database are
+   * skipped.
    *
    * @param indexes the list of {@link Index} to create.
    */
   private void createIndexes(List<Index> indexes) {
     if (isNotEmpty(indexes)) {
       for (Index index : indexes) {
-        jdbcTemplate.execute(sqlBuilder.createIndex(index));
+        if (sqlBuilder.supportsIndexType(index.getIndexType())) {
+          jdbcTemplate.execute(sqlBuilder.createIndex(index));
+        }
       }
     }
   }
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.hisp.dhis.analytics.AnalyticsTableUpdatedEvent;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheBuilder;
+import org.hisp.dhis.cache.DefaultCacheProvider;
+import org.hisp.dhis.cache.LocalCache;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
+import org.hisp.dhis.setting.SystemSettingManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsSubQueryCacheTest {
+  @Mock private SystemSettingManager systemSettingManager;
+
+  @Mock private DefaultCacheProvider cacheProvider;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  private AnalyticsSubQueryCache subQueryCache;
+
+  @BeforeEach
+  void setUp() {
+    CacheBuilder<Map<String, Object>> cacheBuilder = new SimpleCacheBuilder<>();
+
+    cacheBuilder.expireAfterWrite(1L, TimeUnit.MINUTES);
+
+    Cache<Map<String, Object>> cache = new LocalCache<>(cacheBuilder);
+
+    Mockito.<Cache<Map<String, Object>>>when(cacheProvider.createAnalyticsSubQueryCache())
+        .thenReturn(cache);
+
+    subQueryCache =
+        new AnalyticsSubQueryCache(
+            cacheProvider, new AnalyticsCacheSettings(systemSettingManager), eventPublisher);
+  }
+
+  @Test
+  void testPutGetReturnsCopy() {
+    String key = subQueryCache.getKey("queryA", "analytics", List.of("analytics_2023"));
+
+    Map<String, Object> values = new HashMap<>(Map.of("deA-2023", 10d));
+
+    subQueryCache.put(key, values);
+
+    values.put("deB-2023", 20d);
+
+    Optional<Map<String, Object>> cached = subQueryCache.get(key);
+
+    assertTrue(cached.isPresent());
+    assertEquals(Map.of("deA-2023", 10d), cached.get());
+
+    cached.get().put("deC-2023", 30d);
+
+    assertEquals(Map.of("deA-2023", 10d), subQueryCache.get(key).get());
+  }
+
+  @Test
+  void testGetKeyIgnoresPartitionOrder() {
+    assertEquals(
+        subQueryCache.getKey("queryA", "analytics", List.of("analytics_2022", "analytics_2023")),
+        subQueryCache.getKey("queryA", "analytics", List.of("analytics_2023", "analytics_2022")));
+  }
+
+  @Test
+  void testInvalidatePartition() {
+    String keyA = subQueryCache.getKey("queryA", "analytics", List.of("analytics_2022"));
+    String keyB = subQueryCache.getKey("queryA", "analytics", List.of("analytics_2023"));
+    String keyC = subQueryCache.getKey("queryA", "analytics", List.of());
+
+    subQueryCache.put(keyA, Map.of("deA-2022", 10d));
+    subQueryCache.put(keyB, Map.of("deA-2023", 20d));
+    subQueryCache.put(keyC, Map.of("deA", 30d));
+
+    subQueryCache.invalidatePartition("analytics", "analytics_2023");
+
+    assertEquals(keyA, subQueryCache.getKey("queryA", "analytics", List.of("analytics_2022")));
+    assertNotEquals(keyB, subQueryCache.getKey("queryA", "analytics", List.of("analytics_2023")));
+    assertNotEquals(keyC, subQueryCache.getKey("queryA", "analytics", List.of()));
+    assertTrue(
+        subQueryCache
+            .get(subQueryCache.getKey("queryA", "analytics", List.of("analytics_2022")))
+            .isPresent());
+    assertFalse(
+        subQueryCache
+            .get(subQueryCache.getKey("queryA", "analytics", List.of("analytics_2023")))
+            .isPresent());
+  }
+
+  @Test
+  void testInvalidateTable() {
+    String keyA = subQueryCache.getKey("queryA", "analytics", List.of("analytics_2022"));
+    String keyB = subQueryCache.getKey("queryA", "analytics_completeness", List.of());
+
+    subQueryCache.invalidateTable("analytics");
+
+    assertNotEquals(keyA, subQueryCache.getKey("queryA", "analytics", List.of("analytics_2022")));
+    assertEquals(keyB, subQueryCache.getKey("queryA", "analytics_completeness", List.of()));
+  }
+
+  @Test
+  void testInvalidatePublishesEvent() {
+    subQueryCache.invalidatePartition("analytics", "analytics_2023");
+
+    ArgumentCaptor<AnalyticsTableUpdatedEvent> event =
+        ArgumentCaptor.forClass(AnalyticsTableUpdatedEvent.class);
+
+    verify(eventPublisher).publishEvent(event.capture());
+
+    assertEquals("analytics", event.getValue().getTableName());
+    assertEquals("analytics_2023", event.getValue().getPartitionName());
+  }
+
+  @Test
+  void testHandleEventFromOtherServer() {
+    String keyA = subQueryCache.getKey("queryA", "analytics", List.of("analytics_2022"));
+    String keyB = subQueryCache.getKey("queryA", "analytics", List.of("analytics_2023"));
+
+    subQueryCache.handleAnalyticsTableUpdated(
+        new AnalyticsTableUpdatedEvent(new Object(), "analytics", "analytics_2023"));
+
+    assertEquals(keyA, subQueryCache.getKey("queryA", "analytics", List.of("analytics_2022")));
+    assertNotEquals(keyB, subQueryCache.getKey("queryA", "analytics", List.of("analytics_2023")));
+
+    subQueryCache.handleAnalyticsTableUpdated(
+        new AnalyticsTableUpdatedEvent(new Object(), "analytics", null));
+
+    assertNotEquals(keyA, subQueryCache.getKey("queryA", "analytics", List.of("analytics_2022")));
+    verify(eventPublisher, never()).publishEvent(any(AnalyticsTableUpdatedEvent.class));
+  }
+
+  @Test
+  void testHandleOwnEventIsIgnored() {
+    String key = subQueryCache.getKey("queryA", "analytics", List.of("analytics_2023"));
+
+    subQueryCache.handleAnalyticsTableUpdated(
+        new AnalyticsTableUpdatedEvent(subQueryCache, "analytics", "analytics_2023"));
+
+    assertEquals(key, subQueryCache.getKey("queryA", "analytics", List.of("analytics_2023")));
+  }
+}
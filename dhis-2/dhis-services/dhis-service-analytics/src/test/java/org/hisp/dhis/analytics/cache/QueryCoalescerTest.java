@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class QueryCoalescerTest {
+  private final QueryCoalescer<String> coalescer = new QueryCoalescer<>();
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void testExecuteConcurrentIdenticalQueriesOnce() throws Exception {
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<String> first =
+        executor.submit(
+            () ->
+                coalescer.execute(
+                    "keyA",
+                    () -> {
+                      executions.incrementAndGet();
+                      started.countDown();
+                      await(release);
+                      return "result";
+                    }));
+
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    AtomicReference<String> second = new AtomicReference<>();
+    Thread secondThread =
+        new Thread(
+            () ->
+                second.set(
+                    coalescer.execute(
+                        "keyA",
+                        () -> {
+                          executions.incrementAndGet();
+                          return "other";
+                        })));
+    secondThread.start();
+
+    while (secondThread.getState() != Thread.State.WAITING) {
+      Thread.sleep(10);
+    }
+
+    release.countDown();
+    secondThread.join(5000);
+
+    assertEquals("result", first.get(5, TimeUnit.SECONDS));
+    assertEquals("result", second.get());
+    assertEquals(1, executions.get());
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  @Test
+  void testExecuteSequentialQueriesSeparately() {
+    AtomicInteger executions = new AtomicInteger();
+
+    coalescer.execute("keyA", () -> "result" + executions.incrementAndGet());
+    String result = coalescer.execute("keyA", () -> "result" + executions.incrementAndGet());
+
+    assertEquals("result2", result);
+    assertEquals(2, executions.get());
+  }
+
+  @Test
+  void testExecuteRethrowsException() {
+    IllegalStateException ex = new IllegalStateException("Failed");
+
+    assertSame(
+        ex,
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                coalescer.execute(
+                    "keyA",
+                    () -> {
+                      throw ex;
+                    })));
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  private void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
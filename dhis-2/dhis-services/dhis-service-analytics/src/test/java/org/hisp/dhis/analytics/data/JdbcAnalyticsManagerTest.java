@@ -39,6 +39,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.AnalyticsAggregationType;
 import org.hisp.dhis.analytics.AnalyticsTableType;
@@ -46,6 +48,7 @@ import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.cache.AnalyticsSubQueryCache;
 import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.common.BaseDimensionalObject;
 import org.hisp.dhis.common.DimensionType;
@@ -65,6 +68,7 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 
 /**
@@ -86,15 +90,21 @@ class JdbcAnalyticsManagerTest {
 
   @Captor private ArgumentCaptor<String> sql;
 
+  @Captor private ArgumentCaptor<Object[]> args;
+
   private JdbcAnalyticsManager subject;
 
   @Mock private ExecutionPlanStore executionPlanStore;
 
+  @Mock private AnalyticsSubQueryCache subQueryCache;
+
   @BeforeEach
   public void setUp() {
     QueryPlanner queryPlanner = new DefaultQueryPlanner(partitionManager);
 
-    subject = new JdbcAnalyticsManager(queryPlanner, jdbcTemplate, executionPlanStore, sqlBuilder);
+    subject =
+        new JdbcAnalyticsManager(
+            queryPlanner, jdbcTemplate, executionPlanStore, sqlBuilder, subQueryCache);
   }
 
   @Test
@@ -208,7 +218,7 @@ class JdbcAnalyticsManagerTest {
 
   private void mockRowSet() {
     when(rowSet.next()).thenReturn(false);
-    when(jdbcTemplate.queryForRowSet(sql.capture())).thenReturn(rowSet);
+    when(jdbcTemplate.queryForRowSet(sql.capture(), args.capture())).thenReturn(rowSet);
   }
 
   private DataQueryParams createParams(AggregationType aggregationType) {
@@ -270,9 +280,18 @@ class JdbcAnalyticsManagerTest {
             + maxOrMin
             + "(\"textvalue\") as \"textvalue\" "
             + "from analytics as ax "
-            + "where ax.\"dx\" in ('deabcdefghA') and ax.\"pe\" in ('201501') and ( ax.\"ou\" in ('ouabcdefghA') ) "
+            + "where ax.\"dx\" = any(?) and ax.\"pe\" = any(?) and ( ax.\"ou\" = any(?) ) "
             + "group by ax.\"ou\",ax.\"dx\",ax.\"pe\")";
 
     assertThat(sql.getValue(), containsString(maxMinTypeSql));
+    assertBoundValues("{\"deabcdefghA\"}", "{\"201501\"}", "{\"ouabcdefghA\"}");
+  }
+
+  private void assertBoundValues(Object... expected) {
+    assertEquals(
+        List.of(expected),
+        Stream.of(args.getValue())
+            .map(arg -> ((SqlParameterValue) arg).getValue())
+            .collect(Collectors.toList()));
   }
 }
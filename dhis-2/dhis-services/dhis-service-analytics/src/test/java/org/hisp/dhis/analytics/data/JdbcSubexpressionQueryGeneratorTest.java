@@ -47,6 +47,7 @@ import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.cache.AnalyticsSubQueryCache;
 import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.BaseDimensionalObject;
@@ -80,6 +81,8 @@ class JdbcSubexpressionQueryGeneratorTest {
 
   @Mock private ExecutionPlanStore executionPlanStore;
 
+  @Mock private AnalyticsSubQueryCache subQueryCache;
+
   private final SqlBuilder sqlBuilder = new PostgreSqlBuilder();
 
   private JdbcAnalyticsManager jam;
@@ -91,7 +94,9 @@ class JdbcSubexpressionQueryGeneratorTest {
   public void setUp() {
     QueryPlanner queryPlanner = new DefaultQueryPlanner(partitionManager);
 
-    jam = new JdbcAnalyticsManager(queryPlanner, jdbcTemplate, executionPlanStore, sqlBuilder);
+    jam =
+        new JdbcAnalyticsManager(
+            queryPlanner, jdbcTemplate, executionPlanStore, sqlBuilder, subQueryCache);
   }
 
   @Test
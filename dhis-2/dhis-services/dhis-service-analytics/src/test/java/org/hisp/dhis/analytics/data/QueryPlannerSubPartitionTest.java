@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.data;
+
+import static org.hisp.dhis.DhisConvenienceTest.createDataElement;
+import static org.hisp.dhis.analytics.DataQueryParams.DISPLAY_NAME_DATA_X;
+import static org.hisp.dhis.analytics.DataQueryParams.DISPLAY_NAME_ORGUNIT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.DataQueryGroups;
+import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.analytics.QueryPlanner;
+import org.hisp.dhis.analytics.QueryPlannerParams;
+import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.category.CategoryCombo;
+import org.hisp.dhis.common.BaseDimensionalObject;
+import org.hisp.dhis.common.DimensionType;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.MonthlyPeriodType;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Tests the assignment of sub-partitions by {@link DefaultQueryPlanner}. */
+@ExtendWith(MockitoExtension.class)
+class QueryPlannerSubPartitionTest {
+  private QueryPlanner subject;
+
+  @Mock private PartitionManager partitionManager;
+
+  @BeforeEach
+  public void setUp() {
+    subject = new DefaultQueryPlanner(partitionManager);
+  }
+
+  @Test
+  void testPlanQueryWithSubPartitions() {
+    when(partitionManager.getSubPartitions(any(), eq("analytics"), any()))
+        .thenReturn(Set.of("ImspTQPwCqd"));
+
+    DataQueryGroups queryGroups =
+        subject.planQuery(getParams(), getPlannerParams(AnalyticsTableType.DATA_VALUE));
+
+    assertEquals(1, queryGroups.getAllQueries().size());
+    DataQueryParams query = queryGroups.getAllQueries().get(0);
+    assertEquals(Set.of(2023), query.getPartitions().getPartitions());
+    assertEquals(Set.of("ImspTQPwCqd"), query.getPartitions().getSubPartitions());
+  }
+
+  @Test
+  void testPlanQueryWithoutSubPartitions() {
+    when(partitionManager.getSubPartitions(any(), eq("analytics"), any())).thenReturn(Set.of());
+
+    DataQueryGroups queryGroups =
+        subject.planQuery(getParams(), getPlannerParams(AnalyticsTableType.DATA_VALUE));
+
+    assertEquals(1, queryGroups.getAllQueries().size());
+    DataQueryParams query = queryGroups.getAllQueries().get(0);
+    assertEquals(Set.of(2023), query.getPartitions().getPartitions());
+    assertFalse(query.getPartitions().hasSubPartitions());
+  }
+
+  @Test
+  void testPlanQueryWithSubPartitionsOtherTableType() {
+    DataQueryGroups queryGroups =
+        subject.planQuery(getParams(), getPlannerParams(AnalyticsTableType.COMPLETENESS));
+
+    assertTrue(
+        queryGroups.getAllQueries().stream()
+            .noneMatch(query -> query.getPartitions().hasSubPartitions()));
+    verify(partitionManager, never()).getSubPartitions(any(), any(), any());
+  }
+
+  private DataQueryParams getParams() {
+    OrganisationUnit orgUnit = new OrganisationUnit("OrgUnitA");
+    orgUnit.setUid("DiszpKrYNg8");
+    orgUnit.setPath("/ImspTQPwCqd/O6uvpzGd5pu/DiszpKrYNg8");
+
+    return DataQueryParams.newBuilder()
+        .withDimensions(
+            List.of(
+                new BaseDimensionalObject(
+                    "pe",
+                    DimensionType.PERIOD,
+                    List.of(
+                        new MonthlyPeriodType()
+                            .createPeriod(new DateTime(2023, 4, 1, 0, 0).toDate()))),
+                new BaseDimensionalObject(
+                    "dx",
+                    DimensionType.DATA_X,
+                    DISPLAY_NAME_DATA_X,
+                    "display name",
+                    List.of(createDataElement('A', new CategoryCombo())))))
+        .withFilters(
+            List.of(
+                new BaseDimensionalObject(
+                    "ou",
+                    DimensionType.ORGANISATION_UNIT,
+                    null,
+                    DISPLAY_NAME_ORGUNIT,
+                    List.of(orgUnit))))
+        .build();
+  }
+
+  private QueryPlannerParams getPlannerParams(AnalyticsTableType tableType) {
+    return QueryPlannerParams.newBuilder().withTableType(tableType).build();
+  }
+}
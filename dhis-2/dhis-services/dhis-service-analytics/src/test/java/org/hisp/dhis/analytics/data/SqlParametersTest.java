@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Types;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+
+/** Tests for {@link SqlParameters}. */
+class SqlParametersTest {
+  @Test
+  void testBindArray() {
+    SqlParameters parameters = new SqlParameters();
+
+    assertTrue(parameters.isEmpty());
+    assertEquals(":p1", parameters.bindArray(List.of("a", "b\"c", "d\\e")));
+    assertEquals(":p2", parameters.bindNumber(3));
+    assertFalse(parameters.isEmpty());
+    assertEquals("{p1=[a, b\"c, d\\e], p2=3}", parameters.toString());
+  }
+
+  @Test
+  void testQueryForRowSet() {
+    JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    SqlParameters parameters = new SqlParameters();
+
+    String sql =
+        "select * from analytics where dx = any("
+            + parameters.bindArray(List.of("a", "b\"c", "d\\e"))
+            + ") and value > "
+            + parameters.bindNumber(10.5);
+
+    parameters.queryForRowSet(jdbcTemplate, sql);
+
+    ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+    verify(jdbcTemplate)
+        .queryForRowSet(
+            eq("select * from analytics where dx = any(?) and value > ?"), args.capture());
+
+    SqlParameterValue array = (SqlParameterValue) args.getValue()[0];
+    assertEquals(Types.OTHER, array.getSqlType());
+    assertEquals("{\"a\",\"b\\\"c\",\"d\\\\e\"}", array.getValue());
+    assertEquals(10.5, args.getValue()[1]);
+  }
+}
@@ -27,11 +27,20 @@
  */
 package org.hisp.dhis.analytics.table;
 
+import static org.hisp.dhis.analytics.table.model.AnalyticsValueType.FACT;
+import static org.hisp.dhis.db.model.DataType.CHARACTER_11;
+import static org.hisp.dhis.db.model.DataType.DOUBLE;
+import static org.hisp.dhis.db.model.constraint.Nullable.NOT_NULL;
+import static org.hisp.dhis.db.model.constraint.Nullable.NULL;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -40,15 +49,19 @@ import java.util.List;
 import java.util.Map;
 import org.hisp.dhis.analytics.AnalyticsTableHookService;
 import org.hisp.dhis.analytics.AnalyticsTableManager;
+import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
 import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
+import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
 import org.hisp.dhis.analytics.table.setting.AnalyticsTableExportSettings;
 import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.dataapproval.DataApprovalLevelService;
+import org.hisp.dhis.db.model.Logged;
 import org.hisp.dhis.db.sql.PostgreSqlBuilder;
+import org.hisp.dhis.db.sql.PostgreSqlColumnarBuilder;
 import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.PeriodDataProvider;
@@ -60,6 +73,7 @@ import org.joda.time.DateTime;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -88,21 +102,44 @@ class JdbcAnalyticsTableManagerTest {
 
   @BeforeEach
   public void setUp() {
-    subject =
-        new JdbcAnalyticsTableManager(
-            mock(IdentifiableObjectManager.class),
-            mock(OrganisationUnitService.class),
-            mock(CategoryService.class),
-            systemSettingManager,
-            mock(DataApprovalLevelService.class),
-            mock(ResourceTableService.class),
-            mock(AnalyticsTableHookService.class),
-            mock(PartitionManager.class),
-            mock(DatabaseInfoProvider.class),
-            jdbcTemplate,
-            analyticsExportSettings,
-            periodDataProvider,
-            sqlBuilder);
+    subject = getTableManager(sqlBuilder);
+  }
+
+  private JdbcAnalyticsTableManager getTableManager(SqlBuilder sqlBuilder) {
+    return new JdbcAnalyticsTableManager(
+        mock(IdentifiableObjectManager.class),
+        mock(OrganisationUnitService.class),
+        mock(CategoryService.class),
+        systemSettingManager,
+        mock(DataApprovalLevelService.class),
+        mock(ResourceTableService.class),
+        mock(AnalyticsTableHookService.class),
+        mock(PartitionManager.class),
+        mock(DatabaseInfoProvider.class),
+        jdbcTemplate,
+        analyticsExportSettings,
+        periodDataProvider,
+        sqlBuilder);
+  }
+
+  private AnalyticsTablePartition getPartition() {
+    List<AnalyticsTableColumn> columns =
+        List.of(
+            new AnalyticsTableColumn("dx", CHARACTER_11, NOT_NULL, "de.uid"),
+            new AnalyticsTableColumn("uidlevel2", CHARACTER_11, "ous.\"uidlevel2\""),
+            new AnalyticsTableColumn("value", DOUBLE, NULL, FACT, "value"));
+
+    AnalyticsTable table =
+        new AnalyticsTable(AnalyticsTableType.DATA_VALUE, columns, Logged.UNLOGGED);
+
+    return table
+        .addTablePartition(
+            List.of(),
+            2023,
+            new DateTime(2023, 1, 1, 0, 0).toDate(),
+            new DateTime(2023, 12, 31, 0, 0).toDate())
+        .getTablePartitions()
+        .get(0);
   }
 
   @Test
@@ -202,4 +239,129 @@ class JdbcAnalyticsTableManagerTest {
         .thenReturn(lastLatestPartitionUpdate);
     assertThrows(IllegalArgumentException.class, () -> subject.getAnalyticsTables(params));
   }
+
+  @Test
+  void testGetLatestAnalyticsTableUpdateNotSupported() {
+    Date lastFullTableUpdate = new DateTime(2019, 3, 1, 2, 0).toDate();
+    Date startTime = new DateTime(2019, 3, 1, 10, 0).toDate();
+
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder()
+            .withStartTime(startTime)
+            .withLatestPartition()
+            .build();
+
+    when(systemSettingManager.getDateSetting(SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE))
+        .thenReturn(lastFullTableUpdate);
+
+    AnalyticsTableManager manager = getTableManager(new PostgreSqlColumnarBuilder());
+
+    assertThrows(IllegalStateException.class, () -> manager.getAnalyticsTables(params));
+  }
+
+  @Test
+  void testPopulateTableAggregationLevels() {
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder()
+            .withStartTime(new DateTime(2024, 1, 1, 0, 0).toDate())
+            .withSkipOutliers(true)
+            .build();
+
+    getTableManager(new PostgreSqlBuilder()).populateTable(params, getPartition());
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate, atLeastOnce()).execute(sql.capture());
+
+    assertTrue(sql.getValue().contains("select de.uid,ous.\"uidlevel2\","));
+    assertFalse(sql.getValue().contains("dataelementaggregationlevels"));
+  }
+
+  @Test
+  void testPopulateTableAggregationLevelsUpdateNotSupported() {
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder()
+            .withStartTime(new DateTime(2024, 1, 1, 0, 0).toDate())
+            .withSkipOutliers(true)
+            .build();
+
+    getTableManager(new PostgreSqlColumnarBuilder()).populateTable(params, getPartition());
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate, atLeastOnce()).execute(sql.capture());
+
+    String expected =
+        "select de.uid,case when exists (select 1 from dataelementaggregationlevels dal "
+            + "where dal.dataelementid = dv.dataelementid and dal.aggregationlevel >= 2 "
+            + "and ous.level > dal.aggregationlevel) then null else ous.\"uidlevel2\" end,";
+
+    assertTrue(sql.getValue().contains(expected));
+  }
+
+  @Test
+  void testPopulateTableWithSubPartitions() {
+    when(analyticsExportSettings.getPartitionOrgUnitLevel()).thenReturn(2);
+
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder()
+            .withStartTime(new DateTime(2024, 1, 1, 0, 0).toDate())
+            .withSkipOutliers(true)
+            .build();
+
+    AnalyticsTablePartition partition =
+        getPartition()
+            .addSubPartition(List.of(), "ImspTQPwCqd")
+            .addSubPartition(List.of(), "O6uvpzGd5pu");
+
+    subject.populateTable(params, partition);
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate, atLeastOnce()).execute(sql.capture());
+
+    assertTrue(sql.getValue().startsWith("insert into analytics_2023_temp "));
+    assertTrue(
+        sql.getValue()
+            .contains(
+                "and (ous.\"uidlevel2\" is null or ous.\"uidlevel2\" "
+                    + "not in ('ImspTQPwCqd','O6uvpzGd5pu')) "));
+  }
+
+  @Test
+  void testPopulateTableSubPartition() {
+    when(analyticsExportSettings.getPartitionOrgUnitLevel()).thenReturn(2);
+
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder()
+            .withStartTime(new DateTime(2024, 1, 1, 0, 0).toDate())
+            .withSkipOutliers(true)
+            .build();
+
+    AnalyticsTablePartition subPartition =
+        getPartition().addSubPartition(List.of(), "ImspTQPwCqd").getSubPartitions().get(0);
+
+    subject.populateTable(params, subPartition);
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate, atLeastOnce()).execute(sql.capture());
+
+    assertTrue(sql.getValue().startsWith("insert into analytics_2023_imsptqpwcqd_temp "));
+    assertTrue(sql.getValue().contains("and ous.\"uidlevel2\" = 'ImspTQPwCqd' "));
+  }
+
+  @Test
+  void testApplyAggregationLevels() {
+    subject.applyAggregationLevels(getPartition(), List.of("deabcdefghA"), 2);
+
+    verify(jdbcTemplate)
+        .execute(
+            "update analytics_2023_temp set \"uidlevel1\" = null,\"uidlevel2\" = null "
+                + "where oulevel > 2 and dx in ('deabcdefghA')");
+  }
+
+  @Test
+  void testApplyAggregationLevelsUpdateNotSupported() {
+    getTableManager(new PostgreSqlColumnarBuilder())
+        .applyAggregationLevels(getPartition(), List.of("deabcdefghA"), 2);
+
+    verifyNoInteractions(jdbcTemplate);
+  }
 }
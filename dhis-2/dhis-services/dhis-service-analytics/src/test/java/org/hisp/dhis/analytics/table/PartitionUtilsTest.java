@@ -136,4 +136,30 @@ class PartitionUtilsTest {
     assertEquals(1, partitions.getPartitions().size());
     assertTrue(partitions.getPartitions().contains(2018));
   }
+
+  @Test
+  void testGetPartitionNames() {
+    Partitions partitions = new Partitions(Set.of(2019, 2018));
+
+    assertEquals(
+        List.of("analytics_2018", "analytics_2019"),
+        PartitionUtils.getPartitionNames("analytics", partitions));
+
+    partitions.setSubPartitions(Set.of("ImspTQPwCqd", "FvewOonC8lS"));
+
+    assertEquals(
+        List.of(
+            "analytics_2018_fvewoonc8ls",
+            "analytics_2018_imsptqpwcqd",
+            "analytics_2019_fvewoonc8ls",
+            "analytics_2019_imsptqpwcqd"),
+        PartitionUtils.getPartitionNames("analytics", partitions));
+
+    partitions = new Partitions(Set.of(2019, AnalyticsTablePartition.LATEST_PARTITION));
+    partitions.setSubPartitions(Set.of("ImspTQPwCqd"));
+
+    assertEquals(
+        List.of("analytics_0", "analytics_2019_imsptqpwcqd"),
+        PartitionUtils.getPartitionNames("analytics", partitions));
+  }
 }
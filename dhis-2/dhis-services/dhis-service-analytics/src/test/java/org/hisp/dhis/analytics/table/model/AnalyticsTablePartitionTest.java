@@ -70,6 +70,37 @@ class AnalyticsTablePartitionTest {
     assertFalse(partition.isLatestPartition());
   }
 
+  @Test
+  void testAddSubPartition() {
+    AnalyticsTable table =
+        new AnalyticsTable(AnalyticsTableType.DATA_VALUE, columnsA, Logged.UNLOGGED);
+
+    AnalyticsTablePartition partition =
+        new AnalyticsTablePartition(
+            table,
+            List.of("value = 2023"),
+            2023,
+            new LocalDate(2023, 1, 1).toDate(),
+            new LocalDate(2023, 12, 31).toDate());
+
+    assertFalse(partition.hasSubPartitions());
+
+    partition.addSubPartition(List.of("\"uidlevel2\" = 'ImspTQPwCqd'"), "ImspTQPwCqd");
+
+    assertTrue(partition.hasSubPartitions());
+    assertFalse(partition.isSubPartition());
+    assertEquals(1, partition.getSubPartitions().size());
+
+    AnalyticsTablePartition subPartition = partition.getSubPartitions().get(0);
+
+    assertEquals("analytics_2023_imsptqpwcqd_temp", subPartition.getName());
+    assertEquals("analytics_2023_imsptqpwcqd", subPartition.getMainName());
+    assertEquals(partition, subPartition.getParent());
+    assertEquals(partition.getYear(), subPartition.getYear());
+    assertTrue(subPartition.isSubPartition());
+    assertTrue(subPartition.hasChecks());
+  }
+
   @Test
   void testIsLatestPartition() {
     AnalyticsTable table =
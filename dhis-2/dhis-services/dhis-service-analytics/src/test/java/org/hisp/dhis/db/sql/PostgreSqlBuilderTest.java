@@ -120,6 +120,22 @@ class PostgreSqlBuilderTest {
     assertTrue(sqlBuilder.supportsVacuum());
   }
 
+  @Test
+  void testSupportsUpdate() {
+    assertTrue(sqlBuilder.supportsUpdate());
+  }
+
+  @Test
+  void testSupportsUnlogged() {
+    assertTrue(sqlBuilder.supportsUnlogged());
+  }
+
+  @Test
+  void testSupportsIndexType() {
+    assertTrue(sqlBuilder.supportsIndexType(IndexType.BTREE));
+    assertTrue(sqlBuilder.supportsIndexType(IndexType.GIN));
+  }
+
   // Utilities
 
   @Test
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.db.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.hisp.dhis.db.model.Column;
+import org.hisp.dhis.db.model.DataType;
+import org.hisp.dhis.db.model.IndexType;
+import org.hisp.dhis.db.model.Logged;
+import org.hisp.dhis.db.model.Table;
+import org.hisp.dhis.db.model.constraint.Nullable;
+import org.junit.jupiter.api.Test;
+
+class PostgreSqlColumnarBuilderTest {
+  private final SqlBuilder sqlBuilder = new PostgreSqlColumnarBuilder();
+
+  private Table getTableA() {
+    List<Column> columns =
+        List.of(
+            new Column("id", DataType.BIGINT, Nullable.NOT_NULL),
+            new Column("data", DataType.CHARACTER_11, Nullable.NOT_NULL),
+            new Column("value", DataType.DOUBLE));
+
+    return new Table("immunization", columns, List.of(), List.of(), Logged.UNLOGGED);
+  }
+
+  private Table getTableB() {
+    List<Column> columns =
+        List.of(new Column("vitamin_a", DataType.BIGINT), new Column("vitamin_d", DataType.BIGINT));
+
+    return new Table("nutrition", columns, List.of(), List.of(), Logged.LOGGED, getTableA());
+  }
+
+  // Capabilities
+
+  @Test
+  void testSupportsUpdate() {
+    assertFalse(sqlBuilder.supportsUpdate());
+  }
+
+  @Test
+  void testSupportsUnlogged() {
+    assertFalse(sqlBuilder.supportsUnlogged());
+  }
+
+  @Test
+  void testSupportsIndexType() {
+    assertTrue(sqlBuilder.supportsIndexType(IndexType.BTREE));
+    assertFalse(sqlBuilder.supportsIndexType(IndexType.GIN));
+    assertFalse(sqlBuilder.supportsIndexType(IndexType.GIST));
+  }
+
+  // Statements
+
+  @Test
+  void testCreateTableA() {
+    String expected =
+        "create table \"immunization\" (\"id\" bigint not null, \"data\" char(11) not null, "
+            + "\"value\" double precision null) using columnar;";
+
+    assertEquals(expected, sqlBuilder.createTable(getTableA()));
+  }
+
+  @Test
+  void testCreateTableB() {
+    String expected =
+        "create table \"nutrition\" (\"vitamin_a\" bigint null, "
+            + "\"vitamin_d\" bigint null) inherits (\"immunization\") using columnar;";
+
+    assertEquals(expected, sqlBuilder.createTable(getTableB()));
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.db.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.hisp.dhis.db.model.Database;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SqlBuilderProviderTest {
+  @Mock private DhisConfigurationProvider config;
+
+  @Test
+  void testGetSqlBuilderDefault() {
+    when(config.getProperty(ConfigurationKey.ANALYTICS_CONNECTION_DATABASE)).thenReturn("");
+
+    SqlBuilderProvider provider = new SqlBuilderProvider(config);
+
+    assertEquals(Database.POSTGRESQL, provider.getDatabase());
+    assertEquals(PostgreSqlBuilder.class, provider.getSqlBuilder().getClass());
+  }
+
+  @Test
+  void testGetSqlBuilderColumnar() {
+    when(config.getProperty(ConfigurationKey.ANALYTICS_CONNECTION_DATABASE))
+        .thenReturn("postgresql_columnar");
+
+    SqlBuilderProvider provider = new SqlBuilderProvider(config);
+
+    assertTrue(provider.getSqlBuilder() instanceof PostgreSqlColumnarBuilder);
+  }
+
+  @Test
+  void testGetSqlBuilderUnsupported() {
+    when(config.getProperty(ConfigurationKey.ANALYTICS_CONNECTION_DATABASE)).thenReturn("oracle");
+
+    SqlBuilderProvider provider = new SqlBuilderProvider(config);
+
+    assertThrows(IllegalArgumentException.class, provider::getSqlBuilder);
+  }
+}
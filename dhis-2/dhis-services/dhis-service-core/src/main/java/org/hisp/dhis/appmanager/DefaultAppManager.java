@@ -32,9 +32,11 @@ import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.trimToEmpty;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
@@ -45,8 +47,10 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 import javax.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
@@ -55,6 +59,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.apphub.AppHubService;
 import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheBuilderProvider;
+import org.hisp.dhis.common.HashUtils;
 import org.hisp.dhis.datastore.DatastoreNamespaceProtection;
 import org.hisp.dhis.datastore.DatastoreNamespaceProtection.ProtectionType;
 import org.hisp.dhis.datastore.DatastoreService;
@@ -79,6 +84,16 @@ public class DefaultAppManager implements AppManager {
 
   private static final Set<String> EXCLUSION_APPS = Set.of("Line Listing");
 
+  /** Files larger than this are not held in memory but read from the app storage every time. */
+  private static final long MAX_CACHED_RESOURCE_SIZE = 2 * 1024 * 1024L;
+
+  /** Maximum number of bytes of app resource content held in memory. */
+  private static final long MAX_CACHED_RESOURCES_SIZE = 64 * 1024 * 1024L;
+
+  /** Extensions of files with textual content which benefit from compression. */
+  private static final Set<String> COMPRESSIBLE_EXTENSIONS =
+      Set.of("html", "htm", "js", "mjs", "css", "json", "map", "svg", "txt", "xml", "webapp");
+
   private final DhisConfigurationProvider dhisConfigurationProvider;
   private final AppHubService appHubService;
   private final AppStorageService localAppStorageService;
@@ -91,6 +106,9 @@ public class DefaultAppManager implements AppManager {
    */
   private final Cache<App> appCache;
 
+  /** Content of app resources by app key, version and page name. */
+  private final Cache<AppResourceContent> appResourceCache;
+
   public DefaultAppManager(
       DhisConfigurationProvider dhisConfigurationProvider,
       AppHubService appHubService,
@@ -112,6 +130,14 @@ public class DefaultAppManager implements AppManager {
     this.jCloudsAppStorageService = jCloudsAppStorageService;
     this.datastoreService = datastoreService;
     this.appCache = cacheBuilderProvider.<App>newCacheBuilder().forRegion("appCache").build();
+    this.appResourceCache =
+        cacheBuilderProvider
+            .<AppResourceContent>newCacheBuilder()
+            .forRegion("appResourceCache")
+            .expireAfterWrite(1, TimeUnit.HOURS)
+            .withMaximumWeight(MAX_CACHED_RESOURCES_SIZE, DefaultAppManager::getSize)
+            .forceInMemory()
+            .build();
   }
 
   // -------------------------------------------------------------------------
@@ -274,6 +300,7 @@ public class DefaultAppManager implements AppManager {
     App app = jCloudsAppStorageService.installApp(file, fileName, appCache);
 
     if (app.getAppState().ok()) {
+      invalidateAppResources(app);
       appCache.put(app.getKey(), app);
       registerDatastoreProtection(app);
     }
@@ -333,6 +360,7 @@ public class DefaultAppManager implements AppManager {
         deleteAppData(app);
       }
       appCache.invalidate(app.getKey());
+      invalidateAppResources(app);
     }
   }
 
@@ -373,6 +401,7 @@ public class DefaultAppManager implements AppManager {
   }
 
   private void installApp(App app) {
+    invalidateAppResources(app);
     appCache.put(app.getKey(), app);
     registerDatastoreProtection(app);
   }
@@ -388,6 +417,33 @@ public class DefaultAppManager implements AppManager {
     return getAppStorageServiceByApp(app).getAppResource(app, pageName);
   }
 
+  @Override
+  public AppResourceContent getCachedAppResourceContent(App app, String pageName) {
+    return appResourceCache.getIfPresent(getAppResourceKey(app, pageName)).orElse(null);
+  }
+
+  @Override
+  public AppResourceContent getAppResourceContent(App app, String pageName, Resource resource)
+      throws IOException {
+    if (resource.contentLength() > MAX_CACHED_RESOURCE_SIZE) {
+      return null;
+    }
+    byte[] content;
+    try (InputStream in = resource.getInputStream()) {
+      content = in.readAllBytes();
+    }
+    String filename = resource.getFilename();
+    AppResourceContent resourceContent =
+        new AppResourceContent(
+            filename,
+            content,
+            compress(filename, content),
+            HashUtils.hashSHA256(content),
+            resource.lastModified());
+    appResourceCache.put(getAppResourceKey(app, pageName), resourceContent);
+    return resourceContent;
+  }
+
   // -------------------------------------------------------------------------
   // Supportive methods
   // -------------------------------------------------------------------------
@@ -399,6 +455,42 @@ public class DefaultAppManager implements AppManager {
     return jCloudsAppStorageService;
   }
 
+  private static String getAppResourceKeyPrefix(App app) {
+    return app.getKey() + ":";
+  }
+
+  private static String getAppResourceKey(App app, String pageName) {
+    return getAppResourceKeyPrefix(app) + app.getVersion() + ":" + pageName;
+  }
+
+  private static int getSize(AppResourceContent content) {
+    byte[] gzipContent = content.gzipContent();
+    return content.content().length + (gzipContent == null ? 0 : gzipContent.length);
+  }
+
+  private void invalidateAppResources(App app) {
+    String prefix = getAppResourceKeyPrefix(app);
+    List<String> keys = new ArrayList<>();
+    appResourceCache.keys().forEach(keys::add);
+    keys.stream().filter(key -> key.startsWith(prefix)).forEach(appResourceCache::invalidate);
+  }
+
+  /**
+   * @return the gzip compressed content, or null if the file is not textual or compression does not
+   *     reduce its size
+   */
+  private static byte[] compress(String filename, byte[] content) throws IOException {
+    String extension = FilenameUtils.getExtension(filename);
+    if (extension == null || !COMPRESSIBLE_EXTENSIONS.contains(extension.toLowerCase())) {
+      return null;
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(content);
+    }
+    return bytes.size() < content.length ? bytes.toByteArray() : null;
+  }
+
   private void deleteAppData(App app) {
     String namespace = app.getActivities().getDhis().getNamespace();
     if (namespace != null && !namespace.isEmpty()) {
@@ -41,7 +41,7 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 @Service
 public class DefaultAsyncTaskExecutor implements AsyncTaskExecutor {
-  @Qualifier("taskScheduler")
+  @Qualifier("asyncTaskExecutor")
   private final AsyncListenableTaskExecutor jobExecutor;
 
   @Override
@@ -98,6 +98,11 @@ public class InternalHibernateGenericStoreImpl<T extends BaseIdentifiableObject>
       CriteriaBuilder builder, String userUid, Set<String> userGroupUids, String access) {
     List<Function<Root<T>, Predicate>> predicates = new ArrayList<>();
 
+    if (isMetadataAccess(access)) {
+      predicates.add(JpaQueryUtils.checkSharingAccess(builder, userUid, userGroupUids, access));
+      return predicates;
+    }
+
     Function<Root<T>, Predicate> userGroupPredicate =
         JpaQueryUtils.checkUserGroupsAccess(builder, userGroupUids, access);
 
@@ -177,6 +182,11 @@ public class InternalHibernateGenericStoreImpl<T extends BaseIdentifiableObject>
 
     preProcessPredicates(builder, predicates);
 
+    if (isDataAccess(access)) {
+      predicates.add(JpaQueryUtils.checkSharingAccess(builder, userUid, userGroupUids, access));
+      return predicates;
+    }
+
     Function<Root<T>, Predicate> userGroupPredicate =
         JpaQueryUtils.checkUserGroupsAccess(builder, userGroupUids, access);
 
@@ -305,6 +315,21 @@ public class InternalHibernateGenericStoreImpl<T extends BaseIdentifiableObject>
     return getDataSharingPredicates(builder, userDetails.getUid(), groupIds, access);
   }
 
+  /**
+   * Whether the given access string checks a single metadata access flag, which the indexed sharing
+   * access tokens can answer including the owner and public access.
+   */
+  private static boolean isMetadataAccess(String access) {
+    int position = JpaQueryUtils.getSharingAccessPosition(access);
+    return position == 0 || position == 1;
+  }
+
+  /** Whether the given access string checks a single data access flag. */
+  private static boolean isDataAccess(String access) {
+    int position = JpaQueryUtils.getSharingAccessPosition(access);
+    return position == 2 || position == 3;
+  }
+
   protected boolean forceAcl() {
     return Dashboard.class.isAssignableFrom(clazz);
   }
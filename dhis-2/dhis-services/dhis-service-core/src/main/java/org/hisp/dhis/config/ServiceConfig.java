@@ -31,7 +31,10 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.Semaphore;
 import org.hisp.dhis.common.DeliveryChannel;
+import org.hisp.dhis.commons.util.VirtualThreadUtils;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.i18n.I18nManager;
 import org.hisp.dhis.i18n.ui.resourcebundle.DefaultResourceBundleManager;
 import org.hisp.dhis.i18n.ui.resourcebundle.ResourceBundleManager;
@@ -42,9 +45,12 @@ import org.hisp.dhis.setting.DefaultStyleManager;
 import org.hisp.dhis.setting.StyleManager;
 import org.hisp.dhis.setting.SystemSettingManager;
 import org.hisp.dhis.sms.config.SmsMessageSender;
+import org.hisp.dhis.system.util.ThreadUtils;
 import org.hisp.dhis.user.UserSettingService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 /**
@@ -60,6 +66,27 @@ public class ServiceConfig {
     return threadPoolTaskScheduler;
   }
 
+  /**
+   * Executor used for asynchronous tasks. In virtual thread mode each task runs on a new virtual
+   * thread, and a semaphore sized to the database connection pool limits the number of tasks
+   * running at the same time, as the tasks are mostly blocked on database access. Otherwise the
+   * tasks run on the {@code taskScheduler} pool, which is wrapped so that it is not a second {@code
+   * TaskScheduler} bean.
+   */
+  @Bean("asyncTaskExecutor")
+  public AsyncListenableTaskExecutor asyncTaskExecutor(
+      DhisConfigurationProvider config, ThreadPoolTaskScheduler taskScheduler) {
+    if (!ThreadUtils.isVirtualThreadsEnabled(config)) {
+      return new TaskExecutorAdapter(taskScheduler);
+    }
+
+    Semaphore permits = new Semaphore(ThreadUtils.getDatabaseConcurrency(config), true);
+    TaskExecutorAdapter executor =
+        new TaskExecutorAdapter(VirtualThreadUtils.newVirtualThreadPerTaskExecutor("async-task-"));
+    executor.setTaskDecorator(task -> ThreadUtils.withPermit(permits, task));
+    return executor;
+  }
+
   @Bean("org.hisp.dhis.setting.StyleManager")
   public StyleManager styleManager(
       SystemSettingManager systemSettingManager,
@@ -35,6 +35,7 @@ import org.hisp.dhis.dataelement.DataElementService;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.i18n.I18nLocaleService;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
+import org.hisp.dhis.period.PeriodRegistryPopulator;
 import org.hisp.dhis.period.PeriodStore;
 import org.hisp.dhis.period.PeriodTypePopulator;
 import org.hisp.dhis.scheduling.JobScheduler;
@@ -48,6 +49,7 @@ import org.hisp.dhis.startup.SettingUpgrader;
 import org.hisp.dhis.user.UserService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 /**
  * @author Luciano Fiandesio
@@ -63,6 +65,15 @@ public class StartupConfig {
     return populator;
   }
 
+  @Bean("org.hisp.dhis.period.PeriodRegistryPopulator")
+  public PeriodRegistryPopulator periodRegistryPopulator(JdbcTemplate jdbcTemplate) {
+    PeriodRegistryPopulator populator = new PeriodRegistryPopulator(jdbcTemplate);
+    populator.setName("PeriodRegistryPopulator");
+    populator.setRunlevel(3);
+    populator.setSkipInTests(true);
+    return populator;
+  }
+
   @Bean("org.hisp.dhis.dataelement.DataElementDefaultDimensionPopulator")
   public DataElementDefaultDimensionPopulator dataElementDefaultDimensionPopulator(
       DataElementService dataElementService, CategoryService categoryService) {
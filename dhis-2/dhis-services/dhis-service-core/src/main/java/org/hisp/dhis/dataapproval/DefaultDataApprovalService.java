@@ -49,6 +49,7 @@ import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.IdentifiableObjectUtils;
 import org.hisp.dhis.common.ListMap;
+import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
 import org.hisp.dhis.dataapproval.exceptions.DataApprovalNotFound;
 import org.hisp.dhis.dataapproval.exceptions.DataMayNotBeAcceptedException;
 import org.hisp.dhis.dataapproval.exceptions.DataMayNotBeApprovedException;
@@ -62,6 +63,7 @@ import org.hisp.dhis.setting.SystemSettingManager;
 import org.hisp.dhis.user.CurrentUserUtil;
 import org.hisp.dhis.user.User;
 import org.hisp.dhis.user.UserService;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -102,6 +104,8 @@ public class DefaultDataApprovalService implements DataApprovalService {
   @Transactional
   public void updateWorkflow(DataApprovalWorkflow dataApprovalWorkflow) {
     workflowStore.update(dataApprovalWorkflow);
+
+    dataApprovalStore.deleteStatusProjection(dataApprovalWorkflow);
   }
 
   @Override
@@ -245,6 +249,8 @@ public class DefaultDataApprovalService implements DataApprovalService {
       dataApprovalStore.addDataApproval(da);
     }
 
+    dataApprovalStore.updateStatusProjection(checkedList);
+
     log.info("Approvals saved: " + checkedList.size());
   }
 
@@ -295,6 +301,8 @@ public class DefaultDataApprovalService implements DataApprovalService {
       dataApprovalStore.deleteDataApproval(da);
     }
 
+    dataApprovalStore.updateStatusProjection(foundApprovals);
+
     log.info("Approvals deleted: " + dataApprovalList.size());
   }
 
@@ -350,6 +358,8 @@ public class DefaultDataApprovalService implements DataApprovalService {
       dataApprovalStore.updateDataApproval(da);
     }
 
+    dataApprovalStore.updateStatusProjection(presentApprovals);
+
     log.info("Accepts saved: " + dataApprovalList.size());
   }
 
@@ -407,6 +417,8 @@ public class DefaultDataApprovalService implements DataApprovalService {
       dataApprovalStore.updateDataApproval(da);
     }
 
+    dataApprovalStore.updateStatusProjection(presentApprovals);
+
     log.info("Accepts deleted: " + dataApprovalList.size());
   }
 
@@ -575,6 +587,11 @@ public class DefaultDataApprovalService implements DataApprovalService {
     dataApprovalStore.deleteDataApprovals(organisationUnit);
   }
 
+  @EventListener
+  public void handleApplicationCachesCleared(ApplicationCacheClearedEvent event) {
+    dataApprovalStore.deleteStatusProjections();
+  }
+
   // -------------------------------------------------------------------------
   // Supportive methods
   // -------------------------------------------------------------------------
@@ -38,6 +38,7 @@ import static org.hisp.dhis.dataapproval.DataApprovalState.UNAPPROVED_WAITING;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -60,6 +61,8 @@ import org.hisp.dhis.dataapproval.DataApprovalState;
 import org.hisp.dhis.dataapproval.DataApprovalStatus;
 import org.hisp.dhis.dataapproval.DataApprovalStore;
 import org.hisp.dhis.dataapproval.DataApprovalWorkflow;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.hibernate.HibernateGenericStore;
 import org.hisp.dhis.hibernate.jsonb.type.JsonbFunctions;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -92,6 +95,12 @@ public class HibernateDataApprovalStore extends HibernateGenericStore<DataApprov
 
   private static final String SQL_CAT = SqlUtils.SINGLE_QUOTE + SQL_CONCAT + SqlUtils.SINGLE_QUOTE;
 
+  /**
+   * Projection rows older than this are ignored, so that metadata changes which affect readiness,
+   * such as data set assignments, are picked up eventually.
+   */
+  private static final int STATUS_PROJECTION_MAX_AGE_HOURS = 24;
+
   private final Cache<Boolean> isApprovedCache;
 
   // -------------------------------------------------------------------------
@@ -108,6 +117,8 @@ public class HibernateDataApprovalStore extends HibernateGenericStore<DataApprov
 
   private final SystemSettingManager systemSettingManager;
 
+  private final DhisConfigurationProvider config;
+
   public HibernateDataApprovalStore(
       EntityManager entityManager,
       JdbcTemplate jdbcTemplate,
@@ -117,7 +128,8 @@ public class HibernateDataApprovalStore extends HibernateGenericStore<DataApprov
       PeriodStore periodStore,
       CategoryService categoryService,
       SystemSettingManager systemSettingManager,
-      UserService userService) {
+      UserService userService,
+      DhisConfigurationProvider config) {
     super(entityManager, jdbcTemplate, publisher, DataApproval.class, false);
 
     checkNotNull(cacheProvider);
@@ -126,12 +138,14 @@ public class HibernateDataApprovalStore extends HibernateGenericStore<DataApprov
     checkNotNull(userService);
     checkNotNull(categoryService);
     checkNotNull(systemSettingManager);
+    checkNotNull(config);
 
     this.periodService = periodService;
     this.periodStore = periodStore;
     this.userService = userService;
     this.categoryService = categoryService;
     this.systemSettingManager = systemSettingManager;
+    this.config = config;
     this.isApprovedCache = cacheProvider.createIsDataApprovedCache();
   }
 
@@ -141,34 +155,34 @@ public class HibernateDataApprovalStore extends HibernateGenericStore<DataApprov
 
   @Override
   public void addDataApproval(DataApproval dataApproval) {
-    isApprovedCache.invalidateAll();
-
     dataApproval.setPeriod(periodService.reloadPeriod(dataApproval.getPeriod()));
 
+    isApprovedCache.invalidate(dataApproval.getCacheKey());
+
     save(dataApproval);
   }
 
   @Override
   public void updateDataApproval(DataApproval dataApproval) {
-    isApprovedCache.invalidateAll();
-
     dataApproval.setPeriod(periodService.reloadPeriod(dataApproval.getPeriod()));
 
+    isApprovedCache.invalidate(dataApproval.getCacheKey());
+
     update(dataApproval);
   }
 
   @Override
   public void deleteDataApproval(DataApproval dataApproval) {
-    isApprovedCache.invalidateAll();
-
     dataApproval.setPeriod(periodService.reloadPeriod(dataApproval.getPeriod()));
 
+    isApprovedCache.invalidate(dataApproval.getCacheKey());
+
     delete(dataApproval);
   }
 
   @Override
   public void deleteDataApprovals(OrganisationUnit organisationUnit) {
-    isApprovedCache.invalidateAll();
+    invalidateCachedApprovals(organisationUnit);
 
     String hql = "delete from DataApproval d where d.organisationUnit = :unit";
 
@@ -235,6 +249,35 @@ public class HibernateDataApprovalStore extends HibernateGenericStore<DataApprov
         dataApproval.getCacheKey(), key -> dataApprovalExistsInternal(dataApproval));
   }
 
+  @Override
+  public void invalidateCachedApproval(String cacheKey) {
+    isApprovedCache.invalidate(cacheKey);
+  }
+
+  @Override
+  public void invalidateCachedApprovals() {
+    isApprovedCache.invalidateAll();
+  }
+
+  /**
+   * Invalidates cached approval results for the given organisation unit, leaving entries for the
+   * rest of the hierarchy in place.
+   */
+  private void invalidateCachedApprovals(OrganisationUnit organisationUnit) {
+    List<String> keys = new ArrayList<>();
+
+    isApprovedCache
+        .keys()
+        .forEach(
+            key -> {
+              if (DataApproval.cacheKeyMatchesOrgUnit(key, organisationUnit)) {
+                keys.add(key);
+              }
+            });
+
+    keys.forEach(isApprovedCache::invalidate);
+  }
+
   private boolean dataApprovalExistsInternal(DataApproval dataApproval) {
     Period storedPeriod = periodStore.reloadPeriod(dataApproval.getPeriod());
 
@@ -518,87 +561,32 @@ public class HibernateDataApprovalStore extends HibernateGenericStore<DataApprov
               + ")";
     }
 
+    final int workflowPeriodId = getWorkflowPeriodId(workflow, endDate);
+
     // Ready below if this is the lowest (highest number) approval level
     String readyBelowSubquery = "true";
 
     if (approvalLevelBelowOrgUnit != null) {
-      // Ready if nothing expected below is unapproved(/unaccepted)
       readyBelowSubquery =
-          "not exists ( "
-              + "select 1 "
-              +
-              // Lower Data Approval OrgUnit (DAO) where approval is required
-              "from organisationunit dao "
-              + "where "
-              + position("o.uid", "dao.path")
-              + " = "
-              + pathPositionAtLevel(orgUnitLevel)
-              + " "
-              + "and dao.hierarchylevel = "
-              + approvalLevelBelowOrgUnit.getOrgUnitLevel()
-              + " "
-              + "and exists ( "
-              + // Data for this workflow is collected somewhere at or below DAO
-              "select 1 from organisationunit child "
-              + "where "
-              + position("dao.uid", "child.path")
-              + " <> 0 "
-              + "and child.organisationunitid in ( "
-              + "select distinct sourceid "
-              + "from datasetsource dss "
-              + "join dataset ds on ds.datasetid = dss.datasetid "
-              + "where ds.workflowid = "
-              + workflow.getId()
-              + ") "
-              + ") "
-              + (isDefaultCombo
-                  ? ""
-                  : // Default combo options never have an organisation unit mapping.
-                  "and not exists ("
-                      + // No AOCs without all attribute options valid for org unit.
-                      "select 1 "
-                      + "from categoryoptioncombos_categoryoptions cc1 "
-                      + "where cc1.categoryoptioncomboid = coc.categoryoptioncomboid "
-                      + "and ( "
-                      + "exists ( "
-                      + // If there are orgUnit mappings...
-                      "select 1 "
-                      + "from categoryoption_organisationunits co1 "
-                      + "where co1.categoryoptionid = cc1.categoryoptionid ) "
-                      + "and not exists ("
-                      + // then one of them should map to this orgUnit.
-                      "select 1 "
-                      + "from categoryoption_organisationunits co1 "
-                      + "join organisationunit o1 on o1.organisationunitid = co1.organisationunitid "
-                      + "where co1.categoryoptionid = cc1.categoryoptionid "
-                      + "and "
-                      + position("o1.uid", "dao.path")
-                      + " between 2 and "
-                      + pathPositionAtLevel(approvalLevelBelowOrgUnit)
-                      + " "
-                      + ") "
-                      + ") "
-                      + ") ")
-              + "and not exists ("
-              + // Data not approved(/accepted) below where it needs to be if ready.
-              "select 1 from dataapproval da "
-              + "join period p on p.periodid = da.periodid "
-              + "where da.organisationunitid = dao.organisationunitid "
-              + "and da.dataapprovallevelid = "
-              + approvalLevelBelowOrgUnit.getId()
-              + " "
-              + "and '"
-              + endDate
-              + "' >= p.startdate and '"
-              + endDate
-              + "' <= p.enddate "
-              + "and da.workflowid = "
-              + workflow.getId()
-              + " "
-              + "and da.attributeoptioncomboid = coc.categoryoptioncomboid "
-              + (acceptanceRequiredForApproval ? "and da.accepted " : "")
-              + ") "
-              + ") ";
+          getReadyBelowSubquery(
+              workflow,
+              orgUnitLevel,
+              approvalLevelBelowOrgUnit,
+              isDefaultCombo,
+              endDate,
+              acceptanceRequiredForApproval);
+
+      // Projection rows are keyed by the org unit itself, which the filter
+      // would replace
+      if (isStatusProjectionEnabled() && orgUnitFilter == null) {
+        readyBelowSubquery =
+            "coalesce("
+                + getStatusProjectionSubquery(
+                    workflow, workflowPeriodId, acceptanceRequiredForApproval)
+                + ", "
+                + readyBelowSubquery
+                + ")";
+      }
     }
 
     final String sql =
@@ -618,7 +606,7 @@ public class HibernateDataApprovalStore extends HibernateGenericStore<DataApprov
             + workflow.getId()
             + " "
             + "and da.periodid = "
-            + getWorkflowPeriodId(workflow, endDate)
+            + workflowPeriodId
             + " "
             + "and da.attributeoptioncomboid = coc.categoryoptioncomboid "
             + "and "
@@ -801,6 +789,327 @@ public class HibernateDataApprovalStore extends HibernateGenericStore<DataApprov
     return statusList;
   }
 
+  // -------------------------------------------------------------------------
+  // Status projection
+  // -------------------------------------------------------------------------
+
+  @Override
+  public void updateStatusProjection(Collection<DataApproval> dataApprovals) {
+    if (!isStatusProjectionEnabled() || dataApprovals.isEmpty()) {
+      return;
+    }
+
+    // Make the approvals of this transaction visible to the SQL below
+    getSession().flush();
+
+    Set<String> builtProjections = new HashSet<>();
+    Set<String> updatedRows = new HashSet<>();
+
+    for (DataApproval approval : dataApprovals) {
+      DataApprovalWorkflow workflow = approval.getWorkflow();
+      Period period = periodStore.reloadPeriod(approval.getPeriod());
+
+      if (period == null) {
+        continue;
+      }
+
+      String projectionKey = workflow.getId() + SQL_CONCAT + period.getId();
+
+      if (builtProjections.contains(projectionKey)) {
+        continue;
+      }
+
+      if (!statusProjectionExists(workflow, period)) {
+        // Only one transaction builds the projection of a workflow period,
+        // others fall back to the live subquery until it is committed
+        if (tryLockStatusProjection(workflow, period)) {
+          buildStatusProjection(workflow, period);
+        }
+        builtProjections.add(projectionKey);
+        continue;
+      }
+
+      for (OrganisationUnit ancestor : approval.getOrganisationUnit().getAncestors()) {
+        DataApprovalLevel approvalLevelBelow = getApprovalLevelBelow(workflow, ancestor.getLevel());
+
+        String rowKey =
+            projectionKey
+                + SQL_CONCAT
+                + ancestor.getId()
+                + SQL_CONCAT
+                + approval.getAttributeOptionCombo().getId();
+
+        if (approvalLevelBelow != null
+            && isApprovalOrgUnitLevel(workflow, ancestor.getLevel())
+            && updatedRows.add(rowKey)) {
+          upsertStatusProjection(
+              workflow,
+              period,
+              ancestor.getLevel(),
+              approvalLevelBelow,
+              "o.organisationunitid = " + ancestor.getId(),
+              "coc.categoryoptioncomboid = " + approval.getAttributeOptionCombo().getId());
+        }
+      }
+    }
+  }
+
+  @Override
+  public void deleteStatusProjection(DataApprovalWorkflow workflow) {
+    if (!isStatusProjectionEnabled()) {
+      return;
+    }
+
+    jdbcTemplate.update(
+        "delete from dataapprovalstatusprojection where workflowid = ?", workflow.getId());
+  }
+
+  @Override
+  public void deleteStatusProjections() {
+    if (!isStatusProjectionEnabled()) {
+      return;
+    }
+
+    jdbcTemplate.update("delete from dataapprovalstatusprojection");
+  }
+
+  private boolean isStatusProjectionEnabled() {
+    return config.isEnabled(ConfigurationKey.APPROVAL_STATUS_PROJECTION_ENABLED);
+  }
+
+  /**
+   * Indicates whether a projection exists for the given workflow period in which no row is older
+   * than {@link #STATUS_PROJECTION_MAX_AGE_HOURS}. A projection with stale rows must be rebuilt, as
+   * the stale rows are ignored by queries.
+   */
+  private boolean statusProjectionExists(DataApprovalWorkflow workflow, Period period) {
+    String sql =
+        "select count(*) > 0 and min(lastupdated) > now() - interval '"
+            + STATUS_PROJECTION_MAX_AGE_HOURS
+            + " hours' "
+            + "from dataapprovalstatusprojection where workflowid = ? and periodid = ?";
+
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(sql, Boolean.class, workflow.getId(), period.getId()));
+  }
+
+  /**
+   * Tries to take a transaction level advisory lock for building the projection of the given
+   * workflow period. Returns false without waiting if another transaction holds the lock.
+   */
+  private boolean tryLockStatusProjection(DataApprovalWorkflow workflow, Period period) {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(
+            "select pg_try_advisory_xact_lock(hashtext('dataapprovalstatusprojection:' || ? || ':' || ?))",
+            Boolean.class,
+            workflow.getId(),
+            period.getId()));
+  }
+
+  /**
+   * Builds the projection for all organisation units at the approval levels of the workflow which
+   * have an approval level below them, and all attribute option combos of the workflow.
+   */
+  private void buildStatusProjection(DataApprovalWorkflow workflow, Period period) {
+    Set<Integer> orgUnitLevels =
+        workflow.getSortedLevels().stream()
+            .map(DataApprovalLevel::getOrgUnitLevel)
+            .collect(Collectors.toSet());
+
+    for (int orgUnitLevel : orgUnitLevels) {
+      DataApprovalLevel approvalLevelBelow = getApprovalLevelBelow(workflow, orgUnitLevel);
+
+      if (approvalLevelBelow != null) {
+        upsertStatusProjection(
+            workflow,
+            period,
+            orgUnitLevel,
+            approvalLevelBelow,
+            "o.hierarchylevel = " + orgUnitLevel,
+            "coc.categoryoptioncomboid in (select c9.categoryoptioncomboid "
+                + "from categorycombos_optioncombos c9 where c9.categorycomboid = "
+                + workflow.getCategoryCombo().getId()
+                + ")");
+      }
+    }
+
+    log.info(
+        "Built approval status projection for workflow '{}' and period {}",
+        workflow.getName(),
+        period.getIsoDate());
+  }
+
+  /**
+   * Computes both the approved and the accepted readiness for the organisation units and attribute
+   * option combos matching the given restrictions, and writes them to the projection.
+   */
+  private void upsertStatusProjection(
+      DataApprovalWorkflow workflow,
+      Period period,
+      int orgUnitLevel,
+      DataApprovalLevel approvalLevelBelow,
+      String orgUnitRestriction,
+      String attributeOptionComboRestriction) {
+    boolean isDefaultCombo = workflow.getCategoryCombo().isDefault();
+    String endDate = DateUtils.getMediumDateString(period.getEndDate());
+
+    String sql =
+        "insert into dataapprovalstatusprojection "
+            + "(workflowid, periodid, organisationunitid, attributeoptioncomboid, "
+            + "readybelow, readybelowaccepted, lastupdated) "
+            + "select "
+            + workflow.getId()
+            + ", "
+            + period.getId()
+            + ", o.organisationunitid, coc.categoryoptioncomboid, "
+            + getReadyBelowSubquery(
+                workflow, orgUnitLevel, approvalLevelBelow, isDefaultCombo, endDate, false)
+            + ", "
+            + getReadyBelowSubquery(
+                workflow, orgUnitLevel, approvalLevelBelow, isDefaultCombo, endDate, true)
+            + ", now() "
+            + "from organisationunit o cross join categoryoptioncombo coc "
+            + "where "
+            + orgUnitRestriction
+            + " and "
+            + attributeOptionComboRestriction
+            + " on conflict (workflowid, periodid, organisationunitid, attributeoptioncomboid) "
+            + "do update set readybelow = excluded.readybelow, "
+            + "readybelowaccepted = excluded.readybelowaccepted, "
+            + "lastupdated = excluded.lastupdated";
+
+    log.debug("Update approval status projection SQL: " + sql);
+
+    jdbcTemplate.update(sql);
+  }
+
+  /**
+   * Returns a subquery which reads the readiness of organisation unit "o" for attribute option
+   * combo "coc" from the projection, or null if there is no recent enough projection row.
+   */
+  private String getStatusProjectionSubquery(
+      DataApprovalWorkflow workflow, int workflowPeriodId, boolean acceptanceRequiredForApproval) {
+    return "(select "
+        + (acceptanceRequiredForApproval ? "dsp.readybelowaccepted" : "dsp.readybelow")
+        + " from dataapprovalstatusprojection dsp "
+        + "where dsp.workflowid = "
+        + workflow.getId()
+        + " "
+        + "and dsp.periodid = "
+        + workflowPeriodId
+        + " "
+        + "and dsp.organisationunitid = o.organisationunitid "
+        + "and dsp.attributeoptioncomboid = coc.categoryoptioncomboid "
+        + "and dsp.lastupdated > now() - interval '"
+        + STATUS_PROJECTION_MAX_AGE_HOURS
+        + " hours')";
+  }
+
+  /**
+   * Returns the first approval level of the workflow below the given organisation unit level, or
+   * null if there is none.
+   */
+  private DataApprovalLevel getApprovalLevelBelow(DataApprovalWorkflow workflow, int orgUnitLevel) {
+    return workflow.getSortedLevels().stream()
+        .filter(dal -> dal.getOrgUnitLevel() > orgUnitLevel)
+        .findFirst()
+        .orElse(null);
+  }
+
+  private boolean isApprovalOrgUnitLevel(DataApprovalWorkflow workflow, int orgUnitLevel) {
+    return workflow.getSortedLevels().stream()
+        .anyMatch(dal -> dal.getOrgUnitLevel() == orgUnitLevel);
+  }
+
+  /**
+   * Returns a subquery which indicates whether an organisation unit "o" is ready for approval for
+   * attribute option combo "coc", which is the case when nothing expected at the approval level
+   * below is unapproved, or unaccepted if acceptance is required.
+   */
+  private String getReadyBelowSubquery(
+      DataApprovalWorkflow workflow,
+      int orgUnitLevel,
+      DataApprovalLevel approvalLevelBelowOrgUnit,
+      boolean isDefaultCombo,
+      String endDate,
+      boolean acceptanceRequiredForApproval) {
+    return "not exists ( "
+        + "select 1 "
+        +
+        // Lower Data Approval OrgUnit (DAO) where approval is required
+        "from organisationunit dao "
+        + "where "
+        + position("o.uid", "dao.path")
+        + " = "
+        + pathPositionAtLevel(orgUnitLevel)
+        + " "
+        + "and dao.hierarchylevel = "
+        + approvalLevelBelowOrgUnit.getOrgUnitLevel()
+        + " "
+        + "and exists ( "
+        + // Data for this workflow is collected somewhere at or below DAO
+        "select 1 from organisationunit child "
+        + "where "
+        + position("dao.uid", "child.path")
+        + " <> 0 "
+        + "and child.organisationunitid in ( "
+        + "select distinct sourceid "
+        + "from datasetsource dss "
+        + "join dataset ds on ds.datasetid = dss.datasetid "
+        + "where ds.workflowid = "
+        + workflow.getId()
+        + ") "
+        + ") "
+        + (isDefaultCombo
+            ? ""
+            : // Default combo options never have an organisation unit mapping.
+            "and not exists ("
+                + // No AOCs without all attribute options valid for org unit.
+                "select 1 "
+                + "from categoryoptioncombos_categoryoptions cc1 "
+                + "where cc1.categoryoptioncomboid = coc.categoryoptioncomboid "
+                + "and ( "
+                + "exists ( "
+                + // If there are orgUnit mappings...
+                "select 1 "
+                + "from categoryoption_organisationunits co1 "
+                + "where co1.categoryoptionid = cc1.categoryoptionid ) "
+                + "and not exists ("
+                + // then one of them should map to this orgUnit.
+                "select 1 "
+                + "from categoryoption_organisationunits co1 "
+                + "join organisationunit o1 on o1.organisationunitid = co1.organisationunitid "
+                + "where co1.categoryoptionid = cc1.categoryoptionid "
+                + "and "
+                + position("o1.uid", "dao.path")
+                + " between 2 and "
+                + pathPositionAtLevel(approvalLevelBelowOrgUnit)
+                + " "
+                + ") "
+                + ") "
+                + ") ")
+        + "and not exists ("
+        + // Data not approved(/accepted) below where it needs to be if ready.
+        "select 1 from dataapproval da "
+        + "join period p on p.periodid = da.periodid "
+        + "where da.organisationunitid = dao.organisationunitid "
+        + "and da.dataapprovallevelid = "
+        + approvalLevelBelowOrgUnit.getId()
+        + " "
+        + "and '"
+        + endDate
+        + "' >= p.startdate and '"
+        + endDate
+        + "' <= p.enddate "
+        + "and da.workflowid = "
+        + workflow.getId()
+        + " "
+        + "and da.attributeoptioncomboid = coc.categoryoptioncomboid "
+        + (acceptanceRequiredForApproval ? "and da.accepted " : "")
+        + ") "
+        + ") ";
+  }
+
   /**
    * Get the id for the workflow period that spans the given end date. The workflow period may or
    * may not be the same as the period for which we are checking data validity. The workflow period
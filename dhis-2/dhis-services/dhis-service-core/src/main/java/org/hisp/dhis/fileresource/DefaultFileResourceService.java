@@ -285,6 +285,14 @@ public class DefaultFileResourceService implements FileResourceService {
     fileResourceContentStore.copyContent(fileResource.getStorageKey(), outputStream);
   }
 
+  @Override
+  public void copyFileResourceContent(
+      FileResource fileResource, OutputStream outputStream, long offset, long length)
+      throws IOException, NoSuchElementException {
+    fileResourceContentStore.copyContent(
+        fileResource.getStorageKey(), outputStream, offset, length);
+  }
+
   @Override
   public byte[] copyFileResourceContent(FileResource fileResource)
       throws IOException, NoSuchElementException {
@@ -35,8 +35,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLConnection;
 import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.commons.util.DebugUtils;
 import org.imgscalr.Scalr;
@@ -54,6 +59,18 @@ public class DefaultImageProcessingService implements ImageProcessingService {
           ImageFileDimension.MEDIUM, new ImageSize(512, 512),
           ImageFileDimension.LARGE, new ImageSize(1024, 1024));
 
+  /** Variants in the order they are created, each is resized from the previous one. */
+  private static final List<ImageFileDimension> VARIANTS =
+      List.of(ImageFileDimension.LARGE, ImageFileDimension.MEDIUM, ImageFileDimension.SMALL);
+
+  /**
+   * The width of an image decoded with subsampling stays at least this many times the width of the
+   * largest variant, which leaves enough detail for resizing while bounding the memory used for
+   * decoding. Hence, images are only subsampled when they are at least twice this many times wider
+   * than the largest variant. The width is used as the variants are resized to fit their width.
+   */
+  private static final int SUBSAMPLING_FACTOR = 2;
+
   @Override
   public Map<ImageFileDimension, File> createImages(FileResource fileResource, File file) {
     if (!isInputValid(fileResource, file)) {
@@ -61,27 +78,30 @@ public class DefaultImageProcessingService implements ImageProcessingService {
     }
 
     Map<ImageFileDimension, File> images = new EnumMap<>(ImageFileDimension.class);
+    images.put(ImageFileDimension.ORIGINAL, file);
 
     try {
-      BufferedImage image = ImageIO.read(file);
-
-      for (ImageFileDimension dimension : ImageFileDimension.values()) {
-        if (ImageFileDimension.ORIGINAL == dimension) {
-          images.put(dimension, file);
-          continue;
-        }
-
-        ImageSize size = IMAGE_FILE_SIZES.get(dimension);
+      BufferedImage image = read(file);
+      BufferedImage source = image;
 
-        BufferedImage resizedImage = resize(image, size);
+      for (ImageFileDimension dimension : VARIANTS) {
+        BufferedImage resizedImage = resize(source, IMAGE_FILE_SIZES.get(dimension));
 
         File tempFile = new File(file.getPath() + dimension.getDimension());
 
         ImageIO.write(resizedImage, fileResource.getFormat(), tempFile);
 
         images.put(dimension, tempFile);
+
+        // downscaling from the previous variant is cheaper than from the original
+        if (resizedImage.getWidth() < source.getWidth()) {
+          if (source != image) {
+            source.flush();
+          }
+          source = resizedImage;
+        }
       }
-    } catch (IOException e) {
+    } catch (IOException | IllegalArgumentException e) {
       log.error("Image file resource cannot be processed");
       DebugUtils.getStackTrace(e);
       return new EnumMap<>(ImageFileDimension.class);
@@ -90,6 +110,42 @@ public class DefaultImageProcessingService implements ImageProcessingService {
     return images;
   }
 
+  /**
+   * Decodes the first image of the file. Images much wider than the largest variant are decoded
+   * with subsampling, which skips rows and columns instead of allocating the full resolution image.
+   */
+  private static BufferedImage read(File file) throws IOException {
+    try (ImageInputStream in = ImageIO.createImageInputStream(file)) {
+      Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+      if (readers == null || !readers.hasNext()) {
+        throw new IOException("No image reader found for file: " + file.getName());
+      }
+
+      ImageReader reader = readers.next();
+
+      try {
+        reader.setInput(in, true, true);
+        ImageReadParam param = reader.getDefaultReadParam();
+        int subsampling = getSubsampling(reader.getWidth(0));
+        if (subsampling > 1) {
+          param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        }
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * @return the largest subsampling which keeps the width of the decoded image at least {@link
+   *     #SUBSAMPLING_FACTOR} times the width of the largest variant, or 1 for no subsampling
+   */
+  static int getSubsampling(int width) {
+    int maxWidth = IMAGE_FILE_SIZES.get(ImageFileDimension.LARGE).width;
+    return Math.max(1, width / (maxWidth * SUBSAMPLING_FACTOR));
+  }
+
   private BufferedImage resize(BufferedImage image, ImageSize dimensions) {
     return Scalr.resize(
         image, Scalr.Method.BALANCED, Scalr.Mode.FIT_TO_WIDTH, dimensions.width, dimensions.height);
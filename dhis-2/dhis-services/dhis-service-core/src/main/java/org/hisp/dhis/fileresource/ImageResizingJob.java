@@ -28,20 +28,29 @@
 package org.hisp.dhis.fileresource;
 
 import static java.lang.String.format;
+import static org.hisp.dhis.external.conf.ConfigurationKey.IMAGE_PROCESSING_PARALLELISM;
 import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM_OUTLIER;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.commons.timer.SystemTimer;
+import org.hisp.dhis.commons.timer.Timer;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.scheduling.Job;
 import org.hisp.dhis.scheduling.JobConfiguration;
 import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.scheduling.JobType;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 /**
@@ -49,6 +58,9 @@ import org.springframework.stereotype.Component;
  * those image FileResources create three images files for each of them. Once created, images will
  * be stored at EWS and flag hasMultiple is set to true.
  *
+ * <p>Images are processed in parallel, see {@link
+ * org.hisp.dhis.external.conf.ConfigurationKey#IMAGE_PROCESSING_PARALLELISM}.
+ *
  * @author Zubair Asghar.
  */
 @Slf4j
@@ -61,6 +73,8 @@ public class ImageResizingJob implements Job {
 
   private final ImageProcessingService imageProcessingService;
 
+  private final DhisConfigurationProvider configurationProvider;
+
   @Override
   public JobType getJobType() {
     return JobType.IMAGE_PROCESSING;
@@ -70,11 +84,38 @@ public class ImageResizingJob implements Job {
   public void execute(JobConfiguration jobConfiguration, JobProgress progress) {
     progress.startingProcess("Resizing image resources");
 
+    int parallelism =
+        Integer.parseInt(configurationProvider.getProperty(IMAGE_PROCESSING_PARALLELISM));
+
     List<FileResource> images = fileResourceService.getAllUnProcessedImagesFiles();
     progress.startingStage("Creating and storing images", images.size(), SKIP_ITEM_OUTLIER);
-    progress.runStage(images, FileResource::getStorageKey, this::storeImageFiles);
 
-    progress.completedProcess(format("Number of FileResources processed: %d", images.size()));
+    // each worker holds a single decoded image, the parallelism bounds the memory used
+    // workers run on pool threads which need the security context of the job to update images
+    SecurityContext securityContext = SecurityContextHolder.getContext();
+    Timer timer = new SystemTimer().start();
+    AtomicInteger processed = new AtomicInteger();
+    progress.runStageInParallel(
+        parallelism,
+        images,
+        FileResource::getStorageKey,
+        image ->
+            new DelegatingSecurityContextRunnable(
+                    () -> {
+                      storeImageFiles(image);
+                      processed.incrementAndGet();
+                    },
+                    securityContext)
+                .run());
+    timer.stop();
+
+    double seconds = Math.max(timer.duration(), 1) / (double) TimeUnit.SECONDS.toNanos(1);
+    String summary =
+        format(
+            "Number of FileResources processed: %d of %d in %s (%.1f images/s, parallelism %d)",
+            processed.get(), images.size(), timer, processed.get() / seconds, parallelism);
+    log.info(summary);
+    progress.completedProcess(summary);
   }
 
   private void storeImageFiles(FileResource image) {
@@ -85,7 +126,13 @@ public class ImageResizingJob implements Job {
           "The referenced file could not be found for FileResource: " + image.getUid());
     }
 
-    File tmpFile = new File(UUID.randomUUID().toString());
+    File tmpFile;
+
+    try {
+      tmpFile = Files.createTempFile("org.hisp.dhis.image", ".tmp").toFile();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
 
     try (FileOutputStream fileOutputStream = new FileOutputStream(tmpFile)) {
       fileResourceContentStore.copyContent(key, fileOutputStream);
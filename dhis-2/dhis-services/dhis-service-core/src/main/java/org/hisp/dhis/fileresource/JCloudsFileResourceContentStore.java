@@ -28,6 +28,7 @@
 package org.hisp.dhis.fileresource;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.jclouds.blobstore.options.GetOptions.Builder.range;
 
 import com.google.common.hash.HashCode;
 import com.google.common.hash.Hashing;
@@ -36,7 +37,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -92,6 +98,9 @@ public class JCloudsFileResourceContentStore implements FileResourceContentStore
 
   private BlobStoreProperties config;
 
+  /** Directory of the container when the filesystem provider is used, otherwise null. */
+  private Path filesystemContainerDir;
+
   // -------------------------------------------------------------------------
   // Providers
   // -------------------------------------------------------------------------
@@ -159,6 +168,11 @@ public class JCloudsFileResourceContentStore implements FileResourceContentStore
 
     blobStore = blobStoreContext.getBlobStore();
 
+    String basedir = providerConfig.getRight().getProperty(FilesystemConstants.PROPERTY_BASEDIR);
+    if (basedir != null) {
+      filesystemContainerDir = Path.of(basedir, config.container).toAbsolutePath().normalize();
+    }
+
     Location provider =
         new LocationBuilder()
             .scope(LocationScope.PROVIDER)
@@ -349,11 +363,34 @@ public class JCloudsFileResourceContentStore implements FileResourceContentStore
       throws IOException, NoSuchElementException {
     ensureBlobExists(key);
 
+    Path file = getFilesystemPath(key);
+    if (file != null) {
+      transferFile(file, output, 0, Files.size(file));
+      return;
+    }
+
     try (InputStream in = getBlob(key).getPayload().openStream()) {
       IOUtils.copy(in, output);
     }
   }
 
+  @Override
+  public void copyContent(String key, OutputStream output, long offset, long length)
+      throws IOException, NoSuchElementException {
+    ensureBlobExists(key);
+
+    Path file = getFilesystemPath(key);
+    if (file != null) {
+      transferFile(file, output, offset, length);
+      return;
+    }
+
+    Blob blob = blobStore.getBlob(config.container, key, range(offset, offset + length - 1));
+    try (InputStream in = blob.getPayload().openStream()) {
+      IOUtils.copyLarge(in, output, 0, length);
+    }
+  }
+
   @Override
   public byte[] copyContent(String key) throws IOException, NoSuchElementException {
     ensureBlobExists(key);
@@ -370,6 +407,40 @@ public class JCloudsFileResourceContentStore implements FileResourceContentStore
     return getBlob(key).getPayload().openStream();
   }
 
+  /**
+   * @return the path of the file holding the content stored under key when the filesystem provider
+   *     is used, otherwise null
+   */
+  @CheckForNull
+  private Path getFilesystemPath(String key) {
+    if (filesystemContainerDir == null) {
+      return null;
+    }
+    Path file = filesystemContainerDir.resolve(key).normalize();
+    return file.startsWith(filesystemContainerDir) && Files.isRegularFile(file) ? file : null;
+  }
+
+  /**
+   * Transfers a range of the file from its file channel. The output is a stream wrapped as a
+   * channel, so the content is still copied through a small heap buffer, but the file is read from
+   * the offset without skipping the content before it.
+   */
+  private static void transferFile(Path file, OutputStream output, long offset, long length)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      WritableByteChannel target = Channels.newChannel(output);
+      long position = offset;
+      long end = Math.min(offset + length, channel.size());
+      while (position < end) {
+        long transferred = channel.transferTo(position, end - position, target);
+        if (transferred <= 0) {
+          break;
+        }
+        position += transferred;
+      }
+    }
+  }
+
   private void ensureBlobExists(String key) {
     if (!blobExists(key)) {
       throw new NoSuchElementException("key '" + key + "' not found.");
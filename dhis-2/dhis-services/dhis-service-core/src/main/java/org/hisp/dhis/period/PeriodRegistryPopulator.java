@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.period;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.calendar.Calendar;
+import org.hisp.dhis.system.startup.AbstractStartupRoutine;
+import org.hisp.dhis.system.util.Clock;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Populates the {@link PeriodRegistry} with the persisted periods, most recent first, so that
+ * resolving the ISO strings of known periods does not need any calendar arithmetic.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PeriodRegistryPopulator extends AbstractStartupRoutine {
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public void execute() {
+    Clock clock = new Clock().startClock();
+    Calendar calendar = PeriodType.getCalendar();
+
+    String sql =
+        "select pt.name, p.startdate from period p "
+            + "inner join periodtype pt on p.periodtypeid = pt.periodtypeid "
+            + "order by p.startdate desc limit "
+            + PeriodRegistry.MAX_SIZE;
+
+    jdbcTemplate.query(
+        sql,
+        rs -> {
+          PeriodType periodType = PeriodType.getPeriodTypeByName(rs.getString(1));
+
+          if (periodType != null) {
+            PeriodRegistry.register(periodType.createPeriod(rs.getDate(2), calendar).getIsoDate());
+          }
+        });
+
+    log.info("Registered {} periods in {}", PeriodRegistry.size(), clock.time());
+  }
+}
@@ -67,6 +67,8 @@ import static org.hisp.dhis.parser.expression.antlr.ExpressionParser.V_BRACE;
 
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableMap;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -74,6 +76,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import javax.annotation.CheckForNull;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.antlr.Parser;
@@ -144,7 +147,7 @@ public class DefaultProgramIndicatorService implements ProgramIndicatorService {
 
   private final I18nManager i18nManager;
 
-  private final Cache<String> analyticsSqlCache;
+  private final Cache<CompiledSql> analyticsSqlCache;
 
   public DefaultProgramIndicatorService(
       ProgramIndicatorStore programIndicatorStore,
@@ -175,6 +178,18 @@ public class DefaultProgramIndicatorService implements ProgramIndicatorService {
     this.analyticsSqlCache = cacheProvider.createAnalyticsSqlCache();
   }
 
+  /**
+   * Reporting periods used to find out whether the SQL of an expression depends on the reporting
+   * period. They differ in start and length and are not used by real reporting periods.
+   */
+  private static final Date PROBE_START_DATE = probeDate(1900, 1, 1);
+
+  private static final Date PROBE_END_DATE = probeDate(1900, 12, 31);
+
+  private static final Date OTHER_PROBE_START_DATE = probeDate(1904, 2, 1);
+
+  private static final Date OTHER_PROBE_END_DATE = probeDate(1904, 2, 29);
+
   public static final ImmutableMap<Integer, ExpressionItem> PROGRAM_INDICATOR_ITEMS =
       ImmutableMap.<Integer, ExpressionItem>builder()
 
@@ -360,31 +375,81 @@ public class DefaultProgramIndicatorService implements ProgramIndicatorService {
       return null;
     }
 
-    String cacheKey =
-        getAnalyticsSqlCacheKey(
-            expression, dataType, programIndicator, startDate, endDate, tableAlias);
+    String compiledKey =
+        getAnalyticsSqlCacheKey(expression, dataType, programIndicator, tableAlias);
 
-    return analyticsSqlCache.get(
-        cacheKey,
-        k ->
-            getAnalyticsSqlInternal(
-                expression, dataType, programIndicator, startDate, endDate, tableAlias));
+    CompiledSql compiled =
+        analyticsSqlCache.get(
+            compiledKey, k -> compile(expression, dataType, programIndicator, tableAlias));
+
+    if (compiled.sql() != null) {
+      return compiled.sql();
+    }
+
+    String cacheKey = compiledKey + dateIfPresent(startDate) + dateIfPresent(endDate);
+
+    return analyticsSqlCache
+        .get(
+            cacheKey,
+            k ->
+                new CompiledSql(
+                    getAnalyticsSqlInternal(
+                        expression,
+                        dataType,
+                        programIndicator,
+                        startDate,
+                        endDate,
+                        tableAlias,
+                        compiled.identifiers())))
+        .sql();
   }
 
+  /**
+   * Compiles the expression for two probe reporting periods of different start and length. If the
+   * SQL is the same for both, it does not depend on the reporting period and is reused for all
+   * periods. Otherwise the SQL is compiled for each reporting period.
+   */
+  private CompiledSql compile(
+      String expression, DataType dataType, ProgramIndicator programIndicator, String tableAlias) {
+    // Get the uids from the expression even if this is the filter
+    Set<String> uids =
+        getDataElementAndAttributeIdentifiers(
+            programIndicator.getExpression(), programIndicator.getAnalyticsType());
+
+    String sql =
+        getAnalyticsSqlInternal(
+            expression,
+            dataType,
+            programIndicator,
+            PROBE_START_DATE,
+            PROBE_END_DATE,
+            tableAlias,
+            uids);
+    String otherSql =
+        getAnalyticsSqlInternal(
+            expression,
+            dataType,
+            programIndicator,
+            OTHER_PROBE_START_DATE,
+            OTHER_PROBE_END_DATE,
+            tableAlias,
+            uids);
+
+    return new CompiledSql(sql.equals(otherSql) ? sql : null, uids);
+  }
+
+  /**
+   * The key includes the last updated timestamp of the program indicator, so that an update to the
+   * program indicator or its boundaries is not served from a stale entry.
+   */
   private String getAnalyticsSqlCacheKey(
-      String expression,
-      DataType dataType,
-      ProgramIndicator programIndicator,
-      Date startDate,
-      Date endDate,
-      String tableAlias) {
+      String expression, DataType dataType, ProgramIndicator programIndicator, String tableAlias) {
     return expression
         + "|"
         + dataType.name()
         + "|"
         + programIndicator.getUid()
-        + dateIfPresent(startDate)
-        + dateIfPresent(endDate)
+        + dateIfPresent(programIndicator.getLastUpdated())
         + "|"
         + (tableAlias == null ? "" : tableAlias);
   }
@@ -408,12 +473,8 @@ public class DefaultProgramIndicatorService implements ProgramIndicatorService {
       ProgramIndicator programIndicator,
       Date startDate,
       Date endDate,
-      String tableAlias) {
-    // Get the uids from the expression even if this is the filter
-    Set<String> uids =
-        getDataElementAndAttributeIdentifiers(
-            programIndicator.getExpression(), programIndicator.getAnalyticsType());
-
+      String tableAlias,
+      Set<String> uids) {
     ExpressionParams params = ExpressionParams.builder().dataType(dataType).build();
 
     ProgramExpressionParams progParams =
@@ -435,6 +496,18 @@ public class DefaultProgramIndicatorService implements ProgramIndicatorService {
         : sql);
   }
 
+  /**
+   * Compiled analytics SQL of a program indicator expression.
+   *
+   * @param sql the SQL, or null if it depends on the reporting period
+   * @param identifiers the data element and attribute identifiers of the program indicator
+   */
+  private record CompiledSql(@CheckForNull String sql, Set<String> identifiers) {
+    CompiledSql(String sql) {
+      this(sql, Set.of());
+    }
+  }
+
   @Override
   @Transactional(readOnly = true)
   public String getAnyValueExistsClauseAnalyticsSql(
@@ -507,6 +580,11 @@ public class DefaultProgramIndicatorService implements ProgramIndicatorService {
   // Supportive methods
   // -------------------------------------------------------------------------
 
+  private static Date probeDate(int year, int month, int day) {
+    return Date.from(
+        LocalDate.of(year, month, day).atStartOfDay(ZoneId.systemDefault()).toInstant());
+  }
+
   private CommonExpressionVisitor newVisitor(
       ExpressionItemMethod itemMethod,
       ExpressionParams params,
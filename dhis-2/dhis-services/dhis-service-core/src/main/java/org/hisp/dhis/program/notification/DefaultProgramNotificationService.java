@@ -78,6 +78,7 @@ import org.hisp.dhis.user.UserGroup;
 import org.hisp.dhis.util.DateUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * @author Halvdan Hoem Grelland
@@ -86,6 +87,9 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @Service("org.hisp.dhis.program.notification.ProgramNotificationService")
 public class DefaultProgramNotificationService implements ProgramNotificationService {
+  /** Number of scheduled program notification instances processed per batch. */
+  static final int SCHEDULED_BATCH_SIZE = 1000;
+
   private static final Predicate<NotificationInstanceWithTemplate> IS_SCHEDULED_BY_PROGRAM_RULE =
       (iwt) ->
           Objects.nonNull(iwt.getProgramNotificationInstance())
@@ -115,6 +119,10 @@ public class DefaultProgramNotificationService implements ProgramNotificationSer
 
   @Nonnull private final NotificationTemplateMapper notificationTemplateMapper;
 
+  @Nonnull private final ProgramNotificationInstanceStore notificationInstanceStore;
+
+  @Nonnull private final TransactionTemplate transactionTemplate;
+
   // -------------------------------------------------------------------------
   // ProgramStageNotificationService implementation
   // -------------------------------------------------------------------------
@@ -142,67 +150,112 @@ public class DefaultProgramNotificationService implements ProgramNotificationSer
         (success, failed) -> format("Created and sent %d messages", totalMessageCount.get()));
   }
 
+  /**
+   * Sends the notifications scheduled by program rules for today. The instances are processed in
+   * pages, each in its own transaction, so that the sent instances of a page are committed once its
+   * messages went out and are not rolled back by a failure in a later page.
+   */
   @Override
-  @Transactional
   public void sendScheduledNotifications(JobProgress progress) {
-    progress.startingStage(
-        "Fetching and filtering ProgramStageNotification messages scheduled by program rules");
-    List<NotificationInstanceWithTemplate> instancesWithTemplates =
-        progress.runStage(
-            List.of(),
-            () ->
-                identifiableObjectManager.getAll(ProgramNotificationInstance.class).stream()
-                    .map(this::withTemplate)
-                    .filter(this::hasTemplate)
-                    .filter(IS_SCHEDULED_BY_PROGRAM_RULE)
-                    .collect(toList()));
+    Date from = DateUtils.removeTimeStamp(new Date());
+    Date to = DateUtils.addDays(from, 1);
 
     progress.startingStage(
         "Processing ProgramStageNotification messages scheduled by program rules",
-        instancesWithTemplates.size(),
         SKIP_ITEM_OUTLIER);
-    if (instancesWithTemplates.isEmpty()) {
-      progress.completedStage("No instances with templates found");
-      return;
-    }
-
-    List<MessageBatch> batches =
-        progress.runStage(
-            List.of(),
-            () -> {
-              Stream<MessageBatch> enrollmentBatches =
-                  instancesWithTemplates.stream()
-                      .filter(this::hasEnrollment)
-                      .map(
-                          iwt ->
-                              createEnrollmentMessageBatch(
-                                  iwt.getProgramNotificationTemplate(),
-                                  List.of(iwt.getProgramNotificationInstance().getEnrollment())));
-
-              Stream<MessageBatch> eventBatches =
-                  instancesWithTemplates.stream()
-                      .filter(this::hasEvent)
-                      .map(
-                          iwt ->
-                              createEventMessageBatch(
-                                  iwt.getProgramNotificationTemplate(),
-                                  List.of(iwt.getProgramNotificationInstance().getEvent())));
-
-              return Stream.concat(enrollmentBatches, eventBatches).collect(toList());
-            });
-
-    progress.startingStage("Sending message batches", batches.size(), SKIP_ITEM_OUTLIER);
+    AtomicInteger totalMessageCount = new AtomicInteger();
+    AtomicInteger batchCount = new AtomicInteger();
     progress.runStage(
-        batches.stream(),
-        batch ->
-            format(
-                "Sending batch with %d DHIS messages and %d program messages",
-                batch.dhisMessages.size(), batch.programMessages.size()),
-        this::sendAll,
+        streamScheduledBatches(from, to),
+        ids -> "Processing batch with " + ids.size() + " instances",
+        ids -> {
+          Integer messageCount = transactionTemplate.execute(status -> sendScheduledBatch(ids));
+          totalMessageCount.addAndGet(messageCount);
+          batchCount.incrementAndGet();
+        },
         (success, failed) ->
             format(
-                "Created and sent %d messages",
-                batches.stream().mapToInt(MessageBatch::messageCount).sum()));
+                "Created and sent %d messages in %d batches",
+                totalMessageCount.get(), batchCount.get()));
+  }
+
+  /**
+   * Streams the identifiers of the program notification instances scheduled within the given time
+   * window which are not yet sent, in batches of {@link #SCHEDULED_BATCH_SIZE}. Batches are fetched
+   * lazily by keyset paging on the identifier.
+   */
+  private Stream<List<Long>> streamScheduledBatches(Date from, Date to) {
+    return Stream.iterate(
+        getScheduledNotSentIds(from, to, 0),
+        ids -> !ids.isEmpty(),
+        ids ->
+            ids.size() < SCHEDULED_BATCH_SIZE
+                ? List.of()
+                : getScheduledNotSentIds(from, to, ids.get(ids.size() - 1)));
+  }
+
+  private List<Long> getScheduledNotSentIds(Date from, Date to, long afterId) {
+    return transactionTemplate.execute(
+        status ->
+            notificationInstanceStore.getScheduledNotSentIds(
+                from, to, afterId, SCHEDULED_BATCH_SIZE));
+  }
+
+  /**
+   * Sends the messages of the given program notification instances and marks the instances for
+   * which messages were created as sent. Instances without template, not scheduled by a program
+   * rule or without enrollment and event are left unsent. The session is flushed and cleared
+   * afterwards.
+   *
+   * @return the number of messages sent.
+   */
+  private int sendScheduledBatch(List<Long> ids) {
+    List<NotificationInstanceWithTemplate> instancesWithTemplates =
+        notificationInstanceStore.getById(ids).stream()
+            .map(this::withTemplate)
+            .filter(this::hasTemplate)
+            .filter(IS_SCHEDULED_BY_PROGRAM_RULE)
+            .toList();
+
+    List<NotificationInstanceWithTemplate> enrollmentInstances =
+        instancesWithTemplates.stream().filter(this::hasEnrollment).toList();
+
+    List<NotificationInstanceWithTemplate> eventInstances =
+        instancesWithTemplates.stream().filter(this::hasEvent).toList();
+
+    Stream<MessageBatch> enrollmentBatches =
+        enrollmentInstances.stream()
+            .map(
+                iwt ->
+                    createEnrollmentMessageBatch(
+                        iwt.getProgramNotificationTemplate(),
+                        List.of(iwt.getProgramNotificationInstance().getEnrollment())));
+
+    Stream<MessageBatch> eventBatches =
+        eventInstances.stream()
+            .map(
+                iwt ->
+                    createEventMessageBatch(
+                        iwt.getProgramNotificationTemplate(),
+                        List.of(iwt.getProgramNotificationInstance().getEvent())));
+
+    MessageBatch batch =
+        new MessageBatch(
+            Stream.concat(enrollmentBatches, eventBatches).toArray(MessageBatch[]::new));
+    sendAll(batch);
+
+    notificationInstanceStore.markSent(
+        Stream.concat(enrollmentInstances.stream(), eventInstances.stream())
+            .map(iwt -> iwt.getProgramNotificationInstance().getId())
+            .distinct()
+            .toList(),
+        new Date());
+
+    // keeps memory use flat if the batch joined a session which outlives it
+    identifiableObjectManager.flush();
+    identifiableObjectManager.clear();
+
+    return batch.messageCount();
   }
 
   private boolean hasEvent(NotificationInstanceWithTemplate notificationInstanceWithTemplate) {
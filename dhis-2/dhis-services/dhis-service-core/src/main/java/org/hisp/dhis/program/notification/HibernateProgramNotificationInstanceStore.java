@@ -28,6 +28,8 @@
 package org.hisp.dhis.program.notification;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.function.Function;
 import javax.persistence.EntityManager;
@@ -102,6 +104,33 @@ public class HibernateProgramNotificationInstanceStore
     return getCount(builder, jpaParameters);
   }
 
+  @Override
+  public List<Long> getScheduledNotSentIds(Date from, Date to, long afterId, int limit) {
+    String hql =
+        "select pni.id from ProgramNotificationInstance pni "
+            + "where pni.sentAt is null and pni.scheduledAt >= :from and pni.scheduledAt < :to "
+            + "and pni.id > :afterId order by pni.id";
+
+    return getQuery(hql, Long.class)
+        .setParameter("from", from)
+        .setParameter("to", to)
+        .setParameter("afterId", afterId)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  @Override
+  public void markSent(Collection<Long> ids, Date sentAt) {
+    if (ids.isEmpty()) {
+      return;
+    }
+
+    getQuery("update ProgramNotificationInstance set sentAt = :sentAt where id in (:ids)")
+        .setParameter("sentAt", sentAt)
+        .setParameterList("ids", ids)
+        .executeUpdate();
+  }
+
   private List<Function<Root<ProgramNotificationInstance>, Predicate>> getPredicates(
       ProgramNotificationInstanceParam params, CriteriaBuilder builder) {
     List<Function<Root<ProgramNotificationInstance>, Predicate>> predicates = new ArrayList<>();
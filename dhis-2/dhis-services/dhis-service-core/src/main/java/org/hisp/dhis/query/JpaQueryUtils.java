@@ -349,6 +349,69 @@ public class JpaQueryUtils {
     };
   }
 
+  /**
+   * Generate JPA Predicate for checking sharing access of the given user and user groups using the
+   * indexed access tokens of the sharing column, see {@link JsonbFunctions#HAS_SHARING_ACCESS}.
+   * Covers public access, owner (metadata access only), user and user group access.
+   *
+   * @param builder
+   * @param userUid User Uid
+   * @param userGroupUids Set of User Group Uids, can be empty
+   * @param access Access string for checking, must check a single access flag
+   * @return JPA Predicate
+   */
+  public static <T> Function<Root<T>, Predicate> checkSharingAccess(
+      CriteriaBuilder builder, String userUid, Set<String> userGroupUids, String access) {
+    int position = getSharingAccessPosition(access);
+
+    if (position < 0) {
+      throw new IllegalArgumentException("Access string must check a single flag: " + access);
+    }
+
+    List<String> tokens = new ArrayList<>();
+    tokens.add("*:" + position);
+    tokens.add("u:" + userUid + ":" + position);
+
+    if (userGroupUids != null) {
+      userGroupUids.forEach(uid -> tokens.add("g:" + uid + ":" + position));
+    }
+
+    String accessTokens = "{" + String.join(",", tokens) + "}";
+
+    return root ->
+        builder.equal(
+            builder.function(
+                JsonbFunctions.HAS_SHARING_ACCESS,
+                Boolean.class,
+                root.get("sharing"),
+                builder.literal(accessTokens)),
+            true);
+  }
+
+  /**
+   * Returns the position of the single access flag checked by the given access string, e.g. 0 for
+   * {@code r%} and 2 for {@code __r_____}.
+   *
+   * @param access Access string (like pattern) for checking
+   * @return the position of the checked flag, or -1 if the access string does not check exactly one
+   *     flag within the first four positions
+   */
+  public static int getSharingAccessPosition(String access) {
+    int position = -1;
+
+    for (int i = 0; access != null && i < access.length() && access.charAt(i) != '%'; i++) {
+      if (access.charAt(i) != '_') {
+        if (position >= 0) {
+          return -1;
+        }
+
+        position = i;
+      }
+    }
+
+    return position > 3 ? -1 : position;
+  }
+
   /**
    * Return SQL query for checking sharing access for given user
    *
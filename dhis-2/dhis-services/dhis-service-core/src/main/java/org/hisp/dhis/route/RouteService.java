@@ -32,34 +32,48 @@ import static org.hisp.dhis.config.HibernateEncryptionConfig.AES_128_STRING_ENCR
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.net.URI;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import javax.annotation.Nonnull;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.http.client.HttpClient;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.common.auth.ApiTokenAuth;
 import org.hisp.dhis.common.auth.Auth;
 import org.hisp.dhis.common.auth.HttpBasicAuth;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.user.UserDetails;
 import org.jasypt.encryption.pbe.PBEStringCleanablePasswordEncryptor;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.http.HttpEntity;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 /**
@@ -76,7 +90,18 @@ public class RouteService {
   @Qualifier(AES_128_STRING_ENCRYPTOR)
   private final PBEStringCleanablePasswordEncryptor encryptor;
 
-  private static final RestTemplate restTemplate = new RestTemplate();
+  private final CacheProvider cacheProvider;
+
+  private final DhisConfigurationProvider config;
+
+  /** Routes with decrypted secrets by UID and time of last update. */
+  private Cache<Route> decryptedRoutes;
+
+  /** Client shared by all routes, connections to the same target host are pooled and reused. */
+  private CloseableHttpClient httpClient;
+
+  /** Request factories by response timeout in seconds, all using the shared client. */
+  private final Map<Integer, ClientHttpRequestFactory> requestFactories = new ConcurrentHashMap<>();
 
   private static List<String> allowedRequestHeaders =
       List.of(
@@ -109,23 +134,33 @@ public class RouteService {
           "last-modified",
           "etag");
 
-  static {
-    HttpComponentsClientHttpRequestFactory requestFactory =
-        new HttpComponentsClientHttpRequestFactory();
-    requestFactory.setConnectionRequestTimeout(1_000);
-    requestFactory.setConnectTimeout(5_000);
-    requestFactory.setReadTimeout(10_000);
-    requestFactory.setBufferRequestBody(true);
-
-    HttpClient httpClient = HttpClientBuilder.create().disableCookieManagement().build();
-
-    requestFactory.setHttpClient(httpClient);
+  @PostConstruct
+  public void init() {
+    decryptedRoutes = cacheProvider.createDecryptedRouteCache();
+
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(
+        Integer.parseInt(config.getProperty(ConfigurationKey.ROUTE_CONNECTIONS_MAX)));
+    connectionManager.setDefaultMaxPerRoute(
+        Integer.parseInt(config.getProperty(ConfigurationKey.ROUTE_CONNECTIONS_MAX_PER_HOST)));
+
+    // content is passed through as is, including its content encoding
+    httpClient =
+        HttpClientBuilder.create()
+            .setConnectionManager(connectionManager)
+            .disableCookieManagement()
+            .disableContentCompression()
+            .build();
+  }
 
-    restTemplate.setRequestFactory(requestFactory);
+  @PreDestroy
+  public void close() throws IOException {
+    httpClient.close();
   }
 
   /**
-   * Get {@see Route} by uid/code, decrypts its password/token and returns it.
+   * Get {@see Route} by uid/code, decrypts its password/token and returns it. The decrypted route
+   * is cached until the route is updated and must not be modified.
    *
    * @param id uid/code
    * @return {@see Route}
@@ -141,20 +176,32 @@ public class RouteService {
       return null;
     }
 
+    Route stored = route;
+    Date lastUpdated = route.getLastUpdated();
+    String key = route.getUid() + ":" + (lastUpdated == null ? 0 : lastUpdated.getTime());
+    return decryptedRoutes.get(key, k -> getDecryptedCopy(stored));
+  }
+
+  private Route getDecryptedCopy(Route route) {
+    Route copy;
     try {
-      route = objectMapper.readValue(objectMapper.writeValueAsString(route), Route.class);
+      copy = objectMapper.readValue(objectMapper.writeValueAsString(route), Route.class);
     } catch (JsonProcessingException ex) {
       log.error(
           "Unable to create clone of Route with ID " + route.getUid() + ". Please check its data.");
       return null;
     }
 
-    decrypt(route);
+    decrypt(copy);
 
-    return route;
+    return copy;
   }
 
-  public ResponseEntity<String> exec(
+  /**
+   * Sends the request to the target of the route. Request and response bodies are streamed, the
+   * response body must be consumed or closed by the caller to release the connection.
+   */
+  public ResponseEntity<InputStreamResource> exec(
       Route route,
       UserDetails currentUserDetails,
       Optional<String> subPath,
@@ -190,23 +237,34 @@ public class RouteService {
       uriComponentsBuilder.path(subPath.get());
     }
 
-    String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
-    HttpEntity<String> entity = new HttpEntity<>(body, headers);
     HttpMethod httpMethod =
         Objects.requireNonNullElse(HttpMethod.resolve(request.getMethod()), HttpMethod.GET);
-    String targetUri = uriComponentsBuilder.toUriString();
+    URI targetUri = uriComponentsBuilder.build().encode().toUri();
 
     log.info(
         String.format(
             "Sending %s %s via route %s (%s)",
             httpMethod, targetUri, route.getName(), route.getUid()));
 
-    ResponseEntity<String> response =
-        restTemplate.exchange(targetUri, httpMethod, entity, String.class);
+    ClientHttpRequest clientRequest = getRequestFactory(route).createRequest(targetUri, httpMethod);
+    clientRequest.getHeaders().putAll(headers);
 
-    HttpHeaders responseHeaders = filterResponseHeaders(response.getHeaders());
+    if (httpMethod != HttpMethod.GET) {
+      if (request.getContentType() != null) {
+        clientRequest
+            .getHeaders()
+            .setContentType(MediaType.parseMediaType(request.getContentType()));
+      }
+      if (request.getContentLengthLong() >= 0) {
+        clientRequest.getHeaders().setContentLength(request.getContentLengthLong());
+      }
+      ((StreamingHttpOutputMessage) clientRequest)
+          .setBody(out -> StreamUtils.copy(request.getInputStream(), out));
+    }
 
-    String responseBody = response.getBody();
+    ClientHttpResponse response = clientRequest.execute();
+
+    HttpHeaders responseHeaders = filterResponseHeaders(response.getHeaders());
 
     responseHeaders.forEach(
         (String name, List<String> values) ->
@@ -214,13 +272,29 @@ public class RouteService {
     log.info(
         String.format(
             "Request %s %s responded with HTTP status %s via route %s (%s)",
-            httpMethod,
-            targetUri,
-            response.getStatusCode().toString(),
-            route.getName(),
-            route.getUid()));
+            httpMethod, targetUri, response.getRawStatusCode(), route.getName(), route.getUid()));
 
-    return new ResponseEntity<>(responseBody, responseHeaders, response.getStatusCode());
+    return ResponseEntity.status(response.getRawStatusCode())
+        .headers(responseHeaders)
+        .body(new InputStreamResource(response.getBody()));
+  }
+
+  private ClientHttpRequestFactory getRequestFactory(Route route) {
+    int responseTimeoutSeconds =
+        route.getResponseTimeoutSeconds() > 0
+            ? route.getResponseTimeoutSeconds()
+            : Route.DEFAULT_RESPONSE_TIMEOUT_SECONDS;
+    return requestFactories.computeIfAbsent(responseTimeoutSeconds, this::createRequestFactory);
+  }
+
+  private ClientHttpRequestFactory createRequestFactory(int responseTimeoutSeconds) {
+    HttpComponentsClientHttpRequestFactory requestFactory =
+        new HttpComponentsClientHttpRequestFactory(httpClient);
+    requestFactory.setConnectionRequestTimeout(1_000);
+    requestFactory.setConnectTimeout(5_000);
+    requestFactory.setReadTimeout(responseTimeoutSeconds * 1_000);
+    requestFactory.setBufferRequestBody(false);
+    return requestFactory;
   }
 
   private HttpHeaders filterHeaders(
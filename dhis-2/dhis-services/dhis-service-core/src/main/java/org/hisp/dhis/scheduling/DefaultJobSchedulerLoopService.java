@@ -46,6 +46,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.commons.util.DebugUtils;
 import org.hisp.dhis.eventhook.EventHookPublisher;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.feedback.NotFoundException;
 import org.hisp.dhis.leader.election.LeaderManager;
 import org.hisp.dhis.message.MessageService;
@@ -78,6 +80,7 @@ public class DefaultJobSchedulerLoopService implements JobSchedulerLoopService {
   private final Notifier notifier;
   private final AuthenticationService authenticationService;
   private final ObjectMapper jsonMapper;
+  private final DhisConfigurationProvider config;
 
   /**
    * Set of currently running jobs on this node. We use a map to use CAS operation {@link
@@ -146,7 +149,16 @@ public class DefaultJobSchedulerLoopService implements JobSchedulerLoopService {
   @Override
   @Transactional
   public boolean tryRun(@Nonnull String jobId) {
-    if (!jobConfigurationStore.tryStart(jobId)) return false;
+    return jobConfigurationStore.tryStart(jobId) && started(jobId);
+  }
+
+  @Override
+  @Transactional
+  public boolean tryClaim(@Nonnull String jobId) {
+    return jobConfigurationStore.tryClaim(jobId) && started(jobId);
+  }
+
+  private boolean started(String jobId) {
     JobConfiguration job = jobConfigurationStore.getByUid(jobId);
     if (job == null) return false;
     doSafely("start", "MDC.put", () -> MDC.put("sessionId", getSessionId(job)));
@@ -178,6 +190,20 @@ public class DefaultJobSchedulerLoopService implements JobSchedulerLoopService {
     updateProgress(jobId);
   }
 
+  @CheckForNull
+  @Override
+  public JobProgress.Progress getProgress(@Nonnull String jobId) {
+    RecordingJobProgress job = recordingsById.get(jobId);
+    if (job == null) return null;
+    try {
+      // a copy so the snapshot does not change while being used
+      return jsonMapper.convertValue(job.getProgress(), JobProgress.Progress.class);
+    } catch (IllegalArgumentException ex) {
+      log.debug("Failed to copy progress of running job " + jobId, ex);
+      return null;
+    }
+  }
+
   @Override
   @Transactional
   public boolean finishRunSuccess(@Nonnull String jobId) {
@@ -257,7 +283,11 @@ public class DefaultJobSchedulerLoopService implements JobSchedulerLoopService {
   private JobProgress startRecording(@Nonnull JobConfiguration job, @Nonnull Runnable observer) {
     JobProgress tracker =
         job.getJobType().isUsingNotifications()
-            ? new NotifierJobProgress(notifier, job)
+            ? new NotifierJobProgress(
+                notifier,
+                job,
+                Long.parseLong(
+                    config.getProperty(ConfigurationKey.SCHEDULER_NOTIFICATION_INTERVAL)))
             : NoopJobProgress.INSTANCE;
     boolean logInfoOnDebug =
         job.getSchedulingType() != SchedulingType.ONCE_ASAP
@@ -273,15 +303,29 @@ public class DefaultJobSchedulerLoopService implements JobSchedulerLoopService {
   private void stopRecording(@Nonnull String jobId) {
     RecordingJobProgress job = recordingsById.get(jobId);
     if (job != null) {
-      job.autoComplete();
-      updateProgress(jobId);
-      recordingsById.remove(jobId);
+      synchronized (job) {
+        job.autoComplete();
+        updateProgress(jobId);
+        recordingsById.remove(jobId);
+      }
     }
   }
 
+  /**
+   * Progress updates are flushed from the scheduler while the job is finished by the worker thread.
+   * Updates of the same job are serialized so that a flush can never overwrite the final progress.
+   */
   private void updateProgress(@Nonnull String jobId) {
     RecordingJobProgress job = recordingsById.get(jobId);
     if (job == null) return;
+    synchronized (job) {
+      if (recordingsById.get(jobId) == job) {
+        writeProgress(jobId, job);
+      }
+    }
+  }
+
+  private void writeProgress(@Nonnull String jobId, @Nonnull RecordingJobProgress job) {
     try {
       JobProgress.Progress progress = job.getProgress();
       String errorCodes = progress.getErrorCodes().stream().sorted().collect(joining(" "));
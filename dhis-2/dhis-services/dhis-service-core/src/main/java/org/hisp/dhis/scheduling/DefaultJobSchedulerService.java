@@ -56,6 +56,7 @@ public class DefaultJobSchedulerService implements JobSchedulerService {
 
   private final JobConfigurationStore jobConfigurationStore;
   private final JobRunner jobRunner;
+  private final JobSchedulerLoopService jobSchedulerLoopService;
   private final ObjectMapper jsonMapper;
 
   @Override
@@ -119,9 +120,12 @@ public class DefaultJobSchedulerService implements JobSchedulerService {
   @Override
   @Transactional(readOnly = true)
   public Progress getProgress(@Nonnull String jobId) {
-    String json = jobConfigurationStore.getProgress(jobId);
-    if (json == null) return null;
-    Progress progress = mapToProgress(json);
+    Progress progress = jobSchedulerLoopService.getProgress(jobId);
+    if (progress == null) {
+      String json = jobConfigurationStore.getProgress(jobId);
+      if (json == null) return null;
+      progress = mapToProgress(json);
+    }
     if (progress == null) return null;
     UserDetails user = CurrentUserUtil.getCurrentUserDetails();
     if (user == null || !(user.isSuper() || user.isAuthorized("F_SCHEDULING_ANALYSE")))
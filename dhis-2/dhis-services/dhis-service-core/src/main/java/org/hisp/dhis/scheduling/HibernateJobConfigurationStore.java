@@ -343,6 +343,48 @@ public class HibernateJobConfigurationStore
     return nativeQuery(sql).setParameter("id", jobId).executeUpdate() > 0;
   }
 
+  @Override
+  public boolean tryClaim(@Nonnull String jobId) {
+    // the lock of the job type is taken in a statement of its own, so that the
+    // update below sees all claims of jobs of the same type committed before
+    // language=SQL
+    String lockSql =
+        """
+        select pg_try_advisory_xact_lock(hashtext('jobconfiguration:' || jobtype))
+        from jobconfiguration
+        where uid = :id
+        """;
+    List<?> locked = nativeQuery(lockSql).setParameter("id", jobId).list();
+    if (locked.isEmpty() || !Boolean.TRUE.equals(locked.get(0))) {
+      return false;
+    }
+    // language=SQL
+    String sql =
+        """
+        update jobconfiguration j1
+        set
+          lastupdated = now(),
+          jobstatus = 'RUNNING',
+          lastexecuted = now(),
+          lastalive = now(),
+          progress = null,
+          cancel = false
+        where j1.jobconfigurationid = (
+          select j3.jobconfigurationid from jobconfiguration j3
+          where j3.uid = :id
+          and j3.jobstatus = 'SCHEDULED'
+          and j3.enabled = true
+          for update skip locked)
+        and not exists (
+          select 1 from jobconfiguration j2
+          where j2.jobtype = j1.jobtype
+          and j2.jobconfigurationid != j1.jobconfigurationid
+          and j2.jobstatus = 'RUNNING'
+        )
+        """;
+    return nativeQuery(sql).setParameter("id", jobId).executeUpdate() > 0;
+  }
+
   @Override
   public boolean tryCancel(@Nonnull String jobId) {
     // language=SQL
@@ -34,21 +34,27 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.commons.util.VirtualThreadUtils;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.setting.SettingKey;
 import org.hisp.dhis.setting.SystemSettingManager;
+import org.hisp.dhis.system.util.ThreadUtils;
 import org.hisp.dhis.user.SystemUser;
 import org.springframework.stereotype.Component;
 
@@ -58,12 +64,16 @@ import org.springframework.stereotype.Component;
  * <p>In the loop it is determined if a job should trigger and if so it is executed on a worker
  * thread.
  *
+ * <p>By default only the leader node runs jobs. When jobs are distributed every node claims due
+ * jobs of the job types it accepts as long as it has capacity left. Claiming is atomic in the DB so
+ * each job run starts on exactly one node. Jobs of a node that stopped sending progress updates are
+ * rescheduled by the housekeeping as stale jobs.
+ *
  * @author Jan Bernitt
  * @since 2.41
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JobScheduler implements Runnable, JobRunner {
 
   /**
@@ -95,14 +105,93 @@ public class JobScheduler implements Runnable, JobRunner {
   private final JobService jobService;
   private final JobSchedulerLoopService service;
   private final SystemSettingManager systemSettings;
-  private final ExecutorService workers = Executors.newCachedThreadPool();
+  private final ExecutorService workers;
   private final Map<JobType, Queue<String>> continuousJobsByType = new ConcurrentHashMap<>();
 
+  /** True, when any node may run jobs, false when only the leader does. */
+  private final boolean distributed;
+
+  /** Job types this node runs when distributed. */
+  private final Set<JobType> acceptedTypes;
+
+  /**
+   * Free job slots of this node. Bounded by the configured capacity when distributed, otherwise by
+   * the database connection pool when jobs run on virtual threads.
+   */
+  private final Semaphore capacity;
+
+  /** Interval in which changed progress of running jobs is written to the DB. */
+  private final int progressFlushSeconds;
+
+  /** IDs of jobs running on this node which have progress changes not yet written to the DB. */
+  private final Set<String> progressChanged = ConcurrentHashMap.newKeySet();
+
+  public JobScheduler(
+      JobService jobService,
+      JobSchedulerLoopService service,
+      SystemSettingManager systemSettings,
+      DhisConfigurationProvider config) {
+    this.jobService = jobService;
+    this.service = service;
+    this.systemSettings = systemSettings;
+    this.workers =
+        ThreadUtils.isVirtualThreadsEnabled(config)
+            ? VirtualThreadUtils.newVirtualThreadPerTaskExecutor("job-worker-")
+            : Executors.newCachedThreadPool();
+    this.distributed = config.isEnabled(ConfigurationKey.SCHEDULER_DISTRIBUTED_ENABLED);
+    this.acceptedTypes =
+        getAcceptedTypes(config.getProperty(ConfigurationKey.SCHEDULER_DISTRIBUTED_JOB_TYPES));
+    this.capacity = new Semaphore(getCapacity(config, distributed));
+    this.progressFlushSeconds =
+        Integer.parseInt(config.getProperty(ConfigurationKey.SCHEDULER_PROGRESS_FLUSH_INTERVAL));
+  }
+
+  /**
+   * @return the number of jobs this node runs at the same time
+   */
+  private static int getCapacity(DhisConfigurationProvider config, boolean distributed) {
+    if (distributed) {
+      return Integer.parseInt(config.getProperty(ConfigurationKey.SCHEDULER_DISTRIBUTED_CAPACITY));
+    }
+    // virtual threads are not a limit in themselves, but jobs mostly wait for the database
+    return ThreadUtils.isVirtualThreadsEnabled(config)
+        ? ThreadUtils.getDatabaseConcurrency(config)
+        : Integer.MAX_VALUE;
+  }
+
+  /**
+   * @param types comma separated list of job type names, empty means all types
+   * @return the job types a node accepts, the housekeeping is always accepted so that it runs even
+   *     if every node restricts its job types
+   */
+  static Set<JobType> getAcceptedTypes(String types) {
+    if (types == null || types.isBlank()) {
+      return EnumSet.allOf(JobType.class);
+    }
+    Set<JobType> accepted = EnumSet.of(JobType.HOUSEKEEPING);
+    for (String type : types.split(",")) {
+      if (!type.isBlank()) {
+        try {
+          accepted.add(JobType.valueOf(type.trim()));
+        } catch (IllegalArgumentException ex) {
+          log.warn(
+              "Ignoring unknown job type '{}' of {}",
+              type.trim(),
+              ConfigurationKey.SCHEDULER_DISTRIBUTED_JOB_TYPES.getKey());
+        }
+      }
+    }
+    return accepted;
+  }
+
   public void start() {
     long loopTimeMs = LOOP_SECONDS * 1000L;
     long alignment = loopTimeMs - (currentTimeMillis() % loopTimeMs);
     Executors.newSingleThreadScheduledExecutor()
         .scheduleAtFixedRate(this, alignment, loopTimeMs, TimeUnit.MILLISECONDS);
+    Executors.newSingleThreadScheduledExecutor()
+        .scheduleWithFixedDelay(
+            this::flushProgress, progressFlushSeconds, progressFlushSeconds, TimeUnit.SECONDS);
     scheduling.set(true);
   }
 
@@ -114,20 +203,33 @@ public class JobScheduler implements Runnable, JobRunner {
   /**
    * The main scheduling loop executed every 20 seconds (see {@link #start()}).
    *
-   * <p>If this node is the leader it tries to run jobs that might be due to run.
+   * <p>If this node is the leader, or jobs are distributed, it tries to run jobs that might be due
+   * to run.
    */
   @Override
   public void run() {
     try {
       Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
-      if (service.tryBecomeLeader(TTL_SECONDS)) {
+      boolean leader = service.tryBecomeLeader(TTL_SECONDS);
+      if (leader) {
         service.assureAsLeader(TTL_SECONDS);
+      }
+      if (leader || distributed) {
+        if (distributed) {
+          // the housekeeping only cancels jobs running on the node it runs on
+          service.applyCancellation();
+        }
         Map<JobType, List<JobConfiguration>> readyByType =
             service.getDueJobConfigurations(LOOP_SECONDS).stream()
                 .collect(groupingBy(JobConfiguration::getJobType));
         // only attempt to start one per type per loop invocation
-        readyByType.forEach((type, jobs) -> runIfDue(now, type, jobs));
-        if (!readyByType.containsKey(JobType.HOUSEKEEPING)) {
+        readyByType.forEach(
+            (type, jobs) -> {
+              if (!distributed || acceptedTypes.contains(type)) {
+                runIfDue(now, type, jobs);
+              }
+            });
+        if (leader && !readyByType.containsKey(JobType.HOUSEKEEPING)) {
           createHousekeepingJob();
         }
       }
@@ -167,6 +269,11 @@ public class JobScheduler implements Runnable, JobRunner {
     jobs.stream().map(JobConfiguration::getUid).forEach(jobIds::add);
 
     if (spawnWorker) {
+      if (!capacity.tryAcquire()) {
+        // the jobs stay scheduled and are picked up by a later loop or another node
+        continuousJobsByType.remove(type);
+        return;
+      }
       // we want to prevent starting more than one worker per job type
       // but if this does happen it is no issue as both will be pulling
       // from the same queue
@@ -190,13 +297,19 @@ public class JobScheduler implements Runnable, JobRunner {
     } finally {
       // need to be done so that we never have a queue without a worker by accident
       continuousJobsByType.remove(type);
+      capacity.release();
     }
   }
 
   private void runIfDue(Instant now, JobConfiguration config) {
     Instant dueTime = dueTime(now, config);
-    if (dueTime != null) {
+    if (dueTime == null) {
+      return;
+    }
+    if (config.getJobType() == JobType.HOUSEKEEPING) {
       workers.submit(() -> runDueJob(config, dueTime));
+    } else if (capacity.tryAcquire()) {
+      workers.submit(() -> runDueJobAndRelease(config, dueTime));
     }
   }
 
@@ -207,15 +320,40 @@ public class JobScheduler implements Runnable, JobRunner {
     return dueTime != null && !dueTime.isAfter(now) ? dueTime : null;
   }
 
+  /**
+   * Runs the job on the calling thread. Unlike jobs started by the scheduling loop, this waits for
+   * a free job slot instead of leaving the job for later.
+   */
   @Override
   public void runDueJob(JobConfiguration config) {
-    runDueJob(config, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    Instant start = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    if (config.getJobType() == JobType.HOUSEKEEPING) {
+      runDueJob(config, start);
+      return;
+    }
+    try {
+      capacity.acquire();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    runDueJobAndRelease(config, start);
+  }
+
+  /** Runs a job for which a job slot was acquired, the slot is released when the job is done. */
+  private void runDueJobAndRelease(JobConfiguration config, Instant start) {
+    try {
+      runDueJob(config, start);
+    } finally {
+      capacity.release();
+    }
   }
 
   /** This is executed on a worker thread. The start time is the desired time to run. */
   private void runDueJob(JobConfiguration config, Instant start) {
     String jobId = config.getUid();
-    if (!service.tryRun(jobId)) {
+    boolean started = distributed ? service.tryClaim(jobId) : service.tryRun(jobId);
+    if (!started) {
       log.debug(
           String.format(
               "Could not start job %s although it should run %s",
@@ -253,12 +391,35 @@ public class JobScheduler implements Runnable, JobRunner {
     }
   }
 
-  /** The observing has to be outside the service as it will need a DB transaction. */
+  /**
+   * The observing has to be outside the service as it will need a DB transaction.
+   *
+   * <p>When scheduling the job thread only marks the progress as changed. All changes within a
+   * flush interval are written by {@link #flushProgress()} as a single update so that jobs with
+   * many work items do not wait for the DB.
+   */
   private void alive(String jobId, AtomicLong lastAssured) {
+    if (scheduling.get()) {
+      progressChanged.add(jobId);
+      return;
+    }
     long now = currentTimeMillis();
-    if (now - lastAssured.get() > 10_000) {
+    if (now - lastAssured.get() > progressFlushSeconds * 1000L) {
       lastAssured.set(now);
       service.updateAsRunning(jobId);
     }
   }
+
+  /** Writes the progress of all running jobs that changed since the last flush. */
+  private void flushProgress() {
+    for (String jobId : progressChanged) {
+      progressChanged.remove(jobId);
+      try {
+        service.updateAsRunning(jobId);
+      } catch (Exception ex) {
+        log.error("Failed to update progress of job " + jobId, ex);
+        // this needs to be caught otherwise the flushing would end
+      }
+    }
+  }
 }
@@ -87,6 +87,15 @@ public interface JobSchedulerLoopService {
    */
   boolean tryRun(@Nonnull String jobId);
 
+  /**
+   * Same as {@link #tryRun(String)} but used when any node of a cluster may run jobs, see {@link
+   * JobConfigurationStore#tryClaim(String)}.
+   *
+   * @param jobId of the job to switch to a {@link JobStatus#RUNNING} state
+   * @return true, if update was successful and the execution should begin, otherwise false
+   */
+  boolean tryClaim(@Nonnull String jobId);
+
   /**
    * Called when a run of the provided job is about to be processed.
    *
@@ -110,6 +119,16 @@ public interface JobSchedulerLoopService {
    */
   void updateAsRunning(@Nonnull String jobId);
 
+  /**
+   * Progress updates are only written to the database periodically. While a job is running on this
+   * node its latest progress is available in memory.
+   *
+   * @param jobId of the job to get the progress for
+   * @return a snapshot of the current progress if the job is running on this node, otherwise null
+   */
+  @CheckForNull
+  JobProgress.Progress getProgress(@Nonnull String jobId);
+
   /**
    * Called on a successful completion of the job process.
    *
@@ -27,11 +27,14 @@
  */
 package org.hisp.dhis.scheduling;
 
+import static java.lang.System.currentTimeMillis;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.system.notification.NotificationDataType;
 import org.hisp.dhis.system.notification.NotificationLevel;
@@ -41,6 +44,11 @@ import org.hisp.dhis.system.notification.Notifier;
  * A {@link JobProgress} implementation that forwards the tracking to a {@link Notifier}. It has no
  * flow control and should be wrapped in a {@link RecordingJobProgress} for that purpose.
  *
+ * <p>Work item notifications ({@link NotificationLevel#LOOP}) are sent at most once per interval.
+ * Work item notifications in between are coalesced so only the most recent one is kept. It is sent
+ * before the next notification of another level so that the sequence of notifications stays
+ * complete at stage and process level.
+ *
  * @see RecordingJobProgress
  */
 @RequiredArgsConstructor
@@ -49,8 +57,15 @@ public class NotifierJobProgress implements JobProgress {
 
   private final JobConfiguration jobId;
 
+  /** Minimum time in milliseconds between two {@link NotificationLevel#LOOP} notifications */
+  private final long loopIntervalMillis;
+
   private final AtomicBoolean hasCleared = new AtomicBoolean();
 
+  private final AtomicLong lastLoopNotification = new AtomicLong();
+
+  private final AtomicReference<String> pendingLoopMessage = new AtomicReference<>();
+
   private int stageItems;
 
   private int stageItem;
@@ -75,16 +90,19 @@ public class NotifierJobProgress implements JobProgress {
 
   @Override
   public void completedProcess(String summary, Object... args) {
+    flushLoop();
     notifier.notify(jobId, format(summary, args), true);
   }
 
   @Override
   public void failedProcess(String error, Object... args) {
+    flushLoop();
     notifier.notify(jobId, NotificationLevel.ERROR, format(error, args), true);
   }
 
   @Override
   public void startingStage(String description, int workItems, FailurePolicy onFailure) {
+    flushLoop();
     stageItems = workItems;
     stageItem = 0;
     if (isNotEmpty(description)) {
@@ -94,6 +112,7 @@ public class NotifierJobProgress implements JobProgress {
 
   @Override
   public void completedStage(String summary, Object... args) {
+    flushLoop();
     if (isNotEmpty(summary)) {
       notifier.notify(jobId, format(summary, args));
     }
@@ -101,6 +120,7 @@ public class NotifierJobProgress implements JobProgress {
 
   @Override
   public void failedStage(String error, Object... args) {
+    flushLoop();
     if (isNotEmpty(error)) {
       notifier.notify(jobId, NotificationLevel.ERROR, format(error, args), false);
     }
@@ -110,7 +130,7 @@ public class NotifierJobProgress implements JobProgress {
   public void startingWorkItem(String description, FailurePolicy onFailure) {
     if (isNotEmpty(description)) {
       String nOf = "[" + (stageItems > 0 ? stageItem + "/" + stageItems : "" + stageItem) + "] ";
-      notifier.notify(jobId, NotificationLevel.LOOP, nOf + description, false);
+      notifyLoop(nOf + description);
     }
     stageItem++;
   }
@@ -119,17 +139,36 @@ public class NotifierJobProgress implements JobProgress {
   public void completedWorkItem(String summary, Object... args) {
     if (isNotEmpty(summary)) {
       String nOf = "[" + (stageItems > 0 ? stageItem + "/" + stageItems : "" + stageItem) + "] ";
-      notifier.notify(jobId, NotificationLevel.LOOP, nOf + format(summary, args), false);
+      notifyLoop(nOf + format(summary, args));
     }
   }
 
   @Override
   public void failedWorkItem(String error, Object... args) {
+    flushLoop();
     if (isNotEmpty(error)) {
       notifier.notify(jobId, NotificationLevel.ERROR, format(error, args), false);
     }
   }
 
+  private void notifyLoop(String message) {
+    long now = currentTimeMillis();
+    long last = lastLoopNotification.get();
+    if (now - last >= loopIntervalMillis && lastLoopNotification.compareAndSet(last, now)) {
+      pendingLoopMessage.set(null);
+      notifier.notify(jobId, NotificationLevel.LOOP, message, false);
+    } else {
+      pendingLoopMessage.set(message);
+    }
+  }
+
+  private void flushLoop() {
+    String message = pendingLoopMessage.getAndSet(null);
+    if (message != null) {
+      notifier.notify(jobId, NotificationLevel.LOOP, message, false);
+    }
+  }
+
   private JsonNode getJobParameterData() {
     JobParameters params = jobId.getJobParameters();
     if (params == null) {
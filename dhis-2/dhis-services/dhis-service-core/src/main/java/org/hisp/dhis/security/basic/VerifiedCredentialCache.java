@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.security.basic;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.CheckForNull;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.user.UserDetails;
+import org.hisp.dhis.user.UserDetailsChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Remembers successful password verifications of clients using HTTP Basic authentication for a
+ * short time, together with the {@link UserDetails} built for the user, so that repeated requests
+ * skip loading the user and verifying the password hash.
+ *
+ * <p>Entries hold a keyed digest of the username and password, never the password. The key is
+ * generated on startup, so entries are only valid within this instance. Entries of a user are
+ * discarded on {@link UserDetailsChangedEvent}, which is also propagated to other instances when
+ * Redis cache invalidation is enabled. Entries are not used beyond the time the account or the
+ * credentials of the user expire.
+ */
+@Slf4j
+@Component
+public class VerifiedCredentialCache {
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+  private final Cache<VerifiedCredential> cache;
+
+  private final SecretKeySpec key;
+
+  private final boolean enabled;
+
+  public VerifiedCredentialCache(CacheProvider cacheProvider, DhisConfigurationProvider config) {
+    long ttl = Long.parseLong(config.getProperty(ConfigurationKey.SYSTEM_BASIC_AUTH_CACHE_TTL));
+
+    this.enabled = ttl > 0;
+    this.cache = cacheProvider.createVerifiedCredentialCache(Duration.ofSeconds(Math.max(ttl, 1)));
+
+    byte[] secret = new byte[32];
+    new SecureRandom().nextBytes(secret);
+    this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the user details of a previous successful verification of the given credentials.
+   *
+   * @param username the username.
+   * @param password the raw password.
+   * @return the user details, or empty if the credentials were not verified recently, or the
+   *     verification is no longer valid.
+   */
+  public Optional<UserDetails> get(String username, String password) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+
+    return cache
+        .getIfPresent(username)
+        .filter(entry -> MessageDigest.isEqual(entry.digest(), digest(username, password)))
+        .filter(entry -> entry.validUntil() == null || Instant.now().isBefore(entry.validUntil()))
+        .map(VerifiedCredential::userDetails);
+  }
+
+  /**
+   * Remembers a successful verification of the given credentials.
+   *
+   * @param username the username.
+   * @param password the raw password.
+   * @param userDetails the user details built for the user.
+   * @param validUntil the time the account or the credentials of the user expire, after which the
+   *     verification must not be used, or null if they do not expire.
+   */
+  public void put(
+      String username, String password, UserDetails userDetails, @CheckForNull Instant validUntil) {
+    if (enabled) {
+      cache.put(
+          username, new VerifiedCredential(digest(username, password), userDetails, validUntil));
+    }
+  }
+
+  /**
+   * Discards the verified credentials of the user once the transaction which changed the user is
+   * committed, so that a concurrent request cannot cache the details read before the change.
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void handleUserDetailsChanged(UserDetailsChangedEvent event) {
+    if (!enabled) {
+      return;
+    }
+
+    List<String> usernames = new ArrayList<>();
+
+    for (String username : cache.keys()) {
+      cache
+          .getIfPresent(username)
+          .filter(entry -> event.getUserUid().equals(entry.userDetails().getUid()))
+          .ifPresent(entry -> usernames.add(username));
+    }
+
+    usernames.forEach(cache::invalidate);
+
+    log.debug("Discarded verified credentials of user: {}", event.getUserUid());
+  }
+
+  private byte[] digest(String username, String password) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(key);
+      mac.update(username.getBytes(UTF_8));
+      mac.update((byte) 0);
+      return mac.doFinal(password.getBytes(UTF_8));
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private record VerifiedCredential(
+      byte[] digest, UserDetails userDetails, @CheckForNull Instant validUntil) {}
+}
@@ -27,10 +27,17 @@
  */
 package org.hisp.dhis.security.spring2fa;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Optional;
+import javax.annotation.CheckForNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.security.ForwardedIpAwareWebAuthenticationDetails;
 import org.hisp.dhis.security.TwoFactoryAuthenticationUtils;
+import org.hisp.dhis.security.basic.HttpBasicWebAuthenticationDetails;
+import org.hisp.dhis.security.basic.VerifiedCredentialCache;
+import org.hisp.dhis.setting.SystemSettingManager;
 import org.hisp.dhis.user.User;
 import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.user.UserService;
@@ -56,13 +63,21 @@ import org.springframework.stereotype.Component;
 public class TwoFactorAuthenticationProvider extends DaoAuthenticationProvider {
   private UserService userService;
 
+  private VerifiedCredentialCache verifiedCredentialCache;
+
+  private SystemSettingManager systemSettingManager;
+
   @Autowired
   public TwoFactorAuthenticationProvider(
       @Qualifier("userDetailsService") UserDetailsService detailsService,
       PasswordEncoder passwordEncoder,
-      @Lazy UserService userService) {
+      @Lazy UserService userService,
+      VerifiedCredentialCache verifiedCredentialCache,
+      SystemSettingManager systemSettingManager) {
 
     this.userService = userService;
+    this.verifiedCredentialCache = verifiedCredentialCache;
+    this.systemSettingManager = systemSettingManager;
     setUserDetailsService(detailsService);
     setPasswordEncoder(passwordEncoder);
   }
@@ -84,6 +99,26 @@ public class TwoFactorAuthenticationProvider extends DaoAuthenticationProvider {
       throw new LockedException(String.format("IP is temporarily locked: %s", ip));
     }
 
+    // HTTP Basic clients send the password with every request, skip
+    // verifying it again if it was verified recently
+    boolean isBasicAuth =
+        auth.getDetails() instanceof HttpBasicWebAuthenticationDetails
+            && auth.getCredentials() instanceof String;
+
+    if (isBasicAuth) {
+      Optional<UserDetails> verified =
+          verifiedCredentialCache.get(username, (String) auth.getCredentials());
+
+      if (verified.isPresent()) {
+        // Same account state checks as for a verified password
+        getPreAuthenticationChecks().check(verified.get());
+        getPostAuthenticationChecks().check(verified.get());
+
+        return new UsernamePasswordAuthenticationToken(
+            verified.get(), auth.getCredentials(), verified.get().getAuthorities());
+      }
+    }
+
     Authentication result = super.authenticate(auth);
     UserDetails principal = (UserDetails) result.getPrincipal();
 
@@ -98,10 +133,49 @@ public class TwoFactorAuthenticationProvider extends DaoAuthenticationProvider {
 
     validateTwoFactor(principal, auth.getDetails());
 
+    if (isBasicAuth && verifiedCredentialCache.isEnabled()) {
+      verifiedCredentialCache.put(
+          username, (String) auth.getCredentials(), principal, getAuthenticationExpiry(username));
+    }
+
     return new UsernamePasswordAuthenticationToken(
         principal, result.getCredentials(), result.getAuthorities());
   }
 
+  /**
+   * Returns the time the account or the credentials of the user expire, whichever is first, or null
+   * if neither expires.
+   */
+  @CheckForNull
+  private Instant getAuthenticationExpiry(String username) {
+    User user = userService.getUserByUsername(username);
+
+    if (user == null) {
+      return null;
+    }
+
+    Instant expiry =
+        user.getAccountExpiry() == null
+            ? null
+            : Instant.ofEpochMilli(user.getAccountExpiry().getTime());
+
+    int credentialsExpires = systemSettingManager.credentialsExpires();
+
+    if (credentialsExpires > 0 && user.getPasswordLastUpdated() != null) {
+      Instant credentialsExpiry =
+          Instant.ofEpochMilli(user.getPasswordLastUpdated().getTime())
+              .atZone(ZoneId.systemDefault())
+              .plusMonths(credentialsExpires)
+              .toInstant();
+
+      if (expiry == null || credentialsExpiry.isBefore(expiry)) {
+        expiry = credentialsExpiry;
+      }
+    }
+
+    return expiry;
+  }
+
   private void validateTwoFactor(UserDetails userDetails, Object details) {
     // If the user has 2FA enabled and tries to authenticate with HTTP Basic or OAuth
     if (userDetails.isTwoFactorEnabled()
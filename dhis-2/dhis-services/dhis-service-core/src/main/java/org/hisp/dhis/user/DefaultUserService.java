@@ -94,6 +94,7 @@ import org.hisp.dhis.system.velocity.VelocityManager;
 import org.hisp.dhis.util.DateUtils;
 import org.hisp.dhis.util.ObjectUtils;
 import org.jboss.aerogear.security.otp.api.Base32;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.session.SessionInformation;
 import org.springframework.security.core.session.SessionRegistry;
@@ -123,6 +124,7 @@ public class DefaultUserService implements UserService {
   private final MessageSender emailMessageSender;
   private final I18nManager i18nManager;
   private final ObjectMapper jsonMapper;
+  private final ApplicationEventPublisher eventPublisher;
 
   private final Cache<String> userDisplayNameCache;
   private final Cache<Integer> userFailedLoginAttemptCache;
@@ -142,7 +144,8 @@ public class DefaultUserService implements UserService {
       PasswordManager passwordManager,
       AclService aclService,
       OrganisationUnitService organisationUnitService,
-      SessionRegistry sessionRegistry) {
+      SessionRegistry sessionRegistry,
+      ApplicationEventPublisher eventPublisher) {
 
     checkNotNull(userStore);
     checkNotNull(userGroupService);
@@ -158,6 +161,7 @@ public class DefaultUserService implements UserService {
     checkNotNull(emailMessageSender);
     checkNotNull(i18nManager);
     checkNotNull(jsonMapper);
+    checkNotNull(eventPublisher);
 
     this.userStore = userStore;
     this.userGroupService = userGroupService;
@@ -174,6 +178,7 @@ public class DefaultUserService implements UserService {
     this.emailMessageSender = emailMessageSender;
     this.i18nManager = i18nManager;
     this.jsonMapper = jsonMapper;
+    this.eventPublisher = eventPublisher;
     this.userFailedLoginAttemptCache = cacheProvider.createUserFailedLoginAttemptCache(0);
     this.userAccountRecoverAttemptCache = cacheProvider.createUserAccountRecoverAttemptCache(0);
   }
@@ -205,6 +210,8 @@ public class DefaultUserService implements UserService {
   public void updateUser(User user) {
     userStore.update(user);
 
+    publishIfDisabled(user);
+
     AuditLogUtil.infoWrapper(
         log, CurrentUserUtil.getCurrentUsername(), user, AuditLogUtil.ACTION_UPDATE);
   }
@@ -214,6 +221,8 @@ public class DefaultUserService implements UserService {
   public void updateUser(User user, UserDetails actingUser) {
     userStore.update(user, actingUser);
 
+    publishIfDisabled(user);
+
     AuditLogUtil.infoWrapper(log, actingUser.getUsername(), user, AuditLogUtil.ACTION_UPDATE);
   }
 
@@ -224,6 +233,18 @@ public class DefaultUserService implements UserService {
         log, CurrentUserUtil.getCurrentUsername(), user, AuditLogUtil.ACTION_DELETE);
 
     userStore.delete(user);
+
+    eventPublisher.publishEvent(new UserDetailsChangedEvent(this, user.getUid()));
+  }
+
+  /**
+   * Publishes a {@link UserDetailsChangedEvent} for a disabled user, so that authentication state
+   * held for the user is discarded. Other updates, like setting the last login, do not publish.
+   */
+  private void publishIfDisabled(User user) {
+    if (user.isDisabled() && user.getUid() != null) {
+      eventPublisher.publishEvent(new UserDetailsChangedEvent(this, user.getUid()));
+    }
   }
 
   @Override
@@ -587,6 +608,10 @@ public class DefaultUserService implements UserService {
     String encode = passwordManager.encode(rawPassword);
     user.setPassword(encode);
     user.getPreviousPasswords().add(encode);
+
+    if (user.getUid() != null) {
+      eventPublisher.publishEvent(new UserDetailsChangedEvent(this, user.getUid()));
+    }
   }
 
   @Override
@@ -1025,6 +1050,8 @@ public class DefaultUserService implements UserService {
 
   @Override
   public void invalidateUserSessions(String userUid) {
+    eventPublisher.publishEvent(new UserDetailsChangedEvent(this, userUid));
+
     UserDetails principal = getPrincipalFromSessionRegistry(userUid);
     if (principal != null) {
       List<SessionInformation> allSessions = sessionRegistry.getAllSessions(principal, false);
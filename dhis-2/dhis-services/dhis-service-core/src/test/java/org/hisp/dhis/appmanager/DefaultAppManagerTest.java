@@ -43,6 +43,7 @@ import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -62,7 +63,9 @@ class DefaultAppManagerTest {
   @Mock private DatastoreService datastoreService;
   @Mock private Cache<App> appCache;
   @Mock private DefaultCacheBuilderProvider cacheBuilderProvider;
-  @Mock private CacheBuilder cacheBuilder;
+
+  @Mock(answer = Answers.RETURNS_SELF)
+  private CacheBuilder cacheBuilder;
 
   private AppManager appManager;
 
@@ -110,7 +113,6 @@ class DefaultAppManagerTest {
   /** Required by all tests to work. */
   private void requiredByAllTests() {
     doReturn(cacheBuilder).when(cacheBuilderProvider).newCacheBuilder();
-    doReturn(cacheBuilder).when(cacheBuilder).forRegion("appCache");
     doReturn(appCache).when(cacheBuilder).build();
 
     appManager =
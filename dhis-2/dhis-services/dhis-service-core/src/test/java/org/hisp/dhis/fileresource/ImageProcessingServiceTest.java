@@ -31,6 +31,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -109,4 +110,35 @@ class ImageProcessingServiceTest {
     Files.deleteIfExists(mediumImage.toPath());
     Files.deleteIfExists(largeImage.toPath());
   }
+
+  @Test
+  void test_create_images_from_subsampled_image() throws IOException {
+    FileResource fileResource = new FileResource();
+    fileResource.setName("test");
+    fileResource.setContentType("image/png");
+
+    File file = Files.createTempFile("wide", ".png").toFile();
+    ImageIO.write(new BufferedImage(5000, 100, BufferedImage.TYPE_INT_RGB), "png", file);
+
+    Map<ImageFileDimension, File> images = subject.createImages(fileResource, file);
+
+    assertEquals(4, images.size());
+    assertEquals(SMALL_IMAGE_WIDTH, ImageIO.read(images.get(ImageFileDimension.SMALL)).getWidth());
+    assertEquals(
+        MEDIUM_IMAGE_WIDTH, ImageIO.read(images.get(ImageFileDimension.MEDIUM)).getWidth());
+    assertEquals(LARGE_IMAGE_WIDTH, ImageIO.read(images.get(ImageFileDimension.LARGE)).getWidth());
+
+    for (File image : images.values()) {
+      Files.deleteIfExists(image.toPath());
+    }
+  }
+
+  @Test
+  void test_subsampling() {
+    assertEquals(1, DefaultImageProcessingService.getSubsampling(800));
+    assertEquals(1, DefaultImageProcessingService.getSubsampling(2048));
+    assertEquals(1, DefaultImageProcessingService.getSubsampling(4000));
+    assertEquals(2, DefaultImageProcessingService.getSubsampling(4096));
+    assertEquals(4, DefaultImageProcessingService.getSubsampling(10000));
+  }
 }
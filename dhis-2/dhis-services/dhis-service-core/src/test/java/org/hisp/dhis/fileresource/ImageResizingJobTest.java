@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.fileresource;
+
+import static org.hisp.dhis.DhisConvenienceTest.clearSecurityContext;
+import static org.hisp.dhis.DhisConvenienceTest.injectSecurityContext;
+import static org.hisp.dhis.DhisConvenienceTest.makeUser;
+import static org.hisp.dhis.external.conf.ConfigurationKey.IMAGE_PROCESSING_PARALLELISM;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.NoopJobProgress;
+import org.hisp.dhis.user.CurrentUserUtil;
+import org.hisp.dhis.user.UserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link ImageResizingJob}. */
+@ExtendWith(MockitoExtension.class)
+class ImageResizingJobTest {
+  @Mock private FileResourceContentStore fileResourceContentStore;
+
+  @Mock private FileResourceService fileResourceService;
+
+  @Mock private ImageProcessingService imageProcessingService;
+
+  @Mock private DhisConfigurationProvider configurationProvider;
+
+  @InjectMocks private ImageResizingJob job;
+
+  private UserDetails jobUser;
+
+  @BeforeEach
+  void setUp() {
+    jobUser = UserDetails.fromUser(makeUser("A"));
+    injectSecurityContext(jobUser);
+  }
+
+  @AfterEach
+  void tearDown() {
+    clearSecurityContext();
+  }
+
+  @Test
+  void testExecuteInParallelUpdatesImagesAsJobUser() {
+    List<FileResource> images =
+        IntStream.range(0, 8)
+            .mapToObj(
+                i -> {
+                  FileResource image = new FileResource();
+                  image.setUid("fileResour" + i);
+                  image.setStorageKey("key" + i);
+                  return image;
+                })
+            .toList();
+    Map<String, String> updatedBy = new ConcurrentHashMap<>();
+
+    when(configurationProvider.getProperty(IMAGE_PROCESSING_PARALLELISM)).thenReturn("4");
+    when(fileResourceService.getAllUnProcessedImagesFiles()).thenReturn(images);
+    when(fileResourceContentStore.fileResourceContentExists(anyString())).thenReturn(true);
+    when(imageProcessingService.createImages(any(), any())).thenReturn(Map.of());
+    when(fileResourceContentStore.saveFileResourceContent(any(FileResource.class), anyMap()))
+        .thenAnswer(i -> i.getArgument(0, FileResource.class).getStorageKey());
+    doAnswer(
+            i -> {
+              // the store rejects updates without a current user
+              FileResource image = i.getArgument(0);
+              updatedBy.put(image.getUid(), CurrentUserUtil.getCurrentUsername());
+              return null;
+            })
+        .when(fileResourceService)
+        .updateFileResource(any());
+
+    job.execute(new JobConfiguration(), NoopJobProgress.INSTANCE);
+
+    assertEquals(images.size(), updatedBy.size());
+    assertTrue(updatedBy.values().stream().allMatch(jobUser.getUsername()::equals));
+    assertTrue(images.stream().allMatch(FileResource::isHasMultipleStorageFiles));
+    assertEquals(jobUser, CurrentUserUtil.getCurrentUserDetails());
+  }
+}
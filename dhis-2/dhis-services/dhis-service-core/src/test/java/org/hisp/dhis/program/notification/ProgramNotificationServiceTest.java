@@ -31,9 +31,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -44,6 +47,7 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.LongStream;
 import org.hisp.dhis.DhisConvenienceTest;
 import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.DeliveryChannel;
@@ -78,6 +82,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * @author Zubair Asghar.
@@ -120,6 +126,10 @@ class ProgramNotificationServiceTest extends DhisConvenienceTest {
 
   @Mock private ProgramNotificationTemplateService notificationTemplateService;
 
+  @Mock private ProgramNotificationInstanceStore notificationInstanceStore;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
   private NotificationTemplateMapper notificationTemplateMapper = new NotificationTemplateMapper();
 
   private DefaultProgramNotificationService programNotificationService;
@@ -200,7 +210,9 @@ class ProgramNotificationServiceTest extends DhisConvenienceTest {
             this.programNotificationRenderer,
             this.programStageNotificationRenderer,
             notificationTemplateService,
-            notificationTemplateMapper);
+            notificationTemplateMapper,
+            notificationInstanceStore,
+            new TransactionTemplate(transactionManager));
 
     setUpInstances();
   }
@@ -613,8 +625,10 @@ class ProgramNotificationServiceTest extends DhisConvenienceTest {
               return new BatchResponseStatus(Collections.emptyList());
             });
 
-    when(manager.getAll(ProgramNotificationInstance.class))
-        .thenReturn(Collections.singletonList(programNotificationInstaceForToday));
+    when(notificationInstanceStore.getScheduledNotSentIds(any(), any(), eq(0L), anyInt()))
+        .thenReturn(List.of(programNotificationInstaceForToday.getId()));
+    when(notificationInstanceStore.getById(List.of(programNotificationInstaceForToday.getId())))
+        .thenReturn(List.of(programNotificationInstaceForToday));
 
     when(programNotificationRenderer.render(any(Enrollment.class), any(NotificationTemplate.class)))
         .thenReturn(notificationMessage);
@@ -622,6 +636,59 @@ class ProgramNotificationServiceTest extends DhisConvenienceTest {
     programNotificationService.sendScheduledNotifications(NoopJobProgress.INSTANCE);
 
     assertEquals(1, sentProgramMessages.size());
+    verify(notificationInstanceStore)
+        .markSent(eq(List.of(programNotificationInstaceForToday.getId())), any(Date.class));
+  }
+
+  @Test
+  void testScheduledNotificationsMarksOnlySentInstancesAsSent() {
+    ProgramNotificationInstance instanceNotByProgramRule = new ProgramNotificationInstance();
+    instanceNotByProgramRule.setProgramNotificationTemplateSnapshot(
+        notificationTemplateMapper.toProgramNotificationTemplateSnapshot(
+            programNotificationTemplate));
+    instanceNotByProgramRule.setAutoFields();
+    instanceNotByProgramRule.setId(2L);
+    instanceNotByProgramRule.setScheduledAt(new Date());
+    instanceNotByProgramRule.setEnrollment(programNotificationInstaceForToday.getEnrollment());
+
+    List<Long> ids = List.of(programNotificationInstaceForToday.getId(), 2L);
+
+    when(programMessageService.sendMessages(anyList()))
+        .thenReturn(new BatchResponseStatus(Collections.emptyList()));
+    when(notificationInstanceStore.getScheduledNotSentIds(any(), any(), eq(0L), anyInt()))
+        .thenReturn(ids);
+    when(notificationInstanceStore.getById(ids))
+        .thenReturn(List.of(programNotificationInstaceForToday, instanceNotByProgramRule));
+    when(programNotificationRenderer.render(any(Enrollment.class), any(NotificationTemplate.class)))
+        .thenReturn(notificationMessage);
+
+    programNotificationService.sendScheduledNotifications(NoopJobProgress.INSTANCE);
+
+    verify(notificationInstanceStore)
+        .markSent(eq(List.of(programNotificationInstaceForToday.getId())), any(Date.class));
+  }
+
+  @Test
+  void testScheduledNotificationsKeysetPaging() {
+    int batchSize = DefaultProgramNotificationService.SCHEDULED_BATCH_SIZE;
+    List<Long> firstPage = LongStream.rangeClosed(1, batchSize).boxed().toList();
+    List<Long> secondPage = List.of(batchSize + 1L, batchSize + 2L);
+
+    when(notificationInstanceStore.getScheduledNotSentIds(any(), any(), eq(0L), eq(batchSize)))
+        .thenReturn(firstPage);
+    when(notificationInstanceStore.getScheduledNotSentIds(
+            any(), any(), eq((long) batchSize), eq(batchSize)))
+        .thenReturn(secondPage);
+
+    programNotificationService.sendScheduledNotifications(NoopJobProgress.INSTANCE);
+
+    verify(notificationInstanceStore).getById(firstPage);
+    verify(notificationInstanceStore).getById(secondPage);
+    verify(notificationInstanceStore, times(2))
+        .getScheduledNotSentIds(any(), any(), anyLong(), anyInt());
+    verify(transactionManager, times(4)).commit(any());
+    verify(manager, times(2)).flush();
+    verify(manager, times(2)).clear();
   }
 
   @Test
@@ -665,6 +732,7 @@ class ProgramNotificationServiceTest extends DhisConvenienceTest {
             programNotificationTemplateForToday));
     programNotificationInstaceForToday.setName(programNotificationTemplateForToday.getName());
     programNotificationInstaceForToday.setAutoFields();
+    programNotificationInstaceForToday.setId(1L);
     programNotificationInstaceForToday.setScheduledAt(today);
 
     root = createOrganisationUnit('R');
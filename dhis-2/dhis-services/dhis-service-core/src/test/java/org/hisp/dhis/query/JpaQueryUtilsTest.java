@@ -229,4 +229,16 @@ class JpaQueryUtilsTest {
             "x.sharing", UserDetails.fromUser(userA), "__r_____");
     Assertions.assertEquals(expected, actual);
   }
+
+  @Test
+  void getSharingAccessPosition() {
+    Assertions.assertEquals(0, JpaQueryUtils.getSharingAccessPosition("r%"));
+    Assertions.assertEquals(1, JpaQueryUtils.getSharingAccessPosition("_w%"));
+    Assertions.assertEquals(2, JpaQueryUtils.getSharingAccessPosition("__r_____"));
+    Assertions.assertEquals(3, JpaQueryUtils.getSharingAccessPosition("___w____"));
+    Assertions.assertEquals(-1, JpaQueryUtils.getSharingAccessPosition("rw%"));
+    Assertions.assertEquals(-1, JpaQueryUtils.getSharingAccessPosition("%"));
+    Assertions.assertEquals(-1, JpaQueryUtils.getSharingAccessPosition("____r___"));
+    Assertions.assertEquals(-1, JpaQueryUtils.getSharingAccessPosition(null));
+  }
 }
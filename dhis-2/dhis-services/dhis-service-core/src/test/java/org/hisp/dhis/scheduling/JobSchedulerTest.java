@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.setting.SystemSettingManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the job types and job slots of a {@link JobScheduler} when jobs are distributed.
+ *
+ * <p>Jobs block until {@link #release} is counted down so that a test can observe the running jobs.
+ */
+class JobSchedulerTest {
+
+  private final JobService jobService = mock(JobService.class);
+
+  private final JobSchedulerLoopService service = mock(JobSchedulerLoopService.class);
+
+  private final SystemSettingManager systemSettings = mock(SystemSettingManager.class);
+
+  private final DhisConfigurationProvider config = mock(DhisConfigurationProvider.class);
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @BeforeEach
+  void setUp() {
+    when(service.tryClaim(anyString())).thenReturn(true);
+    when(service.startRun(anyString(), any(), any())).thenReturn(NoopJobProgress.INSTANCE);
+    when(jobService.getJob(any()))
+        .thenAnswer(
+            call ->
+                new Job() {
+                  @Override
+                  public JobType getJobType() {
+                    return call.getArgument(0);
+                  }
+
+                  @Override
+                  public void execute(JobConfiguration jobConfiguration, JobProgress progress) {
+                    try {
+                      release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                      Thread.currentThread().interrupt();
+                    }
+                  }
+                });
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+  }
+
+  @Test
+  void testGetAcceptedTypes() {
+    assertEquals(EnumSet.allOf(JobType.class), JobScheduler.getAcceptedTypes(""));
+    assertEquals(EnumSet.allOf(JobType.class), JobScheduler.getAcceptedTypes(" "));
+    assertEquals(
+        Set.of(JobType.HOUSEKEEPING, JobType.ANALYTICS_TABLE, JobType.RESOURCE_TABLE),
+        JobScheduler.getAcceptedTypes("ANALYTICS_TABLE, RESOURCE_TABLE"));
+    assertEquals(
+        Set.of(JobType.HOUSEKEEPING, JobType.ANALYTICS_TABLE),
+        JobScheduler.getAcceptedTypes("ANALYTICS_TABLE,NO_SUCH_TYPE,"));
+  }
+
+  @Test
+  void testRun_CapacityLimitsRunningJobs() {
+    JobConfiguration jobA = createJob("jobAAAAAAAA", JobType.ANALYTICS_TABLE);
+    JobConfiguration jobB = createJob("jobBBBBBBBB", JobType.RESOURCE_TABLE);
+    when(service.getDueJobConfigurations(anyInt())).thenReturn(List.of(jobA, jobB));
+
+    createScheduler("1", "").run();
+
+    verify(service, timeout(1000)).startRun(anyString(), any(), any());
+    verify(service, times(1)).tryClaim(anyString());
+
+    release.countDown();
+    verify(service, timeout(1000)).finishRunSuccess(anyString());
+  }
+
+  @Test
+  void testRun_HousekeepingIgnoresCapacityAndJobTypes() {
+    JobConfiguration housekeeping = createJob("housekeepin", JobType.HOUSEKEEPING);
+    JobConfiguration jobA = createJob("jobAAAAAAAA", JobType.ANALYTICS_TABLE);
+    when(service.getDueJobConfigurations(anyInt())).thenReturn(List.of(housekeeping, jobA));
+
+    createScheduler("0", "RESOURCE_TABLE").run();
+
+    verify(service, timeout(1000)).tryClaim(housekeeping.getUid());
+    verify(service, never()).tryClaim(jobA.getUid());
+  }
+
+  @Test
+  void testRunDueJob_WaitsForCapacity() throws InterruptedException {
+    JobConfiguration jobA = createJob("jobAAAAAAAA", JobType.ANALYTICS_TABLE);
+    JobConfiguration jobB = createJob("jobBBBBBBBB", JobType.RESOURCE_TABLE);
+    when(service.getDueJobConfigurations(anyInt())).thenReturn(List.of(jobA));
+    JobScheduler scheduler = createScheduler("1", "");
+
+    scheduler.run();
+    verify(service, timeout(1000)).startRun(anyString(), any(), any());
+
+    Thread manual = new Thread(() -> scheduler.runDueJob(jobB));
+    manual.start();
+    manual.join(200);
+    assertTrue(manual.isAlive());
+    verify(service, never()).tryClaim(jobB.getUid());
+
+    release.countDown();
+    manual.join(1000);
+    assertFalse(manual.isAlive());
+    verify(service).tryClaim(jobB.getUid());
+  }
+
+  private JobScheduler createScheduler(String capacity, String jobTypes) {
+    when(config.isEnabled(ConfigurationKey.SCHEDULER_DISTRIBUTED_ENABLED)).thenReturn(true);
+    when(config.getProperty(ConfigurationKey.SCHEDULER_DISTRIBUTED_CAPACITY)).thenReturn(capacity);
+    when(config.getProperty(ConfigurationKey.SCHEDULER_DISTRIBUTED_JOB_TYPES)).thenReturn(jobTypes);
+    when(config.getProperty(ConfigurationKey.SCHEDULER_PROGRESS_FLUSH_INTERVAL)).thenReturn("10");
+    return new JobScheduler(jobService, service, systemSettings, config);
+  }
+
+  private static JobConfiguration createJob(String uid, JobType type) {
+    JobConfiguration job = new JobConfiguration(type.name(), type);
+    job.setUid(uid);
+    job.setSchedulingType(SchedulingType.ONCE_ASAP);
+    return job;
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.system.notification.InMemoryNotifier;
+import org.hisp.dhis.system.notification.NotificationDataType;
+import org.hisp.dhis.system.notification.NotificationLevel;
+import org.hisp.dhis.system.notification.Notifier;
+import org.junit.jupiter.api.Test;
+
+/** Tests the coalescing of work item notifications by the {@link NotifierJobProgress}. */
+class NotifierJobProgressTest {
+
+  private final List<String> messages = new ArrayList<>();
+
+  private final Notifier notifier =
+      new InMemoryNotifier() {
+        @Override
+        public Notifier notify(
+            JobConfiguration id,
+            @Nonnull NotificationLevel level,
+            String message,
+            boolean completed,
+            NotificationDataType dataType,
+            JsonNode data) {
+          messages.add(message);
+          return this;
+        }
+      };
+
+  private final JobConfiguration config = createJobConfig();
+
+  @Test
+  void testWorkItemsAreCoalesced() {
+    JobProgress progress = new NotifierJobProgress(notifier, config, 60_000);
+    progress.startingStage("stage", 3);
+    progress.startingWorkItem("a");
+    progress.startingWorkItem("b");
+    progress.startingWorkItem("c");
+    assertEquals(List.of("stage", "[0/3] a"), messages);
+
+    progress.completedStage("done");
+    assertEquals(List.of("stage", "[0/3] a", "[2/3] c", "done"), messages);
+  }
+
+  @Test
+  void testWorkItemsAreNotCoalesced() {
+    JobProgress progress = new NotifierJobProgress(notifier, config, 0);
+    progress.startingStage("stage", 2);
+    progress.startingWorkItem("a");
+    progress.failedWorkItem("failed");
+    progress.startingWorkItem("b");
+    progress.completedStage("done");
+
+    assertEquals(List.of("stage", "[0/2] a", "failed", "[1/2] b", "done"), messages);
+  }
+
+  private static JobConfiguration createJobConfig() {
+    JobConfiguration config = new JobConfiguration();
+    config.setJobType(JobType.PREDICTOR);
+    config.setUid(CodeGenerator.generateUid());
+    return config;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.security.basic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.TestCache;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.user.UserDetails;
+import org.hisp.dhis.user.UserDetailsChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedCredentialCacheTest {
+  @Mock private CacheProvider cacheProvider;
+
+  @Mock private DhisConfigurationProvider config;
+
+  @Mock private UserDetails userDetails;
+
+  private VerifiedCredentialCache createCache(String ttl) {
+    when(config.getProperty(ConfigurationKey.SYSTEM_BASIC_AUTH_CACHE_TTL)).thenReturn(ttl);
+    when(cacheProvider.createVerifiedCredentialCache(any())).thenReturn(new TestCache<>());
+
+    return new VerifiedCredentialCache(cacheProvider, config);
+  }
+
+  @Test
+  void testGetWithVerifiedPassword() {
+    VerifiedCredentialCache cache = createCache("60");
+
+    cache.put("admin", "district", userDetails, null);
+
+    assertEquals(userDetails, cache.get("admin", "district").orElse(null));
+  }
+
+  @Test
+  void testGetWithOtherPassword() {
+    VerifiedCredentialCache cache = createCache("60");
+
+    cache.put("admin", "district", userDetails, null);
+
+    assertFalse(cache.get("admin", "District").isPresent());
+    assertFalse(cache.get("other", "district").isPresent());
+  }
+
+  @Test
+  void testGetAfterExpiry() {
+    VerifiedCredentialCache cache = createCache("60");
+
+    cache.put("admin", "district", userDetails, Instant.now().minusSeconds(1));
+    cache.put("other", "district", userDetails, Instant.now().plusSeconds(60));
+
+    assertFalse(cache.get("admin", "district").isPresent());
+    assertTrue(cache.get("other", "district").isPresent());
+  }
+
+  @Test
+  void testUserDetailsChangedDiscardsEntry() {
+    VerifiedCredentialCache cache = createCache("60");
+    when(userDetails.getUid()).thenReturn("xE7jOejl9FI");
+
+    cache.put("admin", "district", userDetails, null);
+    cache.handleUserDetailsChanged(new UserDetailsChangedEvent(this, "xE7jOejl9FI"));
+
+    assertFalse(cache.get("admin", "district").isPresent());
+  }
+
+  @Test
+  void testDisabled() {
+    VerifiedCredentialCache cache = createCache("0");
+
+    cache.put("admin", "district", userDetails, null);
+
+    assertFalse(cache.isEnabled());
+    assertFalse(cache.get("admin", "district").isPresent());
+  }
+
+  @Test
+  void testEnabled() {
+    assertTrue(createCache("60").isEnabled());
+  }
+}
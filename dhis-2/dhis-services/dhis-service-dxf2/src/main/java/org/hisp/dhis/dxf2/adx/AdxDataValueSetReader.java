@@ -0,0 +1,467 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.adx;
+
+import static org.apache.commons.lang3.StringUtils.trimToNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.xerces.util.XMLChar;
+import org.hisp.dhis.category.Category;
+import org.hisp.dhis.category.CategoryCombo;
+import org.hisp.dhis.category.CategoryComboMap;
+import org.hisp.dhis.category.CategoryComboMap.CategoryComboMapException;
+import org.hisp.dhis.category.CategoryOptionCombo;
+import org.hisp.dhis.common.IdScheme;
+import org.hisp.dhis.common.IdSchemes;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.commons.collection.CachingMap;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataset.DataSet;
+import org.hisp.dhis.dxf2.common.ImportOptions;
+import org.hisp.dhis.dxf2.datavalueset.DataValueEntry;
+import org.hisp.dhis.dxf2.datavalueset.DataValueSet;
+import org.hisp.dhis.dxf2.datavalueset.DataValueSetReader;
+import org.hisp.dhis.dxf2.importsummary.ImportConflict;
+import org.hisp.dhis.period.Period;
+import org.hisp.dhis.system.callable.IdentifiableObjectCallable;
+import org.hisp.staxwax.reader.XMLReader;
+
+/**
+ * Reads ADX input and emits its data values directly as {@link DataValueEntry}s, translating the
+ * ADX group and data value attributes to their DXF equivalent.
+ *
+ * <p>Data values which can not be translated are skipped and reported as {@link #getConflicts()}. A
+ * group which can not be translated ends the input, the cause is available as {@link
+ * #getGroupFailure()}. Data values of the groups read before remain part of the import.
+ */
+@Slf4j
+public class AdxDataValueSetReader implements DataValueSetReader, DataValueEntry {
+  private final XMLReader adxReader;
+
+  private final IdSchemes idSchemes;
+
+  private final CachingMap<String, DataSet> dataSetMap = new CachingMap<>();
+
+  private final CachingMap<String, DataElement> dataElementMap = new CachingMap<>();
+
+  private final IdentifiableObjectCallable<DataSet> dataSetCallable;
+
+  private final IdentifiableObjectCallable<DataElement> dataElementCallable;
+
+  /** Category combo maps by category combo UID, shared by all groups of the input. */
+  private final Map<String, CategoryComboMap> categoryComboMaps = new HashMap<>();
+
+  /** Option combo identifiers by category combo UID and ADX category attributes. */
+  private final Map<String, String> optionComboIds = new HashMap<>();
+
+  private final List<ImportConflict> conflicts = new ArrayList<>();
+
+  private Map<String, String> groupAttributes;
+
+  private Map<String, String> values;
+
+  private int groupCount;
+
+  private AdxException groupFailure;
+
+  public AdxDataValueSetReader(
+      XMLReader adxReader,
+      ImportOptions importOptions,
+      IdentifiableObjectManager identifiableObjectManager) {
+    this.adxReader = adxReader;
+    this.idSchemes = importOptions.getIdSchemes();
+
+    IdScheme dsScheme = idSchemes.getDataSetIdScheme();
+    IdScheme deScheme = idSchemes.getDataElementIdScheme();
+
+    this.dataSetCallable =
+        new IdentifiableObjectCallable<>(identifiableObjectManager, DataSet.class, dsScheme, null);
+    this.dataElementCallable =
+        new IdentifiableObjectCallable<>(
+            identifiableObjectManager, DataElement.class, deScheme, null);
+
+    if (importOptions.isPreheatCacheDefaultFalse()) {
+      dataSetMap.load(
+          identifiableObjectManager.getAll(DataSet.class), o -> o.getPropertyValue(dsScheme));
+      dataElementMap.load(
+          identifiableObjectManager.getAll(DataElement.class), o -> o.getPropertyValue(deScheme));
+    }
+  }
+
+  /**
+   * @return conflicts of data values which were skipped as they could not be translated
+   */
+  public List<ImportConflict> getConflicts() {
+    return conflicts;
+  }
+
+  /**
+   * @return the number of groups read so far
+   */
+  public int getGroupCount() {
+    return groupCount;
+  }
+
+  /**
+   * @return the cause of the group which ended the input, or null if all groups were read
+   */
+  public AdxException getGroupFailure() {
+    return groupFailure;
+  }
+
+  @Override
+  public DataValueSet readHeader() {
+    adxReader.moveToStartElement(AdxDataService.ROOT, AdxDataService.NAMESPACE);
+    return new DataValueSet();
+  }
+
+  @Override
+  public DataValueEntry readNext() {
+    while (groupFailure == null) {
+      if (groupAttributes != null
+          && adxReader.moveToStartElement(AdxDataService.DATAVALUE, AdxDataService.GROUP)) {
+        try {
+          values = readDataValue();
+          return this;
+        } catch (AdxException ex) {
+          conflicts.add(new ImportConflict(ex.getObject(), ex.getMessage()));
+
+          log.info("ADX data value conflict: {} {}", ex.getObject(), ex.getMessage());
+        }
+      } else if (adxReader.moveToStartElement(AdxDataService.GROUP, AdxDataService.NAMESPACE)) {
+        try {
+          groupAttributes = readGroup();
+          groupCount++;
+        } catch (AdxException ex) {
+          groupFailure = ex;
+        }
+      } else {
+        return null;
+      }
+    }
+
+    return null;
+  }
+
+  @Override
+  public void close() {
+    adxReader.closeReader();
+  }
+
+  // -------------------------------------------------------------------------
+  // ADX to DXF translation
+  // -------------------------------------------------------------------------
+
+  private Map<String, String> readGroup() throws AdxException {
+    Map<String, String> attributes = adxReader.readAttributes();
+
+    if (!attributes.containsKey(AdxDataService.PERIOD)) {
+      throw new AdxException(AdxDataService.PERIOD + " attribute is required on 'group'");
+    }
+
+    if (!attributes.containsKey(AdxDataService.ORGUNIT)) {
+      throw new AdxException(AdxDataService.ORGUNIT + " attribute is required on 'group'");
+    }
+
+    // translate ADX period to DXF
+    Period period = AdxPeriod.parse(attributes.get(AdxDataService.PERIOD));
+    attributes.put(AdxDataService.PERIOD, period.getIsoDate());
+
+    // process ADX group attributes
+    if (!attributes.containsKey(AdxDataService.ATTOPTCOMBO)
+        && attributes.containsKey(AdxDataService.DATASET)) {
+      log.debug("No attribute option combo present, check data set for attribute category combo");
+
+      String dataSetStr = trimToNull(attributes.get(AdxDataService.DATASET));
+      final DataSet dataSet = dataSetMap.get(dataSetStr, dataSetCallable.setId(dataSetStr));
+
+      if (dataSet == null) {
+        throw new AdxException(
+            "No data set matching "
+                + dataSetCallable.getIdScheme().name().toLowerCase()
+                + " '"
+                + attributes.get(AdxDataService.DATASET)
+                + "'");
+      }
+
+      attributes.put(AdxDataService.DATASET, dataSet.getUid());
+      convertAttributesToDxf(attributes, AdxDataService.ATTOPTCOMBO, dataSet.getCategoryCombo());
+    }
+
+    return attributes;
+  }
+
+  private Map<String, String> readDataValue() throws AdxException {
+    Map<String, String> dvAttributes = adxReader.readAttributes();
+
+    log.debug("Processing data value: {}", dvAttributes);
+
+    if (!dvAttributes.containsKey(AdxDataService.DATAELEMENT)) {
+      throw new AdxException(AdxDataService.DATAELEMENT + " attribute is required on 'dataValue'");
+    }
+
+    if (!dvAttributes.containsKey(AdxDataService.VALUE)) {
+      throw new AdxException(AdxDataService.VALUE + " attribute is required on 'dataValue'");
+    }
+
+    String dataElementStr = trimToNull(dvAttributes.get(AdxDataService.DATAELEMENT));
+    final DataElement dataElement =
+        dataElementMap.get(dataElementStr, dataElementCallable.setId(dataElementStr));
+
+    if (dataElement == null) {
+      throw new AdxException(
+          "No data element matching "
+              + dataElementCallable.getIdScheme().name().toLowerCase()
+              + " '"
+              + dataElementStr
+              + "'");
+    }
+
+    // process ADX data value attributes
+    if (!dvAttributes.containsKey(AdxDataService.CATOPTCOMBO)) {
+      log.debug("No category option combo present");
+
+      // TODO expand to allow for category combos part of DataSetElements.
+
+      convertAttributesToDxf(
+          dvAttributes, AdxDataService.CATOPTCOMBO, dataElement.getCategoryCombo());
+    }
+
+    // if data element type is not numeric we need to pick out the
+    // 'annotation' element
+    if (!dataElement.getValueType().isNumeric()) {
+      adxReader.moveToStartElement(AdxDataService.ANNOTATION, AdxDataService.DATAVALUE);
+
+      if (adxReader.isStartElement(AdxDataService.ANNOTATION)) {
+        dvAttributes.put(AdxDataService.VALUE, adxReader.getElementValue());
+      } else {
+        throw new AdxException(
+            dvAttributes.get(AdxDataService.DATAELEMENT), "DataElement expects text annotation");
+      }
+    }
+
+    // the data value attributes take precedence over the group attributes
+    Map<String, String> dxfAttributes = new HashMap<>(groupAttributes);
+    dxfAttributes.putAll(dvAttributes);
+
+    for (Map.Entry<String, String> attribute : dxfAttributes.entrySet()) {
+      if (attribute.getValue() == null) {
+        throw new AdxException("Value for " + attribute.getKey() + " is null");
+      }
+    }
+
+    log.debug("Processing data value as DXF: {}", dxfAttributes);
+
+    return dxfAttributes;
+  }
+
+  private void convertAttributesToDxf(
+      Map<String, String> attributes, String optionComboName, CategoryCombo catCombo)
+      throws AdxException {
+    log.debug("ADX attributes: {}", attributes);
+
+    if (catCombo.isDefault()) {
+      return;
+    }
+
+    Map<String, Category> categoryMap =
+        getCodeCategoryMap(catCombo, idSchemes.getCategoryIdScheme());
+
+    Map<String, String> attributeOptions = new HashMap<>();
+
+    for (String category : categoryMap.keySet()) {
+      if (attributes.containsKey(category)) {
+        attributeOptions.put(category, attributes.get(category));
+        attributes.remove(category);
+      } else {
+        throw new AdxException(
+            "Category combo "
+                + catCombo.getName()
+                + " must have "
+                + categoryMap.get(category).getName());
+      }
+    }
+
+    String cacheKey = catCombo.getUid() + attributeOptions;
+    String optionComboId = optionComboIds.get(cacheKey);
+
+    if (optionComboId == null) {
+      optionComboId =
+          getCatOptComboFromAttributes(attributeOptions, catCombo)
+              .getPropertyValue(idSchemes.getCategoryOptionComboIdScheme());
+      optionComboIds.put(cacheKey, optionComboId);
+    }
+
+    attributes.put(optionComboName, optionComboId);
+
+    log.debug("DXF attributes: {}", attributes);
+  }
+
+  private Map<String, Category> getCodeCategoryMap(CategoryCombo categoryCombo, IdScheme catScheme)
+      throws AdxException {
+    Map<String, Category> categoryMap = new HashMap<>();
+
+    for (Category category : categoryCombo.getCategories()) {
+      String categoryId = category.getPropertyValue(catScheme);
+
+      if (categoryId == null || !XMLChar.isValidName(categoryId)) {
+        throw new AdxException(
+            "Category "
+                + catScheme.name()
+                + " for "
+                + category.getName()
+                + " is missing or invalid: "
+                + categoryId);
+      }
+
+      categoryMap.put(categoryId, category);
+    }
+
+    return categoryMap;
+  }
+
+  private CategoryOptionCombo getCatOptComboFromAttributes(
+      Map<String, String> attributes, CategoryCombo catcombo) throws AdxException {
+    CategoryComboMap catcomboMap = categoryComboMaps.get(catcombo.getUid());
+
+    if (catcomboMap == null) {
+      try {
+        catcomboMap = new CategoryComboMap(catcombo, idSchemes.getCategoryOptionIdScheme());
+      } catch (CategoryComboMapException ex) {
+        log.info("Failed to create category combo map from: " + catcombo);
+        throw new AdxException(ex.getMessage());
+      }
+
+      categoryComboMaps.put(catcombo.getUid(), catcomboMap);
+    }
+
+    StringBuilder compositeIdentifier = new StringBuilder();
+
+    for (Category category : catcomboMap.getCategories()) {
+      String categoryId = category.getPropertyValue(idSchemes.getCategoryIdScheme());
+
+      if (categoryId == null) {
+        throw new AdxException(
+            "No category "
+                + idSchemes.getCategoryIdScheme().name()
+                + " for: "
+                + category.toString());
+      }
+
+      String catAttribute = attributes.get(categoryId);
+
+      if (catAttribute == null) {
+        throw new AdxException(
+            "Missing required attribute from category combo "
+                + catcombo.getName()
+                + ": "
+                + categoryId);
+      }
+
+      compositeIdentifier.append('"').append(catAttribute).append('"');
+    }
+
+    CategoryOptionCombo catOptionCombo =
+        catcomboMap.getCategoryOptionCombo(compositeIdentifier.toString());
+
+    if (catOptionCombo == null) {
+      throw new AdxException("Invalid attributes: " + attributes);
+    }
+
+    return catOptionCombo;
+  }
+
+  // -------------------------------------------------------------------------
+  // DataValueEntry implementation of the current data value
+  // -------------------------------------------------------------------------
+
+  @Override
+  public String getDataElement() {
+    return values.get(AdxDataService.DATAELEMENT);
+  }
+
+  @Override
+  public String getPeriod() {
+    return values.get(AdxDataService.PERIOD);
+  }
+
+  @Override
+  public String getOrgUnit() {
+    return values.get(AdxDataService.ORGUNIT);
+  }
+
+  @Override
+  public String getCategoryOptionCombo() {
+    return values.get(AdxDataService.CATOPTCOMBO);
+  }
+
+  @Override
+  public String getAttributeOptionCombo() {
+    return values.get(AdxDataService.ATTOPTCOMBO);
+  }
+
+  @Override
+  public String getValue() {
+    return values.get(AdxDataService.VALUE);
+  }
+
+  @Override
+  public String getStoredBy() {
+    return values.get("storedBy");
+  }
+
+  @Override
+  public String getCreated() {
+    return values.get("created");
+  }
+
+  @Override
+  public String getLastUpdated() {
+    return values.get("lastUpdated");
+  }
+
+  @Override
+  public String getComment() {
+    return values.get("comment");
+  }
+
+  @Override
+  public boolean getFollowup() {
+    return Boolean.parseBoolean(values.get("followUp"));
+  }
+
+  @Override
+  public Boolean getDeleted() {
+    String deleted = values.get("deleted");
+    return deleted == null ? null : Boolean.valueOf(deleted);
+  }
+}
@@ -27,7 +27,6 @@
  */
 package org.hisp.dhis.dxf2.adx;
 
-import static org.apache.commons.lang3.StringUtils.trimToNull;
 import static org.hisp.dhis.common.CodeGenerator.isValidUid;
 import static org.hisp.dhis.commons.collection.CollectionUtils.isEmpty;
 import static org.hisp.dhis.system.notification.NotificationLevel.INFO;
@@ -37,40 +36,20 @@ import com.google.common.collect.Sets;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PipedOutputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
-import javax.persistence.EntityManagerFactory;
-import javax.xml.stream.XMLOutputFactory;
-import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
-import org.apache.xerces.util.XMLChar;
-import org.hisp.dhis.category.Category;
-import org.hisp.dhis.category.CategoryCombo;
-import org.hisp.dhis.category.CategoryComboMap;
-import org.hisp.dhis.category.CategoryComboMap.CategoryComboMapException;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.IdentifiableObjectManager;
-import org.hisp.dhis.commons.collection.CachingMap;
 import org.hisp.dhis.commons.util.DebugUtils;
 import org.hisp.dhis.commons.util.StreamUtils;
 import org.hisp.dhis.dataelement.DataElement;
@@ -91,12 +70,9 @@ import org.hisp.dhis.period.Period;
 import org.hisp.dhis.period.PeriodService;
 import org.hisp.dhis.scheduling.JobConfiguration;
 import org.hisp.dhis.scheduling.JobType;
-import org.hisp.dhis.system.callable.IdentifiableObjectCallable;
 import org.hisp.dhis.system.notification.NotificationLevel;
 import org.hisp.dhis.system.notification.Notifier;
-import org.hisp.staxwax.XMLException;
 import org.hisp.staxwax.factory.XMLFactory;
-import org.hisp.staxwax.reader.XMLReader;
 import org.hisp.staxwax.writer.XMLWriter;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -108,8 +84,6 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @Service("org.hisp.dhis.dxf2.AdxDataService")
 public class DefaultAdxDataService implements AdxDataService {
-  private static final int TOTAL_MINUTES_TO_WAIT = 5;
-
   // -------------------------------------------------------------------------
   // Dependencies
   // -------------------------------------------------------------------------
@@ -122,8 +96,6 @@ public class DefaultAdxDataService implements AdxDataService {
 
   private final IdentifiableObjectManager identifiableObjectManager;
 
-  private final EntityManagerFactory entityManagerFactory;
-
   private final Notifier notifier;
 
   // -------------------------------------------------------------------------
@@ -339,114 +311,42 @@ public class DefaultAdxDataService implements AdxDataService {
             .instance()
             .setNotificationLevel(NotificationLevel.OFF);
 
-    // Get import options
-    IdScheme dsScheme = importOptions.getIdSchemes().getDataSetIdScheme();
-    IdScheme deScheme = importOptions.getIdSchemes().getDataElementIdScheme();
-
-    // Create meta-data maps
-    CachingMap<String, DataSet> dataSetMap = new CachingMap<>();
-    CachingMap<String, DataElement> dataElementMap = new CachingMap<>();
-
-    // Get meta-data maps
-    IdentifiableObjectCallable<DataSet> dataSetCallable =
-        new IdentifiableObjectCallable<>(identifiableObjectManager, DataSet.class, dsScheme, null);
-    IdentifiableObjectCallable<DataElement> dataElementCallable =
-        new IdentifiableObjectCallable<>(
-            identifiableObjectManager, DataElement.class, deScheme, null);
-
-    // Heat cache
-    if (importOptions.isPreheatCacheDefaultFalse()) {
-      dataSetMap.load(
-          identifiableObjectManager.getAll(DataSet.class), o -> o.getPropertyValue(dsScheme));
-      dataElementMap.load(
-          identifiableObjectManager.getAll(DataElement.class), o -> o.getPropertyValue(deScheme));
-    }
+    // For Async runs, give the DXF import a different notification task ID
+    // so it doesn't conflict with notifications from this level.
+    JobConfiguration dxfJobId =
+        (id == null)
+            ? null
+            : new JobConfiguration("dxfJob", JobType.DATAVALUE_IMPORT_INTERNAL, id.getUserUid());
 
-    XMLReader adxReader = XMLFactory.getXMLReader(in);
-
-    ImportSummary importSummary;
-
-    int groupCount = 0;
-    ExecutorService executor = Executors.newSingleThreadExecutor();
-    try (PipedOutputStream pipeOut = new PipedOutputStream()) {
-      adxReader.moveToStartElement(AdxDataService.ROOT, AdxDataService.NAMESPACE);
-
-      // For Async runs, give the DXF import a different notification task ID
-      // so it doesn't conflict with notifications from this level.
-      JobConfiguration dxfJobId =
-          (id == null)
-              ? null
-              : new JobConfiguration("dxfJob", JobType.DATAVALUE_IMPORT_INTERNAL, id.getUserUid());
-
-      Future<ImportSummary> futureImportSummary =
-          executor.submit(
-              new AdxPipedImporter(
-                  dataValueSetService, adxImportOptions, dxfJobId, pipeOut, entityManagerFactory));
-      XMLOutputFactory factory = XMLOutputFactory.newInstance();
-      XMLStreamWriter dxfWriter = factory.createXMLStreamWriter(pipeOut);
-
-      List<ImportConflict> adxConflicts = new LinkedList<>();
-
-      dxfWriter.writeStartDocument("1.0");
-      dxfWriter.writeStartElement("dataValueSet");
-      dxfWriter.writeDefaultNamespace("http://dhis2.org/schema/dxf/2.0");
-
-      notifier.notify(id, "Starting to import ADX data groups.");
-
-      while (adxReader.moveToStartElement(AdxDataService.GROUP, AdxDataService.NAMESPACE)) {
-        notifier.update(id, "Importing ADX data group: " + groupCount);
-
-        // note this returns conflicts which are detected at ADX level
-        adxConflicts.addAll(
-            parseAdxGroupToDxf(
-                adxReader,
-                dxfWriter,
-                adxImportOptions,
-                dataSetMap,
-                dataSetCallable,
-                dataElementMap,
-                dataElementCallable));
-        groupCount++;
-      }
+    AdxDataValueSetReader adxReader =
+        new AdxDataValueSetReader(
+            XMLFactory.getXMLReader(in), adxImportOptions, identifiableObjectManager);
 
-      dxfWriter.writeEndElement(); // end dataValueSet
-      dxfWriter.writeEndDocument();
+    notifier.notify(id, "Starting to import ADX data groups.");
 
-      pipeOut.flush();
+    ImportSummary importSummary =
+        dataValueSetService.importDataValueSet(adxReader, adxImportOptions, dxfJobId);
 
-      importSummary = futureImportSummary.get(TOTAL_MINUTES_TO_WAIT, TimeUnit.MINUTES);
-      ImportSummary summary = importSummary;
-      adxConflicts.forEach(
-          conflict -> summary.addConflict(conflict.getObject(), conflict.getValue()));
-      importSummary.getImportCount().incrementIgnored(adxConflicts.size());
-    } catch (AdxException ex) {
-      importSummary = new ImportSummary();
-      importSummary.setStatus(ImportStatus.ERROR);
-      importSummary.setDescription("Data set import failed within group number: " + groupCount);
-      importSummary.addConflict(ex.getObject(), ex.getMessage());
-      notifier
-          .update(id, NotificationLevel.ERROR, "ADX data import done", true)
-          .addJobSummary(id, importSummary, ImportSummary.class);
-      log.warn("Import failed: " + DebugUtils.getStackTrace(ex));
-    } catch (IOException
-        | XMLStreamException
-        | XMLException
-        | InterruptedException
-        | ExecutionException
-        | TimeoutException ex) {
-      importSummary = new ImportSummary();
+    List<ImportConflict> adxConflicts = adxReader.getConflicts();
+    adxConflicts.forEach(
+        conflict -> importSummary.addConflict(conflict.getObject(), conflict.getValue()));
+    importSummary.getImportCount().incrementIgnored(adxConflicts.size());
+
+    // data values of the groups before the failed group are imported,
+    // their counts are kept and the group failure is added as conflict
+    AdxException groupFailure = adxReader.getGroupFailure();
+
+    if (groupFailure != null) {
       importSummary.setStatus(ImportStatus.ERROR);
-      importSummary.setDescription("Data set import failed within group number: " + groupCount);
-      notifier
-          .update(id, NotificationLevel.ERROR, "ADX data import done", true)
-          .addJobSummary(id, importSummary, ImportSummary.class);
-      log.warn("Import failed: " + DebugUtils.getStackTrace(ex));
+      importSummary.setDescription(
+          "Data set import failed within group number: " + adxReader.getGroupCount());
+      importSummary.addConflict(groupFailure.getObject(), groupFailure.getMessage());
+      log.warn("Import failed: " + DebugUtils.getStackTrace(groupFailure));
     }
 
-    executor.shutdown();
-
     notifier
-        .update(id, INFO, "ADX data import done", true)
+        .update(
+            id, groupFailure != null ? NotificationLevel.ERROR : INFO, "ADX data import done", true)
         .addJobSummary(id, importSummary, ImportSummary.class);
 
     ImportCount c = importSummary.getImportCount();
@@ -462,277 +362,4 @@ public class DefaultAdxDataService implements AdxDataService {
 
     return importSummary;
   }
-
-  // -------------------------------------------------------------------------
-  // Utility methods
-  // -------------------------------------------------------------------------
-
-  private List<ImportConflict> parseAdxGroupToDxf(
-      XMLReader adxReader,
-      XMLStreamWriter dxfWriter,
-      ImportOptions importOptions,
-      CachingMap<String, DataSet> dataSetMap,
-      IdentifiableObjectCallable<DataSet> dataSetCallable,
-      CachingMap<String, DataElement> dataElementMap,
-      IdentifiableObjectCallable<DataElement> dataElementCallable)
-      throws XMLStreamException, AdxException {
-    List<ImportConflict> adxConflicts = new LinkedList<>();
-
-    Map<String, String> groupAttributes = adxReader.readAttributes();
-
-    if (!groupAttributes.containsKey(AdxDataService.PERIOD)) {
-      throw new AdxException(AdxDataService.PERIOD + " attribute is required on 'group'");
-    }
-
-    if (!groupAttributes.containsKey(AdxDataService.ORGUNIT)) {
-      throw new AdxException(AdxDataService.ORGUNIT + " attribute is required on 'group'");
-    }
-
-    // translate ADX period to DXF
-    String periodStr = groupAttributes.get(AdxDataService.PERIOD);
-    groupAttributes.remove(AdxDataService.PERIOD);
-    Period period = AdxPeriod.parse(periodStr);
-    groupAttributes.put(AdxDataService.PERIOD, period.getIsoDate());
-
-    // process ADX group attributes
-    if (!groupAttributes.containsKey(AdxDataService.ATTOPTCOMBO)
-        && groupAttributes.containsKey(AdxDataService.DATASET)) {
-      log.debug("No attribute option combo present, check data set for attribute category combo");
-
-      String dataSetStr = trimToNull(groupAttributes.get(AdxDataService.DATASET));
-      final DataSet dataSet = dataSetMap.get(dataSetStr, dataSetCallable.setId(dataSetStr));
-
-      if (dataSet == null) {
-        throw new AdxException(
-            "No data set matching "
-                + dataSetCallable.getIdScheme().name().toLowerCase()
-                + " '"
-                + groupAttributes.get(AdxDataService.DATASET)
-                + "'");
-      }
-
-      groupAttributes.put(AdxDataService.DATASET, dataSet.getUid());
-      CategoryCombo attributeCombo = dataSet.getCategoryCombo();
-      convertAttributesToDxf(
-          groupAttributes,
-          AdxDataService.ATTOPTCOMBO,
-          attributeCombo,
-          importOptions.getIdSchemes());
-    }
-
-    // process the dataValues
-    while (adxReader.moveToStartElement(AdxDataService.DATAVALUE, AdxDataService.GROUP)) {
-      try {
-        parseAdxDataValueToDxf(
-            adxReader,
-            dxfWriter,
-            groupAttributes,
-            importOptions,
-            dataElementMap,
-            dataElementCallable);
-      } catch (AdxException ex) {
-        adxConflicts.add(new ImportConflict(ex.getObject(), ex.getMessage()));
-
-        log.info("ADX data value conflict: {} {}", ex.getObject(), ex.getMessage());
-      }
-    }
-
-    return adxConflicts;
-  }
-
-  private void parseAdxDataValueToDxf(
-      XMLReader adxReader,
-      XMLStreamWriter dxfWriter,
-      Map<String, String> groupAttributes,
-      ImportOptions importOptions,
-      CachingMap<String, DataElement> dataElementMap,
-      IdentifiableObjectCallable<DataElement> dataElementCallable)
-      throws XMLStreamException, AdxException {
-    Map<String, String> dvAttributes = adxReader.readAttributes();
-
-    log.debug("Processing data value: " + dvAttributes);
-
-    if (!dvAttributes.containsKey(AdxDataService.DATAELEMENT)) {
-      throw new AdxException(AdxDataService.DATAELEMENT + " attribute is required on 'dataValue'");
-    }
-
-    if (!dvAttributes.containsKey(AdxDataService.VALUE)) {
-      throw new AdxException(AdxDataService.VALUE + " attribute is required on 'dataValue'");
-    }
-
-    String dataElementStr = trimToNull(dvAttributes.get(AdxDataService.DATAELEMENT));
-    final DataElement dataElement =
-        dataElementMap.get(dataElementStr, dataElementCallable.setId(dataElementStr));
-
-    if (dataElement == null) {
-      throw new AdxException(
-          "No data element matching "
-              + dataElementCallable.getIdScheme().name().toLowerCase()
-              + " '"
-              + dataElementStr
-              + "'");
-    }
-
-    // process ADX data value attributes
-    if (!dvAttributes.containsKey(AdxDataService.CATOPTCOMBO)) {
-      log.debug("No category option combo present");
-
-      // TODO expand to allow for category combos part of DataSetElements.
-
-      CategoryCombo categoryCombo = dataElement.getCategoryCombo();
-
-      convertAttributesToDxf(
-          dvAttributes, AdxDataService.CATOPTCOMBO, categoryCombo, importOptions.getIdSchemes());
-    }
-
-    // if data element type is not numeric we need to pick out the
-    // 'annotation' element
-    if (!dataElement.getValueType().isNumeric()) {
-      adxReader.moveToStartElement(AdxDataService.ANNOTATION, AdxDataService.DATAVALUE);
-
-      if (adxReader.isStartElement(AdxDataService.ANNOTATION)) {
-        String textValue = adxReader.getElementValue();
-        dvAttributes.put(AdxDataService.VALUE, textValue);
-      } else {
-        throw new AdxException(
-            dvAttributes.get(AdxDataService.DATAELEMENT), "DataElement expects text annotation");
-      }
-    }
-
-    log.debug("Processing data value as DXF: " + dvAttributes);
-
-    dxfWriter.writeStartElement("dataValue");
-
-    // write the group attributes through to DXF stream
-    for (String attribute : groupAttributes.keySet()) {
-      writeAttribute(dxfWriter, attribute, groupAttributes.get(attribute));
-    }
-
-    // pass through the remaining attributes to DXF
-    for (String attribute : dvAttributes.keySet()) {
-      writeAttribute(dxfWriter, attribute, dvAttributes.get(attribute));
-    }
-
-    dxfWriter.writeEndElement(); // dataValue
-  }
-
-  private void writeAttribute(XMLStreamWriter dxfWriter, String attribute, String value)
-      throws XMLStreamException, AdxException {
-    if (value == null) {
-      throw new AdxException("Value for " + attribute + " is null");
-    }
-
-    dxfWriter.writeAttribute(attribute, value);
-  }
-
-  private Map<String, Category> getCodeCategoryMap(CategoryCombo categoryCombo, IdScheme catScheme)
-      throws AdxException {
-    Map<String, Category> categoryMap = new HashMap<>();
-
-    List<Category> categories = categoryCombo.getCategories();
-
-    for (Category category : categories) {
-      String categoryId = category.getPropertyValue(catScheme);
-
-      if (categoryId == null || !XMLChar.isValidName(categoryId)) {
-        throw new AdxException(
-            "Category "
-                + catScheme.name()
-                + " for "
-                + category.getName()
-                + " is missing or invalid: "
-                + categoryId);
-      }
-
-      categoryMap.put(categoryId, category);
-    }
-
-    return categoryMap;
-  }
-
-  private CategoryOptionCombo getCatOptComboFromAttributes(
-      Map<String, String> attributes, CategoryCombo catcombo, IdSchemes idSchemes)
-      throws AdxException {
-    CategoryComboMap catcomboMap;
-
-    try {
-      catcomboMap = new CategoryComboMap(catcombo, idSchemes.getCategoryOptionIdScheme());
-    } catch (CategoryComboMapException ex) {
-      log.info("Failed to create category combo map from: " + catcombo);
-      throw new AdxException(ex.getMessage());
-    }
-
-    String compositeIdentifier = StringUtils.EMPTY;
-
-    for (Category category : catcomboMap.getCategories()) {
-      String categoryId = category.getPropertyValue(idSchemes.getCategoryIdScheme());
-
-      if (categoryId == null) {
-        throw new AdxException(
-            "No category "
-                + idSchemes.getCategoryIdScheme().name()
-                + " for: "
-                + category.toString());
-      }
-
-      String catAttribute = attributes.get(categoryId);
-
-      if (catAttribute == null) {
-        throw new AdxException(
-            "Missing required attribute from category combo "
-                + catcombo.getName()
-                + ": "
-                + categoryId);
-      }
-
-      compositeIdentifier += "\"" + catAttribute + "\"";
-    }
-
-    CategoryOptionCombo catOptionCombo = catcomboMap.getCategoryOptionCombo(compositeIdentifier);
-
-    if (catOptionCombo == null) {
-      throw new AdxException("Invalid attributes: " + attributes);
-    }
-
-    return catOptionCombo;
-  }
-
-  private void convertAttributesToDxf(
-      Map<String, String> attributes,
-      String optionComboName,
-      CategoryCombo catCombo,
-      IdSchemes idSchemes)
-      throws AdxException {
-    log.debug("ADX attributes: " + attributes);
-
-    if (catCombo.isDefault()) {
-      return;
-    }
-
-    Map<String, Category> categoryMap =
-        getCodeCategoryMap(catCombo, idSchemes.getCategoryIdScheme());
-
-    Map<String, String> attributeOptions = new HashMap<>();
-
-    for (String category : categoryMap.keySet()) {
-      if (attributes.containsKey(category)) {
-        attributeOptions.put(category, attributes.get(category));
-        attributes.remove(category);
-      } else {
-        throw new AdxException(
-            "Category combo "
-                + catCombo.getName()
-                + " must have "
-                + categoryMap.get(category).getName());
-      }
-    }
-
-    CategoryOptionCombo catOptCombo =
-        getCatOptComboFromAttributes(attributeOptions, catCombo, idSchemes);
-
-    attributes.put(
-        optionComboName, catOptCombo.getPropertyValue(idSchemes.getCategoryOptionComboIdScheme()));
-
-    log.debug("DXF attributes: " + attributes);
-  }
 }
@@ -63,4 +63,23 @@ public interface DataValueSetStore {
    */
   void exportDataValueSetJson(
       Date lastUpdated, OutputStream outputStream, IdSchemes idSchemes, int pageSize, int page);
+
+  /**
+   * Query for at most {@code limit} data values last updated at or after the given date and
+   * positioned after the given watermark in the synchronization order, and write them as JSON.
+   *
+   * @param lastUpdated specifies the date to filter data values last updated after
+   * @param after the watermark of the last data value already written, or null to start at the
+   *     beginning
+   * @param outputStream the stream to write to
+   * @param idSchemes idSchemes
+   * @param limit the maximum number of data values to write
+   * @return the watermark of the last data value written, or null if none was written
+   */
+  DataValueSyncWatermark exportDataValueSetJson(
+      Date lastUpdated,
+      DataValueSyncWatermark after,
+      OutputStream outputStream,
+      IdSchemes idSchemes,
+      int limit);
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.datavalueset;
+
+import java.sql.Timestamp;
+import javax.annotation.CheckForNull;
+
+/**
+ * Position of a data value in the order data values are synchronized in, which is by last updated
+ * and the data value key. Used to continue a synchronization after the last data value sent.
+ *
+ * @param lastUpdated last updated timestamp of the data value
+ * @param dataElementId data element ID
+ * @param periodId period ID
+ * @param sourceId organisation unit ID
+ * @param categoryOptionComboId category option combo ID
+ * @param attributeOptionComboId attribute option combo ID
+ */
+public record DataValueSyncWatermark(
+    Timestamp lastUpdated,
+    long dataElementId,
+    long periodId,
+    long sourceId,
+    long categoryOptionComboId,
+    long attributeOptionComboId) {
+  private static final String SEPARATOR = ";";
+
+  /**
+   * @return the watermark in the format understood by {@link #of(String)}
+   */
+  @Override
+  public String toString() {
+    return String.join(
+        SEPARATOR,
+        lastUpdated.toString(),
+        String.valueOf(dataElementId),
+        String.valueOf(periodId),
+        String.valueOf(sourceId),
+        String.valueOf(categoryOptionComboId),
+        String.valueOf(attributeOptionComboId));
+  }
+
+  /**
+   * @param value a watermark as returned by {@link #toString()}
+   * @return the watermark, or null if the given value is empty or malformed
+   */
+  @CheckForNull
+  public static DataValueSyncWatermark of(@CheckForNull String value) {
+    if (value == null || value.isEmpty()) {
+      return null;
+    }
+
+    String[] parts = value.split(SEPARATOR);
+
+    if (parts.length != 6) {
+      return null;
+    }
+
+    try {
+      return new DataValueSyncWatermark(
+          Timestamp.valueOf(parts[0]),
+          Long.parseLong(parts[1]),
+          Long.parseLong(parts[2]),
+          Long.parseLong(parts[3]),
+          Long.parseLong(parts[4]),
+          Long.parseLong(parts[5]));
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+  }
+}
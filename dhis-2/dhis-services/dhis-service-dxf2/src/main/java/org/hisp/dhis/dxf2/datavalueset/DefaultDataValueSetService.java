@@ -397,6 +397,18 @@ public class DefaultDataValueSetService implements DataValueSetService {
     dataValueSetStore.exportDataValueSetJson(lastUpdated, outputStream, idSchemes, pageSize, page);
   }
 
+  @Override
+  @Transactional
+  public DataValueSyncWatermark exportDataValueSetJson(
+      Date lastUpdated,
+      DataValueSyncWatermark after,
+      OutputStream outputStream,
+      IdSchemes idSchemes,
+      int limit) {
+    return dataValueSetStore.exportDataValueSetJson(
+        lastUpdated, after, outputStream, idSchemes, limit);
+  }
+
   @Override
   @Transactional
   public void exportDataValueSetCsv(DataExportParams params, Writer writer) {
@@ -621,6 +633,13 @@ public class DefaultDataValueSetService implements DataValueSetService {
     return importDataValueSetPdf(in, options, null);
   }
 
+  @Override
+  @Transactional
+  public ImportSummary importDataValueSet(
+      DataValueSetReader reader, ImportOptions options, JobConfiguration id) {
+    return importDataValueSet(options, id, () -> reader);
+  }
+
   private ImportSummary importDataValueSet(
       ImportOptions options, JobConfiguration id, Callable<DataValueSetReader> createReader) {
     options = ObjectUtils.firstNonNull(options, ImportOptions.getDefaultImportOptions());
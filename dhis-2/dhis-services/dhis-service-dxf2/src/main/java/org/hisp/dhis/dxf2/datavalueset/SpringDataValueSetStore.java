@@ -129,6 +129,63 @@ public class SpringDataValueSetStore implements DataValueSetStore {
     }
   }
 
+  @Override
+  public DataValueSyncWatermark exportDataValueSetJson(
+      Date lastUpdated,
+      DataValueSyncWatermark after,
+      OutputStream out,
+      IdSchemes idSchemes,
+      int limit) {
+    String sql = buildDataValueSql(lastUpdated, idSchemes);
+    Object[] args = {};
+
+    if (after != null) {
+      // the extra lastupdated condition lets the lastupdated index narrow the scan
+      sql +=
+          "and dv.lastupdated >= ? and (dv.lastupdated, dv.dataelementid, dv.periodid, dv.sourceid, "
+              + "dv.categoryoptioncomboid, dv.attributeoptioncomboid) > (?, ?, ?, ?, ?, ?) ";
+      args =
+          new Object[] {
+            after.lastUpdated(),
+            after.lastUpdated(),
+            after.dataElementId(),
+            after.periodId(),
+            after.sourceId(),
+            after.categoryOptionComboId(),
+            after.attributeOptionComboId()
+          };
+    }
+
+    sql +=
+        "order by dv.lastupdated, dv.dataelementid, dv.periodid, dv.sourceid, "
+            + "dv.categoryoptioncomboid, dv.attributeoptioncomboid limit "
+            + limit;
+
+    DataValueSyncWatermark[] last = new DataValueSyncWatermark[1];
+
+    try (DataValueSetWriter writer = new JsonDataValueSetWriter(out)) {
+      writer.writeHeader();
+
+      final Calendar calendar = PeriodType.getCalendar();
+      jdbcTemplate.query(
+          sql,
+          (ResultSet rs) -> {
+            writer.writeValue(new ResultSetDataValueEntry(rs, calendar));
+            last[0] =
+                new DataValueSyncWatermark(
+                    rs.getTimestamp("lastupdated"),
+                    rs.getLong("dvdeid"),
+                    rs.getLong("dvpeid"),
+                    rs.getLong("dvouid"),
+                    rs.getLong("dvcocid"),
+                    rs.getLong("dvaocid"));
+          },
+          args);
+    }
+
+    return last[0];
+  }
+
   private String buildDataValueSql(Date lastUpdated, IdSchemes idSchemes) {
     String deScheme = idSchemes.getDataElementIdScheme().getIdentifiableString().toLowerCase();
     String ouScheme = idSchemes.getOrgUnitIdScheme().getIdentifiableString().toLowerCase();
@@ -148,7 +205,9 @@ public class SpringDataValueSetStore implements DataValueSetStore {
             + " as cocid, aoc."
             + aocScheme
             + " as aocid, "
-            + "dv.value, dv.storedby, dv.created, dv.lastupdated, dv.comment, dv.followup, dv.deleted "
+            + "dv.value, dv.storedby, dv.created, dv.lastupdated, dv.comment, dv.followup, dv.deleted, "
+            + "dv.dataelementid as dvdeid, dv.periodid as dvpeid, dv.sourceid as dvouid, "
+            + "dv.categoryoptioncomboid as dvcocid, dv.attributeoptioncomboid as dvaocid "
             + "from datavalue dv "
             + "join dataelement de on (dv.dataelementid=de.dataelementid) "
             + "join period pe on (dv.periodid=pe.periodid) "
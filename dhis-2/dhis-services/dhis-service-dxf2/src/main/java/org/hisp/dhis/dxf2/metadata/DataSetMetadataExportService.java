@@ -47,6 +47,17 @@ public interface DataSetMetadataExportService {
    */
   ObjectNode getDataSetMetadata();
 
+  /**
+   * Retrieves the same metadata as {@link #getDataSetMetadata()} as gzip compressed JSON. The
+   * payload is cached and shared between users with the same data write access to data sets and
+   * data set category options and the same database locale.
+   *
+   * @param lastModified the time of last modification as returned by {@link
+   *     #getDataSetMetadataLastModified()}, cached payloads of earlier modifications are not used.
+   * @return the gzip compressed JSON metadata.
+   */
+  byte[] getCompressedDataSetMetadata(Date lastModified);
+
   /**
    * Returns the time of last modification for the data set metadata.
    *
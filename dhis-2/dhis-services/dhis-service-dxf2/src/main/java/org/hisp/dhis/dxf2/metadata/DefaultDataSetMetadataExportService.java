@@ -33,8 +33,12 @@ import static org.hisp.dhis.commons.collection.CollectionUtils.flatMapToSet;
 import static org.hisp.dhis.commons.collection.CollectionUtils.mapToSet;
 import static org.hisp.dhis.commons.collection.ListUtils.distinctUnion;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -42,15 +46,21 @@ import java.util.Comparator;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.collections4.SetValuedMap;
 import org.apache.commons.lang3.ObjectUtils;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.category.Category;
 import org.hisp.dhis.category.CategoryCombo;
 import org.hisp.dhis.category.CategoryOption;
 import org.hisp.dhis.category.CategoryService;
+import org.hisp.dhis.common.HashUtils;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.dataelement.DataElement;
@@ -72,6 +82,7 @@ import org.hisp.dhis.schema.descriptors.OptionSetSchemaDescriptor;
 import org.hisp.dhis.user.CurrentUserUtil;
 import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.user.UserService;
+import org.hisp.dhis.user.UserSettingKey;
 import org.hisp.dhis.util.DateUtils;
 import org.springframework.stereotype.Service;
 
@@ -136,13 +147,57 @@ public class DefaultDataSetMetadataExportService implements DataSetMetadataExpor
 
   private final UserService userService;
 
+  private final CacheProvider cacheProvider;
+
+  private final ObjectMapper jsonMapper;
+
+  /** Compressed JSON payloads by access fingerprint. */
+  private Cache<byte[]> metadataCache;
+
+  @PostConstruct
+  public void init() {
+    metadataCache = cacheProvider.createDataSetMetadataCache();
+  }
+
   @Override
   public ObjectNode getDataSetMetadata() {
     UserDetails currentUserDetails = CurrentUserUtil.getCurrentUserDetails();
+    List<DataSet> dataSets = idObjectManager.getDataWriteAll(DataSet.class);
+    return toDataSetMetadata(
+        dataSets,
+        getDataSetCategoryOptions(dataSets, currentUserDetails),
+        dataSetService.getDataSetOrganisationUnitsAssociations());
+  }
+
+  @Override
+  public byte[] getCompressedDataSetMetadata(Date lastModified) {
+    UserDetails currentUserDetails = CurrentUserUtil.getCurrentUserDetails();
+    List<DataSet> dataSets = idObjectManager.getDataWriteAll(DataSet.class);
+    Set<CategoryOption> dataSetCategoryOptions =
+        getDataSetCategoryOptions(dataSets, currentUserDetails);
     SetValuedMap<String, String> dataSetOrgUnits =
         dataSetService.getDataSetOrganisationUnitsAssociations();
+    String key =
+        getAccessFingerprint(lastModified, dataSets, dataSetCategoryOptions, dataSetOrgUnits);
+    return metadataCache.get(
+        key, k -> compress(toDataSetMetadata(dataSets, dataSetCategoryOptions, dataSetOrgUnits)));
+  }
+
+  /**
+   * Builds the metadata for the given data sets.
+   *
+   * @param dataSets the data sets the current user has data write access to.
+   * @param dataSetCategoryOptions the category options of the data set categories the current user
+   *     has data write access to.
+   * @param dataSetOrgUnits the associations between data sets and the organisation units of the
+   *     current user.
+   * @return an {@link ObjectNode}.
+   */
+  private ObjectNode toDataSetMetadata(
+      List<DataSet> dataSets,
+      Set<CategoryOption> dataSetCategoryOptions,
+      SetValuedMap<String, String> dataSetOrgUnits) {
 
-    List<DataSet> dataSets = idObjectManager.getDataWriteAll(DataSet.class);
     List<DataElement> dataElements = sortById(flatMapToSet(dataSets, DataSet::getDataElements));
     List<Indicator> indicators = sortById(flatMapToSet(dataSets, DataSet::getIndicators));
     List<CategoryCombo> dataElementCategoryCombos =
@@ -155,7 +210,7 @@ public class DefaultDataSetMetadataExportService implements DataSetMetadataExpor
         sortById(flatMapToSet(dataSetCategoryCombos, CategoryCombo::getCategories));
     List<Category> categories = distinctUnion(dataElementCategories, dataSetCategories);
     List<CategoryOption> categoryOptions =
-        sortById(getCategoryOptions(dataElementCategories, dataSetCategories, currentUserDetails));
+        sortById(getCategoryOptions(dataElementCategories, dataSetCategoryOptions));
     List<OptionSet> optionSets = sortById(getOptionSets(dataElements));
 
     dataSetCategoryCombos.removeAll(dataElementCategoryCombos);
@@ -204,24 +259,95 @@ public class DefaultDataSetMetadataExportService implements DataSetMetadataExpor
   }
 
   /**
-   * Returns category options for the given data element and data set categories. For the data set
-   * categories, only category options which the current user has data write access to are returned.
+   * Returns category options for the given data element categories together with the given data set
+   * category options.
    *
    * @param dataElementCategories the data element categories.
-   * @param dataSetCategories the data set categories.
-   * @param user the current user.
+   * @param dataSetCategoryOptions the data set category options.
    * @return a set of {@link CategoryOption}.
    */
   private Set<CategoryOption> getCategoryOptions(
-      Collection<Category> dataElementCategories,
-      Collection<Category> dataSetCategories,
-      UserDetails userDetails) {
+      Collection<Category> dataElementCategories, Set<CategoryOption> dataSetCategoryOptions) {
     Set<CategoryOption> options = flatMapToSet(dataElementCategories, Category::getCategoryOptions);
+    options.addAll(dataSetCategoryOptions);
+    return options;
+  }
+
+  /**
+   * Returns the category options of the categories of the given data sets which the current user
+   * has data write access to.
+   *
+   * @param dataSets the data sets.
+   * @param userDetails the current user.
+   * @return a set of {@link CategoryOption}.
+   */
+  private Set<CategoryOption> getDataSetCategoryOptions(
+      Collection<DataSet> dataSets, UserDetails userDetails) {
+    Set<Category> dataSetCategories =
+        flatMapToSet(mapToSet(dataSets, DataSet::getCategoryCombo), CategoryCombo::getCategories);
+    Set<CategoryOption> options = new HashSet<>();
     dataSetCategories.forEach(
         c -> options.addAll(categoryService.getDataWriteCategoryOptions(c, userDetails)));
     return options;
   }
 
+  /**
+   * Returns the cache key of the metadata of the current user. The key combines the time of last
+   * modification of the metadata and the locale with a hash of the user specific inputs of the
+   * metadata: the data sets, the data set category options and the data set organisation unit
+   * associations of the user. Users with the same inputs share the cached metadata.
+   *
+   * @param lastModified the time of last modification of the metadata.
+   * @param dataSets the data sets the current user has data write access to.
+   * @param dataSetCategoryOptions the data set category options the current user has data write
+   *     access to.
+   * @param dataSetOrgUnits the associations between data sets and the organisation units of the
+   *     current user.
+   * @return the cache key.
+   */
+  private String getAccessFingerprint(
+      Date lastModified,
+      Collection<DataSet> dataSets,
+      Collection<CategoryOption> dataSetCategoryOptions,
+      SetValuedMap<String, String> dataSetOrgUnits) {
+    Locale locale = CurrentUserUtil.getUserSetting(UserSettingKey.DB_LOCALE);
+    String access =
+        dataSets.stream().map(DataSet::getUid).sorted().collect(Collectors.joining(","))
+            + ";"
+            + dataSetCategoryOptions.stream()
+                .map(CategoryOption::getUid)
+                .sorted()
+                .collect(Collectors.joining(","))
+            + ";"
+            + dataSetOrgUnits.keySet().stream()
+                .sorted()
+                .map(
+                    dataSet ->
+                        dataSet
+                            + "="
+                            + dataSetOrgUnits.get(dataSet).stream()
+                                .sorted()
+                                .collect(Collectors.joining(",")))
+                .collect(Collectors.joining(","));
+    return lastModified.getTime() + ":" + locale + ":" + HashUtils.hashSHA256(access);
+  }
+
+  /**
+   * Serializes the given node to gzip compressed JSON.
+   *
+   * @param node the {@link ObjectNode}.
+   * @return the compressed bytes.
+   */
+  private byte[] compress(ObjectNode node) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      jsonMapper.writeValue(out, node);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return bytes.toByteArray();
+  }
+
   /**
    * Returns option sets for the given data elements.
    *
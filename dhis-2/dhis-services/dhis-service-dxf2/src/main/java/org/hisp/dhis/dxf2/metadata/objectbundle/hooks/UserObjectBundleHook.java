@@ -52,9 +52,11 @@ import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.system.util.ValidationUtils;
 import org.hisp.dhis.user.CurrentUserUtil;
 import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserDetailsChangedEvent;
 import org.hisp.dhis.user.UserRole;
 import org.hisp.dhis.user.UserService;
 import org.hisp.dhis.user.UserSettingService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 /**
@@ -77,6 +79,8 @@ public class UserObjectBundleHook extends AbstractObjectBundleHook<User> {
 
   private final DhisConfigurationProvider dhisConfig;
 
+  private final ApplicationEventPublisher eventPublisher;
+
   @Override
   public void validate(User user, ObjectBundle bundle, Consumer<ErrorReport> addReports) {
     // TODO: To remove when we remove old UserCredentials compatibility
@@ -207,6 +211,9 @@ public class UserObjectBundleHook extends AbstractObjectBundleHook<User> {
 
     if (Boolean.TRUE.equals(invalidateSessions)) {
       userService.invalidateUserSessions(persistedUser.getUid());
+    } else {
+      // Org units or the enabled state may have changed
+      eventPublisher.publishEvent(new UserDetailsChangedEvent(this, persistedUser.getUid()));
     }
 
     bundle.removeExtras(persistedUser, PRE_UPDATE_USER_KEY);
@@ -27,22 +27,33 @@
  */
 package org.hisp.dhis.dxf2.sync;
 
-import static java.lang.String.format;
-import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM;
+import static org.hisp.dhis.external.conf.ConfigurationKey.SYNC_DATA_VALUES_PARALLELISM;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.Date;
-import java.util.stream.IntStream;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.datavalue.DataValueService;
 import org.hisp.dhis.dxf2.datavalueset.DataValueSetService;
-import org.hisp.dhis.dxf2.metadata.sync.exception.MetadataSyncServiceException;
+import org.hisp.dhis.dxf2.datavalueset.DataValueSyncWatermark;
 import org.hisp.dhis.dxf2.synch.SystemInstance;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.setting.SettingKey;
 import org.hisp.dhis.setting.SystemSettingManager;
 import org.hisp.dhis.system.util.CodecUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RequestCallback;
@@ -52,6 +63,7 @@ import org.springframework.web.client.RestTemplate;
  * @author David Katuscak <katuscak.d@gmail.com>
  * @author Jan Bernitt (job progress tracking refactoring)
  */
+@Slf4j
 @Component
 @AllArgsConstructor
 public class DataValueSynchronization implements DataSynchronizationWithPaging {
@@ -63,6 +75,8 @@ public class DataValueSynchronization implements DataSynchronizationWithPaging {
 
   private final RestTemplate restTemplate;
 
+  private final DhisConfigurationProvider config;
+
   @Getter
   private static final class DataValueSynchronisationContext
       extends PagedDataSynchronisationContext {
@@ -112,6 +126,7 @@ public class DataValueSynchronization implements DataSynchronizationWithPaging {
       progress.completedProcess("SUCCESS! DataValueSynchronization job is done.");
       SyncUtils.setLastSyncSuccess(
           settings, SettingKey.LAST_SUCCESSFUL_DATA_VALUE_SYNC, context.getStartTime());
+      settings.deleteSystemSetting(SettingKey.DATA_VALUE_SYNC_CHECKPOINT);
       return SynchronizationResult.success("DataValueSynchronization done.");
     }
 
@@ -141,44 +156,139 @@ public class DataValueSynchronization implements DataSynchronizationWithPaging {
   }
 
   private boolean runSyncWithPaging(DataValueSynchronisationContext context, JobProgress progress) {
+    int parallelism =
+        Math.max(1, Integer.parseInt(config.getProperty(SYNC_DATA_VALUES_PARALLELISM)));
+    DataValueSyncWatermark checkpoint = getCheckpoint(context);
+
     String msg = context.getObjectsToSynchronize() + " DataValues to synchronize were found.\n";
     msg += "Remote server URL for DataValues POST sync: " + context.getInstance().getUrl() + "\n";
     msg +=
         "DataValueSynchronization job has "
             + context.getPages()
-            + " pages to sync. With page size: "
-            + context.getPageSize();
-
-    progress.startingStage(msg, context.getPages(), SKIP_ITEM);
-    progress.runStage(
-        IntStream.range(1, context.getPages() + 1).boxed(),
-        page -> format("Synchronizing page %d with page size %d", page, context.getPageSize()),
-        page -> synchronizePage(page, context));
-    return !progress.isSkipCurrentStage();
+            + " chunks to sync. With chunk size: "
+            + context.getPageSize()
+            + ", sent in parallel: "
+            + parallelism;
+
+    if (checkpoint != null) {
+      msg += "\nResuming after checkpoint: " + checkpoint;
+    }
+
+    progress.startingStage(msg);
+    return progress.runStage(
+        false,
+        success -> success ? "All chunks were synchronized" : "Not all chunks were synchronized",
+        () -> synchronizeChunks(context, checkpoint, parallelism));
   }
 
-  protected void synchronizePage(int page, DataValueSynchronisationContext context) {
-    if (!sendSyncRequest(page, context)) {
-      throw new MetadataSyncServiceException(format("Page %d synchronisation failed.", page));
+  /**
+   * Streams the changed data values in chunks ordered by last updated and data value key. Each
+   * chunk is gzip compressed and sent while the next chunks are read, with at most {@code
+   * parallelism} chunks in flight. The checkpoint is advanced to the last data value of the
+   * contiguous sequence of chunks acknowledged by the remote server, so that a failed run resumes
+   * after the last acknowledged chunk.
+   */
+  private boolean synchronizeChunks(
+      DataValueSynchronisationContext context, DataValueSyncWatermark checkpoint, int parallelism)
+      throws IOException {
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            new ThreadFactoryBuilder().setNameFormat("DATA-VALUE-SYNC-%d").setDaemon(true).build());
+    Deque<Chunk> inFlight = new ArrayDeque<>();
+    DataValueSyncWatermark watermark = checkpoint;
+
+    try {
+      while (true) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataValueSyncWatermark last;
+
+        try (GZIPOutputStream out = new GZIPOutputStream(body)) {
+          last =
+              dataValueSetService.exportDataValueSetJson(
+                  context.getLastUpdatedAfter(),
+                  watermark,
+                  out,
+                  new IdSchemes(),
+                  context.getPageSize());
+        }
+
+        if (last == null) {
+          break;
+        }
+
+        watermark = last;
+        byte[] chunk = body.toByteArray();
+        inFlight.add(
+            new Chunk(last, executor.submit(() -> sendSyncRequest(chunk, context.getInstance()))));
+
+        while (!inFlight.isEmpty()
+            && (inFlight.size() >= parallelism || inFlight.peek().acknowledged().isDone())) {
+          if (!acknowledge(inFlight.poll())) {
+            return false;
+          }
+        }
+      }
+
+      while (!inFlight.isEmpty()) {
+        if (!acknowledge(inFlight.poll())) {
+          return false;
+        }
+      }
+
+      return true;
+    } finally {
+      executor.shutdownNow();
     }
   }
 
-  private boolean sendSyncRequest(int page, DataValueSynchronisationContext context) {
-    SystemInstance instance = context.getInstance();
-    Date lastUpdatedAfter = context.getLastUpdatedAfter();
-    int syncPageSize = context.getPageSize();
+  private record Chunk(DataValueSyncWatermark last, Future<Boolean> acknowledged) {}
+
+  /**
+   * Waits for the given chunk to be sent and advances the checkpoint if it was acknowledged.
+   *
+   * @return true if the chunk was acknowledged by the remote server, false otherwise
+   */
+  private boolean acknowledge(Chunk chunk) {
+    try {
+      if (Boolean.TRUE.equals(chunk.acknowledged().get())) {
+        settings.saveSystemSetting(SettingKey.DATA_VALUE_SYNC_CHECKPOINT, chunk.last().toString());
+        return true;
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException ex) {
+      log.error("Data value chunk synchronisation failed", ex.getCause());
+    }
+
+    return false;
+  }
+
+  /**
+   * @return the watermark of the last data value acknowledged by a previous failed run, or null if
+   *     there is none or it is older than the data values to synchronize
+   */
+  private DataValueSyncWatermark getCheckpoint(DataValueSynchronisationContext context) {
+    DataValueSyncWatermark checkpoint =
+        DataValueSyncWatermark.of(settings.getStringSetting(SettingKey.DATA_VALUE_SYNC_CHECKPOINT));
+
+    return checkpoint != null && !checkpoint.lastUpdated().before(context.getLastUpdatedAfter())
+        ? checkpoint
+        : null;
+  }
 
+  private boolean sendSyncRequest(byte[] chunk, SystemInstance instance) {
     RequestCallback requestCallback =
         request -> {
           request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+          request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
           request
               .getHeaders()
               .add(
                   SyncUtils.HEADER_AUTHORIZATION,
                   CodecUtils.getBasicAuthString(instance.getUsername(), instance.getPassword()));
 
-          dataValueSetService.exportDataValueSetJson(
-              lastUpdatedAfter, request.getBody(), new IdSchemes(), syncPageSize, page);
+          request.getBody().write(chunk);
         };
 
     return SyncUtils.sendSyncRequest(
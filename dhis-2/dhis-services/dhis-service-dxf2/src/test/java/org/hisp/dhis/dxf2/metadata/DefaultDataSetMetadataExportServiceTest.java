@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.metadata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.apache.commons.collections4.SetValuedMap;
+import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
+import org.hisp.dhis.category.CategoryCombo;
+import org.hisp.dhis.category.CategoryService;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.dataset.DataSet;
+import org.hisp.dhis.dataset.DataSetService;
+import org.hisp.dhis.expression.ExpressionService;
+import org.hisp.dhis.fieldfiltering.FieldFilterParams;
+import org.hisp.dhis.fieldfiltering.FieldFilterService;
+import org.hisp.dhis.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link DefaultDataSetMetadataExportService}. */
+@ExtendWith(MockitoExtension.class)
+class DefaultDataSetMetadataExportServiceTest {
+  @Mock private FieldFilterService fieldFilterService;
+
+  @Mock private IdentifiableObjectManager idObjectManager;
+
+  @Mock private CategoryService categoryService;
+
+  @Mock private DataSetService dataSetService;
+
+  @Mock private ExpressionService expressionService;
+
+  @Mock private UserService userService;
+
+  @Mock private CacheProvider cacheProvider;
+
+  @Spy private ObjectMapper jsonMapper = new ObjectMapper();
+
+  @InjectMocks private DefaultDataSetMetadataExportService service;
+
+  private DataSet dataSet;
+
+  @BeforeEach
+  void setUp() {
+    when(cacheProvider.createDataSetMetadataCache()).thenReturn(new SimpleCacheBuilder<>().build());
+    service.init();
+
+    dataSet = new DataSet("DataSetA");
+    dataSet.setUid("dataSetUidA");
+    dataSet.setCategoryCombo(new CategoryCombo());
+
+    when(fieldFilterService.createObjectNode()).thenAnswer(i -> jsonMapper.createObjectNode());
+    when(fieldFilterService.createArrayNode()).thenAnswer(i -> jsonMapper.createArrayNode());
+    when(fieldFilterService.toObjectNode(eq(dataSet), anyString()))
+        .thenAnswer(i -> jsonMapper.createObjectNode().put("id", dataSet.getUid()));
+    when(fieldFilterService.toObjectNodes(any(FieldFilterParams.class))).thenReturn(List.of());
+  }
+
+  @Test
+  void testGetCompressedDataSetMetadataForUsersWithDifferentOrgUnits() throws IOException {
+    // both users have write access to the same data set but are assigned to other org units
+    when(idObjectManager.getDataWriteAll(DataSet.class)).thenReturn(List.of(dataSet));
+    when(dataSetService.getDataSetOrganisationUnitsAssociations())
+        .thenReturn(getAssociations("orgUnitUidA"), getAssociations("orgUnitUidB"));
+
+    Date lastModified = new Date();
+    JsonNode metadataA = decompress(service.getCompressedDataSetMetadata(lastModified));
+    JsonNode metadataB = decompress(service.getCompressedDataSetMetadata(lastModified));
+
+    assertEquals("[\"orgUnitUidA\"]", metadataA.at("/dataSets/0/organisationUnits").toString());
+    assertEquals("[\"orgUnitUidB\"]", metadataB.at("/dataSets/0/organisationUnits").toString());
+  }
+
+  private SetValuedMap<String, String> getAssociations(String orgUnit) {
+    SetValuedMap<String, String> associations = new HashSetValuedHashMap<>();
+    associations.put(dataSet.getUid(), orgUnit);
+    return associations;
+  }
+
+  private JsonNode decompress(byte[] compressed) throws IOException {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      return jsonMapper.readTree(in);
+    }
+  }
+}
@@ -60,7 +60,7 @@ class ObjectBundleHooksTest {
       new ObjectBundleHooks(
           asList(
               new OrganisationUnitObjectBundleHook(null, null),
-              new UserObjectBundleHook(null, null, null, null, null),
+              new UserObjectBundleHook(null, null, null, null, null, null),
               new IdentifiableObjectBundleHook(null),
               new VersionedObjectObjectBundleHook(),
               new AnalyticalObjectObjectBundleHook(null)));
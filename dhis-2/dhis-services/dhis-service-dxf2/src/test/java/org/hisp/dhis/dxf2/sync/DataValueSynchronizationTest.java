@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+import org.hisp.dhis.datavalue.DataValueService;
+import org.hisp.dhis.dxf2.datavalueset.DataValueSetService;
+import org.hisp.dhis.dxf2.datavalueset.DataValueSyncWatermark;
+import org.hisp.dhis.dxf2.importsummary.ImportStatus;
+import org.hisp.dhis.dxf2.importsummary.ImportSummary;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.scheduling.NoopJobProgress;
+import org.hisp.dhis.setting.SettingKey;
+import org.hisp.dhis.setting.SystemSettingManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+/** Tests the chunked sending and the checkpoint of the {@link DataValueSynchronization}. */
+@ExtendWith(MockitoExtension.class)
+class DataValueSynchronizationTest {
+  private static final List<DataValueSyncWatermark> CHUNKS =
+      List.of(watermark(1), watermark(2), watermark(3));
+
+  @Mock private DataValueService dataValueService;
+
+  @Mock private DataValueSetService dataValueSetService;
+
+  @Mock private SystemSettingManager settings;
+
+  @Mock private RestTemplate restTemplate;
+
+  @Mock private DhisConfigurationProvider config;
+
+  @InjectMocks private DataValueSynchronization synchronization;
+
+  private final Map<SettingKey, Serializable> storedSettings = new ConcurrentHashMap<>();
+
+  private final List<DataValueSyncWatermark> exportedAfter = new CopyOnWriteArrayList<>();
+
+  private final Set<String> failingChunks = ConcurrentHashMap.newKeySet();
+
+  @BeforeEach
+  void setUp() {
+    storedSettings.put(SettingKey.REMOTE_INSTANCE_URL, "http://remote");
+    storedSettings.put(SettingKey.REMOTE_INSTANCE_USERNAME, "admin");
+    storedSettings.put(SettingKey.REMOTE_INSTANCE_PASSWORD, "district");
+
+    when(settings.getStringSetting(any()))
+        .thenAnswer(invocation -> (String) storedSettings.get(invocation.getArgument(0)));
+    when(settings.getDateSetting(any())).thenReturn(new Date(0));
+    doAnswer(invocation -> storedSettings.put(invocation.getArgument(0), invocation.getArgument(1)))
+        .when(settings)
+        .saveSystemSetting(any(), any());
+    when(config.getProperty(ConfigurationKey.SYNC_DATA_VALUES_PARALLELISM)).thenReturn("2");
+    when(restTemplate.exchange(
+            anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+        .thenReturn(ResponseEntity.ok("pong"));
+    when(dataValueService.getDataValueCountLastUpdatedAfter(any(), eq(true)))
+        .thenReturn(CHUNKS.size());
+    when(dataValueSetService.exportDataValueSetJson(any(), any(), any(), any(), eq(1)))
+        .thenAnswer(
+            invocation -> {
+              DataValueSyncWatermark after = invocation.getArgument(1);
+              exportedAfter.add(after);
+              int next = after == null ? 0 : CHUNKS.indexOf(after) + 1;
+              if (next == CHUNKS.size()) {
+                return null;
+              }
+              OutputStream out = invocation.getArgument(2);
+              out.write(("chunk-" + next).getBytes(StandardCharsets.UTF_8));
+              return CHUNKS.get(next);
+            });
+    when(restTemplate.execute(
+            anyString(),
+            eq(HttpMethod.POST),
+            any(RequestCallback.class),
+            any(ResponseExtractor.class)))
+        .thenAnswer(
+            invocation -> {
+              MockClientHttpRequest request = new MockClientHttpRequest();
+              invocation.<RequestCallback>getArgument(2).doWithRequest(request);
+              assertEquals("gzip", request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+              String chunk = gunzip(request.getBodyAsBytes());
+              return failingChunks.contains(chunk)
+                  ? new ImportSummary(ImportStatus.ERROR)
+                  : new ImportSummary(ImportStatus.SUCCESS);
+            });
+  }
+
+  @Test
+  void testSynchronizeDataResumesAfterFailedChunk() {
+    failingChunks.add("chunk-1");
+
+    SynchronizationResult failed = synchronization.synchronizeData(1, NoopJobProgress.INSTANCE);
+
+    assertEquals(SynchronizationStatus.FAILURE, failed.status);
+    assertNull(exportedAfter.get(0));
+    assertEquals(
+        CHUNKS.get(0).toString(), storedSettings.get(SettingKey.DATA_VALUE_SYNC_CHECKPOINT));
+
+    failingChunks.clear();
+    exportedAfter.clear();
+
+    SynchronizationResult resumed = synchronization.synchronizeData(1, NoopJobProgress.INSTANCE);
+
+    assertEquals(SynchronizationStatus.SUCCESS, resumed.status);
+    assertEquals(List.of(CHUNKS.get(0), CHUNKS.get(1), CHUNKS.get(2)), exportedAfter);
+  }
+
+  private static DataValueSyncWatermark watermark(long dataElementId) {
+    return new DataValueSyncWatermark(
+        Timestamp.valueOf("2024-03-01 12:30:45.0"), dataElementId, 2L, 3L, 4L, 5L);
+  }
+
+  private static String gunzip(byte[] body) throws IOException {
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -131,6 +131,7 @@ public enum SettingKey {
       "keyLastSuccessfulLatestAnalyticsPartitionRuntime"),
   LAST_MONITORING_RUN("keyLastMonitoringRun", Date.class),
   LAST_SUCCESSFUL_DATA_VALUE_SYNC("keyLastSuccessfulDataSynch", new Date(0), Date.class),
+  DATA_VALUE_SYNC_CHECKPOINT("keyDataValueSyncCheckpoint", "", String.class),
   LAST_SUCCESSFUL_EVENT_DATA_SYNC("keyLastSuccessfulEventsDataSynch", new Date(0), Date.class),
   LAST_SUCCESSFUL_COMPLETE_DATA_SET_REGISTRATION_SYNC(
       "keyLastCompleteDataSetRegistrationSyncSuccess", new Date(0), Date.class),
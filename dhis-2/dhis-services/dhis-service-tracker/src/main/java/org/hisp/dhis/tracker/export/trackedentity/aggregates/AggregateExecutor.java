@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.export.trackedentity.aggregates;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.hisp.dhis.commons.util.VirtualThreadUtils;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.system.util.BoundedExecutor;
+import org.hisp.dhis.system.util.ThreadUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executor for the database queries of the tracked entity aggregates. The number of concurrent
+ * queries across all requests is bounded relative to the size of the database connection pool, and
+ * callers block while the limit is reached. Large lists of primary keys are split into chunks which
+ * are fetched in parallel.
+ *
+ * <p>Tasks which wait for other fetches, like merging results or fetching nested aggregates, must
+ * run on the unbounded {@link #getDelegate() delegate} to avoid deadlocks.
+ */
+@Slf4j
+@Component("org.hisp.dhis.tracker.trackedentity.aggregates.AggregateExecutor")
+public class AggregateExecutor extends BoundedExecutor {
+  /** Number of primary keys fetched by a single query. */
+  static final int CHUNK_SIZE = 5000;
+
+  public AggregateExecutor(DhisConfigurationProvider config) {
+    super("tracker-aggregate", createDelegate(config), getMaxConcurrency(config));
+
+    log.info("Tracker aggregate executor max concurrency: {}", getMaxConcurrency());
+  }
+
+  /**
+   * Fetches the given primary keys in chunks in parallel, if the condition is true.
+   *
+   * @param condition if false, an empty result is returned without querying.
+   * @param ids the list of primary keys.
+   * @param fetcher the function fetching a chunk of primary keys.
+   * @return a {@link CompletableFuture} with the merged result of all chunks.
+   */
+  <T> CompletableFuture<Multimap<String, T>> fetch(
+      boolean condition, List<Long> ids, Function<List<Long>, Multimap<String, T>> fetcher) {
+    if (!condition) {
+      return CompletableFuture.completedFuture(ArrayListMultimap.create());
+    }
+
+    return fetch(ids, fetcher, AggregateExecutor::merge);
+  }
+
+  /**
+   * Fetches the given primary keys in chunks in parallel. The order of the merged result follows
+   * the order of the primary keys.
+   *
+   * @param ids the list of primary keys.
+   * @param fetcher the function fetching a chunk of primary keys.
+   * @return a {@link CompletableFuture} with the merged result of all chunks.
+   */
+  <K, V> CompletableFuture<Map<K, V>> fetchMap(
+      List<Long> ids, Function<List<Long>, Map<K, V>> fetcher) {
+    return fetch(ids, fetcher, AggregateExecutor::merge);
+  }
+
+  /**
+   * Fetches the given primary keys in chunks of {@link #CHUNK_SIZE} in parallel, and merges the
+   * results in the order of the chunks.
+   *
+   * @param ids the list of primary keys.
+   * @param fetcher the function fetching a chunk of primary keys.
+   * @param merger the function merging the results of two chunks.
+   * @return a {@link CompletableFuture} with the merged result of all chunks.
+   */
+  <R> CompletableFuture<R> fetch(
+      List<Long> ids, Function<List<Long>, R> fetcher, BinaryOperator<R> merger) {
+    if (ids.size() <= CHUNK_SIZE) {
+      return supplyAsync(() -> fetcher.apply(ids));
+    }
+
+    List<CompletableFuture<R>> chunks =
+        Lists.partition(ids, CHUNK_SIZE).stream()
+            .map(chunk -> supplyAsync(() -> fetcher.apply(chunk)))
+            .toList();
+
+    return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+        .thenApplyAsync(
+            fn -> chunks.stream().map(CompletableFuture::join).reduce(merger).orElseThrow(),
+            getDelegate());
+  }
+
+  private static <T> Multimap<String, T> merge(Multimap<String, T> a, Multimap<String, T> b) {
+    Multimap<String, T> merged = ArrayListMultimap.create(a);
+    merged.putAll(b);
+    return merged;
+  }
+
+  private static <K, V> Map<K, V> merge(Map<K, V> a, Map<K, V> b) {
+    Map<K, V> merged = new LinkedHashMap<>(a);
+    merged.putAll(b);
+    return merged;
+  }
+
+  /**
+   * Creates the delegate executor. Virtual threads are used if enabled, otherwise a cached pool of
+   * daemon threads. The number of threads running queries is bounded by the max concurrency.
+   */
+  private static Executor createDelegate(DhisConfigurationProvider config) {
+    if (ThreadUtils.isVirtualThreadsEnabled(config)) {
+      return VirtualThreadUtils.newVirtualThreadPerTaskExecutor("TRACKER-TE-FETCH-");
+    }
+
+    return Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setNameFormat("TRACKER-TE-FETCH-%d").setDaemon(true).build());
+  }
+
+  /**
+   * Returns the configured max concurrency, or half the size of the database connection pool if not
+   * configured.
+   */
+  private static int getMaxConcurrency(DhisConfigurationProvider config) {
+    String maxConcurrency = config.getProperty(ConfigurationKey.TRACKER_AGGREGATE_MAX_CONCURRENCY);
+
+    if (StringUtils.isNotBlank(maxConcurrency)) {
+      return Integer.parseInt(maxConcurrency);
+    }
+
+    return Math.max(1, ThreadUtils.getDatabaseConcurrency(config) / 2);
+  }
+}
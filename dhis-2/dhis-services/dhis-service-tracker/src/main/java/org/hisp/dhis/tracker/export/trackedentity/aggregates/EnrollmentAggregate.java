@@ -28,8 +28,10 @@
 package org.hisp.dhis.tracker.export.trackedentity.aggregates;
 
 import static java.util.concurrent.CompletableFuture.allOf;
-import static org.hisp.dhis.tracker.export.trackedentity.aggregates.ThreadPoolManager.getPool;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -52,7 +54,7 @@ import org.springframework.stereotype.Component;
  */
 @Component("org.hisp.dhis.tracker.trackedentity.aggregates.EnrollmentAggregate")
 @RequiredArgsConstructor
-public class EnrollmentAggregate implements Aggregate {
+public class EnrollmentAggregate {
   @Qualifier("org.hisp.dhis.tracker.trackedentity.aggregates.EnrollmentStore")
   @Nonnull
   private final EnrollmentStore enrollmentStore;
@@ -61,6 +63,10 @@ public class EnrollmentAggregate implements Aggregate {
   @Nonnull
   private final EventAggregate eventAggregate;
 
+  @Qualifier("org.hisp.dhis.tracker.trackedentity.aggregates.AggregateExecutor")
+  @Nonnull
+  private final AggregateExecutor executor;
+
   /**
    * Key: te uid , value Enrollment
    *
@@ -70,7 +76,9 @@ public class EnrollmentAggregate implements Aggregate {
    */
   Multimap<String, Enrollment> findByTrackedEntityIds(List<Long> ids, Context ctx) {
     Multimap<String, Enrollment> enrollments =
-        enrollmentStore.getEnrollmentsByTrackedEntityIds(ids, ctx);
+        executor
+            .fetch(true, ids, chunk -> enrollmentStore.getEnrollmentsByTrackedEntityIds(chunk, ctx))
+            .join();
 
     if (enrollments.isEmpty()) {
       return enrollments;
@@ -79,26 +87,31 @@ public class EnrollmentAggregate implements Aggregate {
     List<Long> enrollmentIds =
         enrollments.values().stream().map(Enrollment::getId).collect(Collectors.toList());
 
+    /*
+     * The event aggregate waits for nested fetches, hence it runs on the
+     * unbounded delegate executor.
+     */
     final CompletableFuture<Multimap<String, Event>> eventAsync =
-        conditionalAsyncFetch(
-            ctx.getParams().getEnrollmentParams().isIncludeEvents(),
-            () -> eventAggregate.findByEnrollmentIds(enrollmentIds, ctx),
-            getPool());
+        ctx.getParams().getEnrollmentParams().isIncludeEvents()
+            ? supplyAsync(
+                () -> eventAggregate.findByEnrollmentIds(enrollmentIds, ctx),
+                executor.getDelegate())
+            : completedFuture(ArrayListMultimap.create());
 
     final CompletableFuture<Multimap<String, RelationshipItem>> relationshipAsync =
-        conditionalAsyncFetch(
+        executor.fetch(
             ctx.getParams().getEnrollmentParams().isIncludeRelationships(),
-            () -> enrollmentStore.getRelationships(enrollmentIds, ctx),
-            getPool());
+            enrollmentIds,
+            chunk -> enrollmentStore.getRelationships(chunk, ctx));
 
     final CompletableFuture<Multimap<String, Note>> notesAsync =
-        asyncFetch(() -> enrollmentStore.getNotes(enrollmentIds), getPool());
+        executor.fetch(true, enrollmentIds, enrollmentStore::getNotes);
 
     final CompletableFuture<Multimap<String, TrackedEntityAttributeValue>> attributesAsync =
-        conditionalAsyncFetch(
+        executor.fetch(
             ctx.getParams().getTeEnrollmentParams().isIncludeAttributes(),
-            () -> enrollmentStore.getAttributes(enrollmentIds, ctx),
-            getPool());
+            enrollmentIds,
+            chunk -> enrollmentStore.getAttributes(chunk, ctx));
 
     return allOf(eventAsync, notesAsync, relationshipAsync, attributesAsync)
         .thenApplyAsync(
@@ -128,7 +141,7 @@ public class EnrollmentAggregate implements Aggregate {
 
               return enrollments;
             },
-            getPool())
+            executor.getDelegate())
         .join();
   }
 }
@@ -28,8 +28,6 @@
 package org.hisp.dhis.tracker.export.trackedentity.aggregates;
 
 import static java.util.concurrent.CompletableFuture.allOf;
-import static java.util.concurrent.CompletableFuture.supplyAsync;
-import static org.hisp.dhis.tracker.export.trackedentity.aggregates.ThreadPoolManager.getPool;
 
 import com.google.common.collect.Multimap;
 import java.util.ArrayList;
@@ -52,11 +50,15 @@ import org.springframework.stereotype.Component;
  */
 @Component("org.hisp.dhis.tracker.trackedentity.aggregates.EventAggregate")
 @RequiredArgsConstructor
-public class EventAggregate implements Aggregate {
+public class EventAggregate {
   @Qualifier("org.hisp.dhis.tracker.trackedentity.aggregates.EventStore")
   @Nonnull
   private final EventStore eventStore;
 
+  @Qualifier("org.hisp.dhis.tracker.trackedentity.aggregates.AggregateExecutor")
+  @Nonnull
+  private final AggregateExecutor executor;
+
   /**
    * Key: enrollment uid -> Value: Event
    *
@@ -68,7 +70,8 @@ public class EventAggregate implements Aggregate {
   Multimap<String, Event> findByEnrollmentIds(List<Long> ids, Context ctx) {
     // Fetch all the Events that are linked to the given Enrollment IDs
 
-    Multimap<String, Event> events = this.eventStore.getEventsByEnrollmentIds(ids, ctx);
+    Multimap<String, Event> events =
+        executor.fetch(true, ids, chunk -> eventStore.getEventsByEnrollmentIds(chunk, ctx)).join();
 
     if (events.isEmpty()) {
       return events;
@@ -81,22 +84,22 @@ public class EventAggregate implements Aggregate {
      * isIncludeRelationships = true)
      */
     final CompletableFuture<Multimap<String, RelationshipItem>> relationshipAsync =
-        conditionalAsyncFetch(
+        executor.fetch(
             ctx.getParams().getEventParams().isIncludeRelationships(),
-            () -> eventStore.getRelationships(eventIds, ctx),
-            getPool());
+            eventIds,
+            chunk -> eventStore.getRelationships(chunk, ctx));
 
     /*
      * Async fetch Notes for the given Event ids
      */
     final CompletableFuture<Multimap<String, Note>> notesAsync =
-        asyncFetch(() -> eventStore.getNotes(eventIds), getPool());
+        executor.fetch(true, eventIds, eventStore::getNotes);
 
     /*
      * Async fetch DataValues for the given Event ids
      */
     final CompletableFuture<Map<String, List<EventDataValue>>> dataValuesAsync =
-        supplyAsync(() -> eventStore.getDataValues(eventIds), getPool());
+        executor.fetchMap(eventIds, eventStore::getDataValues);
 
     return allOf(dataValuesAsync, notesAsync, relationshipAsync)
         .thenApplyAsync(
@@ -119,7 +122,7 @@ public class EventAggregate implements Aggregate {
 
               return events;
             },
-            getPool())
+            executor.getDelegate())
         .join();
   }
 }
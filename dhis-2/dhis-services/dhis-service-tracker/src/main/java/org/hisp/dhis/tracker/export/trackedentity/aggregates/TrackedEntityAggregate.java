@@ -28,10 +28,11 @@
 package org.hisp.dhis.tracker.export.trackedentity.aggregates;
 
 import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static org.hisp.dhis.common.OrganisationUnitSelectionMode.ALL;
-import static org.hisp.dhis.tracker.export.trackedentity.aggregates.ThreadPoolManager.getPool;
 
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import java.util.Collection;
@@ -74,7 +75,7 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @RequiredArgsConstructor
-public class TrackedEntityAggregate implements Aggregate {
+public class TrackedEntityAggregate {
   @Nonnull private final TrackedEntityStore trackedEntityStore;
 
   @Qualifier("org.hisp.dhis.tracker.trackedentity.aggregates.EnrollmentAggregate")
@@ -91,6 +92,10 @@ public class TrackedEntityAggregate implements Aggregate {
 
   @Nonnull private final CacheProvider cacheProvider;
 
+  @Qualifier("org.hisp.dhis.tracker.trackedentity.aggregates.AggregateExecutor")
+  @Nonnull
+  private final AggregateExecutor executor;
+
   private Cache<Set<TrackedEntityAttribute>> teAttributesCache;
 
   private Cache<Map<Program, Set<TrackedEntityAttribute>>> programTeiAttributesCache;
@@ -173,51 +178,50 @@ public class TrackedEntityAggregate implements Aggregate {
      * isIncludeRelationships = true)
      */
     final CompletableFuture<Multimap<String, RelationshipItem>> relationshipsAsync =
-        conditionalAsyncFetch(
+        executor.fetch(
             ctx.getParams().isIncludeRelationships(),
-            () -> trackedEntityStore.getRelationships(ids, ctx),
-            getPool());
+            ids,
+            chunk -> trackedEntityStore.getRelationships(chunk, ctx));
 
     /*
      * Async fetch Enrollments for the given TrackedEntity id (only if
-     * isIncludeEnrollments = true)
+     * isIncludeEnrollments = true). The enrollment aggregate waits for
+     * nested fetches, hence it runs on the unbounded delegate executor.
      */
     final CompletableFuture<Multimap<String, Enrollment>> enrollmentsAsync =
-        conditionalAsyncFetch(
-            ctx.getParams().isIncludeEnrollments(),
-            () -> enrollmentAggregate.findByTrackedEntityIds(ids, ctx),
-            getPool());
+        ctx.getParams().isIncludeEnrollments()
+            ? supplyAsync(
+                () -> enrollmentAggregate.findByTrackedEntityIds(ids, ctx), executor.getDelegate())
+            : completedFuture(ArrayListMultimap.create());
 
     /*
      * Async fetch all ProgramOwner for the given TrackedEntity id
      */
     final CompletableFuture<Multimap<String, TrackedEntityProgramOwner>> programOwnersAsync =
-        conditionalAsyncFetch(
-            ctx.getParams().isIncludeProgramOwners(),
-            () -> trackedEntityStore.getProgramOwners(ids),
-            getPool());
+        executor.fetch(
+            ctx.getParams().isIncludeProgramOwners(), ids, trackedEntityStore::getProgramOwners);
 
     /*
      * Async Fetch TrackedEntities by id
      */
     final CompletableFuture<Map<String, TrackedEntity>> trackedEntitiesAsync =
-        supplyAsync(() -> trackedEntityStore.getTrackedEntities(ids, ctx), getPool());
+        executor.fetchMap(ids, chunk -> trackedEntityStore.getTrackedEntities(chunk, ctx));
 
     /*
      * Async fetch TrackedEntity Attributes by TrackedEntity id
      */
     final CompletableFuture<Multimap<String, TrackedEntityAttributeValue>> attributesAsync =
-        supplyAsync(() -> trackedEntityStore.getAttributes(ids), getPool());
+        executor.fetch(true, ids, trackedEntityStore::getAttributes);
 
     /*
      * Async fetch Owned Tei mapped to the provided program attributes by
      * TrackedEntity id
      */
     final CompletableFuture<Multimap<String, String>> ownedTeiAsync =
-        conditionalAsyncFetch(
+        executor.fetch(
             user.isPresent(),
-            () -> trackedEntityStore.getOwnedTeis(ids, ctx, orgUnitMode == ALL),
-            getPool());
+            ids,
+            chunk -> trackedEntityStore.getOwnedTeis(chunk, ctx, orgUnitMode == ALL));
     /*
      * Execute all queries and merge the results
      */
@@ -270,7 +274,7 @@ public class TrackedEntityAggregate implements Aggregate {
                       })
                   .collect(Collectors.toList());
             },
-            getPool())
+            executor.getDelegate())
         .join();
   }
 
@@ -338,18 +342,17 @@ public class TrackedEntityAggregate implements Aggregate {
    */
   private Context getSecurityContext(String userUID, List<String> userGroupUIDs) {
     final CompletableFuture<List<Long>> getTeiTypes =
-        supplyAsync(
-            () -> aclStore.getAccessibleTrackedEntityTypes(userUID, userGroupUIDs), getPool());
+        executor.supplyAsync(
+            () -> aclStore.getAccessibleTrackedEntityTypes(userUID, userGroupUIDs));
 
     final CompletableFuture<List<Long>> getPrograms =
-        supplyAsync(() -> aclStore.getAccessiblePrograms(userUID, userGroupUIDs), getPool());
+        executor.supplyAsync(() -> aclStore.getAccessiblePrograms(userUID, userGroupUIDs));
 
     final CompletableFuture<List<Long>> getProgramStages =
-        supplyAsync(() -> aclStore.getAccessibleProgramStages(userUID, userGroupUIDs), getPool());
+        executor.supplyAsync(() -> aclStore.getAccessibleProgramStages(userUID, userGroupUIDs));
 
     final CompletableFuture<List<Long>> getRelationshipTypes =
-        supplyAsync(
-            () -> aclStore.getAccessibleRelationshipTypes(userUID, userGroupUIDs), getPool());
+        executor.supplyAsync(() -> aclStore.getAccessibleRelationshipTypes(userUID, userGroupUIDs));
 
     return allOf(getTeiTypes, getPrograms, getProgramStages, getRelationshipTypes)
         .thenApplyAsync(
@@ -360,7 +363,7 @@ public class TrackedEntityAggregate implements Aggregate {
                     .programStages(getProgramStages.join())
                     .relationshipTypes(getRelationshipTypes.join())
                     .build(),
-            getPool())
+            executor.getDelegate())
         .join();
   }
 }
@@ -37,16 +37,20 @@ import static org.hisp.dhis.outlierdetection.OutliersSqlParamName.START_DATE;
 import static org.hisp.dhis.outlierdetection.OutliersSqlParamName.THRESHOLD;
 
 import java.util.Date;
+import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.outlierdetection.Order;
 import org.hisp.dhis.outlierdetection.OutlierDetectionRequest;
+import org.hisp.dhis.outlierdetection.service.OutlierStatisticsManager;
 import org.hisp.dhis.outlierdetection.util.OutlierDetectionUtils;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 public class ZscoreSqlStatementProcessor implements OutlierSqlStatementProcessor {
+  private final OutlierStatisticsManager outlierStatisticsManager;
 
   /**
    * The function retries the sql statement for inspection of outliers. Z-Score and modified Z-Score
@@ -62,14 +66,8 @@ public class ZscoreSqlStatementProcessor implements OutlierSqlStatementProcessor
     }
 
     String ouPathClause = OutlierDetectionUtils.getOrgUnitPathClause(request.getOrgUnits(), "ou");
-    String dataStartDateClause = getDataStartDateClause(request.getDataStartDate());
-    String dataEndDateClause = getDataEndDateClause(request.getDataEndDate());
 
     boolean modifiedZ = request.getAlgorithm() == MOD_Z_SCORE;
-    String middleStatsCalc =
-        modifiedZ
-            ? "percentile_cont(0.5) within group(order by dv.value::double precision)"
-            : "avg(dv.value::double precision)";
 
     String order =
         request.getOrderBy() == Order.MEAN_ABS_DEV
@@ -124,25 +122,7 @@ public class ZscoreSqlStatementProcessor implements OutlierSqlStatementProcessor
         +
         // Mean or Median and std dev mapping query
         "inner join ("
-        + "select dv.dataelementid as dataelementid, dv.sourceid as sourceid, "
-        + "dv.categoryoptioncomboid as categoryoptioncomboid, "
-        + "dv.attributeoptioncomboid as attributeoptioncomboid, "
-        + middleStatsCalc
-        + " as middle_value, "
-        + "stddev_pop(dv.value::double precision) as std_dev "
-        + "from datavalue dv "
-        + "inner join period pe on dv.periodid = pe.periodid "
-        + "inner join organisationunit ou on dv.sourceid = ou.organisationunitid "
-        + "where dv.dataelementid in (:"
-        + DATA_ELEMENT_IDS.getKey()
-        + ") "
-        + dataStartDateClause
-        + dataEndDateClause
-        + "and "
-        + ouPathClause
-        + " "
-        + "and dv.deleted is false "
-        + "group by dv.dataelementid, dv.sourceid, dv.categoryoptioncomboid, dv.attributeoptioncomboid"
+        + getStatsSql(request, modifiedZ, ouPathClause)
         + ") as stats "
         +
         // Query join
@@ -166,6 +146,59 @@ public class ZscoreSqlStatementProcessor implements OutlierSqlStatementProcessor
         + ";";
   }
 
+  /**
+   * Returns the query of the middle value and standard deviation per data element, org unit,
+   * category option combo and attribute option combo. The precomputed statistics are used when
+   * available and the statistics are not restricted to a data start or end date, otherwise the
+   * statistics are aggregated from the data values.
+   *
+   * @param request the instance of {@link OutlierDetectionRequest}.
+   * @param modifiedZ whether the median rather than the mean is the middle value.
+   * @param ouPathClause the org unit path clause.
+   * @return sql statement for the statistics.
+   */
+  private String getStatsSql(
+      OutlierDetectionRequest request, boolean modifiedZ, String ouPathClause) {
+    if (request.getDataStartDate() == null
+        && request.getDataEndDate() == null
+        && outlierStatisticsManager.isStatisticsAvailable()) {
+      return "select st.dataelementid, st.sourceid, "
+          + "st.categoryoptioncomboid, st.attributeoptioncomboid, "
+          + (modifiedZ ? "st.median" : "st.mean")
+          + " as middle_value, "
+          + "st.stddev as std_dev "
+          + "from datavaluestatistics st "
+          + "where st.dataelementid in (:"
+          + DATA_ELEMENT_IDS.getKey()
+          + ")";
+    }
+
+    String middleStatsCalc =
+        modifiedZ
+            ? "percentile_cont(0.5) within group(order by dv.value::double precision)"
+            : "avg(dv.value::double precision)";
+
+    return "select dv.dataelementid as dataelementid, dv.sourceid as sourceid, "
+        + "dv.categoryoptioncomboid as categoryoptioncomboid, "
+        + "dv.attributeoptioncomboid as attributeoptioncomboid, "
+        + middleStatsCalc
+        + " as middle_value, "
+        + "stddev_pop(dv.value::double precision) as std_dev "
+        + "from datavalue dv "
+        + "inner join period pe on dv.periodid = pe.periodid "
+        + "inner join organisationunit ou on dv.sourceid = ou.organisationunitid "
+        + "where dv.dataelementid in (:"
+        + DATA_ELEMENT_IDS.getKey()
+        + ") "
+        + getDataStartDateClause(request.getDataStartDate())
+        + getDataEndDateClause(request.getDataEndDate())
+        + "and "
+        + ouPathClause
+        + " "
+        + "and dv.deleted is false "
+        + "group by dv.dataelementid, dv.sourceid, dv.categoryoptioncomboid, dv.attributeoptioncomboid";
+  }
+
   /**
    * To avoid the sql injection and decrease the load of the database engine (query plan caching)
    * the named params are in use.
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.outlierdetection.service;
+
+import static java.util.stream.Collectors.joining;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Manager for the precomputed data value statistics which are used by the z-score and modified
+ * z-score outlier detection instead of aggregating the full history of data values for every
+ * request.
+ *
+ * <p>The statistics are kept per data element, organisation unit, category option combo and
+ * attribute option combo. A refresh only recomputes the combinations which have data values updated
+ * since the previous refresh, and removes the statistics of combinations which no longer have any
+ * data value.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutlierStatisticsManager {
+  /**
+   * Overlap of consecutive refreshes, covers data values which were written with an earlier last
+   * updated timestamp but committed after the previous refresh started.
+   */
+  private static final long REFRESH_OVERLAP_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+  private static final String NUMERIC_VALUE_TYPES =
+      ValueType.NUMERIC_TYPES.stream().map(type -> "'" + type.name() + "'").collect(joining(","));
+
+  private static final String CHANGED_SQL =
+      "select distinct dv.dataelementid, dv.sourceid, dv.categoryoptioncomboid, dv.attributeoptioncomboid "
+          + "from datavalue dv "
+          + "where dv.lastupdated >= :since";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  private final DhisConfigurationProvider config;
+
+  /**
+   * @return true if outlier detection should read the precomputed statistics, which is the case
+   *     when enabled and the statistics have been computed at least once
+   */
+  public boolean isStatisticsAvailable() {
+    return config.isEnabled(ConfigurationKey.OUTLIER_STATISTICS_ENABLED)
+        && getLastRefresh() != null;
+  }
+
+  /**
+   * @return the time of the most recent refresh or null if statistics were never computed
+   */
+  public Date getLastRefresh() {
+    return jdbcTemplate.queryForObject(
+        "select max(lastupdated) from datavaluestatistics",
+        new MapSqlParameterSource(),
+        Timestamp.class);
+  }
+
+  /**
+   * Recomputes the statistics of all combinations which have data values updated since the previous
+   * refresh, or of all combinations if statistics were never computed.
+   *
+   * @return the number of combinations which were recomputed
+   */
+  @Transactional
+  public int refresh() {
+    Date lastRefresh = getLastRefresh();
+    Date now = new Date();
+    Date since =
+        lastRefresh == null
+            ? new Date(0)
+            : new Date(lastRefresh.getTime() - REFRESH_OVERLAP_MILLIS);
+
+    MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("since", new Timestamp(since.getTime()))
+            .addValue("now", new Timestamp(now.getTime()));
+
+    String upsertSql =
+        "insert into datavaluestatistics (dataelementid, sourceid, categoryoptioncomboid, "
+            + "attributeoptioncomboid, valuecount, mean, median, stddev, lastupdated) "
+            + "select dv.dataelementid, dv.sourceid, dv.categoryoptioncomboid, dv.attributeoptioncomboid, "
+            + "count(*), avg(dv.value::double precision), "
+            + "percentile_cont(0.5) within group(order by dv.value::double precision), "
+            + "stddev_pop(dv.value::double precision), :now "
+            + "from datavalue dv "
+            + "inner join dataelement de on dv.dataelementid = de.dataelementid "
+            + "where (dv.dataelementid, dv.sourceid, dv.categoryoptioncomboid, dv.attributeoptioncomboid) in ("
+            + CHANGED_SQL
+            + ") "
+            + "and de.valuetype in ("
+            + NUMERIC_VALUE_TYPES
+            + ") "
+            + "and dv.deleted is false "
+            + "and dv.value ~ '^[-+]?[0-9]*\\.?[0-9]+([eE][-+]?[0-9]+)?$' "
+            + "group by dv.dataelementid, dv.sourceid, dv.categoryoptioncomboid, dv.attributeoptioncomboid "
+            + "on conflict (dataelementid, sourceid, categoryoptioncomboid, attributeoptioncomboid) "
+            + "do update set valuecount = excluded.valuecount, mean = excluded.mean, "
+            + "median = excluded.median, stddev = excluded.stddev, lastupdated = excluded.lastupdated";
+
+    int updated = jdbcTemplate.update(upsertSql, params);
+
+    // Combinations without any remaining non-deleted value were not recomputed
+
+    String deleteSql =
+        "delete from datavaluestatistics dvs "
+            + "where dvs.lastupdated < :now "
+            + "and (dvs.dataelementid, dvs.sourceid, dvs.categoryoptioncomboid, dvs.attributeoptioncomboid) in ("
+            + CHANGED_SQL
+            + ")";
+
+    jdbcTemplate.update(deleteSql, params);
+
+    // Hard deleted data values are not found as changed values, remove
+    // the statistics of combinations without any remaining data value
+
+    String orphanSql =
+        "delete from datavaluestatistics dvs "
+            + "where not exists (select 1 from datavalue dv "
+            + "where dv.dataelementid = dvs.dataelementid and dv.sourceid = dvs.sourceid "
+            + "and dv.categoryoptioncomboid = dvs.categoryoptioncomboid "
+            + "and dv.attributeoptioncomboid = dvs.attributeoptioncomboid)";
+
+    jdbcTemplate.update(orphanSql, params);
+
+    return updated;
+  }
+}
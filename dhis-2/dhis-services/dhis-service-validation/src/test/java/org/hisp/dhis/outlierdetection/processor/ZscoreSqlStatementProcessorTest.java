@@ -31,7 +31,9 @@ import static org.hisp.dhis.DhisConvenienceTest.createDataElement;
 import static org.hisp.dhis.DhisConvenienceTest.createOrganisationUnit;
 import static org.hisp.dhis.DhisConvenienceTest.getDate;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
 
 import com.google.common.collect.Lists;
 import org.apache.commons.lang3.StringUtils;
@@ -41,10 +43,17 @@ import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.outlierdetection.OutlierDetectionAlgorithm;
 import org.hisp.dhis.outlierdetection.OutlierDetectionRequest;
+import org.hisp.dhis.outlierdetection.service.OutlierStatisticsManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
 
+@ExtendWith(MockitoExtension.class)
 class ZscoreSqlStatementProcessorTest {
+  @Mock private OutlierStatisticsManager outlierStatisticsManager;
+
   private OutlierSqlStatementProcessor subject;
 
   // -------------------------------------------------------------------------
@@ -63,7 +72,7 @@ class ZscoreSqlStatementProcessorTest {
 
   @BeforeEach
   public void setUp() {
-    subject = new ZscoreSqlStatementProcessor();
+    subject = new ZscoreSqlStatementProcessor(outlierStatisticsManager);
 
     deA = createDataElement('A', ValueType.INTEGER, AggregationType.SUM);
     deB = createDataElement('B', ValueType.INTEGER, AggregationType.SUM);
@@ -114,6 +123,23 @@ class ZscoreSqlStatementProcessorTest {
         sql.contains("percentile_cont(0.5) within group(order by dv.value::double precision)"));
   }
 
+  @Test
+  void testGetSqlStatementWithStatistics() {
+    when(outlierStatisticsManager.isStatisticsAvailable()).thenReturn(true);
+
+    OutlierDetectionRequest request =
+        new OutlierDetectionRequest.Builder()
+            .withDataElements(Lists.newArrayList(deA, deB, deC))
+            .withStartEndDate(getDate(2020, 1, 1), getDate(2020, 3, 1))
+            .withOrgUnits(Lists.newArrayList(ouA, ouB))
+            .withAlgorithm(OutlierDetectionAlgorithm.MOD_Z_SCORE)
+            .build();
+    String sql = subject.getSqlStatement(request);
+    assertTrue(sql.contains("st.median as middle_value, st.stddev as std_dev"));
+    assertTrue(sql.contains("from datavaluestatistics st"));
+    assertFalse(sql.contains("percentile_cont"));
+  }
+
   @Test
   void testGetSqlStatementWithNullRequest() {
     assertEquals(StringUtils.EMPTY, subject.getSqlStatement(null));
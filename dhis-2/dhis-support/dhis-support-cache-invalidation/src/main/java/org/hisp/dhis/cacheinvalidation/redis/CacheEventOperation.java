@@ -31,5 +31,7 @@ public enum CacheEventOperation {
   INSERT,
   UPDATE,
   DELETE,
-  COLLECTION
+  COLLECTION,
+  USER_DETAILS,
+  ANALYTICS_TABLE
 }
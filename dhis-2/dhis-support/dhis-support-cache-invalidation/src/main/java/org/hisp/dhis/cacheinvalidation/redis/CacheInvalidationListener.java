@@ -33,11 +33,14 @@ import java.lang.reflect.Field;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.SessionFactory;
+import org.hisp.dhis.analytics.AnalyticsTableUpdatedEvent;
 import org.hisp.dhis.cache.PaginationCacheManager;
 import org.hisp.dhis.cache.QueryCacheManager;
 import org.hisp.dhis.cacheinvalidation.BaseCacheEvictionService;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.dataapproval.DataApproval;
+import org.hisp.dhis.dataapproval.DataApprovalStore;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataset.CompleteDataSetRegistration;
 import org.hisp.dhis.dataset.DataSet;
@@ -50,7 +53,9 @@ import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.trackedentity.TrackedEntityAttributeService;
 import org.hisp.dhis.trackedentity.TrackedEntityService;
 import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValue;
+import org.hisp.dhis.user.UserDetailsChangedEvent;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -69,6 +74,10 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
     implements RedisPubSubListener<String, String> {
   protected String serverInstanceId;
 
+  private final DataApprovalStore dataApprovalStore;
+
+  private final ApplicationEventPublisher eventPublisher;
+
   public CacheInvalidationListener(
       SessionFactory sessionFactory,
       PaginationCacheManager paginationCacheManager,
@@ -77,6 +86,8 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
       TrackedEntityAttributeService trackedEntityAttributeService,
       TrackedEntityService trackedEntityService,
       PeriodService periodService,
+      DataApprovalStore dataApprovalStore,
+      ApplicationEventPublisher eventPublisher,
       @Qualifier("cacheInvalidationServerId") String serverInstanceId) {
     super(
         sessionFactory,
@@ -87,6 +98,8 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
         trackedEntityService,
         periodService);
 
+    this.dataApprovalStore = dataApprovalStore;
+    this.eventPublisher = eventPublisher;
     this.serverInstanceId = serverInstanceId;
   }
 
@@ -125,11 +138,29 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
       return;
     }
 
+    if (CacheEventOperation.USER_DETAILS == operationType) {
+      // Published with this listener as source, so it is not sent back
+      eventPublisher.publishEvent(new UserDetailsChangedEvent(this, parts[3]));
+      return;
+    }
+
+    if (CacheEventOperation.ANALYTICS_TABLE == operationType) {
+      // Published with this listener as source, so it is not sent back
+      String[] names = parts[3].split(";", 2);
+      String partitionName = names.length > 1 ? names[1] : null;
+      eventPublisher.publishEvent(new AnalyticsTableUpdatedEvent(this, names[0], partitionName));
+      return;
+    }
+
     Serializable entityId = getEntityId(message);
 
     Class<?> entityClass = Class.forName(parts[2]);
     Objects.requireNonNull(entityClass, "Entity class can't be null");
 
+    if (DataApproval.class.isAssignableFrom(entityClass)) {
+      invalidateCachedApproval(parts[3]);
+    }
+
     if (CacheEventOperation.INSERT == operationType) {
       // Make sure queries will refetch to capture the new object.
       queryCacheManager.evictQueryCache(sessionFactory.getCache(), entityClass);
@@ -154,6 +185,8 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
 
     if (DataValue.class.isAssignableFrom(entityClass)) {
       return getDataValueId(idPart);
+    } else if (DataApproval.class.isAssignableFrom(entityClass)) {
+      return getDataApprovalId(idPart);
     } else if (TrackedEntityAttributeValue.class.isAssignableFrom(entityClass)) {
       return getTrackedEntityAttributeValueId(idPart);
     } else if (CompleteDataSetRegistration.class.isAssignableFrom(entityClass)) {
@@ -174,6 +207,26 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
     }
   }
 
+  /**
+   * Invalidates the cached approval entry for the given id part, which is published as {@code
+   * id;cacheKey}. Servers running a version before the cache key was added publish the id only, in
+   * which case all cached approvals are invalidated.
+   */
+  private void invalidateCachedApproval(String idPart) {
+    String[] idParts = idPart.split(";", 2);
+
+    if (idParts.length > 1) {
+      dataApprovalStore.invalidateCachedApproval(idParts[1]);
+    } else {
+      dataApprovalStore.invalidateCachedApprovals();
+    }
+  }
+
+  /** Data approvals are published as {@code id;cacheKey}, or {@code id} by older versions. */
+  private Serializable getDataApprovalId(String idPart) {
+    return Long.parseLong(idPart.split(";", 2)[0]);
+  }
+
   private Serializable getCompleteDataSetRegistrationId(String idPart) {
     String[] parts = idPart.split(";");
     long dataSetId = Long.parseLong(parts[0]);
@@ -41,6 +41,7 @@ import org.hibernate.event.spi.PostUpdateEvent;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.dataapproval.DataApproval;
 import org.hisp.dhis.dataset.CompleteDataSetRegistration;
 import org.hisp.dhis.datastatistics.DataStatisticsEvent;
 import org.hisp.dhis.datavalue.DataValue;
@@ -111,6 +112,8 @@ public class PostCacheEventPublisher
       id = getTrackedEntityAttributeValueId(entity);
     } else if (entity instanceof CompleteDataSetRegistration) {
       id = getCompleteDataSetRegistrationId(entity);
+    } else if (entity instanceof DataApproval) {
+      id = getDataApprovalId(entity);
     } else if (entity instanceof DataStatisticsEvent) {
       DataStatisticsEvent dataStatisticsEvent = (DataStatisticsEvent) entity;
       id = dataStatisticsEvent.getId();
@@ -162,6 +165,12 @@ public class PostCacheEventPublisher
     return trackedEntityAttributeId + ";" + entityInstanceId;
   }
 
+  private Serializable getDataApprovalId(Object entity) {
+    DataApproval dataApproval = (DataApproval) entity;
+
+    return dataApproval.getId() + ";" + dataApproval.getCacheKey();
+  }
+
   private Serializable getCompleteDataSetRegistrationId(Object entity) {
     CompleteDataSetRegistration completeDataSetRegistration = (CompleteDataSetRegistration) entity;
 
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cacheinvalidation.redis;
+
+import static org.hisp.dhis.cacheinvalidation.redis.CacheInvalidationConfiguration.CHANNEL_NAME;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserDetailsChangedEvent;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publishes a message to Redis when the details of a user changed, so that other servers discard
+ * authentication state they hold for the user. The message is sent once the change is committed, so
+ * other servers cannot reload the state from before the change.
+ */
+@Slf4j
+@Component
+@Profile({"!test", "!test-h2"})
+@Conditional(value = CacheInvalidationEnabledCondition.class)
+public class UserDetailsChangedEventPublisher {
+  private final CacheInvalidationMessagePublisher messagePublisher;
+
+  private final String serverInstanceId;
+
+  public UserDetailsChangedEventPublisher(
+      CacheInvalidationMessagePublisher messagePublisher,
+      @Qualifier("cacheInvalidationServerId") String serverInstanceId) {
+    this.messagePublisher = messagePublisher;
+    this.serverInstanceId = serverInstanceId;
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void handleUserDetailsChanged(UserDetailsChangedEvent event) {
+    if (event.getSource() instanceof CacheInvalidationListener) {
+      log.debug("Ignoring event received from other server: " + event.getUserUid());
+      return;
+    }
+
+    String op = CacheEventOperation.USER_DETAILS.name().toLowerCase();
+    String message =
+        serverInstanceId + ":" + op + ":" + User.class.getName() + ":" + event.getUserUid();
+
+    messagePublisher.publish(CHANNEL_NAME, message);
+  }
+}
@@ -27,27 +27,34 @@
  */
 package org.hisp.dhis.cacheinvalidation.redis;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import org.hibernate.SessionFactory;
 import org.hibernate.cache.internal.DisabledCaching;
 import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hisp.dhis.analytics.AnalyticsTableUpdatedEvent;
 import org.hisp.dhis.cache.PaginationCacheManager;
 import org.hisp.dhis.cache.QueryCacheManager;
 import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.dataapproval.DataApprovalStore;
 import org.hisp.dhis.period.PeriodService;
 import org.hisp.dhis.trackedentity.TrackedEntityAttributeService;
 import org.hisp.dhis.trackedentity.TrackedEntityService;
+import org.hisp.dhis.user.UserDetailsChangedEvent;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 /**
  * @author Morten Svanæs <msvanaes@dhis2.org>
@@ -68,6 +75,10 @@ class CacheInvalidationListenerTest {
 
   @Mock protected PeriodService periodService;
 
+  @Mock protected DataApprovalStore dataApprovalStore;
+
+  @Mock protected ApplicationEventPublisher eventPublisher;
+
   @Mock protected DisabledCaching disabledCaching;
 
   private CacheInvalidationListener cacheInvalidationListener;
@@ -89,6 +100,8 @@ class CacheInvalidationListenerTest {
             trackedEntityAttributeService,
             trackedEntityService,
             periodService,
+            dataApprovalStore,
+            eventPublisher,
             "SERVER_A");
 
     lenient().when(sessionFactory.getCache()).thenReturn(disabledCaching);
@@ -149,4 +162,69 @@ class CacheInvalidationListenerTest {
     verify(sessionFactory.getCache(), times(1)).evict(any(), any());
     verify(paginationCacheManager, times(1)).evictCache(anyString());
   }
+
+  @Test
+  @DisplayName("Should invalidate the approval cache entry on DataApproval messages")
+  void testDataApprovalMessage() {
+    String cacheKey = "wf-lvl-202401-/ouA/ouB-aoc";
+    String message =
+        "SERVER_B"
+            + ":"
+            + "INSERT"
+            + ":"
+            + "org.hisp.dhis.dataapproval.DataApproval"
+            + ":"
+            + "1;"
+            + cacheKey;
+    cacheInvalidationListener.message(CacheInvalidationConfiguration.CHANNEL_NAME, message);
+
+    verify(dataApprovalStore, times(1)).invalidateCachedApproval(cacheKey);
+    verify(queryCacheManager, times(1)).evictQueryCache(any(), any());
+    verify(paginationCacheManager, times(1)).evictCache(anyString());
+  }
+
+  @Test
+  @DisplayName("Should invalidate all approval cache entries on DataApproval messages without key")
+  void testDataApprovalMessageWithoutCacheKey() {
+    String message =
+        "SERVER_B" + ":" + "UPDATE" + ":" + "org.hisp.dhis.dataapproval.DataApproval" + ":" + "1";
+    cacheInvalidationListener.message(CacheInvalidationConfiguration.CHANNEL_NAME, message);
+
+    verify(dataApprovalStore, times(1)).invalidateCachedApprovals();
+    verify(dataApprovalStore, never()).invalidateCachedApproval(anyString());
+    verify(sessionFactory.getCache(), times(1)).evict(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should publish a local event on USER_DETAILS messages")
+  void testUserDetailsMessage() {
+    String message =
+        "SERVER_B" + ":" + "USER_DETAILS" + ":" + "org.hisp.dhis.user.User" + ":" + "xE7jOejl9FI";
+    cacheInvalidationListener.message(CacheInvalidationConfiguration.CHANNEL_NAME, message);
+
+    verify(eventPublisher, times(1)).publishEvent(any(UserDetailsChangedEvent.class));
+    verify(sessionFactory.getCache(), times(0)).evict(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should publish a local event on ANALYTICS_TABLE messages")
+  void testAnalyticsTableMessage() {
+    String message =
+        "SERVER_B"
+            + ":"
+            + "ANALYTICS_TABLE"
+            + ":"
+            + "org.hisp.dhis.analytics.AnalyticsTableUpdatedEvent"
+            + ":"
+            + "analytics;analytics_2023";
+    cacheInvalidationListener.message(CacheInvalidationConfiguration.CHANNEL_NAME, message);
+
+    ArgumentCaptor<AnalyticsTableUpdatedEvent> event =
+        ArgumentCaptor.forClass(AnalyticsTableUpdatedEvent.class);
+
+    verify(eventPublisher, times(1)).publishEvent(event.capture());
+    assertEquals("analytics", event.getValue().getTableName());
+    assertEquals("analytics_2023", event.getValue().getPartitionName());
+    verify(sessionFactory.getCache(), times(0)).evict(any(), any());
+  }
 }
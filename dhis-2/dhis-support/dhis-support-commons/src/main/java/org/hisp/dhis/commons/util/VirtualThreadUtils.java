@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.commons.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Utility class for virtual threads.
+ *
+ * <p>Virtual threads are only available on a Java 21 (or later) runtime while the code base is
+ * compiled for Java 17, hence the JDK API is accessed by reflection. Callers should check {@link
+ * #isSupported()} and fall back to platform threads when virtual threads are not available.
+ *
+ * <p>Virtual threads do not limit concurrency by themselves, and should not be pooled. Blocking
+ * database work running on virtual threads must instead be guarded by a semaphore sized to the JDBC
+ * connection pool.
+ */
+@Slf4j
+public class VirtualThreadUtils {
+  /** System property of the JDK which prints stack traces when a virtual thread gets pinned. */
+  public static final String TRACE_PINNED_THREADS = "jdk.tracePinnedThreads";
+
+  private VirtualThreadUtils() {
+    throw new UnsupportedOperationException("util");
+  }
+
+  /**
+   * Indicates whether virtual threads are supported by the current runtime.
+   *
+   * @return true if virtual threads are supported.
+   */
+  public static boolean isSupported() {
+    try {
+      Thread.class.getMethod("ofVirtual");
+      return true;
+    } catch (NoSuchMethodException ex) {
+      return false;
+    }
+  }
+
+  /**
+   * Enables diagnostics of virtual threads which are pinned to their carrier thread, typically by
+   * blocking inside a {@code synchronized} block. A short stack trace is printed for each pinning
+   * event. Must be invoked before the first virtual thread is started to take effect. An explicitly
+   * set system property is left unchanged.
+   */
+  public static void enablePinningDiagnostics() {
+    if (System.getProperty(TRACE_PINNED_THREADS) == null) {
+      System.setProperty(TRACE_PINNED_THREADS, "short");
+      log.info("Virtual thread pinning diagnostics enabled");
+    }
+  }
+
+  /**
+   * Creates a {@link ThreadFactory} which creates virtual threads named with the given prefix and a
+   * sequence number.
+   *
+   * @param prefix the thread name prefix.
+   * @return a {@link ThreadFactory}.
+   * @throws IllegalStateException if virtual threads are not supported.
+   */
+  public static ThreadFactory newVirtualThreadFactory(String prefix) {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+      builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+      return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Virtual threads are not supported by this runtime", ex);
+    }
+  }
+
+  /**
+   * Creates an {@link ExecutorService} which starts a new virtual thread for each task.
+   *
+   * @param prefix the thread name prefix.
+   * @return an {@link ExecutorService}.
+   * @throws IllegalStateException if virtual threads are not supported.
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor(String prefix) {
+    ThreadFactory threadFactory = newVirtualThreadFactory(prefix);
+
+    try {
+      Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+      return (ExecutorService) method.invoke(null, threadFactory);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Virtual threads are not supported by this runtime", ex);
+    }
+  }
+}
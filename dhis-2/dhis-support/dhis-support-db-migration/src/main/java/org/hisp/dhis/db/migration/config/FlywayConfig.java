@@ -63,6 +63,7 @@ public class FlywayConfig {
     classicConfiguration.setGroup(true);
     classicConfiguration.setLocations(new Location(FLYWAY_MIGRATION_FOLDER));
     classicConfiguration.setMixed(true);
+    classicConfiguration.setCallbacks(new SharingAccessIndexCallback());
 
     return new DhisFlyway(
         classicConfiguration, configurationProvider.isEnabled(FLYWAY_REPAIR_BEFORE_MIGRATION));
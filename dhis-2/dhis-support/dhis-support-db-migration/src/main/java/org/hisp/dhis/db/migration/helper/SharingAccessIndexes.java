@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.db.migration.helper;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the GIN indexes on the sharing access tokens (see {@code jsonb_sharing_access_tokens}) of
+ * every table with a jsonb {@code sharing} column. Indexes are created concurrently so that tables
+ * are not locked for writes while the index is built, which requires the connection to be in auto
+ * commit mode, i.e. outside of a transaction.
+ *
+ * <p>A failed concurrent build leaves an invalid index behind, which is dropped and built again on
+ * the next run.
+ */
+@Slf4j
+public class SharingAccessIndexes {
+  private static final String MISSING_INDEXES_SQL =
+      "select c.table_name, i.indisvalid "
+          + "from information_schema.columns c "
+          + "join information_schema.tables t on t.table_schema = c.table_schema "
+          + "and t.table_name = c.table_name "
+          + "left join pg_class ic on ic.relname = 'in_' || c.table_name || '_sharing_access' "
+          + "and ic.relnamespace = to_regnamespace(c.table_schema) "
+          + "left join pg_index i on i.indexrelid = ic.oid "
+          + "where c.table_schema = current_schema() and c.column_name = 'sharing' "
+          + "and c.data_type = 'jsonb' and t.table_type = 'BASE TABLE' "
+          + "and (i.indexrelid is null or not i.indisvalid)";
+
+  private SharingAccessIndexes() {
+    throw new UnsupportedOperationException("util");
+  }
+
+  /**
+   * Creates the missing or invalid sharing access indexes. Failures are logged and do not prevent
+   * the remaining indexes from being created.
+   *
+   * @param connection a connection in auto commit mode.
+   */
+  public static void createMissingIndexes(Connection connection) throws SQLException {
+    List<String> invalid = new ArrayList<>();
+    List<String> missing = new ArrayList<>();
+
+    try (Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery(MISSING_INDEXES_SQL)) {
+      while (rs.next()) {
+        if (rs.getObject(2) == null) {
+          missing.add(rs.getString(1));
+        } else {
+          invalid.add(rs.getString(1));
+        }
+      }
+    }
+
+    for (String table : invalid) {
+      execute(connection, table, "drop index concurrently if exists %s");
+      missing.add(table);
+    }
+
+    for (String table : missing) {
+      execute(
+          connection,
+          table,
+          "create index concurrently if not exists %s on "
+              + quote(table)
+              + " using gin (jsonb_sharing_access_tokens(sharing))");
+    }
+  }
+
+  private static void execute(Connection connection, String table, String sqlPattern) {
+    String sql = String.format(sqlPattern, quote("in_" + table + "_sharing_access"));
+
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(sql);
+    } catch (SQLException ex) {
+      log.warn(
+          "Could not build sharing access index on table '{}', sharing checks on this table "
+              + "will not use an index. Error message was: {}",
+          table,
+          ex.getMessage());
+    }
+  }
+
+  private static String quote(String identifier) {
+    return "\"" + identifier.replace("\"", "\"\"") + "\"";
+  }
+}
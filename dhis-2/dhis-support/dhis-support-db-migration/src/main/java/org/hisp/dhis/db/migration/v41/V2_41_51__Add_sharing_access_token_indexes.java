@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004-2022, University of Oslo
+ * Copyright (c) 2004-2024, University of Oslo
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -25,33 +25,28 @@
  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.hisp.dhis.tracker.export.trackedentity.aggregates;
+package org.hisp.dhis.db.migration.v41;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.sql.SQLException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.hisp.dhis.db.migration.helper.SharingAccessIndexes;
 
 /**
- * Exposes a static method to fetch an Executor for the Aggregates operations
+ * Creates the GIN indexes on the sharing access tokens added in V2_41_47 for every table with a
+ * jsonb sharing column.
  *
- * @author Luciano Fiandesio
+ * <p>By setting canExecuteInTransaction to false, the indexes can be created concurrently, which
+ * does not block writes to large tables while the indexes are built.
  */
-public class ThreadPoolManager {
-  // Thread factory that sets a user-defined thread name (useful for debugging
-  // purposes)
-  private ThreadPoolManager() {
-    throw new IllegalStateException("only used for its static fields");
+public class V2_41_51__Add_sharing_access_token_indexes extends BaseJavaMigration {
+  @Override
+  public void migrate(Context context) throws SQLException {
+    SharingAccessIndexes.createMissingIndexes(context.getConnection());
   }
 
-  private static final ThreadFactory threadFactory =
-      new ThreadFactoryBuilder().setNameFormat("TRACKER-TEI-FETCH-%d").setDaemon(true).build();
-
-  /** Cached thread pool: not bound to a size, but can reuse existing threads. */
-  private static final Executor AGGREGATE_THREAD_POOL =
-      Executors.newCachedThreadPool(threadFactory);
-
-  static Executor getPool() {
-    return AGGREGATE_THREAD_POOL;
+  @Override
+  public boolean canExecuteInTransaction() {
+    return false;
   }
 }
@@ -0,0 +1,4 @@
+-- Index for fetching program notification instances which are scheduled and not yet sent
+CREATE INDEX IF NOT EXISTS in_programnotificationinstance_scheduledat_notsent
+    ON programnotificationinstance (scheduledat, programnotificationinstanceid)
+    WHERE sentat IS NULL;
@@ -0,0 +1,30 @@
+-- Projection of the "ready below" part of data approval statuses, per
+-- workflow, workflow period, organisation unit and attribute option combo.
+-- Maintained on approval actions when approval.status_projection.enabled is on.
+create table if not exists dataapprovalstatusprojection (
+    workflowid int8 not null,
+    periodid int8 not null,
+    organisationunitid int8 not null,
+    attributeoptioncomboid int8 not null,
+    readybelow boolean not null,
+    readybelowaccepted boolean not null,
+    lastupdated timestamp not null,
+    constraint dataapprovalstatusprojection_pkey
+        primary key (workflowid, periodid, organisationunitid, attributeoptioncomboid),
+    constraint fk_dataapprovalstatusprojection_workflowid
+        foreign key(workflowid)
+        references dataapprovalworkflow(workflowid)
+        on delete cascade,
+    constraint fk_dataapprovalstatusprojection_periodid
+        foreign key(periodid)
+        references period(periodid)
+        on delete cascade,
+    constraint fk_dataapprovalstatusprojection_organisationunitid
+        foreign key(organisationunitid)
+        references organisationunit(organisationunitid)
+        on delete cascade,
+    constraint fk_dataapprovalstatusprojection_attributeoptioncomboid
+        foreign key(attributeoptioncomboid)
+        references categoryoptioncombo(categoryoptioncomboid)
+        on delete cascade
+);
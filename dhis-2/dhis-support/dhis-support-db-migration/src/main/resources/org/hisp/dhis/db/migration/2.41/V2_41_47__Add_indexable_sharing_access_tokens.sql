@@ -0,0 +1,40 @@
+/* Normalizes the sharing jsonb column into an array of access tokens which can be
+   indexed with GIN, so that sharing checks do not need to evaluate jsonb functions
+   for every row.
+
+   Each token has the form <grantee>:<position> where <position> is the 0 based
+   index of a granted flag in the access string (0 = metadata read, 1 = metadata
+   write, 2 = data read, 3 = data write) and <grantee> is one of
+   '*'        everyone (public access, no public access set, no owner)
+   'u:<uid>'  a user (user sharing or owner, the owner only gets metadata access)
+   'g:<uid>'  a user group */
+create or replace function jsonb_sharing_access_tokens(jsonb)
+    returns text[] language sql immutable parallel safe as $$
+select coalesce(array_agg(distinct t.grantee || ':' || (p.pos - 1)), '{}')
+from (
+    select '*' as grantee,
+        case when $1->>'public' is null or $1->>'public' = 'null' then 'rwrw' else $1->>'public' end as access
+    union all
+    select '*', 'rw' where $1->>'owner' is null or $1->>'owner' = 'null'
+    union all
+    select 'u:' || ($1->>'owner'), 'rw' where $1->>'owner' is not null and $1->>'owner' <> 'null'
+    union all
+    select 'u:' || u.key, u.value->>'access'
+    from jsonb_each(case when jsonb_typeof($1->'users') = 'object' then $1->'users' else '{}' end) u
+    union all
+    select 'g:' || g.key, g.value->>'access'
+    from jsonb_each(case when jsonb_typeof($1->'userGroups') = 'object' then $1->'userGroups' else '{}' end) g
+) t
+cross join generate_series(1, 4) p(pos)
+where substr(t.access, p.pos, 1) in ('r', 'w')
+$$;
+
+/* Second parameter is an array of access tokens, e.g. '{*:0,u:xE7jOejl9FI:0,g:wl5cDMuUhmF:0}'.
+   The function is inlined by the planner, which allows it to use the GIN indexes on the tokens */
+create or replace function jsonb_has_sharing_access(jsonb, text)
+    returns bool language sql immutable parallel safe as $$
+select jsonb_sharing_access_tokens($1) && $2::text[]
+$$;
+
+/* The GIN indexes on the access tokens are created concurrently by the Java migration
+   V2_41_51 and by SharingAccessIndexCallback after each migration */
@@ -0,0 +1,35 @@
+-- Precomputed statistics of the numeric data values per data element,
+-- organisation unit, category option combo and attribute option combo.
+-- Used by the z-score and modified z-score outlier detection when
+-- outlier.statistics.enabled is on, maintained by the outlier statistics job.
+create table if not exists datavaluestatistics (
+    dataelementid int8 not null,
+    sourceid int8 not null,
+    categoryoptioncomboid int8 not null,
+    attributeoptioncomboid int8 not null,
+    valuecount int8 not null,
+    mean double precision not null,
+    median double precision not null,
+    stddev double precision not null,
+    lastupdated timestamp not null,
+    constraint datavaluestatistics_pkey
+        primary key (dataelementid, sourceid, categoryoptioncomboid, attributeoptioncomboid),
+    constraint fk_datavaluestatistics_dataelementid
+        foreign key(dataelementid)
+        references dataelement(dataelementid)
+        on delete cascade,
+    constraint fk_datavaluestatistics_sourceid
+        foreign key(sourceid)
+        references organisationunit(organisationunitid)
+        on delete cascade,
+    constraint fk_datavaluestatistics_categoryoptioncomboid
+        foreign key(categoryoptioncomboid)
+        references categoryoptioncombo(categoryoptioncomboid)
+        on delete cascade,
+    constraint fk_datavaluestatistics_attributeoptioncomboid
+        foreign key(attributeoptioncomboid)
+        references categoryoptioncombo(categoryoptioncomboid)
+        on delete cascade
+);
+
+create index if not exists in_datavaluestatistics_lastupdated on datavaluestatistics(lastupdated);
@@ -0,0 +1,9 @@
+-- Accumulated execution times of data integrity checks, used to run cheap checks
+-- first and to isolate expensive checks, also across restarts.
+create table if not exists dataintegrityexecution (
+    name varchar(255) not null,
+    executioncount int8 not null,
+    executiontime int8 not null,
+    lastexecuted timestamp not null,
+    constraint dataintegrityexecution_pkey primary key (name)
+);
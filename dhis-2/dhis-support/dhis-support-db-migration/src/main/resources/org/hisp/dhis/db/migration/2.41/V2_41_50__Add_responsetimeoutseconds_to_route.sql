@@ -0,0 +1,2 @@
+-- Adds a per route timeout for waiting on responses of the target
+alter table route add column if not exists responsetimeoutseconds integer not null default 10;
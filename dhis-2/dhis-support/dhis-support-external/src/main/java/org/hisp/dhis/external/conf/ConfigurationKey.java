@@ -45,6 +45,12 @@ public enum ConfigurationKey {
   /** Session timeout in seconds. (default: 3600). */
   SYSTEM_SESSION_TIMEOUT("system.session.timeout", "3600", false),
 
+  /**
+   * Seconds to remember a successful password verification of a client using Basic authentication,
+   * 0 disables. (default: 0).
+   */
+  SYSTEM_BASIC_AUTH_CACHE_TTL("system.basic_auth.cache_ttl", "0", false),
+
   /** System monitoring URL. */
   SYSTEM_MONITORING_URL("system.monitoring.url"),
 
@@ -72,9 +78,54 @@ public enum ConfigurationKey {
    */
   SYSTEM_CACHE_MAX_SIZE_FACTOR("system.cache.max_size.factor", "0.5", false),
 
+  /**
+   * Run blocking background work such as scheduled jobs and asynchronous tasks on virtual threads,
+   * requires a Java 21 runtime, can be 'on', 'off'. The number of jobs and of asynchronous tasks
+   * running at the same time is then each limited to the connection pool max size, unless the
+   * scheduler is distributed, in which case its capacity limits the jobs. (default: off)
+   */
+  SYSTEM_VIRTUAL_THREADS_ENABLED("system.virtual_threads.enabled", Constants.OFF, false),
+
+  /**
+   * Print a short stack trace when a virtual thread is pinned to its carrier thread, can be 'on',
+   * 'off'. (default: off)
+   */
+  SYSTEM_VIRTUAL_THREADS_TRACE_PINNING(
+      "system.virtual_threads.trace_pinning", Constants.OFF, false),
+
   /** Node identifier, optional, useful in clusters. */
   NODE_ID("node.id", "", false),
 
+  /**
+   * Let every node of a cluster claim and run due jobs instead of only the leader node, can be
+   * 'on', 'off'. (default: off)
+   */
+  SCHEDULER_DISTRIBUTED_ENABLED("scheduler.distributed.enabled", Constants.OFF, false),
+
+  /**
+   * Maximum number of jobs this node runs at the same time when jobs are distributed, the
+   * housekeeping is not counted. (default: 4)
+   */
+  SCHEDULER_DISTRIBUTED_CAPACITY("scheduler.distributed.capacity", "4", false),
+
+  /**
+   * Comma separated list of job types this node runs when jobs are distributed, empty means all job
+   * types. The housekeeping is always run, unknown job types are ignored. (default: empty)
+   */
+  SCHEDULER_DISTRIBUTED_JOB_TYPES("scheduler.distributed.job_types", "", false),
+
+  /**
+   * Interval in seconds in which the progress of running jobs is written to the database. Changes
+   * in between are coalesced into a single write per job. (default: 10)
+   */
+  SCHEDULER_PROGRESS_FLUSH_INTERVAL("scheduler.progress.flush_interval", "10", false),
+
+  /**
+   * Minimum interval in milliseconds between two work item notifications of the same job. Work item
+   * notifications in between are coalesced so that only the most recent is sent. (default: 1000)
+   */
+  SCHEDULER_NOTIFICATION_INTERVAL("scheduler.notification.interval", "1000", false),
+
   /** Encryption password (sensitive). */
   ENCRYPTION_PASSWORD("encryption.password", "", true),
 
@@ -337,6 +388,12 @@ public enum ConfigurationKey {
   META_DATA_SYNC_RETRY_TIME_FREQUENCY_MILLISEC(
       "metadata.sync.retry.time.frequency.millisec", "30000", false),
 
+  /**
+   * Number of data value chunks sent to the remote server in parallel by the data synchronization.
+   * (default: 2)
+   */
+  SYNC_DATA_VALUES_PARALLELISM("sync.data_values.parallelism", "2", false),
+
   /** EHCache replication host. */
   CLUSTER_HOSTNAME("cluster.hostname", "", false),
 
@@ -380,12 +437,64 @@ public enum ConfigurationKey {
 
   PROGRAM_TEMPORARY_OWNERSHIP_TIMEOUT("tracker.temporary.ownership.timeout", "3", false),
 
+  /**
+   * Maximum number of concurrent database queries used to fetch the data of tracked entities across
+   * all requests. If blank, half the size of the database connection pool is used. (default: blank)
+   */
+  TRACKER_AGGREGATE_MAX_CONCURRENCY("tracker.aggregate.max_concurrency", "", false),
+
+  /**
+   * Read the "ready below" part of data approval statuses from a projection table which is
+   * maintained on approval actions, can be 'on', 'off'. Changes to data set organisation unit
+   * assignments and category option mappings do not refresh the projection, so statuses may not
+   * reflect them for up to 24 hours. (default: off)
+   */
+  APPROVAL_STATUS_PROJECTION_ENABLED("approval.status_projection.enabled", Constants.OFF, false),
+
+  /**
+   * Read the mean, median and standard deviation of the z-score and modified z-score outlier
+   * detection from a statistics table which is maintained by the outlier statistics job, can be
+   * 'on', 'off'. (default: off)
+   */
+  OUTLIER_STATISTICS_ENABLED("outlier.statistics.enabled", Constants.OFF, false),
+
+  /**
+   * Number of images the image resizing job processes in parallel. Each image being processed is
+   * held in memory while its variants are created. (default: 2)
+   */
+  IMAGE_PROCESSING_PARALLELISM("image_processing.parallelism", "2", false),
+
+  /**
+   * Number of SQL based data integrity checks which run in parallel, slow and programmatic checks
+   * always run one at a time. (default: 1)
+   */
+  DATA_INTEGRITY_PARALLELISM("data_integrity.parallelism", "1", false),
+
+  /**
+   * Timeout in seconds of a single SQL based data integrity check, 0 means no timeout. (default: 0)
+   */
+  DATA_INTEGRITY_STATEMENT_TIMEOUT("data_integrity.statement_timeout", "0", false),
+
+  /**
+   * Reuse the previous result of a SQL based data integrity check when none of the tables it reads
+   * have changed since, can be 'on', 'off'. Changes are detected by the table statistics of the
+   * database, which are updated with a delay of a few seconds, so a result can miss changes made
+   * right before the check ran for up to the one hour the result is cached. (default: off)
+   */
+  DATA_INTEGRITY_INCREMENTAL("data_integrity.incremental", Constants.OFF, false),
+
   /** Use unlogged tables during analytics export. (default: off) */
   ANALYTICS_TABLE_UNLOGGED("analytics.table.unlogged", Constants.OFF),
 
   /** Order analytics tables data on insert. */
   ANALYTICS_TABLE_ORDERING("analytics.table.ordering", Constants.OFF),
 
+  /**
+   * Organisation unit level by which the yearly partitions of the aggregate analytics table are
+   * partitioned further, where 0 disables sub-partitioning. (default: 0)
+   */
+  ANALYTICS_TABLE_PARTITION_ORG_UNIT_LEVEL("analytics.table.partition.org_unit_level", "0", false),
+
   /**
    * Artemis support mode, 2 modes supported: EMBEDDED (starts up an embedded Artemis which lives in
    * the same process as your DHIS2 instance), NATIVE (connects to an external Artemis instance,
@@ -475,6 +584,9 @@ public enum ConfigurationKey {
   /** CPU monitoring. (default: off) */
   MONITORING_CPU_ENABLED("monitoring.cpu.enabled", Constants.OFF, false),
 
+  /** Bounded executor monitoring. (default: off) */
+  MONITORING_EXECUTOR_ENABLED("monitoring.executor.enabled", Constants.OFF, false),
+
   /** AppHub base URL. (default: https://apps.dhis2.org). */
   APPHUB_BASE_URL("apphub.base.url", "https://apps.dhis2.org", false),
 
@@ -635,6 +747,12 @@ public enum ConfigurationKey {
   /** Event hooks for system events. Enable or disable the feature. */
   EVENT_HOOKS_ENABLED("event_hooks.enabled", Constants.OFF, false),
 
+  /** Maximum number of open connections to the targets of all routes. (default: 100) */
+  ROUTE_CONNECTIONS_MAX("route.connections.max", "100", false),
+
+  /** Maximum number of open connections to the target host of a route. (default: 20) */
+  ROUTE_CONNECTIONS_MAX_PER_HOST("route.connections.max_per_host", "20", false),
+
   /** Linked accounts via OpenID mapping. Enable or disable the feature. */
   LINKED_ACCOUNTS_ENABLED("linked_accounts.enabled", Constants.OFF, false),
 
@@ -67,6 +67,9 @@ public class DhisH2Dialect extends H2Dialect {
     registerFunction(
         JsonbFunctions.CHECK_USER_ACCESS,
         new StandardSQLFunction(JsonbFunctions.CHECK_USER_ACCESS, StandardBasicTypes.BOOLEAN));
+    registerFunction(
+        JsonbFunctions.HAS_SHARING_ACCESS,
+        new StandardSQLFunction(JsonbFunctions.HAS_SHARING_ACCESS, StandardBasicTypes.BOOLEAN));
     registerFunction("array_agg", new StandardSQLFunction("array_agg", StringArrayType.INSTANCE));
   }
 
@@ -66,6 +66,9 @@ public class DhisPostgresDialect extends PostgisPG95Dialect {
     registerFunction(
         JsonbFunctions.CHECK_USER_ACCESS,
         new StandardSQLFunction(JsonbFunctions.CHECK_USER_ACCESS, StandardBasicTypes.BOOLEAN));
+    registerFunction(
+        JsonbFunctions.HAS_SHARING_ACCESS,
+        new StandardSQLFunction(JsonbFunctions.HAS_SHARING_ACCESS, StandardBasicTypes.BOOLEAN));
     registerFunction(
         JsonbFunctions.REGEXP_SEARCH,
         new StandardSQLFunction(JsonbFunctions.REGEXP_SEARCH, StandardBasicTypes.BOOLEAN));
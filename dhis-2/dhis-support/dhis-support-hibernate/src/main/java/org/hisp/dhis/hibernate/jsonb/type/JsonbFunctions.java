@@ -65,6 +65,15 @@ public class JsonbFunctions {
    */
   public static final String CHECK_USER_ACCESS = "jsonb_check_user_access";
 
+  /**
+   * FUNCTION jsonb_has_sharing_access(jsonb, text) $1: Sharing jsonb column $2: Array of access
+   * tokens to check, see {@code jsonb_sharing_access_tokens}
+   *
+   * @return TRUE if the access tokens of the given jsonb contain at least one of the given tokens.
+   *     Can use the GIN index on the access tokens of the sharing column
+   */
+  public static final String HAS_SHARING_ACCESS = "jsonb_has_sharing_access";
+
   /** Built-in function of PostgresQL */
   public static final String EXTRACT_PATH = "jsonb_extract_path";
 
@@ -62,6 +62,17 @@ public class DefaultCacheProvider implements CacheProvider {
 
   private static final long SIZE_10K = 10_000;
 
+  private static final long BYTES_32M = 32 * 1024 * 1024L;
+
+  private static final long BYTES_128M = 128 * 1024 * 1024L;
+
+  /** Estimated bytes of a map entry, of a boxed value and of a string excluding its characters. */
+  private static final long MAP_ENTRY_BYTES = 32;
+
+  private static final long VALUE_BYTES = 16;
+
+  private static final long STRING_BYTES = 40;
+
   private final double cacheFactor;
 
   private final CacheBuilderProvider cacheBuilderProvider;
@@ -85,6 +96,7 @@ public class DefaultCacheProvider implements CacheProvider {
   @SuppressWarnings("squid:S115") // allow non enum-ish names
   private enum Region {
     analyticsResponse,
+    analyticsSubQuery,
     defaultObjectCache,
     isDataApproved,
     allConstantsCache,
@@ -119,6 +131,7 @@ public class DefaultCacheProvider implements CacheProvider {
     catOptOrgUnitAssocCache,
     dataSetOrgUnitAssocCache,
     apiTokensCache,
+    verifiedCredential,
     programCache,
     teiAttributesCache,
     programTeiAttributesCache,
@@ -128,7 +141,9 @@ public class DefaultCacheProvider implements CacheProvider {
     runningJobsInfo,
     jobCancelRequested,
     dataIntegritySummaryCache,
-    dataIntegrityDetailsCache
+    dataIntegrityDetailsCache,
+    dataSetMetadataCache,
+    decryptedRouteCache
   }
 
   private final Map<String, Cache<?>> allCaches = new ConcurrentHashMap<>();
@@ -152,6 +167,25 @@ public class DefaultCacheProvider implements CacheProvider {
     return (long) Math.max(this.cacheFactor * size, 1);
   }
 
+  /**
+   * Returns the estimated bytes used by the given map, based on the length of its string keys and
+   * values and a fixed size of other values.
+   */
+  private static int getEstimatedSize(Map<?, ?> map) {
+    long size = 0;
+
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      size +=
+          MAP_ENTRY_BYTES + getEstimatedSize(entry.getKey()) + getEstimatedSize(entry.getValue());
+    }
+
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+
+  private static long getEstimatedSize(Object value) {
+    return value instanceof String string ? STRING_BYTES + 2L * string.length() : VALUE_BYTES;
+  }
+
   @EventListener
   @Override
   public void handleApplicationCachesCleared(ApplicationCacheClearedEvent event) {
@@ -185,6 +219,23 @@ public class DefaultCacheProvider implements CacheProvider {
             .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K))));
   }
 
+  /**
+   * Cache for results of planned analytics sub-queries. Kept in memory as entries are invalidated
+   * per analytics table partition through generation counters held by each instance. Bounded by the
+   * estimated size of the results in bytes as results vary widely in their number of rows.
+   */
+  @Override
+  public <V> Cache<V> createAnalyticsSubQueryCache() {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.analyticsSubQuery.name())
+            .expireAfterWrite(12, TimeUnit.HOURS)
+            .forceInMemory()
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K)))
+            .withMaximumWeight(
+                getActualSize(BYTES_128M), value -> getEstimatedSize((Map<?, ?>) value)));
+  }
+
   /**
    * Cache for default objects such as default category combination and default category option
    * combination which are permanent and will never change.
@@ -546,6 +597,20 @@ public class DefaultCacheProvider implements CacheProvider {
             .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K))));
   }
 
+  /**
+   * Cache for successful password verifications of API clients. Kept in memory, as entries contain
+   * digests which are only valid within this instance.
+   */
+  @Override
+  public <V> Cache<V> createVerifiedCredentialCache(Duration expiry) {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.verifiedCredential.name())
+            .expireAfterWrite(expiry.toMillis(), MILLISECONDS)
+            .forceInMemory()
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_1K))));
+  }
+
   @Override
   public <V> Cache<V> createProgramCache() {
     return registerCache(
@@ -626,4 +691,32 @@ public class DefaultCacheProvider implements CacheProvider {
             .forRegion(Region.dataIntegrityDetailsCache.name())
             .expireAfterWrite(1, HOURS));
   }
+
+  /**
+   * Cache for the compressed data set metadata, bounded by the total size of the values in bytes as
+   * the metadata of a single data set can be large.
+   */
+  @Override
+  public <V> Cache<V> createDataSetMetadataCache() {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.dataSetMetadataCache.name())
+            .expireAfterWrite(1, HOURS)
+            .forceInMemory()
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_100)))
+            .withMaximumWeight(getActualSize(BYTES_32M), value -> ((byte[]) value).length));
+  }
+
+  /**
+   * Cache for routes with decrypted secrets. Kept in memory so secrets never leave the instance.
+   */
+  @Override
+  public <V> Cache<V> createDecryptedRouteCache() {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.decryptedRouteCache.name())
+            .expireAfterWrite(1, HOURS)
+            .forceInMemory()
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_1K))));
+  }
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+/**
+ * {@link Executor} which limits the number of concurrently running tasks of a delegate executor.
+ *
+ * <p>A caller submitting a task blocks until a permit is available, which applies backpressure to
+ * the caller instead of queueing an unbounded number of tasks or starting an unbounded number of
+ * threads. The permit is released when the task completes. Tasks running on this executor must
+ * therefore never submit and wait for other tasks on the same executor, as this can deadlock once
+ * all permits are taken. Use the unbounded {@link #getDelegate() delegate} for such tasks.
+ *
+ * <p>The executor implements {@link MeterBinder} and exposes the number of active, waiting and
+ * completed tasks as well as the time spent waiting for a permit.
+ */
+public class BoundedExecutor implements Executor, MeterBinder {
+  private final String name;
+
+  private final Executor delegate;
+
+  private final int maxConcurrency;
+
+  private final Semaphore permits;
+
+  private final AtomicInteger waiting = new AtomicInteger();
+
+  private final LongAdder completed = new LongAdder();
+
+  private final LongAdder waitCount = new LongAdder();
+
+  private final LongAdder waitTimeNanos = new LongAdder();
+
+  /**
+   * @param name the name of the executor, used to tag metrics.
+   * @param delegate the {@link Executor} running the tasks.
+   * @param maxConcurrency the maximum number of concurrently running tasks.
+   */
+  public BoundedExecutor(String name, Executor delegate, int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("Max concurrency must be at least 1");
+    }
+
+    this.name = name;
+    this.delegate = delegate;
+    this.maxConcurrency = maxConcurrency;
+    this.permits = new Semaphore(maxConcurrency, true);
+  }
+
+  /**
+   * Executes the given task on the delegate executor. Blocks until a permit is available.
+   *
+   * @param task the task to execute.
+   * @throws RejectedExecutionException if the task cannot be accepted, or if the calling thread is
+   *     interrupted while waiting for a permit.
+   */
+  @Override
+  public void execute(@Nonnull Runnable task) {
+    acquire();
+
+    try {
+      delegate.execute(
+          () -> {
+            try {
+              task.run();
+            } finally {
+              completed.increment();
+              permits.release();
+            }
+          });
+    } catch (RejectedExecutionException ex) {
+      permits.release();
+      throw ex;
+    }
+  }
+
+  /**
+   * Executes the given supplier on this executor.
+   *
+   * @param supplier the {@link Supplier}.
+   * @param <T> the result type.
+   * @return a {@link CompletableFuture} with the result of the supplier.
+   */
+  public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+    return CompletableFuture.supplyAsync(supplier, this);
+  }
+
+  /**
+   * Returns the unbounded delegate executor, to be used for tasks which coordinate and wait for
+   * other tasks submitted to this executor.
+   *
+   * @return the delegate {@link Executor}.
+   */
+  public Executor getDelegate() {
+    return delegate;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /** Returns the number of currently running tasks. */
+  public int getActiveCount() {
+    return maxConcurrency - permits.availablePermits();
+  }
+
+  /** Returns the number of callers currently waiting for a permit. */
+  public int getWaitingCount() {
+    return waiting.get();
+  }
+
+  /** Returns the number of completed tasks. */
+  public long getCompletedCount() {
+    return completed.sum();
+  }
+
+  @Override
+  public void bindTo(@Nonnull MeterRegistry registry) {
+    Gauge.builder("executor.bounded.active", this, BoundedExecutor::getActiveCount)
+        .tag("name", name)
+        .description("Number of running tasks")
+        .register(registry);
+    Gauge.builder("executor.bounded.waiting", this, BoundedExecutor::getWaitingCount)
+        .tag("name", name)
+        .description("Number of callers waiting for a permit")
+        .register(registry);
+    Gauge.builder("executor.bounded.max", this, BoundedExecutor::getMaxConcurrency)
+        .tag("name", name)
+        .description("Maximum number of running tasks")
+        .register(registry);
+    FunctionCounter.builder("executor.bounded.completed", this, BoundedExecutor::getCompletedCount)
+        .tag("name", name)
+        .description("Number of completed tasks")
+        .register(registry);
+    FunctionTimer.builder(
+            "executor.bounded.wait",
+            this,
+            e -> e.waitCount.sum(),
+            e -> e.waitTimeNanos.sum(),
+            TimeUnit.NANOSECONDS)
+        .tag("name", name)
+        .description("Time spent waiting for a permit")
+        .register(registry);
+  }
+
+  private void acquire() {
+    if (permits.tryAcquire()) {
+      waitCount.increment();
+      return;
+    }
+
+    long start = System.nanoTime();
+    waiting.incrementAndGet();
+
+    try {
+      permits.acquire();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("Interrupted while waiting for a permit", ex);
+    } finally {
+      waiting.decrementAndGet();
+      waitCount.increment();
+      waitTimeNanos.add(System.nanoTime() - start);
+    }
+  }
+}
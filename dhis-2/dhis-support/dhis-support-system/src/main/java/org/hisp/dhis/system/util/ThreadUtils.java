@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.util;
+
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.commons.util.VirtualThreadUtils;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+
+/** Utility methods for configuring thread pools and executors based on the system configuration. */
+@Slf4j
+public class ThreadUtils {
+  private ThreadUtils() {
+    throw new UnsupportedOperationException("util");
+  }
+
+  /**
+   * Indicates whether virtual threads are enabled through configuration and supported by the
+   * runtime. Enables pinning diagnostics if configured.
+   *
+   * @param config the {@link DhisConfigurationProvider}.
+   * @return true if virtual threads should be used.
+   */
+  public static boolean isVirtualThreadsEnabled(DhisConfigurationProvider config) {
+    if (!config.isEnabled(ConfigurationKey.SYSTEM_VIRTUAL_THREADS_ENABLED)) {
+      return false;
+    }
+
+    if (!VirtualThreadUtils.isSupported()) {
+      log.warn("Virtual threads are enabled but not supported by this runtime, requires Java 21");
+      return false;
+    }
+
+    if (config.isEnabled(ConfigurationKey.SYSTEM_VIRTUAL_THREADS_TRACE_PINNING)) {
+      VirtualThreadUtils.enablePinningDiagnostics();
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns the maximum size of the database connection pool, which is the upper bound for the
+   * number of concurrently running tasks which access the database.
+   *
+   * @param config the {@link DhisConfigurationProvider}.
+   * @return the maximum size of the database connection pool.
+   */
+  public static int getDatabaseConcurrency(DhisConfigurationProvider config) {
+    return Integer.parseInt(config.getProperty(ConfigurationKey.CONNECTION_POOL_MAX_SIZE));
+  }
+
+  /**
+   * Wraps the given task so that it holds a permit of the given semaphore while running. Used to
+   * limit the number of tasks on virtual threads which access the database at the same time,
+   * instead of pooling virtual threads. If the thread is interrupted while waiting for a permit,
+   * the task is not run.
+   *
+   * @param permits the {@link Semaphore}.
+   * @param task the task.
+   * @return the wrapped task.
+   */
+  public static Runnable withPermit(Semaphore permits, Runnable task) {
+    return () -> {
+      try {
+        permits.acquire();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+
+      try {
+        task.run();
+      } finally {
+        permits.release();
+      }
+    };
+  }
+}
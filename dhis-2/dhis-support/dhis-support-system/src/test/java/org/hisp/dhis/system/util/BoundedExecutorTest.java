@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BoundedExecutorTest {
+
+  private ExecutorService delegate;
+
+  @BeforeEach
+  void setUp() {
+    delegate = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  void tearDown() {
+    delegate.shutdownNow();
+  }
+
+  @Test
+  void testInvalidMaxConcurrency() {
+    assertThrows(IllegalArgumentException.class, () -> new BoundedExecutor("test", delegate, 0));
+  }
+
+  @Test
+  void testLimitsConcurrency() throws InterruptedException {
+    BoundedExecutor executor = new BoundedExecutor("test", delegate, 3);
+
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(20);
+
+    for (int i = 0; i < 20; i++) {
+      executor.execute(
+          () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+              Thread.sleep(5);
+            } catch (InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            done.countDown();
+          });
+    }
+
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    assertTrue(maxRunning.get() <= 3);
+  }
+
+  @Test
+  void testSupplyAsync() {
+    BoundedExecutor executor = new BoundedExecutor("test", delegate, 1);
+
+    assertEquals("a", executor.supplyAsync(() -> "a").join());
+    assertEquals("b", executor.supplyAsync(() -> "b").join());
+  }
+
+  @Test
+  void testMetrics() {
+    BoundedExecutor executor = new BoundedExecutor("test", delegate, 2);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    executor.bindTo(registry);
+
+    executor.supplyAsync(() -> "a").join();
+    executor.supplyAsync(() -> "b").join();
+
+    assertEquals(2, registry.get("executor.bounded.max").tag("name", "test").gauge().value());
+    assertEquals(
+        2, registry.get("executor.bounded.wait").tag("name", "test").functionTimer().count());
+  }
+}
@@ -33,7 +33,9 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.jsontree.JsonMixed;
@@ -54,6 +56,7 @@ public class H2SqlFunction {
       createAliasForFunction(connection, "jsonb_typeof");
       createAliasForFunction(connection, "jsonb_has_user_id");
       createAliasForFunction(connection, "jsonb_check_user_access");
+      createAliasForFunction(connection, "jsonb_has_sharing_access");
     } catch (SQLException exception) {
       log.info(
           "Failed to register custom H2Functions, probably already registered, ignoring this.",
@@ -178,4 +181,55 @@ public class H2SqlFunction {
       throw e;
     }
   }
+
+  // Custom DHIS2 sharing function
+  public static boolean jsonb_has_sharing_access(PGobject input1, String input2) {
+    Set<String> tokens = Set.of(input2.replaceAll("[{}]", "").split(","));
+    Map<String, Object> sharing =
+        input1 == null || input1.getValue() == null
+            ? null
+            : new Gson()
+                .fromJson(input1.getValue(), new TypeToken<HashMap<String, Object>>() {}.getType());
+
+    Set<String> accessTokens = new HashSet<>();
+    String publicAccess = sharing == null ? null : (String) sharing.get("public");
+    String owner = sharing == null ? null : (String) sharing.get("owner");
+
+    addAccessTokens(
+        accessTokens,
+        "*",
+        publicAccess == null || "null".equals(publicAccess) ? "rwrw" : publicAccess);
+
+    if (owner == null || "null".equals(owner)) {
+      addAccessTokens(accessTokens, "*", "rw");
+    } else {
+      addAccessTokens(accessTokens, "u:" + owner, "rw");
+    }
+
+    if (sharing != null) {
+      addAccessTokens(accessTokens, "u:", sharing.get("users"));
+      addAccessTokens(accessTokens, "g:", sharing.get("userGroups"));
+    }
+
+    return accessTokens.stream().anyMatch(tokens::contains);
+  }
+
+  private static void addAccessTokens(Set<String> tokens, String prefix, Object grantees) {
+    if (grantees instanceof Map<?, ?> map) {
+      map.forEach(
+          (id, grantee) -> {
+            if (grantee instanceof Map<?, ?> access && access.get("access") instanceof String a) {
+              addAccessTokens(tokens, prefix + id, a);
+            }
+          });
+    }
+  }
+
+  private static void addAccessTokens(Set<String> tokens, String grantee, String access) {
+    for (int i = 0; i < Math.min(4, access.length()); i++) {
+      if (access.charAt(i) == 'r' || access.charAt(i) == 'w') {
+        tokens.add(grantee + ":" + i);
+      }
+    }
+  }
 }
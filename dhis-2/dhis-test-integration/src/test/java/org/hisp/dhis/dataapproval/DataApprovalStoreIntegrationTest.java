@@ -29,8 +29,12 @@ package org.hisp.dhis.dataapproval;
 
 import static com.google.common.collect.Sets.newHashSet;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.google.common.collect.Sets;
+import java.util.Date;
 import java.util.List;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
@@ -43,6 +47,8 @@ import org.hisp.dhis.commons.collection.ListUtils;
 import org.hisp.dhis.dataapproval.hibernate.HibernateDataApprovalStore;
 import org.hisp.dhis.dataset.DataSet;
 import org.hisp.dhis.dataset.DataSetService;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.MonthlyPeriodType;
@@ -100,6 +106,9 @@ class DataApprovalStoreIntegrationTest extends TransactionalIntegrationTest {
   @Autowired private CacheProvider cacheProvider;
 
   @Autowired private SystemSettingManager systemSettingManager;
+
+  @Autowired private DhisConfigurationProvider dhisConfigurationProvider;
+
   @Autowired private UserService _userService;
 
   // -------------------------------------------------------------------------
@@ -160,7 +169,8 @@ class DataApprovalStoreIntegrationTest extends TransactionalIntegrationTest {
             periodStore,
             categoryService,
             systemSettingManager,
-            _userService);
+            _userService,
+            dhisConfigurationProvider);
 
     // ---------------------------------------------------------------------
     // Add supporting data
@@ -517,4 +527,76 @@ class DataApprovalStoreIntegrationTest extends TransactionalIntegrationTest {
 
     dbmsManager.clearSession();
   }
+
+  @Test
+  void testStatusProjectionRebuiltWhenStale() {
+    DhisConfigurationProvider projectionConfig = mock(DhisConfigurationProvider.class);
+    when(projectionConfig.isEnabled(ConfigurationKey.APPROVAL_STATUS_PROJECTION_ENABLED))
+        .thenReturn(true);
+
+    HibernateDataApprovalStore projectionStore =
+        new HibernateDataApprovalStore(
+            entityManager,
+            jdbcTemplate,
+            publisher,
+            cacheProvider,
+            periodService,
+            periodStore,
+            categoryService,
+            systemSettingManager,
+            _userService,
+            projectionConfig);
+
+    DataApprovalLevel level2 = new DataApprovalLevel("02", 2, null);
+    dataApprovalLevelService.addDataApprovalLevel(level2);
+
+    DataApprovalWorkflow workflowB =
+        new DataApprovalWorkflow(
+            "workflowB",
+            PeriodType.getPeriodTypeByName("Monthly"),
+            categoryService.getDefaultCategoryCombo(),
+            newHashSet(level1, level2));
+    dataApprovalService.addWorkflow(workflowB);
+
+    OrganisationUnit sourceB =
+        createOrganisationUnit('B', organisationUnitService.getOrganisationUnit(sourceA.getId()));
+    sourceB.setHierarchyLevel(2);
+    organisationUnitService.addOrganisationUnit(sourceB);
+
+    DataApproval approval =
+        new DataApproval(
+            level2,
+            workflowB,
+            periodJan,
+            sourceB,
+            categoryService.getDefaultCategoryOptionCombo(),
+            false,
+            new Date(),
+            userA);
+    projectionStore.addDataApproval(approval);
+    projectionStore.updateStatusProjection(List.of(approval));
+
+    int rows = countStatusProjectionRows(workflowB, false);
+    assertTrue(rows > 0);
+    assertEquals(rows, countStatusProjectionRows(workflowB, true));
+
+    jdbcTemplate.update(
+        "update dataapprovalstatusprojection set lastupdated = now() - interval '2 days' "
+            + "where workflowid = ?",
+        workflowB.getId());
+    assertEquals(0, countStatusProjectionRows(workflowB, true));
+
+    projectionStore.updateStatusProjection(List.of(approval));
+
+    assertEquals(rows, countStatusProjectionRows(workflowB, true));
+  }
+
+  private int countStatusProjectionRows(DataApprovalWorkflow workflow, boolean freshOnly) {
+    String sql =
+        "select count(*) from dataapprovalstatusprojection where workflowid = ?"
+            + (freshOnly ? " and lastupdated > now() - interval '1 hour'" : "");
+
+    Integer count = jdbcTemplate.queryForObject(sql, Integer.class, workflow.getId());
+    return count == null ? 0 : count;
+  }
 }
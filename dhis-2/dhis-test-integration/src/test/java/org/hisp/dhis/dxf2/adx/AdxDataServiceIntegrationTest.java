@@ -61,6 +61,8 @@ import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.datavalue.DataValueService;
 import org.hisp.dhis.dxf2.common.ImportOptions;
 import org.hisp.dhis.dxf2.datavalueset.DataValueSetQueryParams;
+import org.hisp.dhis.dxf2.importsummary.ImportStatus;
+import org.hisp.dhis.dxf2.importsummary.ImportSummary;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.organisationunit.OrganisationUnitGroup;
 import org.hisp.dhis.organisationunit.OrganisationUnitGroupService;
@@ -516,6 +518,25 @@ class AdxDataServiceIntegrationTest extends IntegrationTestBase {
     assertEquals("55", dataValue.getValue());
   }
 
+  @Test
+  void testImportKeepsGroupsBeforeFailedGroup() throws IOException {
+    assertEquals(0, dataValueService.getAllDataValues().size());
+
+    InputStream in = new ClassPathResource("adx/importGroupFailure.adx.xml").getInputStream();
+    ImportOptions importOptions = ImportOptions.getDefaultImportOptions();
+    importOptions.setIdSchemes(new IdSchemes().setDefaultIdScheme(UID));
+    ImportSummary summary = adxDataService.saveDataValueSet(in, importOptions, null);
+
+    assertEquals(ImportStatus.ERROR, summary.getStatus());
+    assertEquals(1, summary.getImportCount().getImported());
+    assertEquals(1, summary.getConflictCount());
+    assertEquals("Data set import failed within group number: 2", summary.getDescription());
+
+    List<DataValue> dataValues = dataValueService.getAllDataValues();
+    assertEquals(1, dataValues.size());
+    assertEquals("33", dataValues.get(0).getValue());
+  }
+
   // --------------------------------------------------------------------------
   // Supportive methods
   // --------------------------------------------------------------------------
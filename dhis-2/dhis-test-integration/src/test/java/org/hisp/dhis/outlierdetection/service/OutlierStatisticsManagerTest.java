@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.outlierdetection.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.hisp.dhis.analytics.AggregationType;
+import org.hisp.dhis.category.CategoryOptionCombo;
+import org.hisp.dhis.category.CategoryService;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.datavalue.DataValue;
+import org.hisp.dhis.datavalue.DataValueService;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.MonthlyPeriodType;
+import org.hisp.dhis.period.Period;
+import org.hisp.dhis.period.PeriodService;
+import org.hisp.dhis.test.integration.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class OutlierStatisticsManagerTest extends IntegrationTestBase {
+
+  @Autowired private IdentifiableObjectManager idObjectManager;
+
+  @Autowired private PeriodService periodService;
+
+  @Autowired private CategoryService categoryService;
+
+  @Autowired private DataValueService dataValueService;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private OutlierStatisticsManager subject;
+
+  private DataElement deA;
+
+  private DataElement deB;
+
+  private DataElement deC;
+
+  private Period m01, m02, m03;
+
+  private OrganisationUnit ouA;
+
+  private CategoryOptionCombo coc;
+
+  @Override
+  public void setUpTest() {
+    jdbcTemplate.update("delete from datavaluestatistics");
+
+    MonthlyPeriodType pt = new MonthlyPeriodType();
+    m01 = pt.createPeriod("202001");
+    m02 = pt.createPeriod("202002");
+    m03 = pt.createPeriod("202003");
+    Stream.of(m01, m02, m03).forEach(periodService::addPeriod);
+    deA = createDataElement('A', ValueType.INTEGER, AggregationType.SUM);
+    deB = createDataElement('B', ValueType.INTEGER, AggregationType.SUM);
+    deC = createDataElement('C', ValueType.TEXT, AggregationType.NONE);
+    idObjectManager.save(deA);
+    idObjectManager.save(deB);
+    idObjectManager.save(deC);
+    ouA = createOrganisationUnit('A');
+    idObjectManager.save(ouA);
+    coc = categoryService.getDefaultCategoryOptionCombo();
+  }
+
+  @Test
+  void testRefresh() {
+    addDataValues(
+        new DataValue(deA, m01, ouA, coc, coc, "10"),
+        new DataValue(deA, m02, ouA, coc, coc, "20"),
+        new DataValue(deA, m03, ouA, coc, coc, "60"),
+        new DataValue(deB, m01, ouA, coc, coc, "5"),
+        new DataValue(deC, m01, ouA, coc, coc, "text"));
+
+    assertNull(subject.getLastRefresh());
+    assertEquals(2, subject.refresh());
+    assertNotNull(subject.getLastRefresh());
+
+    Map<String, Object> statistics = getStatistics(deA);
+    assertEquals(3L, ((Number) statistics.get("valuecount")).longValue());
+    assertEquals(30d, (Double) statistics.get("mean"), DELTA);
+    assertEquals(20d, (Double) statistics.get("median"), DELTA);
+    assertEquals(Math.sqrt(1400d / 3), (Double) statistics.get("stddev"), DELTA);
+    assertEquals(1L, ((Number) getStatistics(deB).get("valuecount")).longValue());
+    assertEquals(List.of(), getStatisticsRows(deC));
+  }
+
+  @Test
+  void testRefreshUpdatedValues() {
+    addDataValues(
+        new DataValue(deA, m01, ouA, coc, coc, "10"), new DataValue(deA, m02, ouA, coc, coc, "20"));
+    subject.refresh();
+
+    DataValue dataValue = dataValueService.getDataValue(deA, m02, ouA, coc, coc);
+    dataValue.setValue("40");
+    dataValueService.updateDataValue(dataValue);
+    subject.refresh();
+
+    assertEquals(25d, (Double) getStatistics(deA).get("mean"), DELTA);
+  }
+
+  @Test
+  void testRefreshRemovesStatisticsOfDeletedValues() {
+    addDataValues(
+        new DataValue(deA, m01, ouA, coc, coc, "10"),
+        new DataValue(deB, m01, ouA, coc, coc, "5"),
+        new DataValue(deB, m02, ouA, coc, coc, "7"));
+    subject.refresh();
+    assertEquals(2L, ((Number) getStatistics(deB).get("valuecount")).longValue());
+
+    // hard delete, the deleted values are no longer changed values
+    jdbcTemplate.update("delete from datavalue where dataelementid = ?", deB.getId());
+
+    DataValue dataValue = dataValueService.getDataValue(deA, m01, ouA, coc, coc);
+    dataValueService.deleteDataValue(dataValue);
+    subject.refresh();
+
+    assertEquals(List.of(), getStatisticsRows(deA));
+    assertEquals(List.of(), getStatisticsRows(deB));
+  }
+
+  private Map<String, Object> getStatistics(DataElement dataElement) {
+    List<Map<String, Object>> rows = getStatisticsRows(dataElement);
+    assertEquals(1, rows.size());
+    return rows.get(0);
+  }
+
+  private List<Map<String, Object>> getStatisticsRows(DataElement dataElement) {
+    return jdbcTemplate.queryForList(
+        "select valuecount, mean, median, stddev from datavaluestatistics "
+            + "where dataelementid = ? and sourceid = ?",
+        dataElement.getId(),
+        ouA.getId());
+  }
+
+  private void addDataValues(DataValue... dataValues) {
+    Stream.of(dataValues).forEach(dataValueService::addDataValue);
+  }
+}
@@ -36,6 +36,7 @@ import static org.hisp.dhis.program.ProgramIndicator.KEY_PROGRAM_VARIABLE;
 import static org.hisp.dhis.utils.Assertions.assertMapEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -619,6 +620,20 @@ class ProgramIndicatorServiceTest extends TransactionalIntegrationTest {
             expression, NUMERIC, indicatorF, dateFrom, dateTo, "axx1"));
   }
 
+  @Test
+  void testAnalyticsSqlDependingOnReportingPeriod() {
+    String expression = "#{ProgrmStagA.DataElmentA}";
+    String sql2019 =
+        programIndicatorService.getAnalyticsSql(
+            expression, NUMERIC, indicatorF, getDate(2019, 1, 1), getDate(2019, 12, 31), "axx1");
+    String sql2020 =
+        programIndicatorService.getAnalyticsSql(
+            expression, NUMERIC, indicatorF, getDate(2020, 1, 1), getDate(2020, 12, 31), "axx1");
+
+    assertTrue(sql2019.contains("2020-01-11"));
+    assertNotEquals(sql2019, sql2020);
+  }
+
   // -------------------------------------------------------------------------
   // Supportive methods
   // -------------------------------------------------------------------------
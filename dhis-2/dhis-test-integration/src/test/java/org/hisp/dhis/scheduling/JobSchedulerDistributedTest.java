@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.scheduling.parameters.MockJobParameters;
+import org.hisp.dhis.setting.SystemSettingManager;
+import org.hisp.dhis.test.integration.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Tests that a job is run by exactly one node when jobs are distributed and several nodes claim the
+ * same due job at the same time.
+ */
+class JobSchedulerDistributedTest extends IntegrationTestBase {
+
+  @Autowired private JobConfigurationService jobConfigurationService;
+
+  @Autowired private JobConfigurationStore jobConfigurationStore;
+
+  @Autowired private JobSchedulerLoopService loopService;
+
+  @Autowired private SystemSettingManager systemSettings;
+
+  private final AtomicInteger executions = new AtomicInteger();
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @Test
+  void testTwoSchedulersClaimSameJob() throws Exception {
+    JobConfiguration job = createJob("jobA");
+    JobService jobService = createJobService();
+    JobScheduler nodeA = createScheduler(jobService);
+    JobScheduler nodeB = createScheduler(jobService);
+
+    CyclicBarrier start = new CyclicBarrier(2);
+    ExecutorService nodes = Executors.newFixedThreadPool(2);
+    try {
+      List<Future<?>> runs =
+          List.of(
+              nodes.submit(() -> runDueJob(start, nodeA, job)),
+              nodes.submit(() -> runDueJob(start, nodeB, job)));
+
+      // the node which did not claim the job returns while the other still runs it
+      long giveUp = System.currentTimeMillis() + 10_000;
+      while (runs.stream().noneMatch(Future::isDone) && System.currentTimeMillis() < giveUp) {
+        Thread.sleep(10);
+      }
+      assertEquals(1, runs.stream().filter(Future::isDone).count());
+
+      release.countDown();
+      for (Future<?> run : runs) {
+        run.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      release.countDown();
+      nodes.shutdownNow();
+    }
+    assertEquals(1, executions.get());
+  }
+
+  @Test
+  void testClaimJobOfRunningType() {
+    JobConfiguration jobA = createJob("jobA");
+    JobConfiguration jobB = createJob("jobB");
+
+    assertTrue(loopService.tryClaim(jobA.getUid()));
+    assertFalse(loopService.tryClaim(jobA.getUid()));
+    assertFalse(loopService.tryClaim(jobB.getUid()));
+    assertEquals(JobStatus.RUNNING, jobConfigurationStore.getByUid(jobA.getUid()).getJobStatus());
+    assertEquals(JobStatus.SCHEDULED, jobConfigurationStore.getByUid(jobB.getUid()).getJobStatus());
+  }
+
+  private void runDueJob(CyclicBarrier start, JobScheduler node, JobConfiguration job) {
+    try {
+      start.await(10, TimeUnit.SECONDS);
+    } catch (Exception ex) {
+      throw new IllegalStateException(ex);
+    }
+    node.runDueJob(job);
+  }
+
+  private JobConfiguration createJob(String name) {
+    JobConfiguration job = new JobConfiguration(name, JobType.MOCK);
+    job.setSchedulingType(SchedulingType.ONCE_ASAP);
+    job.setJobParameters(new MockJobParameters("test"));
+    jobConfigurationService.addJobConfiguration(job);
+    return job;
+  }
+
+  private JobService createJobService() {
+    JobService jobService = mock(JobService.class);
+    when(jobService.getJob(any()))
+        .thenReturn(
+            new Job() {
+              @Override
+              public JobType getJobType() {
+                return JobType.MOCK;
+              }
+
+              @Override
+              public void execute(JobConfiguration jobConfiguration, JobProgress progress) {
+                executions.incrementAndGet();
+                try {
+                  release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+            });
+    return jobService;
+  }
+
+  private JobScheduler createScheduler(JobService jobService) {
+    DhisConfigurationProvider config = mock(DhisConfigurationProvider.class);
+    when(config.isEnabled(ConfigurationKey.SCHEDULER_DISTRIBUTED_ENABLED)).thenReturn(true);
+    when(config.getProperty(ConfigurationKey.SCHEDULER_DISTRIBUTED_CAPACITY)).thenReturn("4");
+    when(config.getProperty(ConfigurationKey.SCHEDULER_DISTRIBUTED_JOB_TYPES)).thenReturn("");
+    when(config.getProperty(ConfigurationKey.SCHEDULER_PROGRESS_FLUSH_INTERVAL)).thenReturn("10");
+    return new JobScheduler(jobService, loopService, systemSettings, config);
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.sharing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.hibernate.jsonb.type.JsonbFunctions;
+import org.hisp.dhis.query.JpaQueryUtils;
+import org.hisp.dhis.test.integration.TransactionalIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Tests that the sharing check on the indexed access tokens ({@link
+ * JpaQueryUtils#checkSharingAccess}) returns the same rows as the jsonb predicates it replaced for
+ * metadata and data access.
+ */
+class SharingAccessTokensTest extends TransactionalIntegrationTest {
+  private static final String OWNER = "ownerUserAA";
+
+  private static final String OTHER = "otherUserAA";
+
+  private static final String USER_A = "userAAAAAAA";
+
+  private static final String USER_B = "userBBBBBBB";
+
+  private static final String GROUP_A = "groupAAAAAA";
+
+  private static final String GROUP_B = "groupBBBBBB";
+
+  @Autowired private IdentifiableObjectManager manager;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private final Map<String, Set<String>> users = new LinkedHashMap<>();
+
+  private final Set<String> uids = new HashSet<>();
+
+  @Override
+  protected void setUpTest() {
+    users.put(OWNER, Set.of());
+    users.put(OTHER, Set.of());
+    users.put(USER_A, Set.of(GROUP_A));
+    users.put(USER_B, Set.of(GROUP_B));
+    users.put("userCCCCCCC", Set.of(GROUP_A, GROUP_B));
+
+    List<String> sharings =
+        List.of(
+            "{}",
+            "{\"public\": null, \"owner\": \"" + OTHER + "\"}",
+            "{\"public\": \"--------\", \"owner\": \"" + OWNER + "\"}",
+            "{\"public\": \"--------\", \"owner\": \"null\"}",
+            "{\"public\": \"null\", \"owner\": \"" + OTHER + "\"}",
+            "{\"public\": \"r-------\", \"owner\": \"" + OTHER + "\"}",
+            "{\"public\": \"rwr-----\", \"owner\": \"" + OTHER + "\"}",
+            "{\"public\": \"rwrw----\", \"owner\": \"" + OTHER + "\"}",
+            "{\"public\": \"--------\", \"owner\": \""
+                + OTHER
+                + "\", \"users\": {\""
+                + USER_A
+                + "\": {\"id\": \""
+                + USER_A
+                + "\", \"access\": \"r-r-----\"}}}",
+            "{\"public\": \"--------\", \"owner\": \""
+                + OTHER
+                + "\", \"userGroups\": {\""
+                + GROUP_A
+                + "\": {\"id\": \""
+                + GROUP_A
+                + "\", \"access\": \"rw------\"}}}",
+            "{\"public\": \"--------\", \"owner\": \""
+                + OTHER
+                + "\", \"users\": {\""
+                + USER_B
+                + "\": {\"id\": \""
+                + USER_B
+                + "\", \"access\": \"rwrw----\"}}, \"userGroups\": {\""
+                + GROUP_B
+                + "\": {\"id\": \""
+                + GROUP_B
+                + "\", \"access\": \"--rw----\"}}}");
+
+    char uniqueCharacter = 'A';
+
+    for (String sharing : sharings) {
+      DataElement dataElement = createDataElement(uniqueCharacter++);
+      manager.save(dataElement);
+      uids.add(dataElement.getUid());
+      manager.flush();
+
+      jdbcTemplate.update(
+          "update dataelement set sharing = ?::jsonb where uid = ?", sharing, dataElement.getUid());
+    }
+  }
+
+  @Test
+  void testMetadataAccessTokensMatchJsonbPredicates() {
+    assertSameRows(true, List.of("r%", "_w%"));
+  }
+
+  @Test
+  void testDataAccessTokensMatchJsonbPredicates() {
+    assertSameRows(false, List.of("__r%", "___w%"));
+  }
+
+  @Test
+  void testAccessTokensAreIndexed() {
+    assertEquals(
+        1,
+        jdbcTemplate.queryForObject(
+            "select count(*) from pg_indexes where indexname = 'in_dataelement_sharing_access'",
+            Integer.class));
+  }
+
+  private void assertSameRows(boolean metadata, List<String> accessStrings) {
+    for (String access : accessStrings) {
+      for (Map.Entry<String, Set<String>> user : users.entrySet()) {
+        Set<String> expected =
+            select(getJsonbPredicate(metadata, user.getKey(), user.getValue(), access));
+        Set<String> actual = select(getTokenPredicate(user.getKey(), user.getValue(), access));
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual, "user " + user.getKey() + " with access " + access);
+      }
+    }
+  }
+
+  private Set<String> select(String predicate) {
+    Set<String> rows =
+        new HashSet<>(
+            jdbcTemplate.queryForList(
+                "select uid from dataelement where " + predicate, String.class));
+    rows.retainAll(uids);
+    return rows;
+  }
+
+  /**
+   * Mirrors the predicates of {@code InternalHibernateGenericStoreImpl} before the access tokens
+   * were introduced, the owner only grants metadata access.
+   */
+  private static String getJsonbPredicate(
+      boolean metadata, String userUid, Set<String> userGroupUids, String access) {
+    List<String> predicates = new ArrayList<>();
+    predicates.add("sharing->>'public' like '" + access + "'");
+    predicates.add("sharing->>'public' = 'null'");
+    predicates.add("sharing->>'public' is null");
+
+    if (metadata) {
+      predicates.add("sharing->>'owner' is null");
+      predicates.add("sharing->>'owner' = 'null'");
+      predicates.add("sharing->>'owner' = '" + userUid + "'");
+    }
+
+    predicates.add(
+        String.format(
+            "(%s(sharing, '%s') and %s(sharing, '%s', '%s'))",
+            JsonbFunctions.HAS_USER_ID,
+            userUid,
+            JsonbFunctions.CHECK_USER_ACCESS,
+            userUid,
+            access));
+
+    if (!userGroupUids.isEmpty()) {
+      String groups = "{" + String.join(",", userGroupUids) + "}";
+      predicates.add(
+          String.format(
+              "(%s(sharing, '%s') and %s(sharing, '%s', '%s'))",
+              JsonbFunctions.HAS_USER_GROUP_IDS,
+              groups,
+              JsonbFunctions.CHECK_USER_GROUPS_ACCESS,
+              access,
+              groups));
+    }
+
+    return "(" + String.join(" or ", predicates) + ")";
+  }
+
+  private static String getTokenPredicate(
+      String userUid, Set<String> userGroupUids, String access) {
+    int position = JpaQueryUtils.getSharingAccessPosition(access);
+    List<String> tokens = new ArrayList<>();
+    tokens.add("*:" + position);
+    tokens.add("u:" + userUid + ":" + position);
+    userGroupUids.forEach(uid -> tokens.add("g:" + uid + ":" + position));
+
+    return String.format(
+        "%s(sharing, '{%s}')", JsonbFunctions.HAS_SHARING_ACCESS, String.join(",", tokens));
+  }
+}
@@ -29,6 +29,8 @@ package org.hisp.dhis.webapi.controller;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -45,6 +47,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
 @ExtendWith(MockitoExtension.class)
@@ -71,9 +74,10 @@ class FileResourceControllerMockTest {
     when(fileResourceService.getFileResource("id")).thenReturn(fileResource);
 
     User currentUser = userService.getUserByUsername(CurrentUserUtil.getCurrentUsername());
-    controller.getFileResourceData("id", new MockHttpServletResponse(), null, currentUser);
+    controller.getFileResourceData(
+        "id", new MockHttpServletRequest(), new MockHttpServletResponse(), null, currentUser);
 
-    verify(fileResourceService).copyFileResourceContent(any(), any());
+    verify(fileResourceUtils).writeFileResourceContent(same(fileResource), anyLong(), any(), any());
   }
 
   @Test
@@ -90,6 +94,11 @@ class FileResourceControllerMockTest {
     assertThrows(
         ForbiddenException.class,
         () ->
-            controller.getFileResourceData("id", new MockHttpServletResponse(), null, currentUser));
+            controller.getFileResourceData(
+                "id",
+                new MockHttpServletRequest(),
+                new MockHttpServletResponse(),
+                null,
+                currentUser));
   }
 }
@@ -46,6 +46,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.appmanager.App;
 import org.hisp.dhis.appmanager.AppManager;
 import org.hisp.dhis.appmanager.AppMenuManager;
+import org.hisp.dhis.appmanager.AppResourceContent;
 import org.hisp.dhis.appmanager.AppStatus;
 import org.hisp.dhis.appmanager.AppType;
 import org.hisp.dhis.appmanager.webmodules.WebModule;
@@ -61,6 +62,7 @@ import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.util.DateUtils;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
 import org.hisp.dhis.webapi.service.ContextService;
+import org.hisp.dhis.webapi.utils.AppResourceUtils;
 import org.hisp.dhis.webapi.utils.ContextUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
@@ -250,7 +252,13 @@ public class AppController {
     }
     // Any other page
     else {
-      // Retrieve file
+      AppResourceContent content = appManager.getCachedAppResourceContent(application, pageName);
+
+      if (content != null) {
+        AppResourceUtils.serveAppResourceContent(content, request, response);
+        return;
+      }
+
       Resource resource = appManager.getAppResource(application, pageName);
 
       if (resource == null) {
@@ -258,6 +266,15 @@ public class AppController {
         return;
       }
 
+      content = appManager.getAppResourceContent(application, pageName, resource);
+
+      if (content != null) {
+        AppResourceUtils.serveAppResourceContent(content, request, response);
+        return;
+      }
+
+      // Too large to be cached, stream the file
+
       String filename = resource.getFilename();
       log.debug(String.format("App filename: '%s'", filename));
 
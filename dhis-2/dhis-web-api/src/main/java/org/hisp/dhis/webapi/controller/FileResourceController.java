@@ -27,7 +27,6 @@
  */
 package org.hisp.dhis.webapi.controller;
 
-import static org.hisp.dhis.dxf2.webmessage.WebMessageUtils.error;
 import static org.hisp.dhis.webapi.utils.FileResourceUtils.resizeToDefaultIconSize;
 import static org.hisp.dhis.webapi.utils.FileResourceUtils.validateCustomIconFile;
 
@@ -121,6 +120,7 @@ public class FileResourceController extends AbstractFullReadOnlyController<FileR
   @GetMapping(value = "/{uid}/data")
   public void getFileResourceData(
       @PathVariable String uid,
+      HttpServletRequest request,
       HttpServletResponse response,
       @RequestParam(required = false) ImageFileDimension dimension,
       @CurrentUser User currentUser)
@@ -142,23 +142,15 @@ public class FileResourceController extends AbstractFullReadOnlyController<FileR
     }
 
     response.setContentType(fileResource.getContentType());
-    response.setHeader(
-        HttpHeaders.CONTENT_LENGTH,
-        String.valueOf(fileResourceService.getFileResourceContentLength(fileResource)));
     response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "filename=" + fileResource.getName());
     HeaderUtils.setSecurityHeaders(
         response, dhisConfig.getProperty(ConfigurationKey.CSP_HEADER_VALUE));
 
-    try {
-      fileResourceService.copyFileResourceContent(fileResource, response.getOutputStream());
-    } catch (IOException e) {
-      log.error("Could not retrieve file.", e);
-      throw new WebMessageException(
-          error(
-              "Failed fetching the file from storage",
-              "There was an exception when trying to fetch the file from the storage backend. "
-                  + "Depending on the provider the root cause could be network or file system related."));
-    }
+    fileResourceUtils.writeFileResourceContent(
+        fileResource,
+        fileResourceService.getFileResourceContentLength(fileResource),
+        request,
+        response);
   }
 
   @PostMapping
@@ -921,6 +921,7 @@ public class MessageConversationController
       @PathVariable(value = "msgUid") String msgUid,
       @PathVariable(value = "fileUid") String fileUid,
       @CurrentUser UserDetails currentUser,
+      HttpServletRequest request,
       HttpServletResponse response)
       throws WebMessageException {
 
@@ -950,7 +951,7 @@ public class MessageConversationController
       throw new WebMessageException(conflict("Invalid messageattachment."));
     }
 
-    fileResourceUtils.configureFileResourceResponse(response, fr, dhisConfig);
+    fileResourceUtils.configureFileResourceResponse(request, response, fr, dhisConfig);
   }
 
   // --------------------------------------------------------------------------
@@ -42,6 +42,7 @@ import org.hisp.dhis.schema.descriptors.RouteSchemaDescriptor;
 import org.hisp.dhis.user.CurrentUser;
 import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -62,7 +63,7 @@ public class RouteController extends AbstractCrudController<Route> {
   @RequestMapping(
       value = "/{id}/run",
       method = {RequestMethod.GET, RequestMethod.POST})
-  public ResponseEntity<String> run(
+  public ResponseEntity<InputStreamResource> run(
       @PathVariable("id") String id,
       @CurrentUser UserDetails currentUser,
       HttpServletRequest request)
@@ -73,7 +74,7 @@ public class RouteController extends AbstractCrudController<Route> {
   @RequestMapping(
       value = "/{id}/run/**",
       method = {RequestMethod.GET, RequestMethod.POST})
-  public ResponseEntity<String> runWithSubpath(
+  public ResponseEntity<InputStreamResource> runWithSubpath(
       @PathVariable("id") String id,
       @CurrentUser UserDetails currentUser,
       HttpServletRequest request)
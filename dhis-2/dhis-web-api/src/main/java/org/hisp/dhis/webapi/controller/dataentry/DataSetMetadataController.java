@@ -29,8 +29,13 @@ package org.hisp.dhis.webapi.controller.dataentry;
 
 import static org.hisp.dhis.webapi.utils.ContextUtils.getEtag;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Date;
+import java.util.zip.GZIPInputStream;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.common.DhisApiVersion;
 import org.hisp.dhis.common.OpenApi;
@@ -39,6 +44,8 @@ import org.hisp.dhis.user.CurrentUser;
 import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
 import org.hisp.dhis.webapi.utils.ResponseEntityUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -55,11 +62,42 @@ import org.springframework.web.bind.annotation.RestController;
 public class DataSetMetadataController {
   private final DataSetMetadataExportService exportService;
 
-  @GetMapping("/metadata")
-  public ResponseEntity<JsonNode> getMetadata(
-      @CurrentUser UserDetails currentUser, HttpServletRequest request) {
-    String etag = getEtag(exportService.getDataSetMetadataLastModified(), currentUser);
+  /**
+   * The metadata is served from a cache of gzip compressed JSON. It is sent as is when the client
+   * accepts gzip encoding, otherwise it is decompressed.
+   */
+  @GetMapping(value = "/metadata", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<byte[]> getMetadata(
+      @CurrentUser UserDetails currentUser,
+      HttpServletRequest request,
+      HttpServletResponse response) {
+    Date lastModified = exportService.getDataSetMetadataLastModified();
+    String etag = getEtag(lastModified, currentUser);
+    boolean gzip = acceptsGzip(request);
 
-    return ResponseEntityUtils.withEtagCaching(etag, request, exportService::getDataSetMetadata);
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip && !ResponseEntityUtils.checkNotModified(etag, request)) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return ResponseEntityUtils.withEtagCaching(
+        etag,
+        request,
+        () -> {
+          byte[] compressed = exportService.getCompressedDataSetMetadata(lastModified);
+          return gzip ? compressed : decompress(compressed);
+        });
+  }
+
+  private static boolean acceptsGzip(HttpServletRequest request) {
+    String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+    return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+  }
+
+  private static byte[] decompress(byte[] compressed) {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      return in.readAllBytes();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
   }
 }
@@ -41,9 +41,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.appmanager.App;
 import org.hisp.dhis.appmanager.AppManager;
+import org.hisp.dhis.appmanager.AppResourceContent;
 import org.hisp.dhis.appmanager.AppStatus;
 import org.hisp.dhis.commons.util.StreamUtils;
 import org.hisp.dhis.system.util.CodecUtils;
+import org.hisp.dhis.webapi.utils.AppResourceUtils;
 import org.hisp.dhis.webapi.utils.ContextUtils;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
@@ -122,13 +124,26 @@ public class AppOverrideFilter extends OncePerRequestFilter {
     }
     // Any other resource
     else {
-      // Retrieve file
+      AppResourceContent content = appManager.getCachedAppResourceContent(app, resourcePath);
+      if (content != null) {
+        AppResourceUtils.serveAppResourceContent(content, request, response);
+        return;
+      }
+
       Resource resource = appManager.getAppResource(app, resourcePath);
       if (resource == null) {
         response.sendError(HttpServletResponse.SC_NOT_FOUND);
         return;
       }
 
+      content = appManager.getAppResourceContent(app, resourcePath, resource);
+      if (content != null) {
+        AppResourceUtils.serveAppResourceContent(content, request, response);
+        return;
+      }
+
+      // Too large to be cached, stream the file
+
       String etag = CodecUtils.md5Hex(String.valueOf(resource.lastModified()));
       if (new ServletWebRequest(request, response).checkNotModified(etag)) {
         response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.utils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Pattern;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.hisp.dhis.appmanager.AppResourceContent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Serves the content of installed app resources which is held in memory.
+ *
+ * <p>Responses carry a strong ETag derived from the content. Files with a content hash in their
+ * name (as produced by bundlers) never change and can be cached by the browser without
+ * revalidation. All other files are revalidated using the ETag.
+ */
+public class AppResourceUtils {
+  private AppResourceUtils() {
+    throw new UnsupportedOperationException("util");
+  }
+
+  /**
+   * Names like {@code main.1a2b3c4d.js} or {@code chunk-1a2b3c4d.css}. The hash must contain at
+   * least one letter so that dates and version numbers like {@code app-20240101.js} do not match.
+   */
+  private static final Pattern FINGERPRINTED_FILENAME =
+      Pattern.compile(".*[.-](?=[0-9]*[a-fA-F])[0-9a-fA-F]{8,}\\.[a-zA-Z0-9]+$");
+
+  static final String CACHE_CONTROL_IMMUTABLE = "private, max-age=31536000, immutable";
+
+  static final String CACHE_CONTROL_REVALIDATE = "private, no-cache";
+
+  /**
+   * Writes the given content to the response. The gzip compressed content is used when the client
+   * accepts it. Single byte ranges are served from the uncompressed content.
+   *
+   * @param content the app resource content.
+   * @param request the {@link HttpServletRequest}.
+   * @param response the {@link HttpServletResponse}.
+   */
+  public static void serveAppResourceContent(
+      AppResourceContent content, HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    String range = request.getHeader(HttpHeaders.RANGE);
+    boolean gzip = content.gzipContent() != null && range == null && acceptsGzip(request);
+    String etag = "\"" + content.etag() + (gzip ? "-gzip" : "") + "\"";
+
+    response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    response.setHeader(
+        HttpHeaders.CACHE_CONTROL,
+        isFingerprinted(content.filename()) ? CACHE_CONTROL_IMMUTABLE : CACHE_CONTROL_REVALIDATE);
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+    if (new ServletWebRequest(request, response).checkNotModified(etag, content.lastModified())) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    String mimeType = request.getServletContext().getMimeType(content.filename());
+    if (mimeType != null) {
+      response.setContentType(mimeType);
+    }
+
+    byte[] body = gzip ? content.gzipContent() : content.content();
+    if (gzip) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    if (range != null && isRangeApplicable(request, etag)) {
+      writeRange(range, body, response);
+      return;
+    }
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+
+  private static void writeRange(String range, byte[] body, HttpServletResponse response)
+      throws IOException {
+    long length = body.length;
+    int start;
+    int end;
+    try {
+      List<HttpRange> ranges = HttpRange.parseRanges(range);
+      if (ranges.size() != 1) {
+        // multiple ranges are not supported, the full content is sent instead
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return;
+      }
+      start = (int) ranges.get(0).getRangeStart(length);
+      end = (int) ranges.get(0).getRangeEnd(length);
+    } catch (IllegalArgumentException ex) {
+      response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+      response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+      return;
+    }
+    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+    response.setContentLength(end - start + 1);
+    response.getOutputStream().write(body, start, end - start + 1);
+  }
+
+  /** A range only applies if the content did not change since the client got the ETag. */
+  private static boolean isRangeApplicable(HttpServletRequest request, String etag) {
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    return ifRange == null || ifRange.equals(etag);
+  }
+
+  private static boolean acceptsGzip(HttpServletRequest request) {
+    String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+    return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+  }
+
+  static boolean isFingerprinted(String filename) {
+    return filename != null && FINGERPRINTED_FILENAME.matcher(filename).matches();
+  }
+}
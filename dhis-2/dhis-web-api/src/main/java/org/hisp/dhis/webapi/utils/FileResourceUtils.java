@@ -45,6 +45,7 @@ import java.nio.file.Files;
 import java.util.List;
 import java.util.Objects;
 import javax.imageio.ImageIO;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.fileupload.FileItem;
@@ -60,9 +61,11 @@ import org.hisp.dhis.fileresource.FileResource;
 import org.hisp.dhis.fileresource.FileResourceDomain;
 import org.hisp.dhis.fileresource.FileResourceService;
 import org.hisp.dhis.fileresource.ImageFileDimension;
+import org.hisp.dhis.system.util.CodecUtils;
 import org.imgscalr.Scalr;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.stereotype.Component;
 import org.springframework.util.InvalidMimeTypeException;
 import org.springframework.util.MimeTypeUtils;
@@ -132,7 +135,7 @@ public class FileResourceUtils {
         file.getName(),
         file.getContentType(),
         file.getSize(),
-        ByteSource.wrap(file.getBytes()).hash(Hashing.md5()).toString(),
+        new MultipartFileByteSource(file).hash(Hashing.md5()).toString(),
         domain);
   }
 
@@ -148,16 +151,76 @@ public class FileResourceUtils {
   }
 
   public void configureFileResourceResponse(
-      HttpServletResponse response, FileResource fileResource, DhisConfigurationProvider dhisConfig)
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FileResource fileResource,
+      DhisConfigurationProvider dhisConfig)
       throws WebMessageException {
     response.setContentType(fileResource.getContentType());
-    response.setContentLengthLong(fileResource.getContentLength());
     response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "filename=" + fileResource.getName());
     HeaderUtils.setSecurityHeaders(response, dhisConfig.getProperty(CSP_HEADER_VALUE));
 
+    writeFileResourceContent(fileResource, fileResource.getContentLength(), request, response);
+  }
+
+  /**
+   * Writes the content of the file resource to the response. A single byte range requested by the
+   * client is served as partial content so that an interrupted download can be resumed where it
+   * stopped. The range is only honoured if the content did not change, see {@link
+   * HttpHeaders#IF_RANGE}.
+   *
+   * @param fileResource the file resource, with the storage key of the requested dimension.
+   * @param contentLength the length of the stored content.
+   * @param request the {@link HttpServletRequest}.
+   * @param response the {@link HttpServletResponse}.
+   * @throws WebMessageException if the content could not be read from the storage.
+   */
+  public void writeFileResourceContent(
+      FileResource fileResource,
+      long contentLength,
+      HttpServletRequest request,
+      HttpServletResponse response)
+      throws WebMessageException {
+    String etag =
+        "\""
+            + CodecUtils.md5Hex(fileResource.getStorageKey() + ":" + fileResource.getContentMd5())
+            + "\"";
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    response.setHeader(HttpHeaders.ETAG, etag);
+
+    long offset = 0;
+    long length = contentLength;
+    String range = request.getHeader(HttpHeaders.RANGE);
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (range != null && (ifRange == null || ifRange.equals(etag))) {
+      try {
+        List<HttpRange> ranges = HttpRange.parseRanges(range);
+        // multiple ranges are not supported, the full content is sent instead
+        if (ranges.size() == 1) {
+          offset = ranges.get(0).getRangeStart(contentLength);
+          length = ranges.get(0).getRangeEnd(contentLength) - offset + 1;
+          response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+          response.setHeader(
+              HttpHeaders.CONTENT_RANGE,
+              "bytes " + offset + "-" + (offset + length - 1) + "/" + contentLength);
+        }
+      } catch (IllegalArgumentException ex) {
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + contentLength);
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        return;
+      }
+    }
+    response.setContentLengthLong(length);
+
     try {
-      fileResourceService.copyFileResourceContent(fileResource, response.getOutputStream());
+      if (length == contentLength) {
+        fileResourceService.copyFileResourceContent(fileResource, response.getOutputStream());
+      } else {
+        fileResourceService.copyFileResourceContent(
+            fileResource, response.getOutputStream(), offset, length);
+      }
     } catch (IOException e) {
+      log.error("Could not retrieve file.", e);
       throw new WebMessageException(
           error(
               "Failed fetching the file from storage",
@@ -196,16 +259,16 @@ public class FileResourceUtils {
       throw new WebMessageException(conflict("Could not read file or file is empty."));
     }
 
-    ByteSource bytes = new MultipartFileByteSource(file);
+    // the upload is staged in a temporary file which is hashed and stored from disk
+    File tmpFile = toTempFile(file);
 
-    String contentMd5 = bytes.hash(Hashing.md5()).toString();
+    String contentMd5 =
+        com.google.common.io.Files.asByteSource(tmpFile).hash(Hashing.md5()).toString();
 
     FileResource fileResource =
         new FileResource(filename, contentType, contentLength, contentMd5, domain);
     fileResource.setUid(uid);
 
-    File tmpFile = toTempFile(file);
-
     if (uid != null && fileResourceService.fileResourceExists(uid)) {
       throw new WebMessageException(
           conflict(ErrorCode.E1119, FileResource.class.getSimpleName(), uid));
@@ -218,7 +281,7 @@ public class FileResourceUtils {
   // Inner classes
   // -------------------------------------------------------------------------
 
-  private class MultipartFileByteSource extends ByteSource {
+  private static class MultipartFileByteSource extends ByteSource {
     private MultipartFile file;
 
     public MultipartFileByteSource(MultipartFile file) {
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import org.hisp.dhis.appmanager.AppResourceContent;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/** Tests for {@link AppResourceUtils}. */
+class AppResourceUtilsTest {
+  private static final byte[] CONTENT = "console.log('hello');".getBytes(UTF_8);
+
+  private static final byte[] GZIP_CONTENT = new byte[] {31, -117, 8};
+
+  private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app.js");
+
+  private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+  @Test
+  void testServeUncompressed() throws IOException {
+    AppResourceUtils.serveAppResourceContent(content("app.js"), request, response);
+
+    assertEquals(200, response.getStatus());
+    assertArrayEquals(CONTENT, response.getContentAsByteArray());
+    assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    assertEquals("\"abc\"", response.getHeader(HttpHeaders.ETAG));
+    assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+    assertEquals(
+        AppResourceUtils.CACHE_CONTROL_REVALIDATE, response.getHeader(HttpHeaders.CACHE_CONTROL));
+  }
+
+  @Test
+  void testServeGzip() throws IOException {
+    request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+
+    AppResourceUtils.serveAppResourceContent(content("app.js"), request, response);
+
+    assertEquals(200, response.getStatus());
+    assertArrayEquals(GZIP_CONTENT, response.getContentAsByteArray());
+    assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    assertEquals("\"abc-gzip\"", response.getHeader(HttpHeaders.ETAG));
+  }
+
+  @Test
+  void testServeNotModified() throws IOException {
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"abc\"");
+
+    AppResourceUtils.serveAppResourceContent(content("app.js"), request, response);
+
+    assertEquals(304, response.getStatus());
+    assertEquals(0, response.getContentAsByteArray().length);
+  }
+
+  @Test
+  void testServeRange() throws IOException {
+    request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+    request.addHeader(HttpHeaders.RANGE, "bytes=0-6");
+
+    AppResourceUtils.serveAppResourceContent(content("app.js"), request, response);
+
+    assertEquals(206, response.getStatus());
+    assertEquals("console", response.getContentAsString());
+    assertEquals("bytes 0-6/" + CONTENT.length, response.getHeader(HttpHeaders.CONTENT_RANGE));
+    assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+  }
+
+  @Test
+  void testServeRangeNotSatisfiable() throws IOException {
+    request.addHeader(HttpHeaders.RANGE, "bytes=1000-");
+
+    AppResourceUtils.serveAppResourceContent(content("app.js"), request, response);
+
+    assertEquals(416, response.getStatus());
+    assertEquals("bytes */" + CONTENT.length, response.getHeader(HttpHeaders.CONTENT_RANGE));
+  }
+
+  @Test
+  void testServeRangeIfRangeMismatch() throws IOException {
+    request.addHeader(HttpHeaders.RANGE, "bytes=0-6");
+    request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+
+    AppResourceUtils.serveAppResourceContent(content("app.js"), request, response);
+
+    assertEquals(200, response.getStatus());
+    assertArrayEquals(CONTENT, response.getContentAsByteArray());
+  }
+
+  @Test
+  void testServeFingerprinted() throws IOException {
+    AppResourceUtils.serveAppResourceContent(content("main.1a2b3c4d.js"), request, response);
+
+    assertEquals(
+        AppResourceUtils.CACHE_CONTROL_IMMUTABLE, response.getHeader(HttpHeaders.CACHE_CONTROL));
+  }
+
+  @Test
+  void testIsFingerprinted() {
+    assertTrue(AppResourceUtils.isFingerprinted("main.1a2b3c4d.js"));
+    assertTrue(AppResourceUtils.isFingerprinted("static/js/chunk-0123456789abcdef.css"));
+    assertTrue(AppResourceUtils.isFingerprinted("runtime-abcdef12.js"));
+    assertFalse(AppResourceUtils.isFingerprinted("index.html"));
+    assertFalse(AppResourceUtils.isFingerprinted("manifest.webapp"));
+    assertFalse(AppResourceUtils.isFingerprinted("app.min.js"));
+    assertFalse(AppResourceUtils.isFingerprinted("app-20240101.js"));
+    assertFalse(AppResourceUtils.isFingerprinted("vendor.12345678.js"));
+  }
+
+  private static AppResourceContent content(String filename) {
+    return new AppResourceContent(filename, CONTENT, GZIP_CONTENT, "abc", 1_000_000L);
+  }
+}
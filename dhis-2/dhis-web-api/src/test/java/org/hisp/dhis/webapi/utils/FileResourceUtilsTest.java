@@ -28,19 +28,34 @@
 package org.hisp.dhis.webapi.utils;
 
 import static org.hisp.dhis.utils.Assertions.assertContains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import javax.imageio.ImageIO;
 import org.hisp.dhis.common.IllegalQueryException;
+import org.hisp.dhis.fileresource.FileResource;
+import org.hisp.dhis.fileresource.FileResourceDomain;
+import org.hisp.dhis.fileresource.FileResourceService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -49,6 +64,10 @@ class FileResourceUtilsTest {
 
   @Mock private MultipartFile multipartFile;
 
+  @Mock private FileResourceService fileResourceService;
+
+  @InjectMocks private FileResourceUtils fileResourceUtils;
+
   @Test
   void shouldWorkWhenCustomIconIsValid() {
     when(multipartFile.getOriginalFilename()).thenReturn("OU_profile_image.png");
@@ -92,4 +111,77 @@ class FileResourceUtilsTest {
     Assertions.assertEquals(48, bufferedImage.getWidth());
     Assertions.assertEquals(48, bufferedImage.getHeight());
   }
+
+  @Test
+  void shouldWriteFullContentWhenNoRangeIsRequested() throws Exception {
+    FileResource fileResource = fileResource();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    fileResourceUtils.writeFileResourceContent(
+        fileResource, 100, new MockHttpServletRequest(), response);
+
+    assertEquals(200, response.getStatus());
+    assertEquals(100, response.getContentLengthLong());
+    assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+    verify(fileResourceService)
+        .copyFileResourceContent(same(fileResource), any(OutputStream.class));
+  }
+
+  @Test
+  void shouldWritePartialContentWhenRangeIsRequested() throws Exception {
+    FileResource fileResource = fileResource();
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.RANGE, "bytes=40-");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    fileResourceUtils.writeFileResourceContent(fileResource, 100, request, response);
+
+    assertEquals(206, response.getStatus());
+    assertEquals(60, response.getContentLengthLong());
+    assertEquals("bytes 40-99/100", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    verify(fileResourceService)
+        .copyFileResourceContent(same(fileResource), any(OutputStream.class), eq(40L), eq(60L));
+  }
+
+  @Test
+  void shouldWriteFullContentWhenIfRangeDoesNotMatch() throws Exception {
+    FileResource fileResource = fileResource();
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.RANGE, "bytes=40-");
+    request.addHeader(HttpHeaders.IF_RANGE, "\"outdated\"");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    fileResourceUtils.writeFileResourceContent(fileResource, 100, request, response);
+
+    assertEquals(200, response.getStatus());
+    verify(fileResourceService)
+        .copyFileResourceContent(same(fileResource), any(OutputStream.class));
+  }
+
+  @Test
+  void shouldRejectUnsatisfiableRange() throws Exception {
+    FileResource fileResource = fileResource();
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.RANGE, "bytes=200-");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    fileResourceUtils.writeFileResourceContent(fileResource, 100, request, response);
+
+    assertEquals(416, response.getStatus());
+    assertEquals("bytes */100", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    verify(fileResourceService, never())
+        .copyFileResourceContent(any(), any(OutputStream.class), anyLong(), anyLong());
+  }
+
+  private static FileResource fileResource() {
+    FileResource fileResource =
+        new FileResource(
+            "report.pdf",
+            "application/pdf",
+            100,
+            "d41d8cd98f00b204e9800998ecf8427e",
+            FileResourceDomain.DOCUMENT);
+    fileResource.setStorageKey("document/report");
+    return fileResource;
+  }
 }
@@ -49,6 +49,7 @@ import org.eclipse.jetty.server.handler.DefaultHandler;
 import org.eclipse.jetty.server.handler.HandlerList;
 import org.eclipse.jetty.server.handler.ResourceHandler;
 import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.util.VirtualThreads;
 import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.springframework.core.io.ClassPathResource;
 
@@ -70,6 +71,10 @@ public abstract class EmbeddedJettyBase {
 
     threadPool.setDetailedDump(getBooleanSystemProperty("jetty.detailedDump", false));
 
+    if (getBooleanSystemProperty("jetty.threads.virtual", false)) {
+      configureVirtualThreads(threadPool);
+    }
+
     Server server = new Server(threadPool);
     server.addBean(new org.eclipse.jetty.util.thread.ScheduledExecutorScheduler());
 
@@ -102,6 +107,30 @@ public abstract class EmbeddedJettyBase {
     log.info("DHIS2 Server stopped!");
   }
 
+  /**
+   * Configures the thread pool to handle requests on virtual threads, which requires a Java 21
+   * runtime. Blocked requests then no longer occupy a pooled platform thread, so the number of
+   * concurrent requests is no longer limited by {@code jetty.threads.max}. Requests accessing the
+   * database are then only limited by the JDBC connection pool, where they wait for a connection up
+   * to the configured checkout timeout. Pinning of virtual threads to carrier threads can be traced
+   * with {@code jetty.threads.trace_pinning}.
+   *
+   * @param threadPool the {@link QueuedThreadPool}.
+   */
+  private void configureVirtualThreads(QueuedThreadPool threadPool) {
+    if (!VirtualThreads.areSupported()) {
+      log.warn("Virtual threads are enabled but not supported by this runtime, requires Java 21");
+      return;
+    }
+
+    if (getBooleanSystemProperty("jetty.threads.trace_pinning", false)) {
+      setDefaultPropertyValue("jdk.tracePinnedThreads", "short");
+    }
+
+    threadPool.setVirtualThreadsExecutor(VirtualThreads.getDefaultVirtualThreadsExecutor());
+    log.info("Requests are handled on virtual threads");
+  }
+
   private void addHttpConnector(Server server, HttpConfiguration httpConfig) {
     setDefaultPropertyValue("jetty.port", System.getProperty("jetty.http.port"));
     server.addConnector(setupHTTPConnector(server, httpConfig));